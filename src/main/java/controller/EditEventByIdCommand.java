@@ -0,0 +1,42 @@
+package controller;
+
+import model.ICalendarService;
+
+/**
+ * Command to edit one property of the stored event with a given id.
+ */
+public class EditEventByIdCommand implements Command {
+
+  private ICalendarService service;
+  private long id;
+  private String property;
+  private String newValue;
+
+  /**
+   * Constructs a command to edit one event.
+   *
+   * @param service  The calendar service holding the event
+   * @param id       The id of the event
+   * @param property The property to change
+   * @param newValue The new value for the property
+   */
+  public EditEventByIdCommand(ICalendarService service, long id, String property,
+      String newValue) {
+    this.service = service;
+    this.id = id;
+    this.property = property;
+    this.newValue = newValue;
+  }
+
+  /**
+   * Executes the edit.
+   *
+   * @return A message confirming the edit was applied
+   * @throws Exception if no event has the id or the edit fails
+   */
+  @Override
+  public String execute() throws Exception {
+    service.editById(id, property, newValue);
+    return "Edited event " + id + ": " + property + " changed to " + newValue;
+  }
+}
@@ -0,0 +1,51 @@
+package controller;
+
+import model.ICalendarService;
+
+/**
+ * Parses commands that address a stored event directly by its id: {@code show event id <id>},
+ * {@code remove event id <id>} and {@code edit event id <id> <property> with <newValue>}.
+ */
+public class EventByIdCommandParser implements ICommandParser {
+
+  private ICalendarService service;
+
+  /**
+   * Constructs a parser with the given calendar service.
+   *
+   * @param service The service managing calendar events
+   */
+  public EventByIdCommandParser(ICalendarService service) {
+    this.service = service;
+  }
+
+  /**
+   * Parses tokens into a command acting on the event with the given id.
+   *
+   * @param tokens The array of command tokens
+   * @return A Command for the event, or an error command if the input is invalid
+   */
+  @Override
+  public Command parse(String[] tokens) {
+    try {
+      if (tokens.length < 4 || !tokens[1].equalsIgnoreCase("event")
+          || !tokens[2].equalsIgnoreCase("id")) {
+        return () -> "Invalid event id command.";
+      }
+      long id = Long.parseLong(tokens[3]);
+      String action = tokens[0].toLowerCase();
+      if (action.equals("show") && tokens.length == 4) {
+        return new ShowEventByIdCommand(service, id);
+      }
+      if (action.equals("remove") && tokens.length == 4) {
+        return new RemoveEventByIdCommand(service, id);
+      }
+      if (action.equals("edit") && tokens.length == 7 && tokens[5].equalsIgnoreCase("with")) {
+        return new EditEventByIdCommand(service, id, tokens[4], tokens[6]);
+      }
+      return () -> "Invalid event id command.";
+    } catch (NumberFormatException e) {
+      return () -> "Error processing event id command: invalid id " + tokens[3];
+    }
+  }
+}
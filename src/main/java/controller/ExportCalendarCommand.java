@@ -1,6 +1,7 @@
 package controller;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import model.ICalendarService;
 
 /**
@@ -12,6 +13,7 @@ public class ExportCalendarCommand implements Command {
   private ICalendarService calendarService;
   private String format;
   private String fileName;
+  private LocalDate until;
 
   /**
    * Constructs a command to export calendar data to a CSV file.
@@ -25,6 +27,20 @@ public class ExportCalendarCommand implements Command {
     this.fileName = fileName;
   }
 
+  /**
+   * Constructs a command to export the occurrences starting on or before a date.
+   *
+   * @param calendarService The service managing the calendar
+   * @param format          The export format
+   * @param fileName        The name of the file to export to
+   * @param until           The last start date to export
+   */
+  public ExportCalendarCommand(ICalendarService calendarService, String format, String fileName,
+      LocalDate until) {
+    this(calendarService, format, fileName);
+    this.until = until;
+  }
+
   /**
    * Executes the export operation.
    *
@@ -34,7 +50,7 @@ public class ExportCalendarCommand implements Command {
   @Override
   public String execute() throws Exception {
     try {
-      String path = calendarService.exportTo(format, fileName);
+      String path = calendarService.exportTo(format, fileName, until);
       return "Calendar exported to: " + path;
     } catch (IOException e) {
       return "Export failed: " + e.getMessage();
@@ -1,5 +1,6 @@
 package controller;
 
+import java.time.LocalDate;
 import model.ICalendarService;
 
 /**
@@ -20,7 +21,9 @@ public class ExportCommandParser implements ICommandParser {
   }
 
   /**
-   * Parses the provided tokens to create an export command.
+   * Parses the provided tokens to create an export command. An optional
+   * {@code until <yyyy-MM-dd>} suffix limits the export to occurrences starting on or before that
+   * date.
    *
    * @param tokens The array of strings from the command input
    * @return A Command object for exporting
@@ -35,6 +38,10 @@ public class ExportCommandParser implements ICommandParser {
         if (dotIndex != -1 && dotIndex < fileName.length() - 1) {
           format = fileName.substring(dotIndex + 1).toLowerCase();
         }
+        if (tokens.length >= 5 && tokens[3].equalsIgnoreCase("until")) {
+          return new ExportCalendarCommand(calendarService, format, fileName,
+              LocalDate.parse(tokens[4]));
+        }
         return new ExportCalendarCommand(calendarService, format, fileName);
       } else {
         return () -> "Invalid export command.";
@@ -37,4 +37,30 @@ public class ExtendedCalendarController implements ICalendarController {
       return "Error processing command: " + e.getMessage();
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Processes a command line input. Commands that stream their output write it to the given
+   * destination as it is produced, and an empty string is returned; other commands return their
+   * result as {@link #processCommand(String)} does.
+   *
+   * @param commandLine The input command string to process
+   * @param out         Where streamed output is written
+   * @return The result of the command execution, an empty string, or an error message
+   */
+  @Override
+  public String processCommand(String commandLine, Appendable out) {
+    Command command = extendedParser.parse(commandLine);
+    if (command == null) {
+      return "";
+    }
+    try {
+      if (command instanceof StreamingCommand) {
+        ((StreamingCommand) command).executeTo(out);
+        return "";
+      }
+      return command.execute();
+    } catch (Exception e) {
+      return "Error processing command: " + e.getMessage();
+    }
+  }
+}
@@ -29,6 +29,12 @@ public class ExtendedCommandParser implements IHeadCommandParser {
     parserMap.put("copy events on", new CopyEventsOnCommandParser(multiCalendarService));
     parserMap.put("copy events between",
         new CopyEventsBetweenCommandParser(multiCalendarService));
+    EventByIdCommandParser eventByIdParser = new EventByIdCommandParser(multiCalendarService);
+    parserMap.put("show event id", eventByIdParser);
+    parserMap.put("edit event id", eventByIdParser);
+    parserMap.put("remove event id", eventByIdParser);
+    parserMap.put("find free", new FindFreeCommandParser(multiCalendarService));
+    parserMap.put("print events", new PrintEventsAcrossCommandParser(multiCalendarService));
   }
 
   /**
@@ -0,0 +1,62 @@
+package controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import model.IMultiCalendarService;
+import model.TimeSlot;
+import model.WorkingHours;
+
+/**
+ * Command to list the time slots left free by one or more calendars.
+ */
+public class FindFreeCommand implements Command {
+
+  private IMultiCalendarService service;
+  private List<String> calendarNames;
+  private LocalDateTime start;
+  private LocalDateTime end;
+  private Duration minDuration;
+  private WorkingHours workingHours;
+
+  /**
+   * Constructs a command to find free slots.
+   *
+   * @param service       The service managing the calendars
+   * @param calendarNames The calendars to combine, or an empty list for the current calendar
+   * @param start         The inclusive start of the range
+   * @param end           The exclusive end of the range
+   * @param minDuration   The shortest slot to list, or null for any length
+   * @param workingHours  The daily window slots must fall in, or null for the whole day
+   */
+  public FindFreeCommand(IMultiCalendarService service, List<String> calendarNames,
+      LocalDateTime start, LocalDateTime end, Duration minDuration, WorkingHours workingHours) {
+    this.service = service;
+    this.calendarNames = calendarNames;
+    this.start = start;
+    this.end = end;
+    this.minDuration = minDuration;
+    this.workingHours = workingHours;
+  }
+
+  /**
+   * Executes the command by finding the free slots and listing one per line.
+   *
+   * @return The free slots, or a message saying there are none
+   * @throws Exception if a calendar does not exist or no calendar is in use
+   */
+  @Override
+  public String execute() throws Exception {
+    List<TimeSlot> slots = service.findFreeSlots(calendarNames, start, end, minDuration,
+        workingHours);
+    if (slots.isEmpty()) {
+      return "No free slots found.";
+    }
+    StringBuilder sb = new StringBuilder();
+    for (TimeSlot slot : slots) {
+      sb.append("Free: ").append(slot.getStart()).append(" to ").append(slot.getEnd())
+          .append(" (").append(slot.getDuration().toMinutes()).append(" minutes)\n");
+    }
+    return sb.toString();
+  }
+}
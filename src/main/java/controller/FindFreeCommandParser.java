@@ -0,0 +1,73 @@
+package controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.IMultiCalendarService;
+import model.WorkingHours;
+
+/**
+ * Parses the {@code find free} command:
+ * {@code find free from <dateTime> to <dateTime> [for <minutes>]
+ * [between <HH:mm> and <HH:mm>] [in <calendar>[,<calendar>...]]}.
+ */
+public class FindFreeCommandParser implements ICommandParser {
+
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+  private IMultiCalendarService service;
+
+  /**
+   * Constructs a parser with the given multi-calendar service.
+   *
+   * @param service The service managing the calendars
+   */
+  public FindFreeCommandParser(IMultiCalendarService service) {
+    this.service = service;
+  }
+
+  /**
+   * Parses tokens into a FindFreeCommand.
+   *
+   * @param tokens The array of command tokens
+   * @return A Command listing free slots, or an error command if the input is invalid
+   */
+  @Override
+  public Command parse(String[] tokens) {
+    try {
+      if (tokens.length < 6 || !tokens[1].equalsIgnoreCase("free")
+          || !tokens[2].equalsIgnoreCase("from") || !tokens[4].equalsIgnoreCase("to")) {
+        return () -> "Invalid find free command.";
+      }
+      LocalDateTime start = CommandParserStatic.parseDateTimeStatic(tokens[3]);
+      LocalDateTime end = CommandParserStatic.parseDateTimeStatic(tokens[5]);
+      Duration minDuration = null;
+      WorkingHours workingHours = null;
+      List<String> calendars = new ArrayList<>();
+      int i = 6;
+      while (i < tokens.length) {
+        String keyword = tokens[i].toLowerCase();
+        if (keyword.equals("for") && i + 1 < tokens.length) {
+          minDuration = Duration.ofMinutes(Long.parseLong(tokens[i + 1]));
+          i += 2;
+        } else if (keyword.equals("between") && i + 3 < tokens.length
+            && tokens[i + 2].equalsIgnoreCase("and")) {
+          workingHours = new WorkingHours(LocalTime.parse(tokens[i + 1], TIME_FORMAT),
+              LocalTime.parse(tokens[i + 3], TIME_FORMAT));
+          i += 4;
+        } else if (keyword.equals("in") && i + 1 < tokens.length) {
+          calendars.addAll(Arrays.asList(tokens[i + 1].split(",")));
+          i += 2;
+        } else {
+          return () -> "Invalid find free command.";
+        }
+      }
+      return new FindFreeCommand(service, calendars, start, end, minDuration, workingHours);
+    } catch (Exception e) {
+      return () -> "Error processing find free command: " + e.getMessage();
+    }
+  }
+}
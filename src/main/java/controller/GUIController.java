@@ -85,6 +85,28 @@ public class GUIController implements IGUIController {
     }
   }
 
+  @Override
+  public String editEventById(String id, String property, String newValue) {
+    GUIEventByIdParser parser = new GUIEventByIdParser(service);
+    Command cmd = parser.parseEdit(id, property, newValue);
+    try {
+      return cmd.execute();
+    } catch (Exception e) {
+      return "Error editing event: " + e.getMessage();
+    }
+  }
+
+  @Override
+  public String removeEventById(String id) {
+    GUIEventByIdParser parser = new GUIEventByIdParser(service);
+    Command cmd = parser.parseRemove(id);
+    try {
+      return cmd.execute();
+    } catch (Exception e) {
+      return "Error removing event: " + e.getMessage();
+    }
+  }
+
   @Override
   public String printEventsOn(LocalDate date) {
     GUIPrintEventsParser parser = new GUIPrintEventsParser(service);
@@ -0,0 +1,64 @@
+package controller;
+
+import model.IMultiCalendarService;
+
+/**
+ * Parses GUI input for actions that address an event by its id.
+ */
+public class GUIEventByIdParser {
+
+  private IMultiCalendarService service;
+
+  /**
+   * Constructs a parser for id-based event actions.
+   *
+   * @param service the calendar service
+   */
+  public GUIEventByIdParser(IMultiCalendarService service) {
+    this.service = service;
+  }
+
+  /**
+   * Parses input and returns a command to edit the event with the given id.
+   *
+   * @param strId    id of the event
+   * @param property property to be edited
+   * @param newValue new value for the property
+   * @return the command to execute
+   */
+  public Command parseEdit(String strId, String property, String newValue) {
+    if (property == null || property.trim().isEmpty()) {
+      return () -> "Error: Property cannot be empty.";
+    }
+    if (newValue == null || newValue.trim().isEmpty()) {
+      return () -> "Error: New value cannot be empty.";
+    }
+    try {
+      long id = parseId(strId);
+      return new EditEventByIdCommand(service, id, property, newValue);
+    } catch (NumberFormatException e) {
+      return () -> "Error: Invalid event id: " + strId;
+    }
+  }
+
+  /**
+   * Parses input and returns a command to remove the event with the given id.
+   *
+   * @param strId id of the event
+   * @return the command to execute
+   */
+  public Command parseRemove(String strId) {
+    try {
+      return new RemoveEventByIdCommand(service, parseId(strId));
+    } catch (NumberFormatException e) {
+      return () -> "Error: Invalid event id: " + strId;
+    }
+  }
+
+  private static long parseId(String strId) {
+    if (strId == null) {
+      throw new NumberFormatException("null");
+    }
+    return Long.parseLong(strId.trim());
+  }
+}
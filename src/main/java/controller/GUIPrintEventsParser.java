@@ -21,7 +21,8 @@ public class GUIPrintEventsParser {
   }
 
   /**
-   * Parses a command to print events on the specified date.
+   * Parses a command to print events on the specified date. The listing carries event ids, which
+   * the edit and remove by id actions take.
    *
    * @param date the date to print events for
    * @return a {@link Command} that prints the events
@@ -31,7 +32,7 @@ public class GUIPrintEventsParser {
       if (date == null) {
         return () -> "Error: Date is required.";
       }
-      return new PrintEventsCommand(calendarService, date);
+      return new PrintEventsCommand(calendarService, date, true);
     } catch (Exception e) {
       return () -> "Error processing print command: " + e.getMessage();
     }
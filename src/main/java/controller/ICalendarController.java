@@ -12,4 +12,13 @@ public interface ICalendarController {
    * @return The result of the command execution
    */
   String processCommand(String commandLine);
+
+  /**
+   * Processes a command line input, writing long output straight to the given destination.
+   *
+   * @param commandLine The command string to process
+   * @param out         Where streamed output is written
+   * @return The remaining result of the command execution, empty if it was all streamed
+   */
+  String processCommand(String commandLine, Appendable out);
 }
@@ -72,6 +72,24 @@ public interface IGUIController extends IAppController {
    */
   String editEvent(String subject, String from, String property, String newValue, String editMode);
 
+  /**
+   * Edits a property of the event with the given id, as shown in printed event listings.
+   *
+   * @param id       event id
+   * @param property property to edit
+   * @param newValue new value
+   * @return result message
+   */
+  String editEventById(String id, String property, String newValue);
+
+  /**
+   * Removes the event with the given id.
+   *
+   * @param id event id
+   * @return result message
+   */
+  String removeEventById(String id);
+
 
   /**
    * Exports the current calendar to the specified file format.
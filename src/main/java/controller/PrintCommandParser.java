@@ -3,10 +3,12 @@ package controller;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import model.ICalendarService;
 
 /**
- * Parses print commands to display events for a specific date or range.
+ * Parses print commands to display events for a specific date or range. A command ending in
+ * {@code with ids} also lists the id of each event.
  */
 public class PrintCommandParser implements ICommandParser {
 
@@ -30,18 +32,22 @@ public class PrintCommandParser implements ICommandParser {
    */
   @Override
   public Command parse(String[] tokens) {
+    boolean showIds = endsWithIds(tokens);
+    if (showIds) {
+      tokens = Arrays.copyOf(tokens, tokens.length - 2);
+    }
     try {
       int index = 1;
       if (tokens.length >= 4 && tokens[index].equalsIgnoreCase("events")
           && tokens[index + 1].equalsIgnoreCase("on")) {
         String dateStr = tokens[index + 2];
         LocalDate date = LocalDate.parse(dateStr, DATE_FORMAT);
-        return new PrintEventsCommand(calendar, date);
+        return new PrintEventsCommand(calendar, date, showIds);
       } else if (tokens.length >= 6 && tokens[index].equalsIgnoreCase("events")
           && tokens[index + 1].equalsIgnoreCase("from")) {
         String startDTStr = tokens[index + 2];
         String endDTStr = tokens[index + 4];
-        return new PrintEventsRangeCommand(calendar, startDTStr, endDTStr);
+        return new PrintEventsRangeCommand(calendar, startDTStr, endDTStr, showIds);
       } else {
         return () -> "Invalid print command.";
       }
@@ -51,4 +57,15 @@ public class PrintCommandParser implements ICommandParser {
       return () -> "Error processing print command: " + e.getMessage();
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Tells whether a print command ends with the {@code with ids} option.
+   *
+   * @param tokens The array of command tokens
+   * @return True if the last two tokens ask for event ids
+   */
+  static boolean endsWithIds(String[] tokens) {
+    return tokens.length >= 2 && tokens[tokens.length - 2].equalsIgnoreCase("with")
+        && tokens[tokens.length - 1].equalsIgnoreCase("ids");
+  }
+}
@@ -0,0 +1,79 @@
+package controller;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import model.Event;
+import model.IMultiCalendarService;
+import model.MergedOccurrence;
+
+/**
+ * Command to print the events of several calendars within a date-time range as one
+ * chronological agenda.
+ */
+public class PrintEventsAcrossCommand implements Command {
+
+  private IMultiCalendarService service;
+  private Set<String> calendarNames;
+  private LocalDateTime start;
+  private LocalDateTime end;
+  private boolean showIds;
+
+  /**
+   * Constructs a command to print a merged agenda.
+   *
+   * @param service       The service managing the calendars
+   * @param calendarNames The calendars to merge, in the order ties are broken
+   * @param start         The inclusive start of the range
+   * @param end           The exclusive end of the range
+   */
+  public PrintEventsAcrossCommand(IMultiCalendarService service, Set<String> calendarNames,
+      LocalDateTime start, LocalDateTime end) {
+    this(service, calendarNames, start, end, false);
+  }
+
+  /**
+   * Constructs a command to print a merged agenda, optionally with the id of each event.
+   *
+   * @param service       The service managing the calendars
+   * @param calendarNames The calendars to merge, in the order ties are broken
+   * @param start         The inclusive start of the range
+   * @param end           The exclusive end of the range
+   * @param showIds       Whether to list the id of each event within its calendar
+   */
+  public PrintEventsAcrossCommand(IMultiCalendarService service, Set<String> calendarNames,
+      LocalDateTime start, LocalDateTime end, boolean showIds) {
+    this.showIds = showIds;
+    this.service = service;
+    this.calendarNames = calendarNames;
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Executes the command by merging the calendars and listing one occurrence per line, with the
+   * name of the calendar it belongs to.
+   *
+   * @return The formatted agenda
+   * @throws Exception if a calendar does not exist
+   */
+  @Override
+  public String execute() throws Exception {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Events from ").append(start).append(" to ").append(end).append(" across ")
+        .append(String.join(", ", calendarNames)).append(":\n");
+    for (MergedOccurrence merged : service.getMergedOccurrences(calendarNames, start, end)) {
+      Event occurrence = merged.getOccurrence();
+      sb.append("- ").append(occurrence.getSubject()).append(" at ");
+      String location = occurrence.getLocation();
+      if (location != null && !location.trim().isEmpty()) {
+        sb.append(location).append(" ");
+      }
+      sb.append(merged.getStart()).append(" (").append(merged.getCalendarName()).append(")");
+      if (showIds && occurrence.getId() != 0) {
+        sb.append(" [id ").append(occurrence.getId()).append("]");
+      }
+      sb.append("\n");
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,74 @@
+package controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import model.IMultiCalendarService;
+
+/**
+ * Parses print commands, adding the merged forms
+ * {@code print events on <date> across <calendar>[,<calendar>...]} and
+ * {@code print events from <dateTime> to <dateTime> across <calendar>[,<calendar>...]}, each of
+ * which may end in {@code with ids}. Print commands without {@code across} are handled by a
+ * {@link PrintCommandParser} for the current calendar.
+ */
+public class PrintEventsAcrossCommandParser implements ICommandParser {
+
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private IMultiCalendarService service;
+  private ICommandParser singleCalendarParser;
+
+  /**
+   * Constructs a parser with the given multi-calendar service.
+   *
+   * @param service The service managing the calendars
+   */
+  public PrintEventsAcrossCommandParser(IMultiCalendarService service) {
+    this.service = service;
+    this.singleCalendarParser = new PrintCommandParser(service);
+  }
+
+  /**
+   * Parses tokens into a merged print command, or into a single-calendar print command when
+   * {@code across} is absent.
+   *
+   * @param tokens The array of command tokens
+   * @return A Command instance for printing events, or an error command if invalid
+   */
+  @Override
+  public Command parse(String[] tokens) {
+    boolean showIds = PrintCommandParser.endsWithIds(tokens);
+    String[] options = tokens;
+    if (showIds) {
+      tokens = Arrays.copyOf(tokens, tokens.length - 2);
+    }
+    if (tokens.length < 2 || !tokens[tokens.length - 2].equalsIgnoreCase("across")) {
+      return singleCalendarParser.parse(options);
+    }
+    try {
+      Set<String> calendars = new LinkedHashSet<>(
+          Arrays.asList(tokens[tokens.length - 1].split(",")));
+      if (tokens.length == 6 && tokens[1].equalsIgnoreCase("events")
+          && tokens[2].equalsIgnoreCase("on")) {
+        LocalDate date = LocalDate.parse(tokens[3], DATE_FORMAT);
+        return new PrintEventsAcrossCommand(service, calendars, date.atStartOfDay(),
+            date.plusDays(1).atStartOfDay(), showIds);
+      }
+      if (tokens.length == 8 && tokens[1].equalsIgnoreCase("events")
+          && tokens[2].equalsIgnoreCase("from") && tokens[4].equalsIgnoreCase("to")) {
+        LocalDateTime start = CommandParserStatic.parseDateTimeStatic(tokens[3]);
+        LocalDateTime end = CommandParserStatic.parseDateTimeStatic(tokens[5]);
+        return new PrintEventsAcrossCommand(service, calendars, start, end, showIds);
+      }
+      return () -> "Invalid print command.";
+    } catch (DateTimeParseException e) {
+      return () -> "Invalid date format. Expected 'YYYY-MM-DD'";
+    } catch (Exception e) {
+      return () -> "Error processing print command: " + e.getMessage();
+    }
+  }
+}
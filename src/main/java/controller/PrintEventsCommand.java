@@ -10,6 +10,7 @@ public class PrintEventsCommand implements Command {
 
   private ICalendarService calendarService;
   private LocalDate date;
+  private boolean showIds;
 
   /**
    * Constructs a command to print events on a given date.
@@ -18,8 +19,20 @@ public class PrintEventsCommand implements Command {
    * @param date    The date to retrieve events for
    */
   public PrintEventsCommand(ICalendarService service, LocalDate date) {
+    this(service, date, false);
+  }
+
+  /**
+   * Constructs a command to print events on a given date, optionally with their ids.
+   *
+   * @param service The calendar service to query
+   * @param date    The date to retrieve events for
+   * @param showIds Whether to list the id of each event
+   */
+  public PrintEventsCommand(ICalendarService service, LocalDate date, boolean showIds) {
     this.calendarService = service;
     this.date = date;
+    this.showIds = showIds;
   }
 
   /**
@@ -30,6 +43,7 @@ public class PrintEventsCommand implements Command {
    */
   @Override
   public String execute() throws Exception {
-    return calendarService.printEventsOn(date);
+    return showIds ? calendarService.printEventsOn(date, true)
+        : calendarService.printEventsOn(date);
   }
 }
\ No newline at end of file
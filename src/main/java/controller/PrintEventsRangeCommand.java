@@ -6,11 +6,12 @@ import model.ICalendarService;
 /**
  * Command to print events within a specified date-time range.
  */
-public class PrintEventsRangeCommand implements Command {
+public class PrintEventsRangeCommand implements StreamingCommand {
 
   private ICalendarService calendarService;
   private LocalDateTime start;
   private LocalDateTime end;
+  private boolean showIds;
 
   /**
    * Constructs a command to print events between two date-times.
@@ -21,6 +22,20 @@ public class PrintEventsRangeCommand implements Command {
    */
   public PrintEventsRangeCommand(ICalendarService calendarService,
       String startDTStr, String endDTStr) {
+    this(calendarService, startDTStr, endDTStr, false);
+  }
+
+  /**
+   * Constructs a command to print events between two date-times, optionally with their ids.
+   *
+   * @param calendarService The service managing calendar events
+   * @param startDTStr      The start date-time string to parse
+   * @param endDTStr        The end date-time string to parse
+   * @param showIds         Whether to list the id of each event
+   */
+  public PrintEventsRangeCommand(ICalendarService calendarService,
+      String startDTStr, String endDTStr, boolean showIds) {
+    this.showIds = showIds;
     try {
       this.calendarService = calendarService;
       this.start = CommandParserStatic.parseDateTimeStatic(startDTStr);
@@ -38,6 +53,26 @@ public class PrintEventsRangeCommand implements Command {
    */
   @Override
   public String execute() throws Exception {
+    if (showIds) {
+      StringBuilder sb = new StringBuilder();
+      executeTo(sb);
+      return sb.toString();
+    }
     return calendarService.printEventsRange(start, end);
   }
+
+  /**
+   * Executes the command by writing the events within the range to the output a page at a time.
+   *
+   * @param out where the listing is written
+   * @throws Exception if an error occurs during execution
+   */
+  @Override
+  public void executeTo(Appendable out) throws Exception {
+    if (showIds) {
+      calendarService.printEventsRange(start, end, out, true);
+    } else {
+      calendarService.printEventsRange(start, end, out);
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package controller;
+
+import model.ICalendarService;
+
+/**
+ * Command to remove the stored event with a given id.
+ */
+public class RemoveEventByIdCommand implements Command {
+
+  private ICalendarService service;
+  private long id;
+
+  /**
+   * Constructs a command to remove one event.
+   *
+   * @param service The calendar service holding the event
+   * @param id      The id of the event
+   */
+  public RemoveEventByIdCommand(ICalendarService service, long id) {
+    this.service = service;
+    this.id = id;
+  }
+
+  /**
+   * Executes the command by removing the event with the id.
+   *
+   * @return A message indicating whether an event was removed
+   */
+  @Override
+  public String execute() {
+    if (!service.removeById(id)) {
+      return "No event found with id " + id + ".";
+    }
+    return "Removed event " + id + ".";
+  }
+}
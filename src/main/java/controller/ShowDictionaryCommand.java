@@ -0,0 +1,35 @@
+package controller;
+
+import model.ICalendarService;
+import model.TextDictionary;
+
+/**
+ * Command to show how much duplicate event text the calendar's string dictionary has saved.
+ */
+public class ShowDictionaryCommand implements Command {
+
+  private ICalendarService service;
+
+  /**
+   * Constructs a command to report on the calendar's text dictionary.
+   *
+   * @param service The calendar service whose dictionary is reported
+   */
+  public ShowDictionaryCommand(ICalendarService service) {
+    this.service = service;
+  }
+
+  /**
+   * Executes the command by describing the dictionary of the calendar in use.
+   *
+   * @return A one-line summary of the dictionary, or a message if no calendar is in use
+   */
+  @Override
+  public String execute() {
+    TextDictionary dictionary = service.getTextDictionary();
+    if (dictionary == null) {
+      return "No calendar in use.";
+    }
+    return dictionary.toString();
+  }
+}
@@ -0,0 +1,46 @@
+package controller;
+
+import model.Event;
+import model.ICalendarService;
+
+/**
+ * Command to describe the stored event with a given id.
+ */
+public class ShowEventByIdCommand implements Command {
+
+  private ICalendarService service;
+  private long id;
+
+  /**
+   * Constructs a command to show one event.
+   *
+   * @param service The calendar service holding the event
+   * @param id      The id of the event
+   */
+  public ShowEventByIdCommand(ICalendarService service, long id) {
+    this.service = service;
+    this.id = id;
+  }
+
+  /**
+   * Executes the command by looking the event up by id.
+   *
+   * @return A one-line description of the event, or a message if there is none
+   */
+  @Override
+  public String execute() {
+    Event event = service.getById(id);
+    if (event == null) {
+      return "No event found with id " + id + ".";
+    }
+    StringBuilder sb = new StringBuilder();
+    sb.append("Event ").append(id).append(": ").append(event.getSubject())
+        .append(" from ").append(event.getStartDateTime())
+        .append(" to ").append(event.getEffectiveEndDateTime());
+    String location = event.getLocation();
+    if (location != null && !location.trim().isEmpty()) {
+      sb.append(" at ").append(location);
+    }
+    return sb.toString();
+  }
+}
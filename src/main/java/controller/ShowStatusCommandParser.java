@@ -4,7 +4,8 @@ import java.time.LocalDateTime;
 import model.ICalendarService;
 
 /**
- * Parses commands to display the current status (availability) of the calendar.
+ * Parses commands to display the current status (availability) of the calendar, and
+ * {@code show dictionary} to display the savings of its text dictionary.
  */
 public class ShowStatusCommandParser implements ICommandParser {
 
@@ -28,6 +29,9 @@ public class ShowStatusCommandParser implements ICommandParser {
   @Override
   public Command parse(String[] tokens) {
     try {
+      if (tokens.length == 2 && tokens[1].equalsIgnoreCase("dictionary")) {
+        return new ShowDictionaryCommand(service);
+      }
       if (tokens.length >= 4 && tokens[1].equalsIgnoreCase("status")
           && tokens[2].equalsIgnoreCase("on")) {
         String dateTimeStr = tokens[3];
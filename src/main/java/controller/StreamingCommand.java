@@ -0,0 +1,16 @@
+package controller;
+
+/**
+ * A command whose output can be long enough that it should be written out as it is produced
+ * rather than returned as one string.
+ */
+public interface StreamingCommand extends Command {
+
+  /**
+   * Executes the command, writing its output to the given destination as it goes.
+   *
+   * @param out where the output is written
+   * @throws Exception if an error occurs during execution
+   */
+  void executeTo(Appendable out) throws Exception;
+}
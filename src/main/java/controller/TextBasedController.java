@@ -50,7 +50,7 @@ public class TextBasedController extends ExtendedCalendarController implements I
     while (true) {
       System.out.print("> ");
       String line = scanner.nextLine();
-      String result = processCommand(line);
+      String result = processCommand(line, System.out);
       if ("exit".equals(result)) {
         break;
       }
@@ -63,7 +63,7 @@ public class TextBasedController extends ExtendedCalendarController implements I
     try (Scanner scanner = new Scanner(new File(fileName))) {
       while (scanner.hasNextLine()) {
         String line = scanner.nextLine();
-        String result = processCommand(line);
+        String result = processCommand(line, System.out);
         if ("exit".equals(result)) {
           break;
         }
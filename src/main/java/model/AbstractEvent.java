@@ -1,6 +1,8 @@
 package model;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An abstract base class for events that provides common properties and methods.
@@ -16,6 +18,11 @@ public abstract class AbstractEvent implements Event {
   protected boolean isPublic;
   protected boolean autoDecline;
 
+  private final List<EventChangeListener> changeListeners = new ArrayList<>();
+  private long version;
+  private long id;
+  private boolean frozen;
+
   /**
    * Constructs an AbstractEvent with the specified details.
    *
@@ -35,6 +42,23 @@ public abstract class AbstractEvent implements Event {
     this.autoDecline = false;
   }
 
+  /**
+   * Constructs a copy of another event with the same values and id. Listeners are not copied.
+   *
+   * @param source the event to copy
+   */
+  protected AbstractEvent(AbstractEvent source) {
+    this.subject = source.subject;
+    this.startDateTime = source.startDateTime;
+    this.endDateTime = source.endDateTime;
+    this.description = source.description;
+    this.location = source.location;
+    this.isPublic = source.isPublic;
+    this.autoDecline = source.autoDecline;
+    this.version = source.version;
+    this.id = source.id;
+  }
+
   /**
    * Returns the subject of the event.
    *
@@ -51,7 +75,9 @@ public abstract class AbstractEvent implements Event {
    * @param newSubject the new subject
    */
   public void setSubject(String newSubject) {
+    requireMutable();
     this.subject = newSubject;
+    fireChanged();
   }
 
   /**
@@ -70,7 +96,9 @@ public abstract class AbstractEvent implements Event {
    * @param newStartDateTime the new start date and time
    */
   public void setStartDateTime(LocalDateTime newStartDateTime) {
+    requireMutable();
     this.startDateTime = newStartDateTime;
+    fireChanged();
   }
 
   /**
@@ -89,7 +117,9 @@ public abstract class AbstractEvent implements Event {
    * @param newDescription the new description
    */
   public void setDescription(String newDescription) {
+    requireMutable();
     this.description = newDescription;
+    fireChanged();
   }
 
   /**
@@ -108,7 +138,9 @@ public abstract class AbstractEvent implements Event {
    * @param newLocation the new location
    */
   public void setLocation(String newLocation) {
+    requireMutable();
     this.location = newLocation;
+    fireChanged();
   }
 
   /**
@@ -127,7 +159,9 @@ public abstract class AbstractEvent implements Event {
    * @param newPublic true if the event should be public, false otherwise
    */
   public void setPublic(boolean newPublic) {
+    requireMutable();
     this.isPublic = newPublic;
+    fireChanged();
   }
 
   @Override
@@ -140,7 +174,9 @@ public abstract class AbstractEvent implements Event {
    * @param autoDecline boolean autoDecline
    */
   public void setAutoDecline(boolean autoDecline) {
+    requireMutable();
     this.autoDecline = autoDecline;
+    fireChanged();
   }
 
   @Override
@@ -158,9 +194,113 @@ public abstract class AbstractEvent implements Event {
    * @throws InvalidDateException if end date is before start date.
    */
   public void setEndDateTime(LocalDateTime newEndDateTime) throws InvalidDateException {
+    requireMutable();
     if (newEndDateTime != null && newEndDateTime.isBefore(this.startDateTime)) {
       throw new InvalidDateException("End date & time must be after start date & time.");
     }
     this.endDateTime = newEndDateTime;
+    fireChanged();
+  }
+
+  @Override
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Sets the id of this event. Called by the model that stores the event.
+   *
+   * @param id the id assigned by the model
+   */
+  void assignId(long id) {
+    this.id = id;
+  }
+
+  /**
+   * Replaces the text fields with their canonical instances from the given dictionary. The
+   * values do not change, so listeners are not notified.
+   *
+   * @param dictionary the calendar's text dictionary
+   */
+  void internText(TextDictionary dictionary) {
+    subject = dictionary.intern(subject);
+    description = dictionary.intern(description);
+    location = dictionary.intern(location);
+  }
+
+  /**
+   * Returns a frozen copy of this event with the same values and id, for publishing in a
+   * {@link CalendarSnapshot}.
+   *
+   * @return an unmodifiable copy
+   */
+  abstract AbstractEvent frozenCopy();
+
+  /**
+   * Marks this event as frozen, after which every setter throws.
+   */
+  void freeze() {
+    frozen = true;
+  }
+
+  /**
+   * Indicates whether this event is a frozen copy taken for a snapshot.
+   *
+   * @return true if the event cannot be modified
+   */
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  /**
+   * Throws if this event is frozen. Every mutator calls this before changing anything.
+   *
+   * @throws UnsupportedOperationException if the event is frozen
+   */
+  protected void requireMutable() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Event '" + subject
+          + "' belongs to a snapshot and cannot be modified.");
+    }
+  }
+
+  /**
+   * Registers a listener to be notified whenever this event is modified.
+   *
+   * @param listener the listener to add
+   */
+  public void addChangeListener(EventChangeListener listener) {
+    if (!changeListeners.contains(listener)) {
+      changeListeners.add(listener);
+    }
+  }
+
+  /**
+   * Unregisters a previously added change listener.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeChangeListener(EventChangeListener listener) {
+    changeListeners.remove(listener);
+  }
+
+  /**
+   * Returns the mutation version of this event. The version increases every time a setter
+   * changes the event, so derived data can be cached against it.
+   *
+   * @return the current mutation version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Bumps the mutation version and notifies all registered listeners that this event has changed.
+   */
+  protected void fireChanged() {
+    version++;
+    for (EventChangeListener listener : new ArrayList<>(changeListeners)) {
+      listener.eventChanged(this);
+    }
   }
 }
@@ -0,0 +1,46 @@
+package model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a bulk insert: the events that were added and the conflicts that were found,
+ * each with the message a single insert would have reported.
+ */
+public class BatchAddResult {
+
+  private final List<Event> added;
+  private final Map<Event, String> conflicts;
+
+  /**
+   * Constructs a result.
+   *
+   * @param added     the events added to the calendar, in the order they were given
+   * @param conflicts the conflicting events and their messages, in the order they were given
+   */
+  public BatchAddResult(List<Event> added, LinkedHashMap<Event, String> conflicts) {
+    this.added = Collections.unmodifiableList(added);
+    this.conflicts = Collections.unmodifiableMap(conflicts);
+  }
+
+  /**
+   * Returns the events that were added.
+   *
+   * @return the added events
+   */
+  public List<Event> getAdded() {
+    return added;
+  }
+
+  /**
+   * Returns the events that conflicted, mapped to their conflict messages. Depending on the
+   * policy they were either left out or added anyway.
+   *
+   * @return the conflicts in the order the events were given
+   */
+  public Map<Event, String> getConflicts() {
+    return conflicts;
+  }
+}
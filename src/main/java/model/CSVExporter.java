@@ -4,8 +4,9 @@ import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Map;
 
 /**
  * A utility class for exporting calendar events to a CSV file.
@@ -20,9 +21,22 @@ public class CSVExporter implements Exporter {
    * @throws IOException If writing fails
    */
   private void writeSingleEventRow(Event se, BufferedWriter writer) throws IOException {
-    LocalDateTime start = se.getStartDateTime();
-    LocalDateTime end = se.getEffectiveEndDateTime();
-    boolean allDay = isAllDayEvent(se);
+    writeRow(se, se.getStartDateTime(), se.getEffectiveEndDateTime(), writer);
+  }
+
+  /**
+   * Writes one CSV row using the text fields of an event and the given times, so occurrences of a
+   * recurring event can be written without building an event object for each one.
+   *
+   * @param se     The event supplying subject, description, location and visibility
+   * @param start  The start of the row
+   * @param end    The end of the row
+   * @param writer The writer for the CSV file
+   * @throws IOException If writing fails
+   */
+  private void writeRow(Event se, LocalDateTime start, LocalDateTime end, BufferedWriter writer)
+      throws IOException {
+    boolean allDay = isAllDayEvent(start, end);
     String privateFlag = se.isPublic() ? "false" : "true";
 
     StringBuilder row = new StringBuilder();
@@ -41,14 +55,63 @@ public class CSVExporter implements Exporter {
   }
 
   /**
-   * Checks if an event is an all-day event.
+   * Writes one row per occurrence of a recurring event that starts on or before a date. Unchanged
+   * occurrences are written from the series times, modified occurrences from their overrides, and
+   * cancelled occurrences are left out. The walk stops at the bound, and overrides moved back from
+   * later dates are picked up from the exception table.
+   *
+   * @param series The recurring event to write
+   * @param until  The last start date to write, or null to write the whole series
+   * @param writer The writer for the CSV file
+   * @throws IOException If writing fails
+   */
+  private void writeSeriesRows(RecurringEvent series, LocalDate until, BufferedWriter writer)
+      throws IOException {
+    OccurrenceExceptions exceptions = series.getExceptions();
+    OccurrenceCursor cursor = series.occurrenceCursor();
+    while (cursor.next()) {
+      LocalDate date = cursor.getStart().toLocalDate();
+      if (until != null && date.isAfter(until)) {
+        break;
+      }
+      SingleEvent override = exceptions.getOverride(date);
+      if (override != null) {
+        if (startsBy(override, until)) {
+          writeSingleEventRow(override, writer);
+        }
+      } else if (!exceptions.isCancelled(date)) {
+        writeRow(series, cursor.getStart(), cursor.getEnd(), writer);
+      }
+    }
+    if (until == null) {
+      return;
+    }
+    for (Map.Entry<LocalDate, SingleEvent> entry : exceptions.getDisplaced().entrySet()) {
+      if (entry.getKey().isAfter(until) && startsBy(entry.getValue(), until)) {
+        writeSingleEventRow(entry.getValue(), writer);
+      }
+    }
+  }
+
+  /**
+   * Checks whether an event starts on or before a date.
+   *
+   * @param event The event to check
+   * @param until The last allowed start date, or null for no bound
+   * @return True if the event is within the bound
+   */
+  private boolean startsBy(Event event, LocalDate until) {
+    return until == null || !event.getStartDateTime().toLocalDate().isAfter(until);
+  }
+
+  /**
+   * Checks if an event with the given times is an all-day event.
    *
-   * @param se The event to check
+   * @param start The start of the event
+   * @param end   The end of the event
    * @return True if the event spans a full day (midnight to 23:59), false otherwise
    */
-  private boolean isAllDayEvent(Event se) {
-    LocalDateTime start = se.getStartDateTime();
-    LocalDateTime end = se.getEffectiveEndDateTime();
+  private boolean isAllDayEvent(LocalDateTime start, LocalDateTime end) {
     boolean sameDate = start.toLocalDate().equals(end.toLocalDate());
     boolean startIsMidnight = (start.toLocalTime().equals(java.time.LocalTime.MIDNIGHT));
     boolean endIs2359 = (end.toLocalTime().equals(java.time.LocalTime.of(23, 59)));
@@ -56,7 +119,8 @@ public class CSVExporter implements Exporter {
   }
 
   /**
-   * Exports all events from the calendar to a CSV file.
+   * Exports all events from the calendar to a CSV file. The events are read from a snapshot, so
+   * the file is a consistent point-in-time view even if the calendar is edited meanwhile.
    *
    * @param calendar The calendar model to export
    * @param fileName The name of the file to create
@@ -65,27 +129,38 @@ public class CSVExporter implements Exporter {
    */
   @Override
   public String export(ICalendarModel calendar, String fileName) throws IOException {
+    return export(calendar, fileName, null);
+  }
+
+  /**
+   * Exports the occurrences starting on or before a date to a CSV file, read from a snapshot of
+   * the calendar. Recurring series are walked only up to the bound.
+   *
+   * @param calendar The calendar model to export
+   * @param fileName The name of the file to create
+   * @param until    The last start date to export, or null to export every occurrence
+   * @return The full path of the exported file
+   * @throws IOException If the export fails
+   */
+  @Override
+  public String export(ICalendarModel calendar, String fileName, LocalDate until)
+      throws IOException {
     String filePath = Paths.get(System.getProperty("user.dir"), fileName).toString();
     try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
       writer.write("Subject,Start Date,Start Time,End Date,End Time,AllDayEvent,"
           + "Description,Location,Private");
       writer.newLine();
 
-      List<Event> events = calendar.getAllEvents();
-
-      for (Event event : events) {
+      for (Event event : calendar.getSnapshot()) {
         if (event instanceof SingleEvent) {
-          Event se = event;
-          writeSingleEventRow(se, writer);
-        } else if (event instanceof RecurringEvent) {
-          RecurringEvent re = (RecurringEvent) event;
-          for (SingleEvent occurrence : re.generateOccurrences()) {
-            writeSingleEventRow(occurrence, writer);
+          if (startsBy(event, until)) {
+            writeSingleEventRow(event, writer);
           }
+        } else if (event instanceof RecurringEvent) {
+          writeSeriesRows((RecurringEvent) event, until, writer);
         }
       }
     }
     return filePath;
   }
 }
-
@@ -6,6 +6,11 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Imports calendar events from a CSV file into the model.
@@ -15,19 +20,21 @@ public class CSVImporter implements Importer {
   /**
    * Parses event from CSV token data.
    *
-   * @param tokens the CSV fields
+   * @param tokens     the CSV fields
+   * @param dictionary the target calendar's text dictionary
    * @return the parsed {@link SingleEvent}
    * @throws InvalidDateException if date or time values are invalid
    */
-  private static SingleEvent getSingleEvent(String[] tokens) throws InvalidDateException {
-    String subject = tokens[0].trim();
+  private static SingleEvent getSingleEvent(String[] tokens, TextDictionary dictionary)
+      throws InvalidDateException {
+    String subject = dictionary.intern(tokens[0].trim());
     String startDateStr = tokens[1].trim();
     String startTimeStr = tokens[2].trim();
     String endDateStr = tokens[3].trim();
     String endTimeStr = tokens[4].trim();
     // String allDayStr = tokens[5].trim(); // Not using this for import, no need.
-    String description = tokens[6].trim();
-    String location = tokens[7].trim();
+    String description = dictionary.intern(tokens[6].trim());
+    String location = dictionary.intern(tokens[7].trim());
     String privateFlagStr = tokens[8].trim();
 
 
@@ -47,11 +54,21 @@ public class CSVImporter implements Importer {
     return event;
   }
 
+  /**
+   * Imports the events of a CSV file. All rows are parsed first and then added as one batch, so
+   * conflicts are found in a single sweep; rows that conflict are skipped and reported by line.
+   *
+   * @param model    the calendar model to import into
+   * @param fileName the CSV file to read
+   * @return a summary of the import
+   * @throws IOException if the file cannot be read
+   */
   @Override
   public String importData(ICalendarModel model, String fileName) throws IOException {
-    int importedCount = 0;
-    int errorCount = 0;
-    StringBuilder errorMessages = new StringBuilder();
+    Map<Integer, String> errors = new TreeMap<>();
+    TextDictionary dictionary = model.getTextDictionary();
+    List<Event> events = new ArrayList<>();
+    Map<Event, Integer> lineNumbers = new IdentityHashMap<>();
 
 
     try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
@@ -67,27 +84,37 @@ public class CSVImporter implements Importer {
 
         String[] tokens = line.split(",", -1);
         if (tokens.length < 9) {
-          errorMessages.append("Line ").append(lineNumber)
-              .append(": Invalid number of fields.\n");
-          errorCount++;
+          errors.put(lineNumber, "Invalid number of fields.");
           continue;
         }
         try {
 
-          SingleEvent event = getSingleEvent(tokens);
+          SingleEvent event = getSingleEvent(tokens, dictionary);
           event.setAutoDecline(true);
-          model.addEvent(event, true);
-          importedCount++;
+          events.add(event);
+          lineNumbers.put(event, lineNumber);
         } catch (Exception e) {
-          errorMessages.append("Line ").append(lineNumber)
-              .append(": ").append(e.getMessage()).append("\n");
-          errorCount++;
+          errors.put(lineNumber, e.getMessage());
         }
       }
     }
-    String result = "Imported " + importedCount + " events.";
-    if (errorCount > 0) {
-      result += "\n" + errorCount + " errors:\n" + errorMessages.toString();
+    BatchAddResult added;
+    try {
+      added = model.addEvents(events, ConflictPolicy.SKIP_CONFLICTING);
+    } catch (EventConflictException e) {
+      return "Error: " + e.getMessage();
+    }
+    for (Map.Entry<Event, String> conflict : added.getConflicts().entrySet()) {
+      errors.put(lineNumbers.get(conflict.getKey()), conflict.getValue());
+    }
+    String result = "Imported " + added.getAdded().size() + " events.";
+    if (!errors.isEmpty()) {
+      StringBuilder errorMessages = new StringBuilder();
+      for (Map.Entry<Integer, String> error : errors.entrySet()) {
+        errorMessages.append("Line ").append(error.getKey())
+            .append(": ").append(error.getValue()).append("\n");
+      }
+      result += "\n" + errors.size() + " errors:\n" + errorMessages.toString();
     }
     return result;
   }
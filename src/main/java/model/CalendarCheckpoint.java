@@ -0,0 +1,221 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A point-in-time copy of every calendar of a {@link CalendarManager}, with the
+ * {@link CommandJournal} position it was taken at. Each calendar keeps its name, timezone and the
+ * id its next event will get, and each event its id, rule and occurrence exceptions, so loading
+ * a checkpoint and replaying the journal from its position gives the same calendars and the same
+ * event ids as replaying the whole journal.
+ *
+ * <p>A checkpoint is captured while holding the journal's lock, which every
+ * {@link JournaledCalendarService} holds while it applies and journals a change, so it falls
+ * between two changes; it then holds only {@link CalendarSnapshot}s, which can be written out by
+ * another thread while the calendars go on changing. Capturing a calendar costs one call to
+ * {@link ICalendarModel#getSnapshot()}, which is a single read in snapshot mode and a full copy
+ * otherwise; calendars created through {@link CalendarCheckpointer#newCalendarModel()} are in
+ * snapshot mode. Changes made to a model directly, rather than through a journaled service, are not
+ * ordered with the capture.
+ *
+ * <p>The file is written in the compact binary form of {@link EventRecordHelper} behind a header
+ * and ends with a CRC32 of its content. It is written to a temporary file that is forced and
+ * then renamed over the previous checkpoint, and the directory is forced after the rename, so a
+ * crash leaves one whole checkpoint or the other and a completed write survives it.
+ */
+public final class CalendarCheckpoint {
+
+  private static final int MAGIC = 0x43414c53;
+  private static final int VERSION = 2;
+
+  private final long position;
+  private final List<Entry> calendars;
+
+  private CalendarCheckpoint(long position, List<Entry> calendars) {
+    this.position = position;
+    this.calendars = calendars;
+  }
+
+  /**
+   * Captures every calendar of a manager together with the journal position its changes are
+   * recorded up to.
+   *
+   * @param calendarManager the calendar manager to capture
+   * @param journal         the journal its changes are recorded in
+   * @return the checkpoint
+   */
+  public static CalendarCheckpoint capture(ICalendarManager calendarManager,
+      CommandJournal journal) {
+    synchronized (journal) {
+      List<Entry> calendars = new ArrayList<>();
+      for (ICalendarContext calendar : calendarManager.getCalendars()) {
+        ICalendarModel model = calendar.getCalendarModel();
+        calendars.add(new Entry(calendar.getName(), calendar.getTimezone().getId(),
+            model.getNextId(), model.getSnapshot()));
+      }
+      return new CalendarCheckpoint(journal.getPosition(), calendars);
+    }
+  }
+
+  /**
+   * Returns the journal position the checkpoint was taken at. Replaying the journal from here
+   * brings the loaded calendars up to date.
+   *
+   * @return the journal position
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  /**
+   * Writes the checkpoint to a file, replacing the previous one only once the new one is safely
+   * on the disk.
+   *
+   * @param path the checkpoint file
+   * @throws IOException if the file cannot be written
+   */
+  public void write(Path path) throws IOException {
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+      CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+      DataOutputStream out = new DataOutputStream(checked);
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(position);
+      out.writeInt(calendars.size());
+      for (Entry calendar : calendars) {
+        EventRecordHelper.writeText(out, calendar.name);
+        EventRecordHelper.writeText(out, calendar.timezone);
+        out.writeLong(calendar.nextId);
+        out.writeInt(calendar.events.size());
+        for (Event event : calendar.events) {
+          out.writeLong(event.getId());
+          EventRecordHelper.writeEvent(out, event);
+        }
+      }
+      out.flush();
+      new DataOutputStream(buffered).writeInt((int) checked.getChecksum().getValue());
+      buffered.flush();
+      channel.force(true);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+    Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    forceDirectory(path);
+  }
+
+  /**
+   * Forces the directory holding a file, so a rename into it is durable. Platforms that cannot
+   * open a directory for reading, such as Windows, make renames durable on their own and are
+   * skipped.
+   *
+   * @param file a file in the directory to force
+   * @throws IOException if the directory cannot be forced
+   */
+  static void forceDirectory(Path file) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory, StandardOpenOption.READ);
+    } catch (IOException | UnsupportedOperationException e) {
+      return;
+    }
+    try (FileChannel open = channel) {
+      open.force(true);
+    }
+  }
+
+  /**
+   * Reads a checkpoint file with sequential buffered reads and adds its calendars to a manager,
+   * normally an empty one at startup. The whole file is read and its checksum verified before
+   * the manager is changed.
+   *
+   * @param path            the checkpoint file
+   * @param calendarManager the calendar manager to load the calendars into
+   * @return the journal position the checkpoint was taken at
+   * @throws IOException if the file cannot be read, is not a checkpoint or is corrupt, or a
+   *                     calendar with the same name is already present
+   */
+  public static long load(Path path, ICalendarManager calendarManager) throws IOException {
+    long position;
+    List<ICalendarContext> loaded = new ArrayList<>();
+    try (InputStream buffered = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+      CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+      DataInputStream in = new DataInputStream(checked);
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IOException("Not a calendar checkpoint: " + path);
+      }
+      position = in.readLong();
+      for (int c = in.readInt(); c > 0; c--) {
+        String name = EventRecordHelper.readText(in);
+        String timezone = EventRecordHelper.readText(in);
+        long nextId = in.readLong();
+        int count = in.readInt();
+        List<Event> events = new ArrayList<>(Math.min(count, 1 << 16));
+        for (int i = 0; i < count; i++) {
+          long id = in.readLong();
+          AbstractEvent event = EventRecordHelper.readEvent(in);
+          event.assignId(id);
+          events.add(event);
+        }
+        ICalendarContext calendar = new CalendarContext(name, timezone,
+            calendarManager.newCalendarModel());
+        calendar.getCalendarModel().restore(events, nextId);
+        loaded.add(calendar);
+      }
+      int expected = (int) checked.getChecksum().getValue();
+      if (new DataInputStream(buffered).readInt() != expected) {
+        throw new IOException("Corrupt calendar checkpoint: " + path);
+      }
+    } catch (EOFException e) {
+      throw new IOException("Truncated calendar checkpoint: " + path);
+    } catch (RuntimeException e) {
+      throw new IOException("Corrupt calendar checkpoint: " + path + ": " + e.getMessage());
+    }
+    for (ICalendarContext calendar : loaded) {
+      if (!calendarManager.addCalendar(calendar)) {
+        throw new IOException("Calendar already exists: " + calendar.getName());
+      }
+    }
+    return position;
+  }
+
+  /**
+   * One captured calendar.
+   */
+  private static final class Entry {
+
+    private final String name;
+    private final String timezone;
+    private final long nextId;
+    private final CalendarSnapshot events;
+
+    private Entry(String name, String timezone, long nextId, CalendarSnapshot events) {
+      this.name = name;
+      this.timezone = timezone;
+      this.nextId = nextId;
+      this.events = events;
+    }
+  }
+}
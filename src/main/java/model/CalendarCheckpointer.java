@@ -0,0 +1,173 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps startup fast for a journaled calendar manager by taking a {@link CalendarCheckpoint} from
+ * time to time and compacting the {@link CommandJournal} behind it. Startup then loads the latest
+ * checkpoint and replays only the records appended since, so its cost follows the size of the
+ * calendars and the changes of one interval rather than their whole history.
+ *
+ * <p>A checkpoint is captured between two changes, written and forced to a temporary file and
+ * renamed over the previous one, and only then are the journal records it covers dropped. The
+ * journal is synced before the checkpoint is written, so a crash at any step leaves a checkpoint
+ * whose position the journal still holds. {@link #start(Duration)} takes checkpoints on a
+ * background thread; the sessions only wait for the capture itself.
+ */
+public class CalendarCheckpointer implements Closeable {
+
+  /**
+   * The default time between two checkpoints.
+   */
+  public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+  private final ICalendarManager calendarManager;
+  private final CommandJournal journal;
+  private final Path checkpointPath;
+  private ScheduledExecutorService scheduler;
+  private long lastPosition = -1;
+  private volatile Exception lastFailure;
+
+  /**
+   * Constructs a checkpointer for a calendar manager whose changes are journaled.
+   *
+   * @param calendarManager the calendar manager to checkpoint
+   * @param journal         the journal its changes are recorded in
+   * @param checkpointPath  the checkpoint file
+   */
+  public CalendarCheckpointer(ICalendarManager calendarManager, CommandJournal journal,
+      Path checkpointPath) {
+    this.calendarManager = calendarManager;
+    this.journal = journal;
+    this.checkpointPath = checkpointPath;
+  }
+
+  /**
+   * Creates the model of a calendar whose changes are journaled and checkpointed: a
+   * {@link ConcurrentCalendarModel} in snapshot mode, so capturing it for a checkpoint is a single
+   * read rather than a copy of every event made while the sessions wait. Give it to the
+   * {@link CalendarManager} as its model factory.
+   *
+   * @return a new calendar model in snapshot mode
+   */
+  public static ICalendarModel newCalendarModel() {
+    ConcurrentCalendarModel model = new ConcurrentCalendarModel();
+    model.setSnapshotsEnabled(true);
+    return model;
+  }
+
+  /**
+   * Rebuilds calendars at startup: loads the checkpoint if there is one, then replays the
+   * journal records appended after it.
+   *
+   * @param calendarManager the empty calendar manager to rebuild
+   * @param journal         the journal to replay
+   * @param checkpointPath  the checkpoint file, which need not exist
+   * @return the number of journal records replayed
+   * @throws IOException if the checkpoint or journal cannot be read, or the journal was
+   *                     compacted but the checkpoint covering the dropped records is missing
+   */
+  public static int recover(ICalendarManager calendarManager, CommandJournal journal,
+      Path checkpointPath) throws IOException {
+    long from;
+    if (Files.exists(checkpointPath)) {
+      from = CalendarCheckpoint.load(checkpointPath, calendarManager);
+    } else if (journal.getStartPosition() > 0) {
+      throw new IOException("Journal " + journal.getPath() + " was compacted but checkpoint "
+          + checkpointPath + " is missing.");
+    } else {
+      from = 0;
+    }
+    return JournaledCalendarService.recover(calendarManager, journal, from);
+  }
+
+  /**
+   * Takes a checkpoint now and compacts the journal behind it, unless nothing was journaled
+   * since the last checkpoint this checkpointer took.
+   *
+   * @return true if a checkpoint was written
+   * @throws IOException if the checkpoint cannot be written or the journal cannot be compacted
+   */
+  public synchronized boolean checkpoint() throws IOException {
+    CalendarCheckpoint checkpoint = CalendarCheckpoint.capture(calendarManager, journal);
+    if (checkpoint.getPosition() == lastPosition) {
+      return false;
+    }
+    journal.sync();
+    checkpoint.write(checkpointPath);
+    journal.compact(checkpoint.getPosition());
+    lastPosition = checkpoint.getPosition();
+    return true;
+  }
+
+  /**
+   * Starts taking checkpoints on a background thread at a fixed delay. A failed checkpoint is
+   * kept for {@link #getLastFailure()} and retried at the next turn.
+   *
+   * @param interval the time between the end of one checkpoint and the start of the next
+   * @throws IllegalArgumentException if the interval is not positive
+   * @throws IllegalStateException if checkpoints are already being taken
+   */
+  public synchronized void start(Duration interval) {
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("Checkpoint interval must be positive.");
+    }
+    if (scheduler != null) {
+      throw new IllegalStateException("Checkpoints are already being taken.");
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "calendar-checkpoint");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long millis = interval.toMillis();
+    scheduler.scheduleWithFixedDelay(this::checkpointInBackground, millis, millis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns the failure of the latest background checkpoint.
+   *
+   * @return the exception, or null if the latest background checkpoint succeeded
+   */
+  public Exception getLastFailure() {
+    return lastFailure;
+  }
+
+  /**
+   * Stops taking checkpoints, waiting for one in progress to finish. The journal is left open.
+   */
+  @Override
+  public void close() {
+    ScheduledExecutorService running;
+    synchronized (this) {
+      running = scheduler;
+      scheduler = null;
+    }
+    if (running == null) {
+      return;
+    }
+    running.shutdown();
+    try {
+      running.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void checkpointInBackground() {
+    try {
+      checkpoint();
+      lastFailure = null;
+    } catch (IOException | RuntimeException e) {
+      lastFailure = e;
+    }
+  }
+}
@@ -7,8 +7,8 @@ import java.time.ZoneId;
  */
 public class CalendarContext implements ICalendarContext {
 
-  private String name;
-  private ZoneId timezone;
+  private volatile String name;
+  private volatile ZoneId timezone;
   private ICalendarModel calendarModel;
   private ICalendarService calendarService;
 
@@ -19,9 +19,21 @@ public class CalendarContext implements ICalendarContext {
    * @param timezone The timezone for the calendar
    */
   public CalendarContext(String name, String timezone) {
+    this(name, timezone, new CalendarModel());
+  }
+
+  /**
+   * Creates a new calendar context backed by the given model, for example a
+   * {@link ColumnarCalendarModel} for very large calendars.
+   *
+   * @param name     The name of the calendar
+   * @param timezone The timezone for the calendar
+   * @param model    The model storing the calendar's events
+   */
+  public CalendarContext(String name, String timezone, ICalendarModel model) {
     this.name = name;
     this.timezone = ZoneId.of(timezone);
-    this.calendarModel = new CalendarModel();
+    this.calendarModel = model;
     this.calendarService = new CalendarService(this.calendarModel);
   }
 
@@ -1,21 +1,40 @@
 package model;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
- * Manages a collection of calendars and tracks the currently active one.
+ * Manages a collection of calendars that can be shared by several sessions. Calendars are kept
+ * in a concurrent map, so lookups never block and calendars can be added, renamed and removed
+ * while other sessions use them. The current calendar of the manager's own default session is
+ * exposed for clients that need only one. New calendars get a {@link ConcurrentCalendarModel}
+ * unless another model factory is given, since their sessions may read and write them at once.
  */
 public class CalendarManager implements ICalendarManager {
 
-  private Map<String, ICalendarContext> calendars;
-  private ICalendarContext currentCalendar;
+  private final ConcurrentHashMap<String, ICalendarContext> calendars;
+  private final CalendarSession defaultSession;
+  private final Supplier<ICalendarModel> modelFactory;
 
   /**
-   * Creates a new calendar manager with an empty set of calendars.
+   * Creates a new calendar manager with an empty set of calendars, whose new calendars are
+   * backed by a {@link ConcurrentCalendarModel}.
    */
   public CalendarManager() {
-    calendars = new HashMap<>();
+    this(ConcurrentCalendarModel::new);
+  }
+
+  /**
+   * Creates a new calendar manager with an empty set of calendars.
+   *
+   * @param modelFactory Creates the model of each new calendar
+   */
+  public CalendarManager(Supplier<ICalendarModel> modelFactory) {
+    calendars = new ConcurrentHashMap<>();
+    defaultSession = new CalendarSession(this);
+    this.modelFactory = modelFactory;
   }
 
   /**
@@ -26,11 +45,7 @@ public class CalendarManager implements ICalendarManager {
    */
   @Override
   public boolean addCalendar(ICalendarContext calendar) {
-    if (calendars.containsKey(calendar.getName())) {
-      return false;
-    }
-    calendars.put(calendar.getName(), calendar);
-    return true;
+    return calendars.putIfAbsent(calendar.getName(), calendar) == null;
   }
 
   /**
@@ -45,36 +60,90 @@ public class CalendarManager implements ICalendarManager {
   }
 
   /**
-   * Gets the currently active calendar.
+   * Creates an empty model for a new calendar, using the manager's model factory.
+   *
+   * @return A new calendar model
+   */
+  @Override
+  public ICalendarModel newCalendarModel() {
+    return modelFactory.get();
+  }
+
+  /**
+   * Returns every calendar held by the manager. The list is copied from the concurrent map, so
+   * a calendar added or removed meanwhile may or may not be in it.
+   *
+   * @return A copy of the list of calendars, in no particular order
+   */
+  @Override
+  public List<ICalendarContext> getCalendars() {
+    return new ArrayList<>(calendars.values());
+  }
+
+  /**
+   * Renames a calendar. The new name is claimed before the old one is released, so the calendar
+   * can always be found under its current name, and of two concurrent attempts to take the same
+   * name only one succeeds. Renames of the same calendar are applied one at a time.
+   *
+   * @param oldName The current name of the calendar
+   * @param newName The name to give it
+   * @return True if renamed, false if there is no calendar named oldName or newName is taken
+   */
+  @Override
+  public boolean renameCalendar(String oldName, String newName) {
+    ICalendarContext calendar = calendars.get(oldName);
+    if (calendar == null) {
+      return false;
+    }
+    synchronized (calendar) {
+      if (calendars.get(oldName) != calendar
+          || calendars.putIfAbsent(newName, calendar) != null) {
+        return false;
+      }
+      calendar.setName(newName);
+      calendars.remove(oldName, calendar);
+      return true;
+    }
+  }
+
+  /**
+   * Gets the current calendar of the manager's default session.
    *
    * @return The current calendar context, or null if none is set
    */
   @Override
   public ICalendarContext getCurrentCalendar() {
-    return currentCalendar;
+    return defaultSession.getCurrentCalendar();
   }
 
   /**
-   * Sets the currently active calendar by name.
+   * Sets the current calendar of the manager's default session by name.
    *
    * @param name The name of the calendar to set as current
    */
   @Override
   public void setCurrentCalendar(String name) {
-    if (calendars.containsKey(name)) {
-      currentCalendar = calendars.get(name);
-    }
+    defaultSession.setCurrentCalendar(name);
   }
 
   /**
-   * Removes a calendar from the manager by name.
+   * Gets the session used by clients that do not open their own.
+   *
+   * @return The default session
+   */
+  @Override
+  public CalendarSession getDefaultSession() {
+    return defaultSession;
+  }
+
+  /**
+   * Removes a calendar from the manager by name. Sessions using it no longer have a current
+   * calendar.
    *
    * @param name The name of the calendar to remove
    */
+  @Override
   public void removeCalendar(String name) {
     calendars.remove(name);
-    if (currentCalendar != null && currentCalendar.getName().equals(name)) {
-      currentCalendar = null;
-    }
   }
-}
\ No newline at end of file
+}
@@ -3,24 +3,122 @@ package model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents the calendar model that stores events and provides methods to add and query events.
+ * Events are kept in a linked hash set in the order they were added, so removing one does not
+ * shift the others, and are found by id through an {@link EventIdMap}.
  */
 public class CalendarModel implements ICalendarModel {
 
-  private List<Event> events;
+  private Set<Event> events;
+  private EventIntervalIndex intervalIndex;
+  private EventDayIndex dayIndex;
+  private EventStartIndex startIndex;
+  private EventSubjectIndex subjectIndex;
+  private EventChangeListener indexUpdater;
+  private TextDictionary textDictionary;
+  private final OccurrenceCacheBudget occurrenceCacheBudget;
+  private EventIdMap eventsById;
+  private long nextId;
+  private FreeBusyIndex freeBusy;
+  private volatile CalendarSnapshot snapshot;
 
   /**
    * Constructs a new CalendarModel with an empty list of events.
    */
   public CalendarModel() {
-    this.events = new ArrayList<>();
+    this.events = new LinkedHashSet<>();
+    this.intervalIndex = new EventIntervalIndex();
+    this.dayIndex = new EventDayIndex();
+    this.startIndex = new EventStartIndex();
+    this.subjectIndex = new EventSubjectIndex();
+    this.indexUpdater = this::reindex;
+    this.textDictionary = new TextDictionary();
+    this.occurrenceCacheBudget = new OccurrenceCacheBudget();
+    this.eventsById = new EventIdMap();
+    this.nextId = 1;
   }
 
   /**
-   * Adds an event to the calendar, checking for conflicts if auto-decline is enabled.
+   * Turns the per-day free/busy bitmaps on or off. While they are on, busy checks and busy-minute
+   * counts are answered from bitmaps that are built the first time a day is queried and kept up
+   * to date as events change. They are off by default.
+   *
+   * @param enabled Whether to keep free/busy bitmaps
+   */
+  public void setFreeBusyEnabled(boolean enabled) {
+    if (!enabled) {
+      freeBusy = null;
+    } else if (freeBusy == null) {
+      freeBusy = newFreeBusyIndex();
+    }
+  }
+
+  /**
+   * Indicates whether the free/busy bitmaps are kept.
+   *
+   * @return True if busy checks are answered from bitmaps
+   */
+  public boolean isFreeBusyEnabled() {
+    return freeBusy != null;
+  }
+
+  /**
+   * Turns snapshot mode on or off. While it is on, every write publishes a new
+   * {@link CalendarSnapshot} built from the previous one by copying only the changed event and the
+   * O(log n) tree nodes above it, and {@link #getSnapshot()} is a single volatile read. While it is
+   * off, each call to {@link #getSnapshot()} copies the whole calendar. It is off by default.
+   *
+   * @param enabled Whether to publish a snapshot on every write
+   */
+  public void setSnapshotsEnabled(boolean enabled) {
+    snapshot = enabled ? CalendarSnapshot.of(events) : null;
+  }
+
+  /**
+   * Indicates whether snapshot mode is on.
+   *
+   * @return True if every write publishes a snapshot
+   */
+  public boolean isSnapshotsEnabled() {
+    return snapshot != null;
+  }
+
+  /**
+   * Returns an immutable point-in-time view of the calendar. In snapshot mode this is the
+   * snapshot published by the latest write; otherwise one is built for this call.
+   *
+   * @return The current snapshot
+   */
+  @Override
+  public CalendarSnapshot getSnapshot() {
+    CalendarSnapshot current = snapshot;
+    return current != null ? current : CalendarSnapshot.of(events);
+  }
+
+  /**
+   * Returns the snapshot published by the latest write, without building one.
+   *
+   * @return The published snapshot, or null if snapshot mode is off
+   */
+  CalendarSnapshot getPublishedSnapshot() {
+    return snapshot;
+  }
+
+  private FreeBusyIndex newFreeBusyIndex() {
+    return new FreeBusyIndex(date -> intervalIndex.findOverlapping(date.atStartOfDay(),
+        date.plusDays(1).atStartOfDay()));
+  }
+
+  /**
+   * Adds an event to the calendar, checking for conflicts if auto-decline is enabled. Only the
+   * events whose time envelope overlaps the new event are compared against it.
    *
    * @param event       The event to add
    * @param autoDecline Whether to check for and reject conflicts
@@ -28,19 +126,213 @@ public class CalendarModel implements ICalendarModel {
    */
   @Override
   public void addEvent(Event event, boolean autoDecline) throws EventConflictException {
-    for (Event existingEvent : events) {
-      if (existingEvent.conflictsWith(event)) {
-        if (event.isAutoDecline()) {
+    if (event.isAutoDecline()) {
+      for (Event existingEvent : intervalIndex.findOverlapping(event)) {
+        if (existingEvent.conflictsWith(event)) {
           throw new EventConflictException("Event '" + event.getSubject() +
               "' conflicts with existing event '" + existingEvent.getSubject() + "'.");
         }
       }
     }
+    store(event, nextId++);
+  }
+
+  /**
+   * Adds a batch of events. The batch is checked in a single sweep against itself and against the
+   * stored events its time span overlaps, then the accepted events are stored in the given order.
+   *
+   * @param events The events to add
+   * @param policy What to do with conflicting events
+   * @return The added events and the conflicts found
+   * @throws EventConflictException If the policy is all-or-nothing and an event conflicts
+   */
+  @Override
+  public BatchAddResult addEvents(Collection<? extends Event> events, ConflictPolicy policy)
+      throws EventConflictException {
+    BatchAddResult result = EventBatchHelper.plan(events,
+        intervalIndex.findOverlappingAny(events), policy);
+    for (Event event : result.getAdded()) {
+      store(event, nextId++);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the id the next stored event will be given.
+   *
+   * @return The next event id
+   */
+  @Override
+  public long getNextId() {
+    return nextId;
+  }
+
+  /**
+   * Stores events saved from a calendar under the ids they carry, indexing them as if they had
+   * just been added, and continues numbering from the given id.
+   *
+   * @param events The events in the order they were added, each carrying its id
+   * @param nextId The id the next stored event should be given
+   */
+  @Override
+  public void restore(List<? extends Event> events, long nextId) {
+    for (Event event : events) {
+      store(event, event.getId());
+    }
+    this.nextId = Math.max(this.nextId, nextId);
+  }
+
+  /**
+   * Stores an event that has passed its conflict check, assigning its id and indexing it.
+   *
+   * @param event The event to store
+   * @param id    The id to give it
+   */
+  private void store(Event event, long id) {
+    if (event instanceof AbstractEvent) {
+      ((AbstractEvent) event).internText(textDictionary);
+      ((AbstractEvent) event).assignId(id);
+      eventsById.put(id, event);
+    }
+    if (event instanceof RecurringEvent) {
+      ((RecurringEvent) event).useOccurrenceCacheBudget(occurrenceCacheBudget);
+    }
     events.add(event);
+    intervalIndex.add(event);
+    dayIndex.add(event);
+    subjectIndex.add(event);
+    if (event instanceof SingleEvent) {
+      startIndex.add(event);
+    }
+    if (freeBusy != null) {
+      freeBusy.add(event);
+    }
+    if (event instanceof AbstractEvent) {
+      ((AbstractEvent) event).addChangeListener(indexUpdater);
+    }
+    if (snapshot != null) {
+      snapshot = snapshot.with(id, event);
+    }
+  }
+
+  /**
+   * Applies a multi-step change. This model is not shared between threads, so the operation
+   * simply runs against it.
+   *
+   * @param operation The change to apply
+   * @param <T>       The type of the operation's result
+   * @return The result of the operation
+   * @throws Exception If the operation fails
+   */
+  @Override
+  public <T> T atomically(CalendarOperation<T> operation) throws Exception {
+    return operation.apply(this);
+  }
+
+  /**
+   * Returns the stored event with the given id.
+   *
+   * @param id The event id
+   * @return The event, or null if no stored event has that id
+   */
+  @Override
+  public Event getById(long id) {
+    return eventsById.get(id);
+  }
+
+  /**
+   * Changes one property of the stored event with the given id. Recurring events are edited as a
+   * whole series.
+   *
+   * @param id       The event id
+   * @param property The property to change
+   * @param newValue The new value
+   * @throws Exception If no event has the id, or the edit is invalid or causes a conflict
+   */
+  @Override
+  public void editById(long id, String property, String newValue) throws Exception {
+    Event event = eventsById.get(id);
+    if (!(event instanceof AbstractEvent)) {
+      throw new Exception("No event found with id " + id + ".");
+    }
+    EventEditHelper.updateEvent((AbstractEvent) event, property, newValue, this);
+  }
+
+  /**
+   * Removes the stored event with the given id from the calendar and all its indexes.
+   *
+   * @param id The event id
+   * @return True if an event was removed, false if no event has the id
+   */
+  @Override
+  public boolean removeById(long id) {
+    Event event = eventsById.remove(id);
+    if (event == null) {
+      return false;
+    }
+    events.remove(event);
+    intervalIndex.remove(event);
+    dayIndex.remove(event);
+    startIndex.remove(event);
+    subjectIndex.remove(event);
+    if (freeBusy != null) {
+      freeBusy.remove(event);
+    }
+    ((AbstractEvent) event).removeChangeListener(indexUpdater);
+    if (event instanceof RecurringEvent) {
+      ((RecurringEvent) event).useOccurrenceCacheBudget(new OccurrenceCacheBudget());
+    }
+    if (snapshot != null) {
+      snapshot = snapshot.without(id);
+    }
+    return true;
+  }
+
+  /**
+   * Refreshes the indexes after a stored event has been modified, and interns any new text.
+   *
+   * @param event The modified event
+   */
+  private void reindex(Event event) {
+    if (event instanceof AbstractEvent) {
+      ((AbstractEvent) event).internText(textDictionary);
+    }
+    intervalIndex.update(event);
+    dayIndex.update(event);
+    startIndex.update(event);
+    subjectIndex.update(event);
+    if (freeBusy != null) {
+      freeBusy.update(event);
+    }
+    if (snapshot != null) {
+      snapshot = snapshot.with(event.getId(), event);
+    }
+  }
+
+  /**
+   * Returns the dictionary that the text of this calendar's events is interned in.
+   *
+   * @return the calendar's text dictionary
+   */
+  @Override
+  public TextDictionary getTextDictionary() {
+    return textDictionary;
+  }
+
+  /**
+   * Returns the budget that bounds how many occurrences this calendar's series cache, alone and
+   * together.
+   *
+   * @return the calendar's occurrence cache budget
+   */
+  @Override
+  public OccurrenceCacheBudget getOccurrenceCacheBudget() {
+    return occurrenceCacheBudget;
   }
 
   /**
-   * Gets all events occurring on a specific date.
+   * Gets all events occurring on a specific date. Only the events filed under that day, or under
+   * its weekday for recurring events, are examined.
    *
    * @param date The date to check for events
    * @return A list of events on the given date
@@ -48,7 +340,7 @@ public class CalendarModel implements ICalendarModel {
   @Override
   public List<Event> getEventsOn(LocalDate date) {
     List<Event> result = new ArrayList<>();
-    for (Event event : events) {
+    for (Event event : dayIndex.candidatesOn(date)) {
       if (occursOnDate(event, date)) {
         result.add(event);
       }
@@ -68,6 +360,8 @@ public class CalendarModel implements ICalendarModel {
       LocalDate start = event.getStartDateTime().toLocalDate();
       LocalDate end = event.getEffectiveEndDateTime().toLocalDate();
       return (!date.isBefore(start)) && (!date.isAfter(end));
+    } else if (event instanceof RecurringEvent) {
+      return ((RecurringEvent) event).occursOn(date);
     } else {
       for (Event occurrence : event.getOccurrences()) {
         if (occurrence.getStartDateTime().toLocalDate().equals(date)) {
@@ -89,24 +383,160 @@ public class CalendarModel implements ICalendarModel {
   }
 
   /**
-   * Checks if the calendar is busy at a specific date-time.
+   * Returns the stored events with the given subject, ignoring case, read from the subject index.
+   *
+   * @param subject The subject to look up
+   * @return The matching events in the order they were added
+   */
+  @Override
+  public List<Event> getEventsBySubject(String subject) {
+    return subjectIndex.withSubject(subject);
+  }
+
+  /**
+   * Returns the occurrences with the given subject, ignoring case, that start exactly at the given
+   * time. Single events are found by subject and start; series sharing the subject are checked
+   * arithmetically and contribute an {@link OccurrenceView}.
+   *
+   * @param subject The subject to look up
+   * @param start   The occurrence start
+   * @return The matching occurrences in the order their events were added
+   */
+  @Override
+  public List<Event> getOccurrencesAt(String subject, LocalDateTime start) {
+    List<Event> result = new ArrayList<>();
+    for (Event event : subjectIndex.candidatesAt(subject, start)) {
+      if (event instanceof SingleEvent) {
+        result.add(event);
+      } else if (event instanceof RecurringEvent) {
+        RecurringEvent re = (RecurringEvent) event;
+        LocalDate date = re.occurrenceDateAt(start);
+        if (date != null) {
+          result.add(new OccurrenceView(re, date));
+        }
+      } else {
+        for (Event occurrence : event.getOccurrences()) {
+          if (occurrence.getStartDateTime().equals(start)) {
+            result.add(occurrence);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the occurrences starting within the given range in chronological order. Single events
+   * are read from the start-time index; recurring series are found through their envelopes and
+   * only the occurrences inside the range are produced.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return A chronologically ordered list of occurrences
+   */
+  @Override
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    List<Event> result = startIndex.startingBetween(start, end);
+    if (!start.isBefore(end)) {
+      return result;
+    }
+    for (Event event : intervalIndex.findOverlapping(start, end)) {
+      if (event instanceof SingleEvent) {
+        continue;
+      }
+      if (event instanceof RecurringEvent) {
+        result.addAll(((RecurringEvent) event).occurrencesStartingBetween(start, end));
+      } else {
+        for (Event occurrence : event.getOccurrences()) {
+          LocalDateTime occStart = occurrence.getStartDateTime();
+          if (!occStart.isBefore(start) && occStart.isBefore(end)) {
+            result.add(occurrence);
+          }
+        }
+      }
+    }
+    result.sort(Comparator.comparing(Event::getStartDateTime));
+    return result;
+  }
+
+  /**
+   * Returns the occurrences overlapping the given range in chronological order. Candidates come
+   * from the interval index, and recurring series produce only the occurrences near the range.
+   *
+   * @param start The start of the range
+   * @param end   The end of the range
+   * @return A chronologically ordered list of occurrences
+   */
+  @Override
+  public List<Event> getOccurrencesOverlapping(LocalDateTime start, LocalDateTime end) {
+    List<Event> result = new ArrayList<>();
+    if (!start.isBefore(end)) {
+      return result;
+    }
+    for (Event event : intervalIndex.findOverlapping(start, end)) {
+      if (event instanceof RecurringEvent) {
+        result.addAll(((RecurringEvent) event).occurrencesOverlapping(start, end));
+        continue;
+      }
+      for (Event occurrence : event.getOccurrences()) {
+        if (occurrence.getStartDateTime().isBefore(end)
+            && occurrence.getEffectiveEndDateTime().isAfter(start)) {
+          result.add(occurrence);
+        }
+      }
+    }
+    result.sort(Comparator.comparing(Event::getStartDateTime));
+    return result;
+  }
+
+  /**
+   * Checks if the calendar is busy at a specific date-time. With free/busy bitmaps on this is a
+   * bit test on the day's bitmap; otherwise the interval index is stabbed at the given instant, so
+   * only events whose envelope contains it are examined.
    *
    * @param dateTime The date-time to check
    * @return True if an event overlaps the given time, false otherwise
    */
   @Override
   public boolean isBusyAt(LocalDateTime dateTime) {
-    for (Event event : events) {
-      for (Event occurrence : event.getOccurrences()) {
-        if (occurrence instanceof SingleEvent) {
-          Event se = occurrence;
-          if (se.getStartDateTime().isBefore(dateTime) && se.getEffectiveEndDateTime()
-              .isAfter(dateTime)) {
-            return true;
-          }
-        }
+    if (freeBusy != null) {
+      return freeBusy.isBusyAt(dateTime);
+    }
+    return intervalIndex.anyOverlapping(dateTime, dateTime, event -> isBusyAt(event, dateTime));
+  }
+
+  /**
+   * Counts the minutes in a range during which some event is in progress. With free/busy bitmaps
+   * on this is a popcount over the cached days; otherwise the days are computed for this call
+   * only.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return The number of busy minutes
+   */
+  @Override
+  public long getBusyMinutes(LocalDateTime start, LocalDateTime end) {
+    FreeBusyIndex layer = freeBusy != null ? freeBusy : newFreeBusyIndex();
+    return layer.busyMinutes(start, end);
+  }
+
+  /**
+   * Checks whether one stored event has an occurrence in progress at the given date-time.
+   *
+   * @param event    The event to check
+   * @param dateTime The date-time to check
+   * @return True if an occurrence starts before and ends after the given time
+   */
+  private static boolean isBusyAt(Event event, LocalDateTime dateTime) {
+    if (event instanceof RecurringEvent) {
+      return ((RecurringEvent) event).overlaps(dateTime, dateTime);
+    }
+    for (Event occurrence : event.getOccurrences()) {
+      if (occurrence.getStartDateTime().isBefore(dateTime)
+          && occurrence.getEffectiveEndDateTime().isAfter(dateTime)) {
+        return true;
       }
     }
     return false;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package model;
+
+/**
+ * A change to a calendar that takes several steps, such as splitting a series and adding the
+ * part that continues it, and must be applied to the model as one unit.
+ *
+ * @param <T> the type of the operation's result
+ */
+public interface CalendarOperation<T> {
+
+  /**
+   * Applies the operation. Every read and write must go through the given model rather than any
+   * other reference to the calendar.
+   *
+   * @param model the model to apply the operation to
+   * @return the result of the operation
+   * @throws Exception if the operation fails
+   */
+  T apply(ICalendarModel model) throws Exception;
+}
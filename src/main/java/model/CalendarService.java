@@ -3,7 +3,9 @@ package model;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Provides services for managing events in a calendar model.
@@ -79,6 +81,20 @@ public class CalendarService implements ICalendarService {
     model.addEvent(event, autoDecline);
   }
 
+  /**
+   * Adds a batch of events to the calendar in one conflict-checking pass.
+   *
+   * @param events The events to add
+   * @param policy What to do with conflicting events
+   * @return The added events and the conflicts found
+   * @throws EventConflictException If the policy is all-or-nothing and an event conflicts
+   */
+  @Override
+  public BatchAddResult addEvents(Collection<? extends Event> events, ConflictPolicy policy)
+      throws EventConflictException {
+    return model.addEvents(events, policy);
+  }
+
   /**
    * Gets all events occurring on a specific date.
    *
@@ -100,6 +116,140 @@ public class CalendarService implements ICalendarService {
     return model.getAllEvents();
   }
 
+  /**
+   * Gets the event with the given id.
+   *
+   * @param id The event id
+   * @return The event, or null if there is none
+   */
+  @Override
+  public Event getById(long id) {
+    return model.getById(id);
+  }
+
+  /**
+   * Edits one property of the event with the given id.
+   *
+   * @param id       The event id
+   * @param property The property to change
+   * @param newValue The new value
+   * @throws Exception If no event has the id or the edit fails
+   */
+  @Override
+  public void editById(long id, String property, String newValue) throws Exception {
+    model.editById(id, property, newValue);
+  }
+
+  /**
+   * Removes the event with the given id.
+   *
+   * @param id The event id
+   * @return True if an event was removed
+   */
+  @Override
+  public boolean removeById(long id) {
+    return model.removeById(id);
+  }
+
+  /**
+   * Gets the events whose subject equals the given subject, ignoring case.
+   *
+   * @param subject The subject to look up
+   * @return A list of matching events
+   */
+  @Override
+  public List<Event> getEventsBySubject(String subject) {
+    return model.getEventsBySubject(subject);
+  }
+
+  /**
+   * Gets the occurrences with the given subject, ignoring case, starting at the given time.
+   *
+   * @param subject The subject to look up
+   * @param start   The occurrence start
+   * @return A list of matching occurrences
+   */
+  @Override
+  public List<Event> getOccurrencesAt(String subject, LocalDateTime start) {
+    return model.getOccurrencesAt(subject, start);
+  }
+
+  /**
+   * Gets the occurrences starting within a date-time range, in chronological order.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return A list of occurrences ordered by start time
+   */
+  @Override
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    return model.getOccurrencesBetween(start, end);
+  }
+
+  /**
+   * Streams the occurrences starting within a date-time range, a window at a time.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return A lazy stream of occurrences ordered by start time
+   */
+  @Override
+  public Stream<Event> streamOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    return OccurrenceStreamHelper.stream(model, start, end);
+  }
+
+  /**
+   * Gets one page of the occurrences starting within a date-time range.
+   *
+   * @param start  The inclusive start of the range
+   * @param end    The exclusive end of the range
+   * @param offset The number of occurrences to skip
+   * @param limit  The largest number of occurrences on the page
+   * @return The page and the token continuing it
+   */
+  @Override
+  public EventPage getOccurrencePage(LocalDateTime start, LocalDateTime end, int offset,
+      int limit) {
+    return OccurrenceStreamHelper.page(model, start, end, offset, limit);
+  }
+
+  /**
+   * Gets the page of occurrences that follows an earlier page.
+   *
+   * @param start     The inclusive start of the range
+   * @param end       The exclusive end of the range
+   * @param pageToken The token returned with the previous page, or null for the first page
+   * @param limit     The largest number of occurrences on the page
+   * @return The page and the token continuing it
+   */
+  @Override
+  public EventPage getOccurrencePage(LocalDateTime start, LocalDateTime end, String pageToken,
+      int limit) {
+    return OccurrenceStreamHelper.page(model, start, end, pageToken, limit);
+  }
+
+  /**
+   * Gets the dictionary that the calendar's event text is interned in.
+   *
+   * @return The text dictionary
+   */
+  @Override
+  public TextDictionary getTextDictionary() {
+    return model.getTextDictionary();
+  }
+
+  /**
+   * Retrieves the occurrences overlapping a range.
+   *
+   * @param start The range start
+   * @param end   The range end
+   * @return The overlapping occurrences in chronological order
+   */
+  @Override
+  public List<Event> getOccurrencesOverlapping(LocalDateTime start, LocalDateTime end) {
+    return model.getOccurrencesOverlapping(start, end);
+  }
+
   /**
    * Checks if the calendar is busy at a specific time.
    *
@@ -112,7 +262,20 @@ public class CalendarService implements ICalendarService {
   }
 
   /**
-   * Edits an event’s property based on the specified mode.
+   * Counts the busy minutes in a range.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return The number of minutes during which an event is in progress
+   */
+  @Override
+  public long getBusyMinutes(LocalDateTime start, LocalDateTime end) {
+    return model.getBusyMinutes(start, end);
+  }
+
+  /**
+   * Edits an event’s property based on the specified mode. The edit is applied as one unit, so
+   * a FROM-mode split is never seen with only one of its halves.
    *
    * @param subject  The subject of the event to edit
    * @param from     The start time for editing (null for ALL mode)
@@ -124,7 +287,10 @@ public class CalendarService implements ICalendarService {
   @Override
   public void editEvent(String subject, LocalDateTime from, String property, String newValue,
       EditMode mode) throws Exception {
-    editOps.editEvent(model, subject, from, property, newValue, mode);
+    model.atomically(calendar -> {
+      editOps.editEvent(calendar, subject, from, property, newValue, mode);
+      return null;
+    });
   }
 
   /**
@@ -141,6 +307,21 @@ public class CalendarService implements ICalendarService {
     return exporter.export(model, path);
   }
 
+  /**
+   * Exports the occurrences starting on or before a date to a CSV file.
+   *
+   * @param format The export format (currently only "csv" is supported)
+   * @param path   The file path to export to
+   * @param until  The last start date to export, or null to export every occurrence
+   * @return The path where the file was saved
+   * @throws IOException If the export fails
+   */
+  @Override
+  public String exportTo(String format, String path, LocalDate until) throws IOException {
+    exporter = new ExportFactory().getExport(format);
+    return exporter.export(model, path, until);
+  }
+
   @Override
   public String importFrom(String format, String path) throws Exception {
     Importer importer = new ImportFactory().getImporter(format);
@@ -159,6 +340,19 @@ public class CalendarService implements ICalendarService {
     return printer.printEventsOn(date);
   }
 
+  /**
+   * Prints events for a specific date, optionally with the id of each event.
+   *
+   * @param date    The date to print events for
+   * @param showIds Whether to list event ids
+   * @return A formatted string of events
+   * @throws Exception If printing fails
+   */
+  @Override
+  public String printEventsOn(LocalDate date, boolean showIds) throws Exception {
+    return new EventPrinter(model, showIds).printEventsOn(date);
+  }
+
   /**
    * Prints events within a date-time range.
    *
@@ -171,4 +365,34 @@ public class CalendarService implements ICalendarService {
   public String printEventsRange(LocalDateTime start, LocalDateTime end) throws Exception {
     return printer.printEventsRange(start, end);
   }
+
+  /**
+   * Writes the events within a date-time range to an output, a page at a time.
+   *
+   * @param start The start of the range
+   * @param end   The end of the range
+   * @param out   Where the listing is written
+   * @throws Exception If retrieval or writing fails
+   */
+  @Override
+  public void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out)
+      throws Exception {
+    printer.printEventsRange(start, end, out);
+  }
+
+  /**
+   * Writes the events within a date-time range to an output, a page at a time, optionally with
+   * the id of each event.
+   *
+   * @param start   The start of the range
+   * @param end     The end of the range
+   * @param out     Where the listing is written
+   * @param showIds Whether to list event ids
+   * @throws Exception If retrieval or writing fails
+   */
+  @Override
+  public void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out,
+      boolean showIds) throws Exception {
+    new EventPrinter(model, showIds).printEventsRange(start, end, out);
+  }
 }
\ No newline at end of file
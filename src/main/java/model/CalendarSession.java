@@ -0,0 +1,62 @@
+package model;
+
+/**
+ * The state of one client working with a shared {@link ICalendarManager}: the calendar its
+ * commands apply to. Each session chooses its own current calendar, so several clients can work
+ * on different calendars of the same manager at once.
+ *
+ * <p>The session holds the calendar itself rather than its name, so it keeps following the
+ * calendar when it is renamed, and stops seeing it once it is removed from the manager.
+ */
+public class CalendarSession {
+
+  private final ICalendarManager manager;
+  private volatile ICalendarContext currentCalendar;
+
+  /**
+   * Creates a session with no current calendar.
+   *
+   * @param manager the manager whose calendars the session works with
+   */
+  public CalendarSession(ICalendarManager manager) {
+    this.manager = manager;
+  }
+
+  /**
+   * Gets the session's current calendar.
+   *
+   * @return the current calendar, or null if none is set or it has been removed
+   */
+  public ICalendarContext getCurrentCalendar() {
+    ICalendarContext current = currentCalendar;
+    if (current == null) {
+      return null;
+    }
+    // A rename may finish between reading the name and looking it up; a changed name means the
+    // calendar moved rather than went away.
+    String name;
+    do {
+      name = current.getName();
+      if (manager.getCalendar(name) == current) {
+        return current;
+      }
+    } while (!name.equals(current.getName()));
+    return null;
+  }
+
+  /**
+   * Makes the calendar with the given name the session's current calendar. Nothing changes if
+   * the manager has no calendar with that name.
+   *
+   * @param name the name of the calendar
+   * @return true if the current calendar was set, false if there is no such calendar
+   */
+  public boolean setCurrentCalendar(String name) {
+    ICalendarContext calendar = manager.getCalendar(name);
+    if (calendar == null) {
+      return false;
+    }
+    currentCalendar = calendar;
+    return true;
+  }
+}
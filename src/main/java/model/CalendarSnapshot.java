@@ -0,0 +1,194 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An immutable point-in-time view of a calendar's events. The events in a snapshot are frozen
+ * copies: their setters throw, and later edits to the calendar are not seen through them. A
+ * snapshot is never changed once built, so it can be read from any thread, iterated without
+ * copying, and kept for as long as a consistent view is needed, for example for the length of an
+ * export.
+ *
+ * <p>Queries on a snapshot scan its events; the calendar's indexes only describe its current
+ * state.
+ */
+public final class CalendarSnapshot implements Iterable<Event> {
+
+  private static final CalendarSnapshot EMPTY =
+      new CalendarSnapshot(PersistentEventMap.empty(), 0);
+
+  private final PersistentEventMap events;
+  private final long version;
+
+  private CalendarSnapshot(PersistentEventMap events, long version) {
+    this.events = events;
+    this.version = version;
+  }
+
+  /**
+   * Returns the snapshot of an empty calendar.
+   *
+   * @return an empty snapshot
+   */
+  public static CalendarSnapshot empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds a snapshot holding frozen copies of the given events, keyed by their ids.
+   *
+   * @param events the events of a calendar in the order they were added
+   * @return the snapshot
+   */
+  public static CalendarSnapshot of(Collection<Event> events) {
+    PersistentEventMap map = PersistentEventMap.empty();
+    long key = 0;
+    for (Event event : events) {
+      key = Math.max(key + 1, event.getId());
+      map = map.with(key, freeze(event));
+    }
+    return new CalendarSnapshot(map, 0);
+  }
+
+  /**
+   * Returns a snapshot that also holds a frozen copy of the given event under its id, replacing
+   * the previous copy if there was one. This snapshot is not changed.
+   *
+   * @param id    the id the calendar stores the event under
+   * @param event the added or modified event
+   * @return the next snapshot
+   */
+  public CalendarSnapshot with(long id, Event event) {
+    return new CalendarSnapshot(events.with(id, freeze(event)), version + 1);
+  }
+
+  /**
+   * Returns a snapshot without the event with the given id. This snapshot is not changed.
+   *
+   * @param id the id of the removed event
+   * @return the next snapshot
+   */
+  public CalendarSnapshot without(long id) {
+    return new CalendarSnapshot(events.without(id), version + 1);
+  }
+
+  /**
+   * Returns the number of writes this snapshot reflects since the calendar began publishing
+   * snapshots. Later snapshots of the same calendar have larger versions.
+   *
+   * @return the snapshot version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns the number of events in the snapshot.
+   *
+   * @return the event count
+   */
+  public int size() {
+    return events.size();
+  }
+
+  /**
+   * Returns the event with the given id as it was when the snapshot was taken.
+   *
+   * @param id the event id
+   * @return the frozen event, or null if no event had the id
+   */
+  public Event getById(long id) {
+    return events.get(id);
+  }
+
+  /**
+   * Iterates over the events in the order they were added, without copying.
+   *
+   * @return an iterator over the frozen events
+   */
+  @Override
+  public Iterator<Event> iterator() {
+    return events.iterator();
+  }
+
+  /**
+   * Returns the events as a list, in the order they were added.
+   *
+   * @return an unmodifiable list of the frozen events
+   */
+  public List<Event> getEvents() {
+    List<Event> result = new ArrayList<>(events.size());
+    for (Event event : events) {
+      result.add(event);
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Returns the events that occur on a date.
+   *
+   * @param date the date
+   * @return the frozen events occurring that day, in the order they were added
+   */
+  public List<Event> getEventsOn(LocalDate date) {
+    List<Event> result = new ArrayList<>();
+    for (Event event : events) {
+      if (event instanceof RecurringEvent) {
+        if (((RecurringEvent) event).occursOn(date)) {
+          result.add(event);
+        }
+        continue;
+      }
+      for (Event occurrence : event.getOccurrences()) {
+        if (!date.isBefore(occurrence.getStartDateTime().toLocalDate())
+            && !date.isAfter(occurrence.getEffectiveEndDateTime().toLocalDate())) {
+          result.add(event);
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the occurrences starting within a range in chronological order.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return the occurrences of the frozen events
+   */
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    List<Event> result = new ArrayList<>();
+    if (!start.isBefore(end)) {
+      return result;
+    }
+    for (Event event : events) {
+      if (event instanceof RecurringEvent) {
+        result.addAll(((RecurringEvent) event).occurrencesStartingBetween(start, end));
+        continue;
+      }
+      for (Event occurrence : event.getOccurrences()) {
+        LocalDateTime occStart = occurrence.getStartDateTime();
+        if (!occStart.isBefore(start) && occStart.isBefore(end)) {
+          result.add(occurrence);
+        }
+      }
+    }
+    result.sort(Comparator.comparing(Event::getStartDateTime));
+    return result;
+  }
+
+  private static Event freeze(Event event) {
+    if (event instanceof AbstractEvent) {
+      return ((AbstractEvent) event).frozenCopy();
+    }
+    return event;
+  }
+}
@@ -0,0 +1,947 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A calendar model that stores single events column-wise in primitive arrays. Start and effective
+ * end times are held as epoch minutes in {@code long[]} columns, the public, auto-decline and
+ * open-end flags live in bitsets, and subject, description and location are dictionary-encoded
+ * as {@code int} ids. Range scans, busy checks and conflict checks over single events are plain
+ * loops over the time columns.
+ *
+ * <p>{@link Event} objects for stored single events are created only when a query returns them.
+ * Each returned event writes the properties changed through it back to its row, so edits made
+ * through it are seen by later queries. Only the changed property is written, so an edit made
+ * through a stale view of a row does not revert an edit made through another one; the views
+ * themselves do not see each other's changes. Recurring series and other event types are kept
+ * as objects, since their occurrences are already computed arithmetically from the rule.
+ *
+ * <p>Times are stored to the minute, which is the resolution of the command syntax. The
+ * application keeps its calendars in this model when it is started with {@code --columnar}.
+ */
+public class ColumnarCalendarModel implements ICalendarModel {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int NO_TEXT = -1;
+  private static final int REMOVED = Integer.MIN_VALUE;
+
+  private long[] startMinutes;
+  private long[] endMinutes;
+  private int[] subjectIds;
+  private int[] descriptionIds;
+  private int[] locationIds;
+  private long[] rowIds;
+  private final BitSet publicFlags;
+  private final BitSet autoDeclineFlags;
+  private final BitSet openEndFlags;
+  private int rowCount;
+
+  private final List<String> dictionary;
+  private final Map<String, Integer> dictionaryIds;
+  private int[] dictionaryRefs;
+  private final ArrayDeque<Integer> freeTextIds;
+  private final TextDictionary textDictionary;
+  private final Map<String, BitSet> rowsBySubject;
+  private final OccurrenceCacheBudget occurrenceCacheBudget;
+
+  private final List<Event> objectEvents;
+  private int[] insertionOrder;
+  private long[] insertionIds;
+  private int eventCount;
+  private int removedCount;
+  private final EventPositionMap positions;
+  private long nextId;
+
+  /**
+   * Constructs an empty columnar calendar model.
+   */
+  public ColumnarCalendarModel() {
+    this.startMinutes = new long[INITIAL_CAPACITY];
+    this.endMinutes = new long[INITIAL_CAPACITY];
+    this.subjectIds = new int[INITIAL_CAPACITY];
+    this.descriptionIds = new int[INITIAL_CAPACITY];
+    this.locationIds = new int[INITIAL_CAPACITY];
+    this.rowIds = new long[INITIAL_CAPACITY];
+    this.publicFlags = new BitSet();
+    this.autoDeclineFlags = new BitSet();
+    this.openEndFlags = new BitSet();
+    this.dictionary = new ArrayList<>();
+    this.dictionaryIds = new HashMap<>();
+    this.dictionaryRefs = new int[INITIAL_CAPACITY];
+    this.freeTextIds = new ArrayDeque<>();
+    this.textDictionary = new TextDictionary();
+    this.rowsBySubject = new HashMap<>();
+    this.occurrenceCacheBudget = new OccurrenceCacheBudget();
+    this.objectEvents = new ArrayList<>();
+    this.insertionOrder = new int[INITIAL_CAPACITY];
+    this.insertionIds = new long[INITIAL_CAPACITY];
+    this.positions = new EventPositionMap();
+    this.nextId = 1;
+  }
+
+  /**
+   * Adds an event to the calendar. If the event has auto-decline enabled, it is rejected when it
+   * conflicts with an existing event. Single events are copied into the columns; later changes to
+   * the passed object are not tracked, only changes made through events returned by queries.
+   *
+   * @param event       The event to add
+   * @param autoDecline Whether to auto-decline conflicting events
+   * @throws EventConflictException If the event conflicts with an existing event
+   */
+  @Override
+  public void addEvent(Event event, boolean autoDecline) throws EventConflictException {
+    if (event.isAutoDecline()) {
+      Event conflict = findConflict(event);
+      if (conflict != null) {
+        throw new EventConflictException("Event '" + event.getSubject()
+            + "' conflicts with existing event '" + conflict.getSubject() + "'.");
+      }
+    }
+    store(event, nextId++);
+  }
+
+  /**
+   * Adds a batch of events. The batch is checked in a single sweep against itself and against the
+   * stored events, instead of scanning every column once per new event. The sweep reads the
+   * envelopes of stored single events straight from the time columns, and only the rows it finds
+   * overlapping the batch are built into events for the exact check.
+   *
+   * @param events The events to add
+   * @param policy What to do with conflicting events
+   * @return The added events and the conflicts found
+   * @throws EventConflictException If the policy is all-or-nothing and an event conflicts
+   */
+  @Override
+  public BatchAddResult addEvents(Collection<? extends Event> events, ConflictPolicy policy)
+      throws EventConflictException {
+    int[] entries = new int[eventCount - removedCount];
+    long[] starts = new long[entries.length];
+    long[] ends = new long[entries.length];
+    int live = 0;
+    for (int i = 0; i < eventCount; i++) {
+      int entry = insertionOrder[i];
+      if (entry == REMOVED) {
+        continue;
+      }
+      if (entry >= 0) {
+        starts[live] = Math.min(startMinutes[entry], endMinutes[entry]) * 60;
+        ends[live] = Math.max(startMinutes[entry], endMinutes[entry]) * 60;
+      } else {
+        Event event = objectEvents.get(-entry - 1);
+        starts[live] = EventIntervalIndex.envelopeStart(event);
+        ends[live] = EventIntervalIndex.envelopeEnd(event);
+      }
+      entries[live++] = entry;
+    }
+    BatchAddResult result = EventBatchHelper.plan(events, starts, ends,
+        index -> entries[index] >= 0 ? view(entries[index])
+            : objectEvents.get(-entries[index] - 1), policy);
+    for (Event event : result.getAdded()) {
+      store(event, nextId++);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the id the next stored event will be given.
+   *
+   * @return The next event id
+   */
+  @Override
+  public long getNextId() {
+    return nextId;
+  }
+
+  /**
+   * Stores events saved from a calendar under the ids they carry, encoding single events into
+   * the columns, and continues numbering from the given id.
+   *
+   * @param events The events in the order they were added, each carrying its id
+   * @param nextId The id the next stored event should be given
+   */
+  @Override
+  public void restore(List<? extends Event> events, long nextId) {
+    for (Event event : events) {
+      store(event, event.getId());
+    }
+    this.nextId = Math.max(this.nextId, nextId);
+  }
+
+  /**
+   * Stores an event that has passed its conflict check.
+   *
+   * @param event The event to store
+   * @param id    The id to give it
+   */
+  private void store(Event event, long id) {
+    int entry;
+    if (event instanceof SingleEvent) {
+      entry = appendRow((SingleEvent) event);
+      rowIds[entry] = id;
+    } else {
+      if (event instanceof AbstractEvent) {
+        ((AbstractEvent) event).internText(textDictionary);
+        ((AbstractEvent) event).assignId(id);
+      }
+      if (event instanceof RecurringEvent) {
+        ((RecurringEvent) event).useOccurrenceCacheBudget(occurrenceCacheBudget);
+      }
+      objectEvents.add(event);
+      entry = -objectEvents.size();
+    }
+    if (eventCount == insertionOrder.length) {
+      insertionOrder = Arrays.copyOf(insertionOrder, eventCount * 2);
+      insertionIds = Arrays.copyOf(insertionIds, eventCount * 2);
+    }
+    insertionOrder[eventCount] = entry;
+    insertionIds[eventCount] = id;
+    positions.put(id, eventCount);
+    eventCount++;
+  }
+
+  /**
+   * Finds the first existing event, in insertion order, that conflicts with the given event.
+   *
+   * @param event The event being added
+   * @return The conflicting event, or null if there is none
+   */
+  private Event findConflict(Event event) {
+    boolean single = event instanceof SingleEvent;
+    long start = single ? toMinutes(event.getStartDateTime()) : 0;
+    long end = single ? toMinutes(event.getEffectiveEndDateTime()) : 0;
+    for (int i = 0; i < eventCount; i++) {
+      int entry = insertionOrder[i];
+      if (entry == REMOVED) {
+        continue;
+      }
+      if (entry >= 0) {
+        if (single) {
+          if (startMinutes[entry] < end && start < endMinutes[entry]) {
+            return view(entry);
+          }
+        } else if (event instanceof RecurringEvent
+            && ((RecurringEvent) event).overlaps(toDateTime(startMinutes[entry]),
+            toDateTime(endMinutes[entry]))) {
+          return view(entry);
+        }
+      } else {
+        Event existing = objectEvents.get(-entry - 1);
+        if (existing.conflictsWith(event)) {
+          return existing;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Retrieves events occurring on a specific date.
+   *
+   * @param date The date to check for events
+   * @return A list of events occurring on that date
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    long dayStart = date.toEpochDay() * 1440;
+    long dayEnd = dayStart + 1440;
+    List<Event> result = new ArrayList<>();
+    for (int i = 0; i < eventCount; i++) {
+      int entry = insertionOrder[i];
+      if (entry == REMOVED) {
+        continue;
+      }
+      if (entry >= 0) {
+        if (startMinutes[entry] < dayEnd && endMinutes[entry] >= dayStart) {
+          result.add(view(entry));
+        }
+      } else {
+        Event event = objectEvents.get(-entry - 1);
+        if (occursOnDate(event, date)) {
+          result.add(event);
+        }
+      }
+    }
+    return result;
+  }
+
+  private boolean occursOnDate(Event event, LocalDate date) {
+    if (event instanceof RecurringEvent) {
+      return ((RecurringEvent) event).occursOn(date);
+    }
+    for (Event occurrence : event.getOccurrences()) {
+      if (occurrence.getStartDateTime().toLocalDate().equals(date)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns all events in the calendar.
+   *
+   * @return A list of all events
+   */
+  @Override
+  public List<Event> getAllEvents() {
+    List<Event> result = new ArrayList<>(eventCount - removedCount);
+    for (int i = 0; i < eventCount; i++) {
+      int entry = insertionOrder[i];
+      if (entry != REMOVED) {
+        result.add(entry >= 0 ? view(entry) : objectEvents.get(-entry - 1));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns an immutable point-in-time view of the calendar. The rows are decoded and copied for
+   * each call.
+   *
+   * @return A snapshot of the calendar's events
+   */
+  @Override
+  public CalendarSnapshot getSnapshot() {
+    return CalendarSnapshot.of(getAllEvents());
+  }
+
+  /**
+   * Returns the stored events with the given subject, ignoring case. Single events are found
+   * through the rows filed under the normalized subject; only the object events are compared.
+   *
+   * @param subject The subject to look up
+   * @return The matching events in the order they were added
+   */
+  @Override
+  public List<Event> getEventsBySubject(String subject) {
+    String key = EventSubjectIndex.normalize(subject);
+    List<Event> rows = new ArrayList<>();
+    BitSet matching = rowsBySubject.get(key);
+    if (matching != null) {
+      for (int row = matching.nextSetBit(0); row >= 0; row = matching.nextSetBit(row + 1)) {
+        rows.add(view(row));
+      }
+    }
+    List<Event> objects = new ArrayList<>();
+    for (Event event : objectEvents) {
+      if (event != null && key.equals(EventSubjectIndex.normalize(event.getSubject()))) {
+        objects.add(event);
+      }
+    }
+    return mergeById(rows, objects);
+  }
+
+  /**
+   * Returns the occurrences with the given subject, ignoring case, that start exactly at the given
+   * time.
+   *
+   * @param subject The subject to look up
+   * @param start   The occurrence start
+   * @return The matching occurrences in the order their events were added
+   */
+  @Override
+  public List<Event> getOccurrencesAt(String subject, LocalDateTime start) {
+    String key = EventSubjectIndex.normalize(subject);
+    List<Event> rows = new ArrayList<>();
+    BitSet matching = rowsBySubject.get(key);
+    if (matching != null && start.getSecond() == 0 && start.getNano() == 0) {
+      long minute = toMinutes(start);
+      for (int row = matching.nextSetBit(0); row >= 0; row = matching.nextSetBit(row + 1)) {
+        if (startMinutes[row] == minute) {
+          rows.add(view(row));
+        }
+      }
+    }
+    List<Event> objects = new ArrayList<>();
+    for (Event event : objectEvents) {
+      if (event == null || !key.equals(EventSubjectIndex.normalize(event.getSubject()))) {
+        continue;
+      }
+      if (event instanceof RecurringEvent) {
+        LocalDate date = ((RecurringEvent) event).occurrenceDateAt(start);
+        if (date != null) {
+          objects.add(new OccurrenceView((RecurringEvent) event, date));
+        }
+      } else {
+        for (Event occurrence : event.getOccurrences()) {
+          if (occurrence.getStartDateTime().equals(start)) {
+            objects.add(occurrence);
+          }
+        }
+      }
+    }
+    return mergeById(rows, objects);
+  }
+
+  /**
+   * Merges two lists that are each in id order, which is the order their events were added.
+   *
+   * @param first  events in id order
+   * @param second other events in id order
+   * @return both lists merged in id order
+   */
+  private static List<Event> mergeById(List<Event> first, List<Event> second) {
+    if (second.isEmpty()) {
+      return first;
+    }
+    if (first.isEmpty()) {
+      return second;
+    }
+    List<Event> result = new ArrayList<>(first.size() + second.size());
+    int i = 0;
+    int j = 0;
+    while (i < first.size() || j < second.size()) {
+      if (j == second.size()
+          || i < first.size() && first.get(i).getId() <= second.get(j).getId()) {
+        result.add(first.get(i++));
+      } else {
+        result.add(second.get(j++));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the occurrences starting within the given range in chronological order.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return A chronologically ordered list of occurrences
+   */
+  @Override
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    List<Event> result = new ArrayList<>();
+    if (!start.isBefore(end)) {
+      return result;
+    }
+    long from = ceilMinutes(start);
+    long to = ceilMinutes(end);
+    for (int row = 0; row < rowCount; row++) {
+      if (startMinutes[row] >= from && startMinutes[row] < to) {
+        result.add(view(row));
+      }
+    }
+    for (Event event : objectEvents) {
+      if (event == null) {
+        continue;
+      }
+      if (event instanceof RecurringEvent) {
+        result.addAll(((RecurringEvent) event).occurrencesStartingBetween(start, end));
+      } else {
+        for (Event occurrence : event.getOccurrences()) {
+          LocalDateTime occStart = occurrence.getStartDateTime();
+          if (!occStart.isBefore(start) && occStart.isBefore(end)) {
+            result.add(occurrence);
+          }
+        }
+      }
+    }
+    result.sort(Comparator.comparing(Event::getStartDateTime));
+    return result;
+  }
+
+  /**
+   * Returns the occurrences overlapping the given range in chronological order.
+   *
+   * @param start The start of the range
+   * @param end   The end of the range
+   * @return A chronologically ordered list of occurrences
+   */
+  @Override
+  public List<Event> getOccurrencesOverlapping(LocalDateTime start, LocalDateTime end) {
+    List<Event> result = new ArrayList<>();
+    if (!start.isBefore(end)) {
+      return result;
+    }
+    long from = toMinutes(start);
+    long to = ceilMinutes(end);
+    for (int row = 0; row < rowCount; row++) {
+      if (startMinutes[row] < to && endMinutes[row] > from) {
+        result.add(view(row));
+      }
+    }
+    for (Event event : objectEvents) {
+      if (event == null) {
+        continue;
+      }
+      if (event instanceof RecurringEvent) {
+        result.addAll(((RecurringEvent) event).occurrencesOverlapping(start, end));
+        continue;
+      }
+      for (Event occurrence : event.getOccurrences()) {
+        if (occurrence.getStartDateTime().isBefore(end)
+            && occurrence.getEffectiveEndDateTime().isAfter(start)) {
+          result.add(occurrence);
+        }
+      }
+    }
+    result.sort(Comparator.comparing(Event::getStartDateTime));
+    return result;
+  }
+
+  /**
+   * Counts the busy minutes in a range. The columns are not indexed by day, so the days of the
+   * range are built into transient free/busy bitmaps from a full scan.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return The number of busy minutes
+   */
+  @Override
+  public long getBusyMinutes(LocalDateTime start, LocalDateTime end) {
+    List<Event> all = getAllEvents();
+    return new FreeBusyIndex(date -> all).busyMinutes(start, end);
+  }
+
+  /**
+   * Checks if the calendar is busy at a specific date-time.
+   *
+   * @param dateTime The date-time to check
+   * @return True if an event overlaps the given time, false otherwise
+   */
+  @Override
+  public boolean isBusyAt(LocalDateTime dateTime) {
+    long minute = toMinutes(dateTime);
+    boolean onMinute = dateTime.getSecond() == 0 && dateTime.getNano() == 0;
+    for (int row = 0; row < rowCount; row++) {
+      long start = startMinutes[row];
+      if ((onMinute ? start < minute : start <= minute) && endMinutes[row] > minute) {
+        return true;
+      }
+    }
+    for (Event event : objectEvents) {
+      if (event == null) {
+        continue;
+      }
+      if (event instanceof RecurringEvent) {
+        if (((RecurringEvent) event).overlaps(dateTime, dateTime)) {
+          return true;
+        }
+        continue;
+      }
+      for (Event occurrence : event.getOccurrences()) {
+        if (occurrence.getStartDateTime().isBefore(dateTime)
+            && occurrence.getEffectiveEndDateTime().isAfter(dateTime)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Applies a multi-step change. This model is not shared between threads, so the operation
+   * simply runs against it.
+   *
+   * @param operation The change to apply
+   * @param <T>       The type of the operation's result
+   * @return The result of the operation
+   * @throws Exception If the operation fails
+   */
+  @Override
+  public <T> T atomically(CalendarOperation<T> operation) throws Exception {
+    return operation.apply(this);
+  }
+
+  /**
+   * Returns the stored event with the given id, whose insertion slot is found through a hash map
+   * from id to position.
+   *
+   * @param id The event id
+   * @return The event, or null if no stored event has that id
+   */
+  @Override
+  public Event getById(long id) {
+    int position = positions.get(id);
+    if (position == EventPositionMap.ABSENT) {
+      return null;
+    }
+    int entry = insertionOrder[position];
+    return entry >= 0 ? view(entry) : objectEvents.get(-entry - 1);
+  }
+
+  /**
+   * Changes one property of the stored event with the given id.
+   *
+   * @param id       The event id
+   * @param property The property to change
+   * @param newValue The new value
+   * @throws Exception If no event has the id, or the edit is invalid or causes a conflict
+   */
+  @Override
+  public void editById(long id, String property, String newValue) throws Exception {
+    Event event = getById(id);
+    if (!(event instanceof AbstractEvent)) {
+      throw new Exception("No event found with id " + id + ".");
+    }
+    EventEditHelper.updateEvent((AbstractEvent) event, property, newValue, this);
+  }
+
+  /**
+   * Removes the stored event with the given id. The id is found through a hash map, and the
+   * removed row and insertion slot are marked rather than shifted out: the row's times are set
+   * so that no range, busy or conflict scan can match it. Once marked slots outnumber the live
+   * ones, the columns are compacted, so removal costs amortized constant time.
+   *
+   * @param id The event id
+   * @return True if an event was removed, false if no event has the id
+   */
+  @Override
+  public boolean removeById(long id) {
+    int position = positions.remove(id);
+    if (position == EventPositionMap.ABSENT) {
+      return false;
+    }
+    int entry = insertionOrder[position];
+    if (entry >= 0) {
+      startMinutes[entry] = Long.MAX_VALUE;
+      endMinutes[entry] = Long.MIN_VALUE;
+      fileSubject(entry, subjectIds[entry], NO_TEXT);
+      release(subjectIds[entry]);
+      release(descriptionIds[entry]);
+      release(locationIds[entry]);
+      subjectIds[entry] = NO_TEXT;
+      descriptionIds[entry] = NO_TEXT;
+      locationIds[entry] = NO_TEXT;
+    } else {
+      Event removed = objectEvents.set(-entry - 1, null);
+      if (removed instanceof RecurringEvent) {
+        ((RecurringEvent) removed).useOccurrenceCacheBudget(new OccurrenceCacheBudget());
+      }
+    }
+    insertionOrder[position] = REMOVED;
+    removedCount++;
+    if (removedCount * 2 > eventCount) {
+      compact();
+    }
+    return true;
+  }
+
+  /**
+   * Drops the removed rows, object slots and insertion slots, moving the live ones down in
+   * insertion order and refiling them under their new positions.
+   */
+  private void compact() {
+    int live = 0;
+    int rows = 0;
+    List<Event> objects = new ArrayList<>();
+    rowsBySubject.clear();
+    for (int i = 0; i < eventCount; i++) {
+      int entry = insertionOrder[i];
+      if (entry == REMOVED) {
+        continue;
+      }
+      if (entry >= 0) {
+        moveRow(entry, rows);
+        if (subjectIds[rows] != NO_TEXT) {
+          rowsBySubject.computeIfAbsent(EventSubjectIndex.normalize(
+              dictionary.get(subjectIds[rows])), k -> new BitSet()).set(rows);
+        }
+        entry = rows++;
+      } else {
+        objects.add(objectEvents.get(-entry - 1));
+        entry = -objects.size();
+      }
+      insertionOrder[live] = entry;
+      insertionIds[live] = insertionIds[i];
+      positions.put(insertionIds[i], live);
+      live++;
+    }
+    publicFlags.clear(rows, rowCount);
+    autoDeclineFlags.clear(rows, rowCount);
+    openEndFlags.clear(rows, rowCount);
+    rowCount = rows;
+    objectEvents.clear();
+    objectEvents.addAll(objects);
+    eventCount = live;
+    removedCount = 0;
+  }
+
+  private void moveRow(int from, int to) {
+    if (from == to) {
+      return;
+    }
+    startMinutes[to] = startMinutes[from];
+    endMinutes[to] = endMinutes[from];
+    subjectIds[to] = subjectIds[from];
+    descriptionIds[to] = descriptionIds[from];
+    locationIds[to] = locationIds[from];
+    rowIds[to] = rowIds[from];
+    publicFlags.set(to, publicFlags.get(from));
+    autoDeclineFlags.set(to, autoDeclineFlags.get(from));
+    openEndFlags.set(to, openEndFlags.get(from));
+  }
+
+  /**
+   * Returns the dictionary that the text of this calendar's events is interned in. The columns
+   * hold one id per string, so each distinct value is stored once, and the column dictionary
+   * counts the rows using each id and lets go of a string once no row uses it, so the weak
+   * dictionary can drop it too.
+   *
+   * @return the calendar's text dictionary
+   */
+  @Override
+  public TextDictionary getTextDictionary() {
+    return textDictionary;
+  }
+
+  /**
+   * Returns the budget that bounds how many occurrences this calendar's series cache, alone and
+   * together.
+   *
+   * @return the calendar's occurrence cache budget
+   */
+  @Override
+  public OccurrenceCacheBudget getOccurrenceCacheBudget() {
+    return occurrenceCacheBudget;
+  }
+
+  /**
+   * Returns the number of distinct strings held in the column dictionary.
+   *
+   * @return the dictionary size
+   */
+  public int getDictionarySize() {
+    return dictionaryIds.size();
+  }
+
+  private int appendRow(SingleEvent event) {
+    if (rowCount == startMinutes.length) {
+      int capacity = rowCount * 2;
+      startMinutes = Arrays.copyOf(startMinutes, capacity);
+      endMinutes = Arrays.copyOf(endMinutes, capacity);
+      subjectIds = Arrays.copyOf(subjectIds, capacity);
+      descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+      locationIds = Arrays.copyOf(locationIds, capacity);
+      rowIds = Arrays.copyOf(rowIds, capacity);
+    }
+    int row = rowCount++;
+    subjectIds[row] = NO_TEXT;
+    descriptionIds[row] = NO_TEXT;
+    locationIds[row] = NO_TEXT;
+    writeRow(row, event);
+    return row;
+  }
+
+  private void writeRow(int row, Event event) {
+    startMinutes[row] = toMinutes(event.getStartDateTime());
+    endMinutes[row] = toMinutes(event.getEffectiveEndDateTime());
+    int previousSubject = subjectIds[row];
+    int subject = encode(event.getSubject());
+    fileSubject(row, previousSubject, subject);
+    release(previousSubject);
+    subjectIds[row] = subject;
+    descriptionIds[row] = reencode(descriptionIds[row], event.getDescription());
+    locationIds[row] = reencode(locationIds[row], event.getLocation());
+    publicFlags.set(row, event.isPublic());
+    autoDeclineFlags.set(row, event.isAutoDecline());
+    openEndFlags.set(row, event instanceof AbstractEvent
+        && ((AbstractEvent) event).endDateTime == null);
+  }
+
+  /**
+   * Builds an event for a stored row. The event writes any later change back into the row, which
+   * it finds again by id since compaction may have moved it; once the event is removed its
+   * changes are dropped. Only the properties that differ from what the event last held are
+   * written, so the rest of the row keeps any change made through another view.
+   *
+   * @param row the row to materialize
+   * @return an event carrying the row's values
+   */
+  private SingleEvent view(int row) {
+    LocalDateTime start = toDateTime(startMinutes[row]);
+    LocalDateTime end = openEndFlags.get(row) ? null : toDateTime(endMinutes[row]);
+    SingleEvent event;
+    try {
+      event = new SingleEvent(decode(subjectIds[row]), start, end,
+          decode(descriptionIds[row]), decode(locationIds[row]), publicFlags.get(row));
+    } catch (InvalidDateException e) {
+      throw new IllegalStateException("Stored event has an end before its start.", e);
+    }
+    event.setAutoDecline(autoDeclineFlags.get(row));
+    event.assignId(rowIds[row]);
+    event.addChangeListener(new RowWriter(rowIds[row], event));
+    return event;
+  }
+
+  /**
+   * Writes the properties changed through one view back into its row. It remembers the values
+   * the view held after its last change, so it can tell which property a setter changed.
+   */
+  private final class RowWriter implements EventChangeListener {
+
+    private final long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private String subject;
+    private String description;
+    private String location;
+    private boolean isPublic;
+    private boolean autoDecline;
+
+    RowWriter(long id, SingleEvent event) {
+      this.id = id;
+      remember(event);
+    }
+
+    @Override
+    public void eventChanged(Event event) {
+      SingleEvent changed = (SingleEvent) event;
+      int position = positions.get(id);
+      if (position != EventPositionMap.ABSENT && insertionOrder[position] >= 0) {
+        write(insertionOrder[position], changed);
+      }
+      remember(changed);
+    }
+
+    private void write(int row, SingleEvent changed) {
+      if (!changed.getStartDateTime().equals(start)) {
+        startMinutes[row] = toMinutes(changed.getStartDateTime());
+        if (openEndFlags.get(row)) {
+          endMinutes[row] = toMinutes(openEnd(startMinutes[row]));
+        }
+      }
+      if (!Objects.equals(changed.endDateTime, end)) {
+        openEndFlags.set(row, changed.endDateTime == null);
+        endMinutes[row] = toMinutes(changed.endDateTime == null
+            ? openEnd(startMinutes[row]) : changed.endDateTime);
+      }
+      if (!Objects.equals(changed.getSubject(), subject)) {
+        int previous = subjectIds[row];
+        int current = encode(changed.getSubject());
+        fileSubject(row, previous, current);
+        release(previous);
+        subjectIds[row] = current;
+      }
+      if (!Objects.equals(changed.getDescription(), description)) {
+        descriptionIds[row] = reencode(descriptionIds[row], changed.getDescription());
+      }
+      if (!Objects.equals(changed.getLocation(), location)) {
+        locationIds[row] = reencode(locationIds[row], changed.getLocation());
+      }
+      if (changed.isPublic() != isPublic) {
+        publicFlags.set(row, changed.isPublic());
+      }
+      if (changed.isAutoDecline() != autoDecline) {
+        autoDeclineFlags.set(row, changed.isAutoDecline());
+      }
+    }
+
+    private void remember(SingleEvent event) {
+      start = event.getStartDateTime();
+      end = event.endDateTime;
+      subject = event.getSubject();
+      description = event.getDescription();
+      location = event.getLocation();
+      isPublic = event.isPublic();
+      autoDecline = event.isAutoDecline();
+    }
+  }
+
+  /**
+   * Returns the end an open-ended event starting at the given minute takes, the last minute of
+   * its start day.
+   */
+  private static LocalDateTime openEnd(long startMinute) {
+    return toDateTime(startMinute).toLocalDate().atTime(23, 59);
+  }
+
+  /**
+   * Replaces the text id held in a cell, taking a reference on the new text before releasing
+   * the old one so an unchanged value keeps its id.
+   *
+   * @param previous the id held so far, or NO_TEXT
+   * @param text     the new text, may be null
+   * @return the id of the new text
+   */
+  private int reencode(int previous, String text) {
+    int id = encode(text);
+    release(previous);
+    return id;
+  }
+
+  /**
+   * Moves a row from the subject it was filed under to its new subject.
+   *
+   * @param row      the row
+   * @param previous the text id of the previous subject, or NO_TEXT
+   * @param current  the text id of the new subject, or NO_TEXT
+   */
+  private void fileSubject(int row, int previous, int current) {
+    if (previous == current) {
+      return;
+    }
+    if (previous != NO_TEXT) {
+      String key = EventSubjectIndex.normalize(dictionary.get(previous));
+      BitSet rows = rowsBySubject.get(key);
+      rows.clear(row);
+      if (rows.isEmpty()) {
+        rowsBySubject.remove(key);
+      }
+    }
+    if (current != NO_TEXT) {
+      rowsBySubject.computeIfAbsent(EventSubjectIndex.normalize(dictionary.get(current)),
+          k -> new BitSet()).set(row);
+    }
+  }
+
+  private int encode(String text) {
+    if (text == null) {
+      return NO_TEXT;
+    }
+    Integer id = dictionaryIds.get(text);
+    if (id == null) {
+      String canonical = textDictionary.intern(text);
+      if (freeTextIds.isEmpty()) {
+        id = dictionary.size();
+        dictionary.add(canonical);
+        if (id == dictionaryRefs.length) {
+          dictionaryRefs = Arrays.copyOf(dictionaryRefs, id * 2);
+        }
+      } else {
+        id = freeTextIds.pop();
+        dictionary.set(id, canonical);
+      }
+      dictionaryIds.put(canonical, id);
+    }
+    dictionaryRefs[id]++;
+    return id;
+  }
+
+  private void release(int id) {
+    if (id == NO_TEXT || --dictionaryRefs[id] > 0) {
+      return;
+    }
+    dictionaryIds.remove(dictionary.get(id));
+    dictionary.set(id, null);
+    freeTextIds.push(id);
+  }
+
+  private String decode(int id) {
+    return id == NO_TEXT ? null : dictionary.get(id);
+  }
+
+  private static long toMinutes(LocalDateTime dateTime) {
+    return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+  }
+
+  private static long ceilMinutes(LocalDateTime dateTime) {
+    long minute = toMinutes(dateTime);
+    return dateTime.getSecond() == 0 && dateTime.getNano() == 0 ? minute : minute + 1;
+  }
+
+  private static LocalDateTime toDateTime(long minutes) {
+    return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,555 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of binary records, used as a write-ahead journal of calendar commands. Each
+ * record is framed as its payload length, the payload and a CRC32 of the payload, after a short
+ * file header.
+ *
+ * <p>Appended records are collected in memory and written and forced to the disk together, as a
+ * group commit. {@link #commit(long)} writes the pending records once {@code batchSize} of them
+ * have collected, and one write and force covers every record appended before it, so threads
+ * committing at the same time share a single force. When a maximum delay is set, a background
+ * thread forces the records still pending every delay, so the committing threads only pay for a
+ * force per full batch, and a record is durable within about one delay and one force, which is
+ * what a crash can lose. A zero delay forces on every commit instead, and without a delay
+ * pending records wait for a full batch, {@link #sync()} or {@link #close()}. A batch size of
+ * one makes every committed record durable before {@code commit} returns.
+ *
+ * <p>A batch stays pending until its force succeeds. If the write or the force fails, the file is
+ * cut back to the end of the last forced batch, so no partial frame is left in it, and the batch
+ * is written again by the next sync.
+ *
+ * <p>{@link #replay(JournalRecordHandler)} reads the records back in order. A torn or corrupt
+ * record at the end of the file, left by a crash in the middle of a write, ends the replay and is
+ * cut off so later records are appended after the last intact one.
+ *
+ * <p>Records are located by their position: the number of record bytes appended before them
+ * since the journal was created. Positions stay valid when {@link #compact(long)} drops the
+ * records before a checkpoint, since the header records the position the file now starts at, so
+ * a checkpoint can note {@link #getPosition()} and later {@link #replay(long,
+ * JournalRecordHandler)} only what follows it.
+ */
+public class CommandJournal implements Closeable {
+
+  /**
+   * The default number of records collected before they are written and forced together.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1024;
+
+  /**
+   * The default longest time a committed record waits for a force.
+   */
+  public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+
+  private static final int MAGIC = 0x43414c4a;
+  private static final int VERSION = 2;
+  private static final int HEADER_BYTES = 16;
+  private static final int FRAME_BYTES = 8;
+
+  private final Path path;
+  private FileChannel channel;
+  private long start;
+  private long end;
+  private final int batchSize;
+  private final boolean forceEveryCommit;
+  private final Object syncLock = new Object();
+  private final FrameBuffer pending = new FrameBuffer();
+  private final DataOutputStream pendingOut = new DataOutputStream(pending);
+  private final CRC32 crc = new CRC32();
+  private volatile long appended;
+  private volatile long durable;
+  private volatile IOException lastFlushFailure;
+  private final ScheduledExecutorService flusher;
+
+  /**
+   * Opens the journal at the given path with the default batch size and delay, creating it if it
+   * does not exist.
+   *
+   * @param path the journal file
+   * @throws IOException if the file cannot be opened or is not a journal
+   */
+  public CommandJournal(Path path) throws IOException {
+    this(path, DEFAULT_BATCH_SIZE, DEFAULT_MAX_DELAY);
+  }
+
+  /**
+   * Opens the journal at the given path, forcing records only in full batches.
+   *
+   * @param path      the journal file
+   * @param batchSize the number of records collected before they are written and forced
+   * @throws IOException if the file cannot be opened or is not a journal
+   * @throws IllegalArgumentException if the batch size is not positive
+   */
+  public CommandJournal(Path path, int batchSize) throws IOException {
+    this(path, batchSize, null);
+  }
+
+  /**
+   * Opens the journal at the given path, creating it if it does not exist. With a positive
+   * maximum delay, a background thread forces the pending records every delay.
+   *
+   * @param path      the journal file
+   * @param batchSize the number of records collected before they are written and forced
+   * @param maxDelay  the longest a committed record waits for a force, or null to force only in
+   *                  full batches
+   * @throws IOException if the file cannot be opened or is not a journal
+   * @throws IllegalArgumentException if the batch size is not positive or the delay is negative
+   */
+  public CommandJournal(Path path, int batchSize, Duration maxDelay) throws IOException {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive.");
+    }
+    if (maxDelay != null && maxDelay.isNegative()) {
+      throw new IllegalArgumentException("Maximum delay cannot be negative.");
+    }
+    this.path = path;
+    this.batchSize = batchSize;
+    this.forceEveryCommit = maxDelay != null && maxDelay.isZero();
+    this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      if (channel.size() == 0) {
+        writeFully(channel, header(0), 0);
+        channel.force(true);
+      } else {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (channel.read(header, 0) != HEADER_BYTES || header.getInt(0) != MAGIC
+            || header.getInt(4) != VERSION) {
+          throw new IOException("Not a calendar journal: " + path);
+        }
+        start = header.getLong(8);
+      }
+      end = start + channel.size() - HEADER_BYTES;
+      channel.position(channel.size());
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    if (maxDelay != null && !maxDelay.isZero()) {
+      flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "calendar-journal-flush");
+        thread.setDaemon(true);
+        return thread;
+      });
+      long delay = maxDelay.toNanos();
+      flusher.scheduleWithFixedDelay(this::flushInBackground, delay, delay,
+          TimeUnit.NANOSECONDS);
+    } else {
+      flusher = null;
+    }
+  }
+
+  /**
+   * Returns the journal file.
+   *
+   * @return the path of the journal
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Returns the number of records appended since the journal was opened.
+   *
+   * @return the appended record count
+   */
+  public long getAppendedCount() {
+    return appended;
+  }
+
+  /**
+   * Returns the number of records appended since the journal was opened that have been forced to
+   * the disk.
+   *
+   * @return the durable record count
+   */
+  public long getDurableCount() {
+    return durable;
+  }
+
+  /**
+   * Returns the failure of the latest background force.
+   *
+   * @return the exception, or null if the latest background force succeeded or none was needed
+   */
+  public IOException getLastFlushFailure() {
+    return lastFlushFailure;
+  }
+
+  /**
+   * Returns the position just past the last appended record. A checkpoint of the state those
+   * records produced can be replayed forward from here.
+   *
+   * @return the position after the appended records
+   */
+  public synchronized long getPosition() {
+    return end;
+  }
+
+  /**
+   * Returns the position of the first record the file still holds, which is zero until the
+   * journal is compacted.
+   *
+   * @return the position the file starts at
+   */
+  public long getStartPosition() {
+    synchronized (syncLock) {
+      return start;
+    }
+  }
+
+  /**
+   * Appends a record. The record is not written to the file until it is committed.
+   *
+   * @param payload the record payload
+   * @return the sequence number of the record, counted from one since the journal was opened
+   * @throws IOException if the record cannot be buffered
+   */
+  public long append(byte[] payload) throws IOException {
+    return append(record -> record.write(payload));
+  }
+
+  /**
+   * Appends a record whose payload is written straight into the journal's buffer, so no
+   * intermediate copy of it is made. The record is not written to the file until it is
+   * committed.
+   *
+   * @param writer the writer of the record payload
+   * @return the sequence number of the record, counted from one since the journal was opened
+   * @throws IOException if the writer fails, in which case nothing is appended
+   */
+  public synchronized long append(JournalRecordWriter writer) throws IOException {
+    int frameStart = pending.size();
+    pendingOut.writeInt(0);
+    try {
+      writer.write(pendingOut);
+    } catch (IOException | RuntimeException e) {
+      pending.truncate(frameStart);
+      throw e;
+    }
+    int length = pending.size() - frameStart - 4;
+    pending.putInt(frameStart, length);
+    crc.reset();
+    pending.updateChecksum(crc, frameStart + 4, length);
+    pendingOut.writeInt((int) crc.getValue());
+    end += FRAME_BYTES + length;
+    appended++;
+    return appended;
+  }
+
+  /**
+   * Commits the records up to the given one. The pending records are written and forced once a
+   * full batch has collected, or on every commit when the maximum delay is zero; otherwise they
+   * wait for the background force, a later commit or {@link #sync()}.
+   *
+   * @param sequence the sequence number returned by {@link #append(byte[])}
+   * @throws IOException if the records cannot be written or forced
+   */
+  public void commit(long sequence) throws IOException {
+    if (forceEveryCommit || sequence - durable >= batchSize) {
+      sync(sequence);
+    }
+  }
+
+  /**
+   * Writes and forces every record appended so far.
+   *
+   * @throws IOException if the records cannot be written or forced
+   */
+  public void sync() throws IOException {
+    sync(appended);
+  }
+
+  /**
+   * Writes and forces the pending records unless another thread already made the given record
+   * durable. The thread that syncs takes every record appended before it starts, so the threads
+   * queued behind it usually find their records durable and return at once. The records are
+   * dropped from the buffer only once they are forced; a failed write or force cuts the file back
+   * to where the batch began.
+   */
+  private void sync(long sequence) throws IOException {
+    synchronized (syncLock) {
+      if (durable >= sequence) {
+        return;
+      }
+      byte[] batch;
+      long target;
+      synchronized (this) {
+        batch = pending.toByteArray();
+        target = appended;
+      }
+      long position = channel.position();
+      try {
+        writeFully(channel, ByteBuffer.wrap(batch), position);
+        channel.force(false);
+      } catch (IOException | RuntimeException e) {
+        try {
+          channel.truncate(position);
+        } catch (IOException truncateFailure) {
+          e.addSuppressed(truncateFailure);
+        }
+        throw e;
+      }
+      channel.position(position + batch.length);
+      synchronized (this) {
+        pending.discard(batch.length);
+      }
+      durable = target;
+    }
+  }
+
+  /**
+   * Forces the records committed since the last force, on the background thread. A failure is
+   * kept for {@link #getLastFlushFailure()} and the records are tried again at the next turn.
+   */
+  private void flushInBackground() {
+    try {
+      synchronized (syncLock) {
+        if (channel.isOpen()) {
+          sync();
+        }
+      }
+      lastFlushFailure = null;
+    } catch (IOException e) {
+      lastFlushFailure = e;
+    }
+  }
+
+  /**
+   * Reads every intact record from the start of the journal and hands it to the handler, in the
+   * order the records were appended. A torn or corrupt tail ends the replay and is truncated.
+   * Replay should run before anything is appended.
+   *
+   * @param handler the handler applying each record
+   * @return the number of records replayed
+   * @throws IOException if the file cannot be read or the handler fails to decode a record
+   */
+  public int replay(JournalRecordHandler handler) throws IOException {
+    synchronized (syncLock) {
+      return replay(start, handler);
+    }
+  }
+
+  /**
+   * Reads the intact records from the given position on, with sequential buffered reads, and
+   * hands them to the handler in order. A torn or corrupt tail ends the replay and is truncated.
+   * A journal holding no records is moved forward to a later position, so records appended to
+   * a fresh journal after loading a checkpoint are not mistaken for ones it already covers.
+   * Replay should run before anything is appended.
+   *
+   * @param from    a position returned by {@link #getPosition()}
+   * @param handler the handler applying each record
+   * @return the number of records replayed
+   * @throws IOException if the file cannot be read, does not hold the position, or the handler
+   *                     fails to decode a record
+   */
+  public int replay(long from, JournalRecordHandler handler) throws IOException {
+    synchronized (syncLock) {
+      synchronized (this) {
+        long size = channel.size();
+        if (from > start && size == HEADER_BYTES) {
+          writeFully(channel, header(from), 0);
+          channel.force(true);
+          start = from;
+        }
+        if (from < start || from > start + size - HEADER_BYTES) {
+          throw new IOException("Journal " + path + " does not hold position " + from + ".");
+        }
+        long position = HEADER_BYTES + from - start;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+            Channels.newInputStream(channel.position(position)), 1 << 16));
+        CRC32 check = new CRC32();
+        byte[] payload = new byte[256];
+        int count = 0;
+        while (position + FRAME_BYTES <= size) {
+          int length = in.readInt();
+          if (length < 0 || position + FRAME_BYTES + length > size) {
+            break;
+          }
+          if (payload.length < length) {
+            payload = new byte[Math.max(length, payload.length * 2)];
+          }
+          in.readFully(payload, 0, length);
+          check.reset();
+          check.update(payload, 0, length);
+          if (in.readInt() != (int) check.getValue()) {
+            break;
+          }
+          handler.apply(new DataInputStream(new ByteArrayInputStream(payload, 0, length)));
+          position += FRAME_BYTES + length;
+          count++;
+        }
+        if (position < size) {
+          channel.truncate(position);
+          channel.force(false);
+        }
+        channel.position(position);
+        end = start + position - HEADER_BYTES;
+        return count;
+      }
+    }
+  }
+
+  /**
+   * Drops the records before the given position, once a checkpoint covering them is safely
+   * stored. The records from the position on are copied to a new file, which is forced and then
+   * renamed over the journal, and the directory is forced after the rename, so a crash leaves
+   * either the old file or the new one; both can be replayed from the checkpoint's position.
+   * Appends carry on into memory meanwhile, but commits that need a force wait for the copy.
+   *
+   * @param position a position returned by {@link #getPosition()}
+   * @throws IOException if the new file cannot be written or renamed
+   * @throws IllegalArgumentException if the position is past the appended records
+   */
+  public void compact(long position) throws IOException {
+    synchronized (syncLock) {
+      sync();
+      if (position <= start) {
+        return;
+      }
+      long size = channel.size();
+      long keepFrom = HEADER_BYTES + position - start;
+      if (keepFrom > size) {
+        throw new IllegalArgumentException("Position " + position
+            + " is past the end of the journal.");
+      }
+      Path temp = path.resolveSibling(path.getFileName() + ".compact");
+      FileChannel compacted = FileChannel.open(temp, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      try {
+        writeFully(compacted, header(position), 0);
+        compacted.position(HEADER_BYTES);
+        for (long copied = 0; copied < size - keepFrom; ) {
+          copied += channel.transferTo(keepFrom + copied, size - keepFrom - copied, compacted);
+        }
+        compacted.force(true);
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException | RuntimeException e) {
+        compacted.close();
+        Files.deleteIfExists(temp);
+        throw e;
+      }
+      channel.close();
+      channel = compacted;
+      start = position;
+      CalendarCheckpoint.forceDirectory(path);
+    }
+  }
+
+  /**
+   * Writes and forces every appended record and closes the file.
+   *
+   * @throws IOException if the records cannot be written or the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (flusher != null) {
+      flusher.shutdown();
+    }
+    synchronized (syncLock) {
+      if (!channel.isOpen()) {
+        return;
+      }
+      try {
+        sync();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+
+  private static ByteBuffer header(long start) {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION)
+        .putLong(start);
+    header.flip();
+    return header;
+  }
+
+  private static void writeFully(FileChannel target, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += target.write(buffer, position);
+    }
+  }
+
+  /**
+   * The buffer pending records are framed in. Unlike a {@link java.io.ByteArrayOutputStream} it
+   * is not synchronized, since the journal already holds its lock while writing, and it exposes
+   * its array so a frame's length can be filled in and its checksum computed in place.
+   */
+  private static final class FrameBuffer extends OutputStream {
+
+    private byte[] buf = new byte[8192];
+    private int count;
+
+    @Override
+    public void write(int b) {
+      ensureCapacity(count + 1);
+      buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      ensureCapacity(count + length);
+      System.arraycopy(bytes, offset, buf, count, length);
+      count += length;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > buf.length) {
+        buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+      }
+    }
+
+    private int size() {
+      return count;
+    }
+
+    private void truncate(int size) {
+      count = size;
+    }
+
+    private void discard(int length) {
+      System.arraycopy(buf, length, buf, 0, count - length);
+      count -= length;
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(buf, count);
+    }
+
+    private void putInt(int position, int value) {
+      buf[position] = (byte) (value >>> 24);
+      buf[position + 1] = (byte) (value >>> 16);
+      buf[position + 2] = (byte) (value >>> 8);
+      buf[position + 3] = (byte) value;
+    }
+
+    private void updateChecksum(CRC32 checksum, int offset, int length) {
+      checksum.update(buf, offset, length);
+    }
+  }
+}
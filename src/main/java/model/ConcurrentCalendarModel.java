@@ -0,0 +1,398 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * A calendar model that can be shared between threads, for example many threads serving queries
+ * while one applies an import. It keeps its events in a {@link CalendarModel} and guards it with
+ * a {@link StampedLock}: every mutation holds the write lock, and every query either holds the
+ * read lock or runs as an optimistic read that is retried under the read lock if a write
+ * happened meanwhile.
+ *
+ * <p>Optimistic reads are only used for the getters that read a single field: the next id and
+ * the mode flags. Every query that walks an index or a collection, including lookup by id, takes
+ * the read lock, since a walk over a structure a writer is changing may fail in ways a retry
+ * cannot undo, or not finish at all. In snapshot mode {@link #getSnapshot()} takes no lock,
+ * since the published snapshot is immutable and read through a single volatile field.
+ *
+ * <p>A {@link StampedLock} lets new readers join readers already holding the lock even while a
+ * writer waits, so a steady stream of overlapping queries could hold off writes indefinitely.
+ * Writers and locking readers therefore pass through a fair turnstile first: a writer holds it
+ * while it waits for the current readers to leave, and readers arriving meanwhile queue behind it.
+ *
+ * <p>Multi-step changes are applied through {@link #atomically(CalendarOperation)}, which runs
+ * the whole operation under one write lock. Events returned by queries are the stored events;
+ * change them only inside such an operation or through {@link #editById(long, String, String)},
+ * since a setter called on them directly is not guarded by the lock.
+ */
+public class ConcurrentCalendarModel implements ICalendarModel {
+
+  private final CalendarModel delegate;
+  private final StampedLock lock;
+  private final ReentrantLock turnstile;
+
+  /**
+   * Constructs an empty concurrent model.
+   */
+  public ConcurrentCalendarModel() {
+    this.delegate = new CalendarModel();
+    this.lock = new StampedLock();
+    this.turnstile = new ReentrantLock(true);
+  }
+
+  /**
+   * Turns snapshot mode on or off. While it is on, {@link #getSnapshot()} is a single volatile
+   * read that never waits for a writer.
+   *
+   * @param enabled Whether to publish a snapshot on every write
+   */
+  public void setSnapshotsEnabled(boolean enabled) {
+    long stamp = writeLock();
+    try {
+      delegate.setSnapshotsEnabled(enabled);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Indicates whether snapshot mode is on.
+   *
+   * @return True if every write publishes a snapshot
+   */
+  public boolean isSnapshotsEnabled() {
+    return read(delegate::isSnapshotsEnabled);
+  }
+
+  /**
+   * Turns the per-day free/busy bitmaps on or off. Queries fill in days of the bitmaps, which
+   * synchronize among themselves, so they still run under the read lock.
+   *
+   * @param enabled Whether to keep free/busy bitmaps
+   */
+  public void setFreeBusyEnabled(boolean enabled) {
+    long stamp = writeLock();
+    try {
+      delegate.setFreeBusyEnabled(enabled);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Indicates whether the free/busy bitmaps are kept.
+   *
+   * @return True if busy checks are answered from bitmaps
+   */
+  public boolean isFreeBusyEnabled() {
+    return read(delegate::isFreeBusyEnabled);
+  }
+
+  /**
+   * Applies a multi-step change under the write lock. The operation is given the unguarded model
+   * underneath, so it must not call back into this model: the lock is not reentrant.
+   *
+   * @param operation The change to apply
+   * @param <T>       The type of the operation's result
+   * @return The result of the operation
+   * @throws Exception If the operation fails
+   */
+  @Override
+  public <T> T atomically(CalendarOperation<T> operation) throws Exception {
+    long stamp = writeLock();
+    try {
+      return operation.apply(delegate);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Adds an event under the write lock.
+   *
+   * @param event       The event to add
+   * @param autoDecline Whether to check for and reject conflicts
+   * @throws EventConflictException If a conflict is detected and auto-decline is true
+   */
+  @Override
+  public void addEvent(Event event, boolean autoDecline) throws EventConflictException {
+    long stamp = writeLock();
+    try {
+      delegate.addEvent(event, autoDecline);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Adds a batch of events under one write lock, so readers see either none or all of the
+   * accepted events.
+   *
+   * @param events The events to add
+   * @param policy What to do with conflicting events
+   * @return The added events and the conflicts found
+   * @throws EventConflictException If the policy is all-or-nothing and an event conflicts
+   */
+  @Override
+  public BatchAddResult addEvents(Collection<? extends Event> events, ConflictPolicy policy)
+      throws EventConflictException {
+    long stamp = writeLock();
+    try {
+      return delegate.addEvents(events, policy);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Edits one property of a stored event under the write lock.
+   *
+   * @param id       The event id
+   * @param property The property to change
+   * @param newValue The new value
+   * @throws Exception If no event has the id, or the edit is invalid or causes a conflict
+   */
+  @Override
+  public void editById(long id, String property, String newValue) throws Exception {
+    long stamp = writeLock();
+    try {
+      delegate.editById(id, property, newValue);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Removes a stored event under the write lock.
+   *
+   * @param id The event id
+   * @return True if an event was removed, false if no event has the id
+   */
+  @Override
+  public boolean removeById(long id) {
+    long stamp = writeLock();
+    try {
+      return delegate.removeById(id);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Returns the stored event with the given id under the read lock.
+   *
+   * @param id The event id
+   * @return The event, or null if no stored event has that id
+   */
+  @Override
+  public Event getById(long id) {
+    return readLocked(() -> delegate.getById(id));
+  }
+
+  /**
+   * Returns all events in the calendar under the read lock.
+   *
+   * @return A list of all events
+   */
+  @Override
+  public List<Event> getAllEvents() {
+    return readLocked(delegate::getAllEvents);
+  }
+
+  /**
+   * Returns the stored events with the given subject, ignoring case, under the read lock.
+   *
+   * @param subject The subject to look up
+   * @return The matching events in the order they were added
+   */
+  @Override
+  public List<Event> getEventsBySubject(String subject) {
+    return readLocked(() -> delegate.getEventsBySubject(subject));
+  }
+
+  /**
+   * Returns an immutable point-in-time view of the calendar. In snapshot mode this is the
+   * published snapshot, read without a lock; otherwise the calendar is copied under the read lock.
+   *
+   * @return The current snapshot
+   */
+  @Override
+  public CalendarSnapshot getSnapshot() {
+    CalendarSnapshot published = delegate.getPublishedSnapshot();
+    return published != null ? published : readLocked(delegate::getSnapshot);
+  }
+
+  /**
+   * Returns the id the next stored event will be given, read optimistically.
+   *
+   * @return The next event id
+   */
+  @Override
+  public long getNextId() {
+    return read(delegate::getNextId);
+  }
+
+  /**
+   * Restores saved events under the write lock.
+   *
+   * @param events The events in the order they were added, each carrying its id
+   * @param nextId The id the next stored event should be given
+   */
+  @Override
+  public void restore(List<? extends Event> events, long nextId) {
+    long stamp = writeLock();
+    try {
+      delegate.restore(events, nextId);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Returns the dictionary the calendar's text is interned in. The dictionary is synchronized
+   * and never replaced, so no lock is needed.
+   *
+   * @return The text dictionary
+   */
+  @Override
+  public TextDictionary getTextDictionary() {
+    return delegate.getTextDictionary();
+  }
+
+  /**
+   * Returns the budget of the calendar's occurrence caches. The budget is synchronized and never
+   * replaced, so no lock is needed.
+   *
+   * @return The occurrence cache budget
+   */
+  @Override
+  public OccurrenceCacheBudget getOccurrenceCacheBudget() {
+    return delegate.getOccurrenceCacheBudget();
+  }
+
+  /**
+   * Gets all events occurring on a date under the read lock.
+   *
+   * @param date The date to check for events
+   * @return A list of events on the given date
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    return readLocked(() -> delegate.getEventsOn(date));
+  }
+
+  /**
+   * Returns the occurrences with a subject starting at a time, under the read lock.
+   *
+   * @param subject The subject to look up
+   * @param start   The occurrence start
+   * @return The matching occurrences in the order their events were added
+   */
+  @Override
+  public List<Event> getOccurrencesAt(String subject, LocalDateTime start) {
+    return readLocked(() -> delegate.getOccurrencesAt(subject, start));
+  }
+
+  /**
+   * Returns the occurrences starting within a range under the read lock.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return A chronologically ordered list of occurrences
+   */
+  @Override
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    return readLocked(() -> delegate.getOccurrencesBetween(start, end));
+  }
+
+  /**
+   * Returns the occurrences overlapping a range under the read lock.
+   *
+   * @param start The start of the range
+   * @param end   The end of the range
+   * @return A chronologically ordered list of occurrences
+   */
+  @Override
+  public List<Event> getOccurrencesOverlapping(LocalDateTime start, LocalDateTime end) {
+    return readLocked(() -> delegate.getOccurrencesOverlapping(start, end));
+  }
+
+  /**
+   * Checks whether the calendar is busy at a date-time under the read lock.
+   *
+   * @param dateTime The date-time to check
+   * @return True if an event overlaps the given time, false otherwise
+   */
+  @Override
+  public boolean isBusyAt(LocalDateTime dateTime) {
+    return readLocked(() -> delegate.isBusyAt(dateTime));
+  }
+
+  /**
+   * Counts the busy minutes in a range under the read lock.
+   *
+   * @param start The inclusive start of the range
+   * @param end   The exclusive end of the range
+   * @return The number of busy minutes
+   */
+  @Override
+  public long getBusyMinutes(LocalDateTime start, LocalDateTime end) {
+    return readLocked(() -> delegate.getBusyMinutes(start, end));
+  }
+
+  /**
+   * Runs a getter of a single field as an optimistic read and keeps its result if no write
+   * started meanwhile. Otherwise, including when a concurrent write made the getter fail, it runs
+   * again under the read lock.
+   */
+  private <T> T read(Supplier<T> query) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0L) {
+      try {
+        T result = query.get();
+        if (lock.validate(stamp)) {
+          return result;
+        }
+      } catch (RuntimeException e) {
+        // The query saw a half-applied write; it is retried below.
+      }
+    }
+    return readLocked(query);
+  }
+
+  /**
+   * Runs a query under the read lock.
+   */
+  private <T> T readLocked(Supplier<T> query) {
+    long stamp;
+    turnstile.lock();
+    try {
+      stamp = lock.readLock();
+    } finally {
+      turnstile.unlock();
+    }
+    try {
+      return query.get();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Takes the write lock, holding the turnstile until it is granted.
+   */
+  private long writeLock() {
+    turnstile.lock();
+    try {
+      return lock.writeLock();
+    } finally {
+      turnstile.unlock();
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package model;
+
+/**
+ * Decides what happens to events in a bulk insert that conflict with existing events or with
+ * each other. Only events with auto-decline enabled are checked, as for single inserts.
+ */
+public enum ConflictPolicy {
+
+  /**
+   * Reject the whole batch if any event conflicts; nothing is added.
+   */
+  ALL_OR_NOTHING,
+
+  /**
+   * Add every event that does not conflict and leave out the ones that do.
+   */
+  SKIP_CONFLICTING,
+
+  /**
+   * Add every event and only report the conflicts that were found.
+   */
+  REPORT_ONLY
+}
@@ -3,18 +3,15 @@ package model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Handles operations for editing events in a calendar model.
+ * Handles operations for editing events in a calendar model. Editing one occurrence of a
+ * recurring event records an override in the series' exception table instead of splitting it.
  */
 public class EditEventOperations implements IEditEventOperations {
 
-  private Map<RecurringEvent, Map<LocalDateTime,
-      SingleEvent>> recurringOverrides = new HashMap<>();
-
   /**
    * Edits an event’s property based on the specified mode.
    *
@@ -30,20 +27,17 @@ public class EditEventOperations implements IEditEventOperations {
   public void editEvent(ICalendarModel model, String subject, LocalDateTime from, String property,
       String newValue, ICalendarService.EditMode mode) throws Exception {
     boolean edited = false;
-    List<Event> events = model.getAllEvents();
+    List<Event> events = model.getEventsBySubject(subject);
     List<Event> newRecurringEvents = new ArrayList<>();
 
     for (Event event : events) {
-      if (!event.getSubject().equalsIgnoreCase(subject)) {
-        continue;
-      }
       if (!(event instanceof RecurringEvent)) {
         if (mode != ICalendarService.EditMode.SINGLE) {
           throw new UnsupportedOperationException(
               "For non-recurring events, only SINGLE mode is allowed.");
         }
         if (event.getStartDateTime().equals(from)) {
-          updateEvent((AbstractEvent) event, property, newValue, model);
+          EventEditHelper.updateEvent((AbstractEvent) event, property, newValue, model);
           edited = true;
         }
         continue;
@@ -51,43 +45,35 @@ public class EditEventOperations implements IEditEventOperations {
       RecurringEvent re = (RecurringEvent) event;
       switch (mode) {
         case ALL:
-          updateEvent(re, property, newValue, model);
+          EventEditHelper.updateEvent(re, property, newValue, model);
           edited = true;
           break;
         case SINGLE:
-          List<SingleEvent> occs = re.generateOccurrences();
-          boolean found = false;
-          for (SingleEvent occ : occs) {
-            if (occ.getStartDateTime().equals(from)) {
-              SingleEvent overrideOcc = createOverride(occ, property, newValue);
-              recurringOverrides
-                  .computeIfAbsent(re, k -> new HashMap<>())
-                  .put(occ.getStartDateTime(), overrideOcc);
-              found = true;
-              edited = true;
-              break;
-            }
-          }
-          if (!found) {
+          if (from == null || !re.hasOccurrenceAt(from)) {
             throw new Exception("No occurrence found at the specified time for recurring event.");
           }
+          LocalDate occurrenceDate = re.occurrenceDateAt(from);
+          SingleEvent occ = new OccurrenceView(re, occurrenceDate).toSingleEvent();
+          re.overrideOccurrence(occurrenceDate, createOverride(occ, property, newValue));
+          edited = true;
           break;
         case FROM:
-          List<SingleEvent> allOccs = re.generateOccurrences();
-          List<SingleEvent> futureOccs = new ArrayList<>();
-          for (SingleEvent occ : allOccs) {
-            if (!occ.getStartDateTime().isBefore(from)) {
-              futureOccs.add(occ);
-            }
+          LocalDate earliestFutureDay = re.nextOccurrenceOnOrAfter(from.toLocalDate());
+          if (earliestFutureDay != null
+              && re.getStartDateTime().toLocalTime().isBefore(from.toLocalTime())
+              && earliestFutureDay.equals(from.toLocalDate())) {
+            earliestFutureDay = re.nextOccurrenceOnOrAfter(earliestFutureDay.plusDays(1));
           }
-          if (futureOccs.isEmpty()) {
+          if (earliestFutureDay == null) {
             break;
           }
-          LocalDate earliestFutureDay = futureOccs.get(0).getStartDateTime().toLocalDate();
+          LocalDate lastFutureDay = re.lastOccurrenceDate();
           LocalDate dayBefore = earliestFutureDay.minusDays(1);
           re.setRecurrenceEndDate(dayBefore);
-          RecurringEvent newRe = createSplitRecurringEvent(re, futureOccs, property,
-              newValue, model);
+          RecurringEvent newRe = createSplitRecurringEvent(re,
+              LocalDateTime.of(earliestFutureDay, re.getStartDateTime().toLocalTime()),
+              lastFutureDay, property, newValue, model);
+          moveExceptions(re, newRe, earliestFutureDay);
           newRecurringEvents.add(newRe);
           edited = true;
           break;
@@ -105,115 +91,61 @@ public class EditEventOperations implements IEditEventOperations {
     }
   }
 
-  /**
-   * Updates an event’s property with a new value.
-   *
-   * @param event    The event to update
-   * @param property The property to change
-   * @param newValue The new value
-   * @param model    The calendar model for conflict checking
-   * @throws Exception If the property is unsupported or the edit causes a conflict
-   */
-  private void updateEvent(AbstractEvent event, String property, String newValue,
-      ICalendarModel model)
-      throws Exception {
-    if (property.equalsIgnoreCase("subject")) {
-      event.setSubject(newValue);
-    } else if (property.equalsIgnoreCase("description")) {
-      event.setDescription(newValue);
-    } else if (property.equalsIgnoreCase("location")) {
-      event.setLocation(newValue);
-    } else if (property.equalsIgnoreCase("public")) {
-      event.setPublic(Boolean.parseBoolean(newValue));
-    } else if (property.equalsIgnoreCase("autodecline")) {
-      event.setAutoDecline(true);
-    } else if (property.equalsIgnoreCase("start")
-        || property.equalsIgnoreCase("startdatetime")) {
-      LocalDateTime newStart = LocalDateTime.parse(newValue);
-      if (event instanceof SingleEvent) {
-        SingleEvent se = (SingleEvent) event;
-        if (newStart.isAfter(se.getEffectiveEndDateTime())) {
-          throw new IllegalArgumentException("Start time cannot be after end time.");
-        }
-        LocalDateTime oldStart = event.getStartDateTime();
-        event.setStartDateTime(newStart);
-        if (event.isAutoDecline() && isConflictWithOthers(event, model)) {
-          event.setStartDateTime(oldStart);
-          throw new IllegalArgumentException("Edit would cause a conflict.");
-        }
-      } else {
-        throw new UnsupportedOperationException(
-            "Editing start time for recurring events in ALL mode not allowed; use FROM mode.");
-      }
-    } else if (property.equalsIgnoreCase("end")
-        || property.equalsIgnoreCase("enddatetime")) {
-      LocalDateTime newEnd = LocalDateTime.parse(newValue);
-      if (newEnd.isBefore(event.getStartDateTime())) {
-        throw new IllegalArgumentException("End time cannot be before start time.");
-      }
-      if (event instanceof SingleEvent) {
-        SingleEvent se = (SingleEvent) event;
-        LocalDateTime oldEnd = se.getEffectiveEndDateTime();
-        se.setEndDateTime(newEnd);
-        if (event.isAutoDecline() && isConflictWithOthers(event, model)) {
-          se.setEndDateTime(oldEnd);
-          throw new IllegalArgumentException("Edit would cause a conflict.");
-        }
-      } else {
-        throw new UnsupportedOperationException(
-            "Editing end time for recurring events in ALL mode not allowed; use FROM mode.");
-      }
-    } else {
-      throw new UnsupportedOperationException("Editing property not supported: " + property);
-    }
-  }
-
-  /**
-   * Checks if an updated event conflicts with others in the calendar.
-   *
-   * @param updatedEvent The event being updated
-   * @param model        The calendar model to check against
-   * @return True if a conflict exists, false otherwise
-   */
-  private boolean isConflictWithOthers(AbstractEvent updatedEvent, ICalendarModel model) {
-    for (Event other : model.getAllEvents()) {
-      if (other == updatedEvent) {
-        continue;
-      }
-      if (updatedEvent.conflictsWith(other) || other.conflictsWith(updatedEvent)) {
-        return true;
-      }
-    }
-    return false;
-  }
-
   /**
    * Creates a new recurring event for future occurrences after a split.
    *
-   * @param oldRe      The original recurring event
-   * @param futureOccs The list of future occurrences
-   * @param property   The property to update
-   * @param newValue   The new value for the property
-   * @param model      The calendar model for context
+   * @param oldRe    The original recurring event
+   * @param newStart The start of the first future occurrence
+   * @param lastDay  The date of the last future occurrence
+   * @param property The property to update
+   * @param newValue The new value for the property
+   * @param model    The calendar model for context
    * @return A new recurring event with the updated property
    * @throws Exception If the creation or update fails
    */
   private RecurringEvent createSplitRecurringEvent(
-      RecurringEvent oldRe, List<SingleEvent> futureOccs,
+      RecurringEvent oldRe, LocalDateTime newStart, LocalDate lastDay,
       String property, String newValue, ICalendarModel model)
       throws Exception {
-    LocalDateTime newStart = futureOccs.get(0).getStartDateTime();
     LocalDateTime newEnd = LocalDateTime.of(newStart.toLocalDate(),
         oldRe.getEffectiveEndDateTime().toLocalTime());
-    LocalDate lastDay = futureOccs.get(futureOccs.size() - 1).getStartDateTime().toLocalDate();
     RecurringEvent newRe = new RecurringEvent(oldRe.getSubject(),
         newStart, newEnd, oldRe.getDescription(), oldRe.getLocation(), oldRe.isPublic(),
         oldRe.getRecurrenceDays(), oldRe.getOccurrenceCount(), lastDay);
     newRe.setAutoDecline(true);
-    updateEvent(newRe, property, newValue, model);
+    EventEditHelper.updateEvent(newRe, property, newValue, model);
     return newRe;
   }
 
+  /**
+   * Moves the exceptions of a split series that fall on or after the split date to the series
+   * that continues it.
+   *
+   * @param oldRe     The series that was cut short
+   * @param newRe     The series holding the later occurrences
+   * @param splitDate The first date of the new series
+   */
+  private void moveExceptions(RecurringEvent oldRe, RecurringEvent newRe, LocalDate splitDate) {
+    OccurrenceExceptions exceptions = oldRe.getExceptions();
+    for (Map.Entry<LocalDate, SingleEvent> entry
+        : new ArrayList<>(exceptions.getOverrides().entrySet())) {
+      if (!entry.getKey().isBefore(splitDate)) {
+        if (newRe.occurrenceIndexOf(entry.getKey()) >= 0) {
+          newRe.overrideOccurrence(entry.getKey(), entry.getValue());
+        }
+        oldRe.restoreOccurrence(entry.getKey());
+      }
+    }
+    for (LocalDate date : new ArrayList<>(exceptions.getCancelled())) {
+      if (!date.isBefore(splitDate)) {
+        if (newRe.occurrenceIndexOf(date) >= 0) {
+          newRe.cancelOccurrence(date);
+        }
+        oldRe.restoreOccurrence(date);
+      }
+    }
+  }
+
   /**
    * Creates an override for a single occurrence of a recurring event.
    *
@@ -54,7 +54,7 @@ public interface Event {
 
   /**
    * Returns a list of event occurrences. For single events, this contains just the event itself;
-   * for recurring events, all instances.
+   * for recurring events, all instances, however far the series runs.
    *
    * @return A list of event occurrences
    */
@@ -73,4 +73,12 @@ public interface Event {
    * @return The end date-time, or a default if not explicitly set
    */
   LocalDateTime getEffectiveEndDateTime();
+
+  /**
+   * Returns the id the event was given when it was added to a calendar. Occurrences of a series
+   * report the id of their series.
+   *
+   * @return The event id, or 0 if the event has not been added to a calendar
+   */
+  long getId();
 }
@@ -0,0 +1,186 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntFunction;
+
+/**
+ * A utility class that checks a batch of new events for conflicts in one pass. The batch and the
+ * existing events it may touch are sorted once by the start of their time envelopes and swept in
+ * that order; an event is only compared with the events whose envelopes are still open when it
+ * starts. This finds every candidate pair in O((n + m) log(n + m)) plus the number of pairs,
+ * instead of one index or list scan per new event.
+ *
+ * <p>The candidate pairs are then resolved in the order the batch was given, so the outcome is the
+ * same as adding the events one at a time: an event with auto-decline enabled conflicts if an
+ * existing event, or an earlier event of the batch that was accepted, overlaps it.
+ */
+public class EventBatchHelper {
+
+  /**
+   * Decides which events of a batch to add.
+   *
+   * @param batch    the new events, in the order they were given
+   * @param existing the stored events the batch may overlap, in the order they were added
+   * @param policy   what to do with conflicting events
+   * @return the events to add and the conflicts found
+   * @throws EventConflictException if the policy is all-or-nothing and an event conflicts
+   */
+  public static BatchAddResult plan(Collection<? extends Event> batch, List<Event> existing,
+      ConflictPolicy policy) throws EventConflictException {
+    long[] starts = new long[existing.size()];
+    long[] ends = new long[existing.size()];
+    for (int i = 0; i < existing.size(); i++) {
+      starts[i] = EventIntervalIndex.envelopeStart(existing.get(i));
+      ends[i] = EventIntervalIndex.envelopeEnd(existing.get(i));
+    }
+    return plan(batch, starts, ends, existing::get, policy);
+  }
+
+  /**
+   * Decides which events of a batch to add, given the envelopes of the stored events rather than
+   * the events themselves. A stored event is only fetched when the sweep finds its envelope
+   * overlapping a new event, so a model that does not keep its events as objects need not build
+   * one for every stored event.
+   *
+   * @param batch    the new events, in the order they were given
+   * @param starts   the envelope start of each stored event in epoch seconds, in the order the
+   *                 events were added
+   * @param ends     the envelope end of each stored event in epoch seconds
+   * @param existing returns the stored event at an index of the envelope arrays
+   * @param policy   what to do with conflicting events
+   * @return the events to add and the conflicts found
+   * @throws EventConflictException if the policy is all-or-nothing and an event conflicts
+   */
+  public static BatchAddResult plan(Collection<? extends Event> batch, long[] starts,
+      long[] ends, IntFunction<Event> existing, ConflictPolicy policy)
+      throws EventConflictException {
+    List<Event> events = new ArrayList<>(batch);
+    List<List<Integer>> existingCandidates = new ArrayList<>();
+    List<List<Integer>> earlierCandidates = new ArrayList<>();
+    for (int i = 0; i < events.size(); i++) {
+      existingCandidates.add(new ArrayList<>());
+      earlierCandidates.add(new ArrayList<>());
+    }
+    sweep(events, starts, ends, existingCandidates, earlierCandidates);
+
+    List<Event> added = new ArrayList<>();
+    LinkedHashMap<Event, String> conflicts = new LinkedHashMap<>();
+    boolean[] accepted = new boolean[events.size()];
+    for (int i = 0; i < events.size(); i++) {
+      Event event = events.get(i);
+      Event conflict = event.isAutoDecline()
+          ? firstConflict(event, existing, existingCandidates.get(i), events,
+          earlierCandidates.get(i), accepted) : null;
+      if (conflict != null) {
+        String message = "Event '" + event.getSubject()
+            + "' conflicts with existing event '" + conflict.getSubject() + "'.";
+        if (policy == ConflictPolicy.ALL_OR_NOTHING) {
+          throw new EventConflictException(message);
+        }
+        conflicts.put(event, message);
+        if (policy == ConflictPolicy.SKIP_CONFLICTING) {
+          continue;
+        }
+      }
+      accepted[i] = true;
+      added.add(event);
+    }
+    return new BatchAddResult(added, conflicts);
+  }
+
+  /**
+   * Sweeps the batch and the existing events in envelope-start order, recording for each new
+   * event the existing events and the earlier batch events whose envelopes overlap it.
+   */
+  private static void sweep(List<Event> events, long[] starts, long[] ends,
+      List<List<Integer>> existingCandidates, List<List<Integer>> earlierCandidates) {
+    List<Item> items = new ArrayList<>();
+    for (int i = 0; i < starts.length; i++) {
+      items.add(new Item(starts[i], ends[i], i, false));
+    }
+    for (int i = 0; i < events.size(); i++) {
+      Event event = events.get(i);
+      items.add(new Item(EventIntervalIndex.envelopeStart(event),
+          EventIntervalIndex.envelopeEnd(event), i, true));
+    }
+    items.sort(Comparator.comparingLong((Item item) -> item.start)
+        .thenComparing(item -> item.isNew));
+
+    PriorityQueue<Item> openExisting = new PriorityQueue<>(
+        Comparator.comparingLong((Item item) -> item.end));
+    PriorityQueue<Item> openNew = new PriorityQueue<>(
+        Comparator.comparingLong((Item item) -> item.end));
+    for (Item item : items) {
+      while (!openExisting.isEmpty() && openExisting.peek().end < item.start) {
+        openExisting.poll();
+      }
+      while (!openNew.isEmpty() && openNew.peek().end < item.start) {
+        openNew.poll();
+      }
+      if (item.isNew) {
+        for (Item open : openExisting) {
+          existingCandidates.get(item.index).add(open.index);
+        }
+        for (Item open : openNew) {
+          if (open.index < item.index) {
+            earlierCandidates.get(item.index).add(open.index);
+          } else {
+            earlierCandidates.get(open.index).add(item.index);
+          }
+        }
+        openNew.add(item);
+      } else {
+        for (Item open : openNew) {
+          existingCandidates.get(open.index).add(item.index);
+        }
+        openExisting.add(item);
+      }
+    }
+  }
+
+  /**
+   * Finds the first event, in insertion order, that conflicts with a new event: existing events
+   * first, then accepted events given earlier in the batch.
+   */
+  private static Event firstConflict(Event event, IntFunction<Event> existing,
+      List<Integer> existingIndexes, List<Event> events, List<Integer> earlierIndexes,
+      boolean[] accepted) {
+    existingIndexes.sort(null);
+    for (int index : existingIndexes) {
+      Event candidate = existing.apply(index);
+      if (candidate.conflictsWith(event)) {
+        return candidate;
+      }
+    }
+    earlierIndexes.sort(null);
+    for (int index : earlierIndexes) {
+      if (accepted[index] && events.get(index).conflictsWith(event)) {
+        return events.get(index);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * One event in the sweep, with its envelope in epoch seconds.
+   */
+  private static class Item {
+
+    private final int index;
+    private final boolean isNew;
+    private final long start;
+    private final long end;
+
+    Item(long start, long end, int index, boolean isNew) {
+      this.index = index;
+      this.isNew = isNew;
+      this.start = start;
+      this.end = end;
+    }
+  }
+}
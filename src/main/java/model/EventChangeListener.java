@@ -0,0 +1,15 @@
+package model;
+
+/**
+ * Listener notified whenever a stored event is mutated through one of its setters, so that any
+ * structure indexing the event by its times or text can bring itself up to date.
+ */
+public interface EventChangeListener {
+
+  /**
+   * Called after a property of the given event has changed.
+   *
+   * @param event the event that was modified
+   */
+  void eventChanged(Event event);
+}
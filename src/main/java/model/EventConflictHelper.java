@@ -0,0 +1,157 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+
+/**
+ * A utility class that decides conflicts involving recurring events arithmetically, without
+ * expanding any occurrences. Every occurrence of a series starts and ends on the same day at the
+ * series times, so two occurrences can only overlap when they fall on the same date and their
+ * time-of-day windows overlap.
+ *
+ * <p>Modified and cancelled occurrences are looked up in each series' {@link OccurrenceExceptions},
+ * so only series that have exceptions pay for them.
+ */
+public class EventConflictHelper {
+
+  /**
+   * Checks whether two recurring series have overlapping occurrences. Without exceptions this is
+   * decided by {@link #firstConflictDate}. Otherwise each modified occurrence is checked against
+   * the other series, and the unchanged occurrences of one series are walked only across the
+   * dates both rules cover, stopping at the first overlap.
+   *
+   * @param a the first series
+   * @param b the second series
+   * @return true if an occurrence of one overlaps an occurrence of the other
+   */
+  public static boolean seriesConflict(RecurringEvent a, RecurringEvent b) {
+    if (a.getExceptions().isEmpty() && b.getExceptions().isEmpty()) {
+      return firstConflictDate(a, b) != null;
+    }
+    if (overrideConflicts(a, b) || overrideConflicts(b, a)) {
+      return true;
+    }
+    if (!windowsOverlap(a, b)
+        || Collections.disjoint(a.getRecurrenceDays(), b.getRecurrenceDays())) {
+      return false;
+    }
+    LocalDate lastA = a.lastOccurrenceDate();
+    LocalDate lastB = b.lastOccurrenceDate();
+    if (lastA == null || lastB == null) {
+      return false;
+    }
+    LocalDate firstA = a.getStartDateTime().toLocalDate();
+    LocalDate firstB = b.getStartDateTime().toLocalDate();
+    LocalDate from = firstA.isAfter(firstB) ? firstA : firstB;
+    LocalDate to = lastA.isBefore(lastB) ? lastA : lastB;
+    OccurrenceCursor cursor = a.occurrenceCursor(from);
+    while (cursor.next() && !cursor.getStart().toLocalDate().isAfter(to)) {
+      LocalDate date = cursor.getStart().toLocalDate();
+      if (!a.getExceptions().isException(date) && !b.getExceptions().isException(date)
+          && b.getRecurrenceDays().contains(date.getDayOfWeek())
+          && b.overlaps(cursor.getStart(), cursor.getEnd())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether a modified occurrence of one series overlaps any occurrence of another.
+   */
+  private static boolean overrideConflicts(RecurringEvent modified, RecurringEvent other) {
+    for (SingleEvent override : modified.getExceptions().getOverrides().values()) {
+      if (other.overlaps(override.getStartDateTime(), override.getEffectiveEndDateTime())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds the first date on which occurrences of two recurring series overlap. The time-of-day
+   * windows are compared once, the date envelopes of both series are intersected, and the first
+   * date in that envelope falling on a weekday shared by both rules is the answer. Exceptions are
+   * ignored.
+   *
+   * @param a the first series
+   * @param b the second series
+   * @return the first conflicting date, or null if the series never overlap
+   */
+  public static LocalDate firstConflictDate(RecurringEvent a, RecurringEvent b) {
+    if (!windowsOverlap(a, b)) {
+      return null;
+    }
+    LocalDate lastA = a.lastOccurrenceDate();
+    LocalDate lastB = b.lastOccurrenceDate();
+    if (lastA == null || lastB == null) {
+      return null;
+    }
+    LocalDate firstA = a.getStartDateTime().toLocalDate();
+    LocalDate firstB = b.getStartDateTime().toLocalDate();
+    LocalDate from = firstA.isAfter(firstB) ? firstA : firstB;
+    LocalDate to = lastA.isBefore(lastB) ? lastA : lastB;
+    for (int i = 0; i < 7; i++) {
+      LocalDate date = from.plusDays(i);
+      if (date.isAfter(to)) {
+        break;
+      }
+      if (a.getRecurrenceDays().contains(date.getDayOfWeek())
+          && b.getRecurrenceDays().contains(date.getDayOfWeek())) {
+        return date;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks whether any occurrence of a recurring series overlaps the given time range. Only the
+   * first and last day of the range need their times compared; any occurrence on a day strictly
+   * between them lies entirely inside the range. Modified occurrences are checked against their
+   * overrides instead.
+   *
+   * @param series the recurring series
+   * @param start  the start of the range
+   * @param end    the end of the range
+   * @return true if an occurrence overlaps the range, false otherwise
+   */
+  public static boolean seriesOverlapsRange(RecurringEvent series, LocalDateTime start,
+      LocalDateTime end) {
+    LocalDate firstDay = start.toLocalDate();
+    LocalDate lastDay = end.toLocalDate();
+    if (lastDay.isBefore(firstDay)) {
+      return false;
+    }
+    if (occurrenceOverlaps(series, firstDay, start, end)
+        || occurrenceOverlaps(series, lastDay, start, end)) {
+      return true;
+    }
+    LocalDate inner = series.nextUnchangedOccurrenceOnOrAfter(firstDay.plusDays(1));
+    if (inner != null && inner.isBefore(lastDay)) {
+      return true;
+    }
+    return series.getExceptions().anyOverrideOverlaps(start, end);
+  }
+
+  private static boolean occurrenceOverlaps(RecurringEvent series, LocalDate date,
+      LocalDateTime start, LocalDateTime end) {
+    if (!series.hasUnchangedOccurrenceOn(date)) {
+      return false;
+    }
+    LocalDateTime occurrenceStart = LocalDateTime.of(date,
+        series.getStartDateTime().toLocalTime());
+    LocalDateTime occurrenceEnd = LocalDateTime.of(date,
+        series.getEffectiveEndDateTime().toLocalTime());
+    return occurrenceStart.isBefore(end) && start.isBefore(occurrenceEnd);
+  }
+
+  private static boolean windowsOverlap(RecurringEvent a, RecurringEvent b) {
+    LocalTime startA = a.getStartDateTime().toLocalTime();
+    LocalTime endA = a.getEffectiveEndDateTime().toLocalTime();
+    LocalTime startB = b.getStartDateTime().toLocalTime();
+    LocalTime endB = b.getEffectiveEndDateTime().toLocalTime();
+    return startA.isBefore(endB) && startB.isBefore(endA);
+  }
+}
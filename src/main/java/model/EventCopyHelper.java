@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,26 +48,18 @@ public class EventCopyHelper {
 
   private static SingleEvent getSingleEvent(ICalendarContext sourceCal, String eventName,
       LocalDateTime sourceStart) throws Exception {
-    Event found = null;
-    for (Event e : sourceCal.getCalendarService().getAllEvents()) {
-      for (Event occ : e.getOccurrences()) {
-        if (occ.getSubject().equalsIgnoreCase(eventName) &&
-            occ.getStartDateTime().equals(sourceStart)) {
-          found = occ;
-          break;
-        }
-      }
-      if (found != null) {
-        break;
-      }
-    }
-    if (found == null) {
+    List<Event> found = sourceCal.getCalendarService().getOccurrencesAt(eventName, sourceStart);
+    if (found.isEmpty()) {
       throw new Exception("Event '" + eventName + "' not found at " + sourceStart);
     }
-    if (!(found instanceof SingleEvent)) {
+    Event occurrence = found.get(0);
+    if (occurrence instanceof OccurrenceView) {
+      return ((OccurrenceView) occurrence).toSingleEvent();
+    }
+    if (!(occurrence instanceof SingleEvent)) {
       throw new Exception("Event '" + eventName + "' is not a single event.");
     }
-    return (SingleEvent) found;
+    return (SingleEvent) occurrence;
   }
 
   /**
@@ -125,26 +118,14 @@ public class EventCopyHelper {
   private static RecurringEvent getRecurringEvent(ICalendarContext sourceCal, String eventName,
       LocalDateTime sourceOccurrenceStart)
       throws Exception {
-    RecurringEvent foundRecurring = null;
-    for (Event e : sourceCal.getCalendarService().getAllEvents()) {
-      if (e instanceof RecurringEvent && e.getSubject().equalsIgnoreCase(eventName)) {
-        RecurringEvent re = (RecurringEvent) e;
-        for (Event occ : re.getOccurrences()) {
-          if (occ.getStartDateTime().equals(sourceOccurrenceStart)) {
-            foundRecurring = re;
-            break;
-          }
-        }
-      }
-      if (foundRecurring != null) {
-        break;
+    for (Event occurrence : sourceCal.getCalendarService().getOccurrencesAt(eventName,
+        sourceOccurrenceStart)) {
+      if (occurrence instanceof OccurrenceView) {
+        return ((OccurrenceView) occurrence).getSeries();
       }
     }
-    if (foundRecurring == null) {
-      throw new Exception("Recurring event '" + eventName + "' not found at "
-          + sourceOccurrenceStart);
-    }
-    return foundRecurring;
+    throw new Exception("Recurring event '" + eventName + "' not found at "
+        + sourceOccurrenceStart);
   }
 
   /**
@@ -166,25 +147,20 @@ public class EventCopyHelper {
     }
     StringBuilder result = new StringBuilder();
     for (Event e : events) {
+      if (e instanceof RecurringEvent) {
+        Event occurrence = ((RecurringEvent) e).occurrenceOn(sourceDate);
+        if (occurrence != null) {
+          copyOccurrenceToDate(sourceCal, targetCal, e.getSubject(),
+              occurrence.getStartDateTime(), targetDate, result);
+        }
+        continue;
+      }
       for (Event occ : e.getOccurrences()) {
         if (!occ.getStartDateTime().toLocalDate().equals(sourceDate)) {
           continue;
         }
-        LocalTime timeOfDay = occ.getStartDateTime().toLocalTime();
-        LocalDateTime targetStart = LocalDateTime.of(targetDate, timeOfDay);
-        try {
-          if (occ instanceof SingleEvent) {
-            String msg = copySingleEvent(sourceCal, targetCal, occ.getSubject(),
-                occ.getStartDateTime(), targetStart);
-            result.append(msg).append("\n");
-          } else if (occ instanceof RecurringEvent) {
-            String msg = copyRecurringEvent(sourceCal, targetCal, occ.getSubject(),
-                occ.getStartDateTime(), targetStart);
-            result.append(msg).append("\n");
-          }
-        } catch (EventConflictException ex) {
-          result.append("Conflict for event '").append(occ.getSubject()).append("'\n");
-        }
+        copyOccurrenceToDate(sourceCal, targetCal, occ.getSubject(), occ.getStartDateTime(),
+            targetDate, result);
       }
     }
     return result.toString();
@@ -206,37 +182,27 @@ public class EventCopyHelper {
           targetCal,
       LocalDate sourceStartDate, LocalDate sourceEndDate,
       LocalDate targetStartDate) throws Exception {
-    List<Event> events = sourceCal.getCalendarService().getAllEvents();
-    if (events.isEmpty()) {
-      return "No events found in source calendar.";
+    List<Event> occurrences = sourceCal.getCalendarService().getOccurrencesBetween(
+        sourceStartDate.atStartOfDay(), sourceEndDate.plusDays(1).atStartOfDay());
+    if (occurrences.isEmpty()) {
+      return "No events found between " + sourceStartDate + " and " + sourceEndDate;
     }
     long dayOffset = Duration.between(sourceStartDate.atStartOfDay(),
         targetStartDate.atStartOfDay()).toDays();
     StringBuilder result = new StringBuilder();
-    for (Event e : events) {
-      for (Event occ : e.getOccurrences()) {
-        LocalDate occDate = occ.getStartDateTime().toLocalDate();
-        if (!occDate.isBefore(sourceStartDate) && !occDate.isAfter(sourceEndDate)) {
-          ZonedDateTime sourceZDT = occ.getStartDateTime().atZone(sourceCal.getTimezone());
-          Instant instant = sourceZDT.toInstant();
-          LocalDateTime convertedStart = instant.atZone(targetCal.getTimezone()).toLocalDateTime();
-          LocalDateTime targetStart = convertedStart.plusDays(dayOffset);
-          long durationMillis = Duration.between(occ.getStartDateTime(),
-              ((SingleEvent) occ).getEffectiveEndDateTime()).toMillis();
-          LocalDateTime targetEnd = targetStart.plus(Duration.ofMillis(durationMillis));
-          try {
-            targetCal.getCalendarService().addSingleEvent(occ.getSubject(), targetStart, targetEnd,
-                occ.getDescription(), occ.getLocation(), occ.isPublic(), true);
-            result.append("Copied event '").append(occ.getSubject())
-                .append("' to ").append(targetStart).append("\n");
-          } catch (EventConflictException ex) {
-            result.append("Conflict for event '").append(occ.getSubject()).append("'\n");
-          }
-        }
-      }
+    List<SingleEvent> copies = new ArrayList<>();
+    for (Event occ : occurrences) {
+      copies.add(shiftedCopy(sourceCal, targetCal, occ, dayOffset));
     }
-    if (result.length() == 0) {
-      return "No events found between " + sourceStartDate + " and " + sourceEndDate;
+    BatchAddResult added = targetCal.getCalendarService().addEvents(copies,
+        ConflictPolicy.SKIP_CONFLICTING);
+    for (SingleEvent copy : copies) {
+      if (added.getConflicts().containsKey(copy)) {
+        result.append("Conflict for event '").append(copy.getSubject()).append("'\n");
+      } else {
+        result.append("Copied event '").append(copy.getSubject())
+            .append("' to ").append(copy.getStartDateTime()).append("\n");
+      }
     }
     return result.toString();
   }
@@ -256,23 +222,15 @@ public class EventCopyHelper {
   public static String copyEvent(ICalendarContext sourceCal, ICalendarContext targetCal,
       String eventName, LocalDateTime sourceStart,
       LocalDateTime targetStart) throws Exception {
-    Event found = null;
-    for (Event e : sourceCal.getCalendarService().getAllEvents()) {
-      if (e.getSubject().equalsIgnoreCase(eventName)) {
-        for (Event occ : e.getOccurrences()) {
-          if (occ.getStartDateTime().equals(sourceStart)) {
-            found = e;
-            break;
-          }
-        }
-      }
-      if (found != null) {
-        break;
-      }
-    }
-    if (found == null) {
+    List<Event> occurrences = sourceCal.getCalendarService().getOccurrencesAt(eventName,
+        sourceStart);
+    if (occurrences.isEmpty()) {
       throw new Exception("Event '" + eventName + "' not found at " + sourceStart);
     }
+    Event found = occurrences.get(0);
+    if (found instanceof OccurrenceView) {
+      found = ((OccurrenceView) found).getSeries();
+    }
     if (found instanceof SingleEvent) {
       return copySingleEvent(sourceCal, targetCal, eventName, sourceStart, targetStart);
     } else if (found instanceof RecurringEvent) {
@@ -281,4 +239,54 @@ public class EventCopyHelper {
       throw new Exception("Unsupported event type.");
     }
   }
+
+  /**
+   * Copies one occurrence to the same time of day on the target date, recording the outcome.
+   *
+   * @param sourceCal  The source calendar context.
+   * @param targetCal  The target calendar context.
+   * @param subject    The subject of the occurrence.
+   * @param occStart   The start of the occurrence in the source calendar.
+   * @param targetDate The date to copy the occurrence to.
+   * @param result     The builder collecting result messages.
+   * @throws Exception If copying fails for a reason other than a conflict.
+   */
+  private static void copyOccurrenceToDate(ICalendarContext sourceCal,
+      ICalendarContext targetCal, String subject, LocalDateTime occStart, LocalDate targetDate,
+      StringBuilder result) throws Exception {
+    LocalTime timeOfDay = occStart.toLocalTime();
+    LocalDateTime targetStart = LocalDateTime.of(targetDate, timeOfDay);
+    try {
+      String msg = copySingleEvent(sourceCal, targetCal, subject, occStart, targetStart);
+      result.append(msg).append("\n");
+    } catch (EventConflictException ex) {
+      result.append("Conflict for event '").append(subject).append("'\n");
+    }
+  }
+
+  /**
+   * Builds a copy of one occurrence for the target calendar, converted to the target timezone and
+   * shifted by the given number of days. The copy has auto-decline enabled.
+   *
+   * @param sourceCal The source calendar context.
+   * @param targetCal The target calendar context.
+   * @param source    The occurrence to copy.
+   * @param dayOffset The number of days to shift the copy by.
+   * @return The shifted copy.
+   * @throws InvalidDateException If the shifted times are invalid.
+   */
+  private static SingleEvent shiftedCopy(ICalendarContext sourceCal, ICalendarContext targetCal,
+      Event source, long dayOffset) throws InvalidDateException {
+    LocalDateTime occStart = source.getStartDateTime();
+    ZonedDateTime sourceZDT = occStart.atZone(sourceCal.getTimezone());
+    Instant instant = sourceZDT.toInstant();
+    LocalDateTime convertedStart = instant.atZone(targetCal.getTimezone()).toLocalDateTime();
+    LocalDateTime targetStart = convertedStart.plusDays(dayOffset);
+    long durationMillis = Duration.between(occStart, source.getEffectiveEndDateTime()).toMillis();
+    LocalDateTime targetEnd = targetStart.plus(Duration.ofMillis(durationMillis));
+    SingleEvent copy = new SingleEvent(source.getSubject(), targetStart, targetEnd,
+        source.getDescription(), source.getLocation(), source.isPublic());
+    copy.setAutoDecline(true);
+    return copy;
+  }
 }
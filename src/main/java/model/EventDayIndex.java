@@ -0,0 +1,224 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index from calendar day to the events that touch that day. Single events are placed in the
+ * bucket of every epoch-day they span, while recurring events are filed under each weekday of
+ * their rule and narrowed to their series dates on lookup, so a day query only visits events that
+ * can actually fall on it.
+ *
+ * <p>Single events spanning more than {@link #MAX_BUCKETED_DAYS} days, and event types the index
+ * does not understand, are kept in a small side list that is checked on every lookup.
+ */
+public class EventDayIndex {
+
+  /**
+   * The longest span, in days, for which a single event is copied into per-day buckets.
+   */
+  public static final int MAX_BUCKETED_DAYS = 366;
+
+  private final Map<Long, List<Event>> dayBuckets;
+  private final Map<DayOfWeek, List<Event>> weekdayBuckets;
+  private final List<Event> unbucketed;
+  private final Map<Event, Entry> entries;
+  private long nextSequence;
+
+  /**
+   * Constructs an empty day index.
+   */
+  public EventDayIndex() {
+    this.dayBuckets = new HashMap<>();
+    this.weekdayBuckets = new EnumMap<>(DayOfWeek.class);
+    this.unbucketed = new ArrayList<>();
+    this.entries = new IdentityHashMap<>();
+  }
+
+  /**
+   * Adds an event to the index. Adding an event that is already indexed refreshes its buckets.
+   *
+   * @param event the event to index
+   */
+  public void add(Event event) {
+    Entry existing = entries.get(event);
+    long sequence = existing == null ? nextSequence++ : existing.sequence;
+    if (existing != null) {
+      unlink(event, existing);
+    }
+    Entry entry = new Entry(sequence);
+    if (event instanceof SingleEvent) {
+      LocalDate first = event.getStartDateTime().toLocalDate();
+      LocalDate last = event.getEffectiveEndDateTime().toLocalDate();
+      entry.firstDay = first.toEpochDay();
+      entry.lastDay = last.toEpochDay();
+      if (entry.lastDay - entry.firstDay < MAX_BUCKETED_DAYS) {
+        for (long day = entry.firstDay; day <= entry.lastDay; day++) {
+          dayBuckets.computeIfAbsent(day, k -> new ArrayList<>()).add(event);
+        }
+      } else {
+        entry.unbucketed = true;
+        unbucketed.add(event);
+      }
+    } else if (event instanceof RecurringEvent) {
+      RecurringEvent re = (RecurringEvent) event;
+      entry.firstDay = re.getStartDateTime().toLocalDate().toEpochDay();
+      entry.lastDay = EventIntervalIndex.lastPossibleDate(re).toEpochDay();
+      entry.weekdays = re.getRecurrenceDays().isEmpty()
+          ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(re.getRecurrenceDays());
+      for (DayOfWeek day : entry.weekdays) {
+        weekdayBuckets.computeIfAbsent(day, k -> new ArrayList<>()).add(event);
+      }
+      entry.extraDays = displacedDays(re, entry);
+      for (long day : entry.extraDays) {
+        dayBuckets.computeIfAbsent(day, k -> new ArrayList<>()).add(event);
+      }
+    } else {
+      entry.firstDay = Long.MIN_VALUE;
+      entry.lastDay = Long.MAX_VALUE;
+      entry.unbucketed = true;
+      unbucketed.add(event);
+    }
+    entries.put(event, entry);
+  }
+
+  /**
+   * Removes an event from the index.
+   *
+   * @param event the event to remove
+   */
+  public void remove(Event event) {
+    Entry entry = entries.remove(event);
+    if (entry != null) {
+      unlink(event, entry);
+    }
+  }
+
+  /**
+   * Re-indexes an event whose dates or recurrence may have changed. Events that are not in the
+   * index are ignored.
+   *
+   * @param event the modified event
+   */
+  public void update(Event event) {
+    if (entries.containsKey(event)) {
+      add(event);
+    }
+  }
+
+  /**
+   * Returns the events that may occur on the given date. Single events in the result are known to
+   * touch the date; recurring events match by weekday and series dates, or by the days their
+   * displaced overrides were moved to, and should be confirmed against their rule.
+   *
+   * @param date the date to look up
+   * @return candidate events, in the order they were added
+   */
+  public List<Event> candidatesOn(LocalDate date) {
+    long day = date.toEpochDay();
+    List<Event> result = new ArrayList<>();
+    List<Event> singles = dayBuckets.get(day);
+    if (singles != null) {
+      result.addAll(singles);
+    }
+    List<Event> recurring = weekdayBuckets.get(date.getDayOfWeek());
+    if (recurring != null) {
+      for (Event event : recurring) {
+        Entry entry = entries.get(event);
+        if (entry.firstDay <= day && day <= entry.lastDay) {
+          result.add(event);
+        }
+      }
+    }
+    for (Event event : unbucketed) {
+      Entry entry = entries.get(event);
+      if (entry.firstDay <= day && day <= entry.lastDay) {
+        result.add(event);
+      }
+    }
+    result.sort(Comparator.comparingLong(e -> entries.get(e).sequence));
+    return result;
+  }
+
+  /**
+   * Collects the days touched by displaced overrides of a series that its weekday buckets would
+   * not already find.
+   *
+   * @param series the recurring event
+   * @param entry  the series' entry, with its dates and weekdays filled in
+   * @return the extra epoch-days to file the series under
+   */
+  private static Set<Long> displacedDays(RecurringEvent series, Entry entry) {
+    Set<Long> days = new HashSet<>();
+    for (SingleEvent override : series.getExceptions().getDisplaced().values()) {
+      LocalDate first = override.getStartDateTime().toLocalDate();
+      LocalDate last = override.getEffectiveEndDateTime().toLocalDate();
+      for (LocalDate date = first; !date.isAfter(last)
+          && date.toEpochDay() - first.toEpochDay() < MAX_BUCKETED_DAYS;
+          date = date.plusDays(1)) {
+        long day = date.toEpochDay();
+        boolean bucketed = entry.weekdays.contains(date.getDayOfWeek())
+            && entry.firstDay <= day && day <= entry.lastDay;
+        if (!bucketed) {
+          days.add(day);
+        }
+      }
+    }
+    return days;
+  }
+
+  private void unlink(Event event, Entry entry) {
+    if (entry.unbucketed) {
+      unbucketed.remove(event);
+    } else if (entry.weekdays != null) {
+      for (DayOfWeek day : entry.weekdays) {
+        removeFrom(weekdayBuckets, day, event);
+      }
+      for (long day : entry.extraDays) {
+        removeFrom(dayBuckets, day, event);
+      }
+    } else {
+      for (long day = entry.firstDay; day <= entry.lastDay; day++) {
+        removeFrom(dayBuckets, day, event);
+      }
+    }
+  }
+
+  private static <K> void removeFrom(Map<K, List<Event>> buckets, K key, Event event) {
+    List<Event> bucket = buckets.get(key);
+    if (bucket == null) {
+      return;
+    }
+    bucket.remove(event);
+    if (bucket.isEmpty()) {
+      buckets.remove(key);
+    }
+  }
+
+  /**
+   * Records where an event was filed so it can be unlinked later.
+   */
+  private static class Entry {
+
+    private final long sequence;
+    private long firstDay;
+    private long lastDay;
+    private Set<DayOfWeek> weekdays;
+    private Set<Long> extraDays;
+    private boolean unbucketed;
+
+    Entry(long sequence) {
+      this.sequence = sequence;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A utility class that applies a property change to a stored event, rejecting time changes that
+ * would create a conflict when the event has auto-decline enabled.
+ */
+public class EventEditHelper {
+
+  /**
+   * Updates an event’s property with a new value.
+   *
+   * @param event    The event to update
+   * @param property The property to change
+   * @param newValue The new value
+   * @param model    The calendar model for conflict checking
+   * @throws Exception If the property is unsupported or the edit causes a conflict
+   */
+  public static void updateEvent(AbstractEvent event, String property, String newValue,
+      ICalendarModel model)
+      throws Exception {
+    if (property.equalsIgnoreCase("subject")) {
+      event.setSubject(newValue);
+    } else if (property.equalsIgnoreCase("description")) {
+      event.setDescription(newValue);
+    } else if (property.equalsIgnoreCase("location")) {
+      event.setLocation(newValue);
+    } else if (property.equalsIgnoreCase("public")) {
+      event.setPublic(Boolean.parseBoolean(newValue));
+    } else if (property.equalsIgnoreCase("autodecline")) {
+      event.setAutoDecline(true);
+    } else if (property.equalsIgnoreCase("start")
+        || property.equalsIgnoreCase("startdatetime")) {
+      LocalDateTime newStart = LocalDateTime.parse(newValue);
+      if (event instanceof SingleEvent) {
+        SingleEvent se = (SingleEvent) event;
+        if (newStart.isAfter(se.getEffectiveEndDateTime())) {
+          throw new IllegalArgumentException("Start time cannot be after end time.");
+        }
+        LocalDateTime oldStart = event.getStartDateTime();
+        event.setStartDateTime(newStart);
+        if (event.isAutoDecline() && isConflictWithOthers(event, model)) {
+          event.setStartDateTime(oldStart);
+          throw new IllegalArgumentException("Edit would cause a conflict.");
+        }
+      } else {
+        throw new UnsupportedOperationException(
+            "Editing start time for recurring events in ALL mode not allowed; use FROM mode.");
+      }
+    } else if (property.equalsIgnoreCase("end")
+        || property.equalsIgnoreCase("enddatetime")) {
+      LocalDateTime newEnd = LocalDateTime.parse(newValue);
+      if (newEnd.isBefore(event.getStartDateTime())) {
+        throw new IllegalArgumentException("End time cannot be before start time.");
+      }
+      if (event instanceof SingleEvent) {
+        SingleEvent se = (SingleEvent) event;
+        LocalDateTime oldEnd = se.getEffectiveEndDateTime();
+        se.setEndDateTime(newEnd);
+        if (event.isAutoDecline() && isConflictWithOthers(event, model)) {
+          se.setEndDateTime(oldEnd);
+          throw new IllegalArgumentException("Edit would cause a conflict.");
+        }
+      } else {
+        throw new UnsupportedOperationException(
+            "Editing end time for recurring events in ALL mode not allowed; use FROM mode.");
+      }
+    } else {
+      throw new UnsupportedOperationException("Editing property not supported: " + property);
+    }
+  }
+
+  /**
+   * Checks if an updated event conflicts with others in the calendar.
+   *
+   * @param updatedEvent The event being updated
+   * @param model        The calendar model to check against
+   * @return True if a conflict exists, false otherwise
+   */
+  private static boolean isConflictWithOthers(AbstractEvent updatedEvent, ICalendarModel model) {
+    for (Event other : model.getAllEvents()) {
+      if (other == updatedEvent
+          || (updatedEvent.getId() != 0 && other.getId() == updatedEvent.getId())) {
+        continue;
+      }
+      if (updatedEvent.conflictsWith(other) || other.conflictsWith(updatedEvent)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
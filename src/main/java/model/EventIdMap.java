@@ -0,0 +1,132 @@
+package model;
+
+/**
+ * A hash map from primitive {@code long} event ids to events. Keys are stored unboxed in an
+ * open-addressing table with linear probing, so a lookup is a hash, an array read and usually a
+ * single key comparison. Removal shifts later entries of the probe run back instead of leaving
+ * tombstones.
+ *
+ * <p>The id {@code 0} means "no id" and cannot be stored.
+ */
+public class EventIdMap {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] keys;
+  private Event[] values;
+  private int size;
+
+  /**
+   * Constructs an empty id map.
+   */
+  public EventIdMap() {
+    this.keys = new long[INITIAL_CAPACITY];
+    this.values = new Event[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Associates an event with an id, replacing any event previously stored under it.
+   *
+   * @param id    the event id, must not be 0
+   * @param event the event to store
+   * @throws IllegalArgumentException if the id is 0
+   */
+  public void put(long id, Event event) {
+    if (id == 0) {
+      throw new IllegalArgumentException("Event id 0 is reserved.");
+    }
+    if ((size + 1) * 4 > keys.length * 3) {
+      resize(keys.length * 2);
+    }
+    int slot = slotOf(id, keys);
+    if (keys[slot] == 0) {
+      keys[slot] = id;
+      size++;
+    }
+    values[slot] = event;
+  }
+
+  /**
+   * Returns the event stored under an id.
+   *
+   * @param id the event id
+   * @return the event, or null if no event has that id
+   */
+  public Event get(long id) {
+    if (id == 0) {
+      return null;
+    }
+    int slot = slotOf(id, keys);
+    return keys[slot] == 0 ? null : values[slot];
+  }
+
+  /**
+   * Removes the event stored under an id.
+   *
+   * @param id the event id
+   * @return the removed event, or null if no event had that id
+   */
+  public Event remove(long id) {
+    if (id == 0) {
+      return null;
+    }
+    int mask = keys.length - 1;
+    int slot = slotOf(id, keys);
+    if (keys[slot] == 0) {
+      return null;
+    }
+    Event removed = values[slot];
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (keys[next] != 0) {
+      int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[gap] = 0;
+    values[gap] = null;
+    size--;
+    return removed;
+  }
+
+  /**
+   * Returns the number of stored ids.
+   *
+   * @return the map size
+   */
+  public int size() {
+    return size;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    Event[] oldValues = values;
+    keys = new long[capacity];
+    values = new Event[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = slotOf(oldKeys[i], keys);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int slotOf(long id, long[] table) {
+    int mask = table.length - 1;
+    int slot = hash(id) & mask;
+    while (table[slot] != 0 && table[slot] != id) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int hash(long id) {
+    long h = id * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
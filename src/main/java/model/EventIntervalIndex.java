@@ -0,0 +1,378 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An augmented interval tree over the time envelopes of stored events. Every node is keyed on the
+ * start of its envelope and records the largest envelope end found in its subtree, so an overlap
+ * query only descends into subtrees that can still hold a match and runs in O(log n + k).
+ *
+ * <p>A single event's envelope is its start and effective end. A recurring event's envelope spans
+ * whole days from the first day of the series to the last day it can possibly occur on. Envelopes
+ * are a superset of the real busy time, so callers still confirm candidates with
+ * {@link Event#conflictsWith(Event)}. Other event types are given an unbounded envelope and are
+ * therefore returned by every query.
+ */
+public class EventIntervalIndex {
+
+  private Node root;
+  private final Map<Event, Node> nodes;
+  private long nextSequence;
+
+  /**
+   * Constructs an empty interval index.
+   */
+  public EventIntervalIndex() {
+    this.nodes = new IdentityHashMap<>();
+  }
+
+  /**
+   * Adds an event to the index. Adding an event that is already indexed refreshes its envelope.
+   *
+   * @param event the event to index
+   */
+  public void add(Event event) {
+    Node existing = nodes.get(event);
+    long sequence = existing == null ? nextSequence++ : existing.sequence;
+    if (existing != null) {
+      root = delete(root, existing);
+    }
+    Node node = new Node(event, envelopeStart(event), envelopeEnd(event), sequence);
+    nodes.put(event, node);
+    root = insert(root, node);
+  }
+
+  /**
+   * Removes an event from the index.
+   *
+   * @param event the event to remove
+   */
+  public void remove(Event event) {
+    Node node = nodes.remove(event);
+    if (node != null) {
+      root = delete(root, node);
+    }
+  }
+
+  /**
+   * Re-indexes an event whose times may have changed since it was added. Events that are not in
+   * the index are ignored.
+   *
+   * @param event the modified event
+   */
+  public void update(Event event) {
+    if (nodes.containsKey(event)) {
+      add(event);
+    }
+  }
+
+  /**
+   * Returns the number of indexed events.
+   *
+   * @return the index size
+   */
+  public int size() {
+    return nodes.size();
+  }
+
+  /**
+   * Finds all indexed events whose envelope overlaps the envelope of the given event.
+   *
+   * @param event the event to test
+   * @return candidate events, in the order they were added
+   */
+  public List<Event> findOverlapping(Event event) {
+    return findOverlapping(envelopeStart(event), envelopeEnd(event));
+  }
+
+  /**
+   * Finds all indexed events whose envelope overlaps the given range. Both bounds are inclusive.
+   *
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return candidate events, in the order they were added
+   */
+  public List<Event> findOverlapping(LocalDateTime start, LocalDateTime end) {
+    return findOverlapping(toSeconds(start), toSeconds(end));
+  }
+
+  /**
+   * Finds all indexed events whose envelope overlaps the combined envelope of a group of events,
+   * that is, the span from the earliest envelope start to the latest envelope end among them.
+   *
+   * @param events the events to test
+   * @return candidate events, in the order they were added
+   */
+  public List<Event> findOverlappingAny(Collection<? extends Event> events) {
+    if (events.isEmpty()) {
+      return new ArrayList<>();
+    }
+    long start = Long.MAX_VALUE;
+    long end = Long.MIN_VALUE;
+    for (Event event : events) {
+      start = Math.min(start, envelopeStart(event));
+      end = Math.max(end, envelopeEnd(event));
+    }
+    return findOverlapping(start, end);
+  }
+
+  /**
+   * Checks whether any indexed event whose envelope overlaps the given range passes a test. The
+   * search stops at the first match, so a stabbing query for a single instant visits only the
+   * path down the tree and the envelopes containing that instant. Both bounds are inclusive.
+   *
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @param test  the check each candidate must pass
+   * @return true if some candidate passes the test, false otherwise
+   */
+  public boolean anyOverlapping(LocalDateTime start, LocalDateTime end, Predicate<Event> test) {
+    return any(root, toSeconds(start), toSeconds(end), test);
+  }
+
+  private boolean any(Node node, long start, long end, Predicate<Event> test) {
+    if (node == null || node.maxEnd < start) {
+      return false;
+    }
+    if (any(node.left, start, end, test)) {
+      return true;
+    }
+    if (node.start > end) {
+      return false;
+    }
+    if (node.end >= start && test.test(node.event)) {
+      return true;
+    }
+    return any(node.right, start, end, test);
+  }
+
+  private List<Event> findOverlapping(long start, long end) {
+    List<Node> matches = new ArrayList<>();
+    collect(root, start, end, matches);
+    matches.sort(Comparator.comparingLong(n -> n.sequence));
+    List<Event> result = new ArrayList<>(matches.size());
+    for (Node node : matches) {
+      result.add(node.event);
+    }
+    return result;
+  }
+
+  private void collect(Node node, long start, long end, List<Node> matches) {
+    if (node == null || node.maxEnd < start) {
+      return;
+    }
+    collect(node.left, start, end, matches);
+    if (node.start > end) {
+      return;
+    }
+    if (node.end >= start) {
+      matches.add(node);
+    }
+    collect(node.right, start, end, matches);
+  }
+
+  /**
+   * Returns the start of the time envelope an event may occupy.
+   *
+   * @param event the event
+   * @return the envelope start in epoch seconds
+   */
+  static long envelopeStart(Event event) {
+    if (event instanceof RecurringEvent) {
+      return toSeconds(firstPossibleDate((RecurringEvent) event).atStartOfDay());
+    }
+    if (!(event instanceof SingleEvent)) {
+      return Long.MIN_VALUE;
+    }
+    return Math.min(toSeconds(event.getStartDateTime()),
+        toSeconds(event.getEffectiveEndDateTime()));
+  }
+
+  /**
+   * Returns the end of the time envelope an event may occupy.
+   *
+   * @param event the event
+   * @return the envelope end in epoch seconds
+   */
+  static long envelopeEnd(Event event) {
+    if (event instanceof RecurringEvent) {
+      return toSeconds(lastPossibleDate((RecurringEvent) event).plusDays(1).atStartOfDay());
+    }
+    if (!(event instanceof SingleEvent)) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(toSeconds(event.getStartDateTime()),
+        toSeconds(event.getEffectiveEndDateTime()));
+  }
+
+  /**
+   * Returns a date on or before the first day a recurring event can occur, including any modified
+   * occurrence moved earlier than the series start.
+   *
+   * @param event the recurring event
+   * @return the earliest day the series can touch
+   */
+  static LocalDate firstPossibleDate(RecurringEvent event) {
+    LocalDate first = event.getStartDateTime().toLocalDate();
+    LocalDate displaced = event.getExceptions().earliestDisplacedDay();
+    return displaced != null && displaced.isBefore(first) ? displaced : first;
+  }
+
+  /**
+   * Returns a date on or after the last day a recurring event can occur, without expanding it.
+   * Modified occurrences moved past the end of the rule extend the date.
+   *
+   * @param event the recurring event
+   * @return the date of its last occurrence, or its first day if it has none
+   */
+  static LocalDate lastPossibleDate(RecurringEvent event) {
+    LocalDate last = event.lastOccurrenceDate();
+    if (last == null) {
+      last = event.getStartDateTime().toLocalDate();
+    }
+    LocalDate displaced = event.getExceptions().latestDisplacedDay();
+    return displaced != null && displaced.isAfter(last) ? displaced : last;
+  }
+
+  private static long toSeconds(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  private static int compare(Node a, Node b) {
+    int cmp = Long.compare(a.start, b.start);
+    return cmp != 0 ? cmp : Long.compare(a.sequence, b.sequence);
+  }
+
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static void refresh(Node node) {
+    node.height = 1 + Math.max(height(node.left), height(node.right));
+    long max = node.end;
+    if (node.left != null) {
+      max = Math.max(max, node.left.maxEnd);
+    }
+    if (node.right != null) {
+      max = Math.max(max, node.right.maxEnd);
+    }
+    node.maxEnd = max;
+  }
+
+  private static Node rotateRight(Node node) {
+    Node pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    refresh(node);
+    refresh(pivot);
+    return pivot;
+  }
+
+  private static Node rotateLeft(Node node) {
+    Node pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    refresh(node);
+    refresh(pivot);
+    return pivot;
+  }
+
+  private static Node balance(Node node) {
+    refresh(node);
+    int factor = height(node.left) - height(node.right);
+    if (factor > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    }
+    if (factor < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private static Node insert(Node node, Node added) {
+    if (node == null) {
+      refresh(added);
+      return added;
+    }
+    if (compare(added, node) < 0) {
+      node.left = insert(node.left, added);
+    } else {
+      node.right = insert(node.right, added);
+    }
+    return balance(node);
+  }
+
+  private static Node delete(Node node, Node removed) {
+    if (node == null) {
+      return null;
+    }
+    int cmp = compare(removed, node);
+    if (cmp < 0) {
+      node.left = delete(node.left, removed);
+    } else if (cmp > 0) {
+      node.right = delete(node.right, removed);
+    } else {
+      if (node.left == null) {
+        return node.right;
+      }
+      if (node.right == null) {
+        return node.left;
+      }
+      Node successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      successor.right = deleteMin(node.right);
+      successor.left = node.left;
+      return balance(successor);
+    }
+    return balance(node);
+  }
+
+  private static Node deleteMin(Node node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    node.left = deleteMin(node.left);
+    return balance(node);
+  }
+
+  /**
+   * A tree node holding one event and the envelope it was indexed under.
+   */
+  private static class Node {
+
+    private final Event event;
+    private final long start;
+    private final long end;
+    private final long sequence;
+    private long maxEnd;
+    private int height;
+    private Node left;
+    private Node right;
+
+    Node(Event event, long start, long end, long sequence) {
+      this.event = event;
+      this.start = start;
+      this.end = end;
+      this.sequence = sequence;
+      this.maxEnd = end;
+      this.height = 1;
+    }
+  }
+}
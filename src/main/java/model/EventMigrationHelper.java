@@ -1,8 +1,18 @@
 package model;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * A utility class that handles timezone migration for events in a calendar context.
@@ -10,7 +20,8 @@ import java.util.List;
 public class EventMigrationHelper {
 
   /**
-   * Migrates all events in the given calendar from an old timezone to a new timezone.
+   * Migrates all events in the given calendar from an old timezone to a new timezone. The events
+   * are moved as one unit, so no reader sees some of them in the old timezone and some in the new.
    *
    * @param calendar the calendar context containing the events to migrate
    * @param oldZone  the original timezone of the events
@@ -19,30 +30,106 @@ public class EventMigrationHelper {
    */
   public static void migrateEvents(ICalendarContext calendar, ZoneId oldZone, ZoneId newZone)
       throws Exception {
-    List<Event> events = calendar.getCalendarService().getAllEvents();
+    calendar.getCalendarModel().atomically(model -> {
+      migrate(model.getAllEvents(), oldZone, newZone);
+      return null;
+    });
+  }
+
+  /**
+   * Changes the timezone of a calendar and migrates its events from the timezone it had. The
+   * timezone is read, replaced and the events moved under the calendar's monitor, which renames
+   * also take, and under the model's write lock, so two sessions changing the timezone of the same
+   * calendar cannot both migrate from the same old timezone.
+   *
+   * @param calendar the calendar whose timezone changes
+   * @param newZone  the new timezone
+   * @throws Exception if there is an issue retrieving or updating the events
+   */
+  public static void changeTimezone(ICalendarContext calendar, ZoneId newZone)
+      throws Exception {
+    synchronized (calendar) {
+      calendar.getCalendarModel().atomically(model -> {
+        ZoneId oldZone = calendar.getTimezone();
+        calendar.setTimezone(newZone.getId());
+        migrate(model.getAllEvents(), oldZone, newZone);
+        return null;
+      });
+    }
+  }
+
+  /**
+   * Moves each event to the new timezone, keeping the instants it starts and ends at. The
+   * modified and cancelled occurrences of a series move with it: each override keeps its own
+   * instants, and an exception is filed again under the date its occurrence falls on in the new
+   * timezone.
+   */
+  private static void migrate(List<Event> events, ZoneId oldZone, ZoneId newZone)
+      throws Exception {
     for (Event e : events) {
       if (e instanceof SingleEvent) {
-        SingleEvent se = (SingleEvent) e;
-        ZonedDateTime oldStartZDT = se.getStartDateTime().atZone(oldZone);
-        ZonedDateTime oldEndZDT = se.getEffectiveEndDateTime().atZone(oldZone);
-        ZonedDateTime newStartZDT = oldStartZDT.withZoneSameInstant(newZone);
-        ZonedDateTime newEndZDT = oldEndZDT.withZoneSameInstant(newZone);
-        se.setStartDateTime(newStartZDT.toLocalDateTime());
-        se.setEndDateTime(newEndZDT.toLocalDateTime());
+        migrate((SingleEvent) e, oldZone, newZone);
       } else if (e instanceof RecurringEvent) {
         RecurringEvent re = (RecurringEvent) e;
-        ZonedDateTime oldSeriesStartZDT = re.getStartDateTime().atZone(oldZone);
+        LocalDateTime oldSeriesStart = re.getStartDateTime();
+        Map<LocalDate, SingleEvent> overrides =
+            new LinkedHashMap<>(re.getExceptions().getOverrides());
+        Set<LocalDate> cancelled = new LinkedHashSet<>(re.getExceptions().getCancelled());
+        for (LocalDate date : overrides.keySet()) {
+          re.restoreOccurrence(date);
+        }
+        for (LocalDate date : cancelled) {
+          re.restoreOccurrence(date);
+        }
+        ZonedDateTime oldSeriesStartZDT = oldSeriesStart.atZone(oldZone);
         ZonedDateTime oldSeriesEndZDT = re.getEffectiveEndDateTime().atZone(oldZone);
         ZonedDateTime newSeriesStartZDT = oldSeriesStartZDT.withZoneSameInstant(newZone);
         ZonedDateTime newSeriesEndZDT = oldSeriesEndZDT.withZoneSameInstant(newZone);
         re.setStartDateTime(newSeriesStartZDT.toLocalDateTime());
         re.setEndDateTime(newSeriesEndZDT.toLocalDateTime());
+        long dayShift = ChronoUnit.DAYS.between(oldSeriesStart.toLocalDate(),
+            newSeriesStartZDT.toLocalDate());
+        if (dayShift != 0) {
+          Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+          for (DayOfWeek day : re.getRecurrenceDays()) {
+            days.add(day.plus(dayShift));
+          }
+          re.setRecurrenceDays(days);
+        }
         if (re.getRecurrenceEndDate() != null) {
           ZonedDateTime oldRecurrenceZDT = re.getRecurrenceEndDate().atStartOfDay().atZone(oldZone);
           ZonedDateTime newRecurrenceZDT = oldRecurrenceZDT.withZoneSameInstant(newZone);
           re.setRecurrenceEndDate(newRecurrenceZDT.toLocalDate());
         }
+        LocalTime ruleTime = oldSeriesStart.toLocalTime();
+        for (Map.Entry<LocalDate, SingleEvent> entry : overrides.entrySet()) {
+          migrate(entry.getValue(), oldZone, newZone);
+          re.overrideOccurrence(ruleDate(entry.getKey(), ruleTime, oldZone, newZone),
+              entry.getValue());
+        }
+        for (LocalDate date : cancelled) {
+          re.cancelOccurrence(ruleDate(date, ruleTime, oldZone, newZone));
+        }
       }
     }
   }
+
+  private static void migrate(SingleEvent se, ZoneId oldZone, ZoneId newZone)
+      throws InvalidDateException {
+    ZonedDateTime oldStartZDT = se.getStartDateTime().atZone(oldZone);
+    ZonedDateTime oldEndZDT = se.getEffectiveEndDateTime().atZone(oldZone);
+    ZonedDateTime newStartZDT = oldStartZDT.withZoneSameInstant(newZone);
+    ZonedDateTime newEndZDT = oldEndZDT.withZoneSameInstant(newZone);
+    se.setStartDateTime(newStartZDT.toLocalDateTime());
+    se.setEndDateTime(newEndZDT.toLocalDateTime());
+  }
+
+  /**
+   * Returns the date the rule places an occurrence on in the new timezone, given its date in the
+   * old one.
+   */
+  private static LocalDate ruleDate(LocalDate date, LocalTime ruleTime, ZoneId oldZone,
+      ZoneId newZone) {
+    return date.atTime(ruleTime).atZone(oldZone).withZoneSameInstant(newZone).toLocalDate();
+  }
 }
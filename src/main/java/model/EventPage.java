@@ -0,0 +1,53 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a paginated occurrence listing, together with the token that continues it.
+ */
+public class EventPage {
+
+  private final List<Event> events;
+  private final String nextToken;
+
+  /**
+   * Constructs a page.
+   *
+   * @param events    the occurrences on the page, in chronological order
+   * @param nextToken the token for the following page, or null if this is the last page
+   */
+  public EventPage(List<Event> events, String nextToken) {
+    this.events = Collections.unmodifiableList(events);
+    this.nextToken = nextToken;
+  }
+
+  /**
+   * Returns the occurrences on this page.
+   *
+   * @return an unmodifiable list of occurrences in chronological order
+   */
+  public List<Event> getEvents() {
+    return events;
+  }
+
+  /**
+   * Returns the token to pass back to fetch the following page. The token records where this
+   * page stopped, so the next page starts after it even if earlier occurrences were added or
+   * removed meanwhile.
+   *
+   * @return the continuation token, or null if there are no more occurrences
+   */
+  public String getNextToken() {
+    return nextToken;
+  }
+
+  /**
+   * Checks whether more occurrences follow this page.
+   *
+   * @return true if there is a next page
+   */
+  public boolean hasMore() {
+    return nextToken != null;
+  }
+}
@@ -0,0 +1,138 @@
+package model;
+
+/**
+ * A hash map from primitive {@code long} event ids to primitive {@code int} positions, for
+ * models that keep their events in arrays. It uses the same open-addressing table with linear
+ * probing as {@link EventIdMap}, so neither keys nor positions are boxed.
+ *
+ * <p>The id {@code 0} means "no id" and cannot be stored.
+ */
+public class EventPositionMap {
+
+  /**
+   * The value returned for an id that is not stored.
+   */
+  public static final int ABSENT = -1;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] keys;
+  private int[] positions;
+  private int size;
+
+  /**
+   * Constructs an empty position map.
+   */
+  public EventPositionMap() {
+    this.keys = new long[INITIAL_CAPACITY];
+    this.positions = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Associates a position with an id, replacing any position previously stored under it.
+   *
+   * @param id       the event id, must not be 0
+   * @param position the position of the event, not negative
+   * @throws IllegalArgumentException if the id is 0 or the position is negative
+   */
+  public void put(long id, int position) {
+    if (id == 0) {
+      throw new IllegalArgumentException("Event id 0 is reserved.");
+    }
+    if (position < 0) {
+      throw new IllegalArgumentException("Position cannot be negative.");
+    }
+    if ((size + 1) * 4 > keys.length * 3) {
+      resize(keys.length * 2);
+    }
+    int slot = slotOf(id, keys);
+    if (keys[slot] == 0) {
+      keys[slot] = id;
+      size++;
+    }
+    positions[slot] = position;
+  }
+
+  /**
+   * Returns the position stored under an id.
+   *
+   * @param id the event id
+   * @return the position, or {@link #ABSENT} if no position is stored for the id
+   */
+  public int get(long id) {
+    if (id == 0) {
+      return ABSENT;
+    }
+    int slot = slotOf(id, keys);
+    return keys[slot] == 0 ? ABSENT : positions[slot];
+  }
+
+  /**
+   * Removes the position stored under an id.
+   *
+   * @param id the event id
+   * @return the removed position, or {@link #ABSENT} if no position was stored for the id
+   */
+  public int remove(long id) {
+    if (id == 0) {
+      return ABSENT;
+    }
+    int mask = keys.length - 1;
+    int slot = slotOf(id, keys);
+    if (keys[slot] == 0) {
+      return ABSENT;
+    }
+    int removed = positions[slot];
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (keys[next] != 0) {
+      int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        positions[gap] = positions[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[gap] = 0;
+    size--;
+    return removed;
+  }
+
+  /**
+   * Returns the number of stored ids.
+   *
+   * @return the map size
+   */
+  public int size() {
+    return size;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldPositions = positions;
+    keys = new long[capacity];
+    positions = new int[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = slotOf(oldKeys[i], keys);
+        keys[slot] = oldKeys[i];
+        positions[slot] = oldPositions[i];
+      }
+    }
+  }
+
+  private static int slotOf(long id, long[] table) {
+    int mask = table.length - 1;
+    int slot = hash(id) & mask;
+    while (table[slot] != 0 && table[slot] != id) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int hash(long id) {
+    long h = id * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -2,14 +2,23 @@ package model;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 /**
  * Prints calendar events for a specific date or date-time range using a given calendar model.
+ * A printer can be asked to follow each line with the id of the stored event, for listings from
+ * which events are then addressed by id.
  */
 public class EventPrinter implements IEventPrinter {
 
+  /**
+   * The number of lines a range listing buffers before writing them out.
+   */
+  public static final int PAGE_LINES = 100;
+
   private ICalendarModel model;
+  private boolean showIds;
 
   /**
    * Constructs an EventPrinter with the specified calendar model.
@@ -17,7 +26,18 @@ public class EventPrinter implements IEventPrinter {
    * @param model the calendar model used to retrieve events
    */
   public EventPrinter(ICalendarModel model) {
+    this(model, false);
+  }
+
+  /**
+   * Constructs an EventPrinter with the specified calendar model that may list event ids.
+   *
+   * @param model   the calendar model used to retrieve events
+   * @param showIds whether each line ends with the id of its stored event
+   */
+  public EventPrinter(ICalendarModel model, boolean showIds) {
     this.model = model;
+    this.showIds = showIds;
   }
 
   /**
@@ -37,13 +57,22 @@ public class EventPrinter implements IEventPrinter {
 
     StringBuilder sb = new StringBuilder();
     sb.append("Events on ").append(date).append(":\n");
-    for (Event event : events) {
+    for (Event stored : events) {
+      Event event = stored;
+      if (stored instanceof RecurringEvent) {
+        Event occurrence = ((RecurringEvent) stored).occurrenceOn(date);
+        if (occurrence != null && occurrence.getStartDateTime().toLocalDate().equals(date)) {
+          event = occurrence;
+        }
+      }
       sb.append("- ").append(event.getSubject()).append(" at ");
       String location = event.getLocation();
       if (location != null && !location.trim().isEmpty()) {
         sb.append(location).append(" ");
       }
-      sb.append(event.getStartDateTime()).append("\n");
+      sb.append(event.getStartDateTime());
+      appendId(sb, event);
+      sb.append("\n");
     }
     return sb.toString();
   }
@@ -59,21 +88,65 @@ public class EventPrinter implements IEventPrinter {
   @Override
   public String printEventsRange(LocalDateTime start, LocalDateTime end) throws Exception {
     StringBuilder sb = new StringBuilder();
-    sb.append("Events from ").append(start).append(" to ").append(end).append(":\n");
-    List<Event> events = model.getAllEvents();
-    for (Event event : events) {
-      for (Event occurrence : event.getOccurrences()) {
-        LocalDateTime occStart = occurrence.getStartDateTime();
-        if ((occStart.equals(start) || occStart.isAfter(start)) && occStart.isBefore(end)) {
-          sb.append("- ").append(occurrence.getSubject()).append(" at ");
-          String location = occurrence.getLocation();
-          if (location != null && !location.trim().isEmpty()) {
-            sb.append(location).append(" ");
-          }
-          sb.append(occStart).append("\n");
-        }
+    printEventsRange(start, end, sb);
+    return sb.toString();
+  }
+
+  /**
+   * Writes the events that occur between the given timestamps to an output. Occurrences are
+   * streamed from the model and written in pages of {@link #PAGE_LINES} lines.
+   *
+   * @param start the start of the time range
+   * @param end   the end of the time range
+   * @param out   where the listing is written
+   * @throws Exception if an error occurs while retrieving events or writing
+   */
+  @Override
+  public void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out)
+      throws Exception {
+    StringBuilder page = new StringBuilder();
+    page.append("Events from ").append(start).append(" to ").append(end).append(":\n");
+    int lines = 0;
+    Iterator<Event> occurrences = OccurrenceStreamHelper.stream(model, start, end).iterator();
+    while (occurrences.hasNext()) {
+      Event occurrence = occurrences.next();
+      appendRangeLine(page, occurrence, occurrence.getStartDateTime());
+      if (++lines % PAGE_LINES == 0) {
+        out.append(page);
+        page.setLength(0);
       }
     }
-    return sb.toString();
+    out.append(page);
+  }
+
+  /**
+   * Appends one line of the range listing for an event starting at the given time.
+   *
+   * @param sb       the builder to append to
+   * @param event    the event or series supplying subject and location
+   * @param occStart the start of the occurrence being listed
+   */
+  private void appendRangeLine(StringBuilder sb, Event event, LocalDateTime occStart) {
+    sb.append("- ").append(event.getSubject()).append(" at ");
+    String location = event.getLocation();
+    if (location != null && !location.trim().isEmpty()) {
+      sb.append(location).append(" ");
+    }
+    sb.append(occStart);
+    appendId(sb, event);
+    sb.append("\n");
+  }
+
+  /**
+   * Appends the id of a stored event if ids are shown, so that it can be addressed by id in
+   * later commands. Occurrences of a series show the id of the series.
+   *
+   * @param sb    the builder to append to
+   * @param event the event being listed
+   */
+  private void appendId(StringBuilder sb, Event event) {
+    if (showIds && event.getId() != 0) {
+      sb.append(" [id ").append(event.getId()).append("]");
+    }
   }
 }
@@ -0,0 +1,259 @@
+package model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A utility class that encodes events and their fields in the compact binary form shared by the
+ * {@link CommandJournal} records and the {@link CalendarCheckpoint} file. Date-times are written
+ * as epoch seconds and nanoseconds, dates as epoch days and recurrence days as a bitmask; text is
+ * written as its UTF-8 length, or -1 when it is missing, followed by its bytes, so text of any
+ * length can be encoded.
+ */
+public class EventRecordHelper {
+
+  private static final int TEXT_CHUNK = 1 << 16;
+
+  /**
+   * Writes a whole event: its kind, fields and auto-decline flag and, for a series, its rule and
+   * its modified and cancelled occurrences. The id is not written.
+   *
+   * @param out   the stream to write to
+   * @param event the event to write
+   * @throws IOException if the stream cannot be written
+   */
+  public static void writeEvent(DataOutputStream out, Event event) throws IOException {
+    AbstractEvent stored = (AbstractEvent) event;
+    boolean recurring = event instanceof RecurringEvent;
+    out.writeBoolean(recurring);
+    writeSingle(out, stored.getSubject(), stored.getStartDateTime(), stored.endDateTime,
+        stored.getDescription(), stored.getLocation(), stored.isPublic());
+    if (recurring) {
+      RecurringEvent series = (RecurringEvent) event;
+      writeRule(out, series.getRecurrenceDays(), series.getOccurrenceCount(),
+          series.getRecurrenceEndDate());
+      OccurrenceExceptions exceptions = series.getExceptions();
+      out.writeInt(exceptions.getOverrides().size());
+      for (Map.Entry<LocalDate, SingleEvent> entry : exceptions.getOverrides().entrySet()) {
+        SingleEvent override = entry.getValue();
+        out.writeLong(entry.getKey().toEpochDay());
+        writeSingle(out, override.getSubject(), override.getStartDateTime(),
+            override.endDateTime, override.getDescription(), override.getLocation(),
+            override.isPublic());
+      }
+      out.writeInt(exceptions.getCancelled().size());
+      for (LocalDate date : exceptions.getCancelled()) {
+        out.writeLong(date.toEpochDay());
+      }
+    }
+    out.writeBoolean(event.isAutoDecline());
+  }
+
+  /**
+   * Reads an event written by {@link #writeEvent(DataOutputStream, Event)}. The event has no id
+   * yet.
+   *
+   * @param in the stream to read from
+   * @return a new event
+   * @throws IOException if the stream cannot be read or does not hold a valid event
+   */
+  public static AbstractEvent readEvent(DataInputStream in) throws IOException {
+    AbstractEvent event;
+    if (in.readBoolean()) {
+      RecurringEvent series = readRecurring(in);
+      try {
+        for (int i = in.readInt(); i > 0; i--) {
+          LocalDate date = LocalDate.ofEpochDay(in.readLong());
+          series.overrideOccurrence(date, readSingle(in));
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+          series.cancelOccurrence(LocalDate.ofEpochDay(in.readLong()));
+        }
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Invalid occurrence exception: " + e.getMessage());
+      }
+      event = series;
+    } else {
+      event = readSingle(in);
+    }
+    event.setAutoDecline(in.readBoolean());
+    return event;
+  }
+
+  /**
+   * Writes the fields shared by every event.
+   *
+   * @param out         the stream to write to
+   * @param subject     the subject, or null
+   * @param start       the start
+   * @param end         the end, or null
+   * @param description the description, or null
+   * @param location    the location, or null
+   * @param isPublic    whether the event is public
+   * @throws IOException if the stream cannot be written
+   */
+  public static void writeSingle(DataOutputStream out, String subject, LocalDateTime start,
+      LocalDateTime end, String description, String location, boolean isPublic)
+      throws IOException {
+    writeText(out, subject);
+    writeDateTime(out, start);
+    out.writeBoolean(end != null);
+    if (end != null) {
+      writeDateTime(out, end);
+    }
+    writeText(out, description);
+    writeText(out, location);
+    out.writeBoolean(isPublic);
+  }
+
+  /**
+   * Reads the fields written by {@link #writeSingle} as a single event.
+   *
+   * @param in the stream to read from
+   * @return a new single event
+   * @throws IOException if the stream cannot be read or the times are invalid
+   */
+  public static SingleEvent readSingle(DataInputStream in) throws IOException {
+    String subject = readText(in);
+    LocalDateTime start = readDateTime(in);
+    LocalDateTime end = in.readBoolean() ? readDateTime(in) : null;
+    String description = readText(in);
+    String location = readText(in);
+    boolean isPublic = in.readBoolean();
+    try {
+      return new SingleEvent(subject, start, end, description, location, isPublic);
+    } catch (InvalidDateException e) {
+      throw new IOException("Invalid event: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes a recurrence rule.
+   *
+   * @param out     the stream to write to
+   * @param days    the days the series recurs on
+   * @param count   the number of occurrences, or -1
+   * @param endDate the last date of the series, or null
+   * @throws IOException if the stream cannot be written
+   */
+  public static void writeRule(DataOutputStream out, Set<DayOfWeek> days, int count,
+      LocalDate endDate) throws IOException {
+    int mask = 0;
+    for (DayOfWeek day : days) {
+      mask |= 1 << day.ordinal();
+    }
+    out.writeByte(mask);
+    out.writeInt(count);
+    out.writeBoolean(endDate != null);
+    if (endDate != null) {
+      out.writeLong(endDate.toEpochDay());
+    }
+  }
+
+  /**
+   * Reads the fields written by {@link #writeSingle} followed by a rule written by
+   * {@link #writeRule} as a series without exceptions.
+   *
+   * @param in the stream to read from
+   * @return a new recurring event
+   * @throws IOException if the stream cannot be read or the series is invalid
+   */
+  public static RecurringEvent readRecurring(DataInputStream in) throws IOException {
+    SingleEvent times = readSingle(in);
+    int mask = in.readByte();
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (DayOfWeek day : DayOfWeek.values()) {
+      if ((mask & (1 << day.ordinal())) != 0) {
+        days.add(day);
+      }
+    }
+    int count = in.readInt();
+    LocalDate endDate = in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    try {
+      return new RecurringEvent(times.getSubject(), times.getStartDateTime(),
+          times.getEffectiveEndDateTime(), times.getDescription(), times.getLocation(),
+          times.isPublic(), days, count, endDate);
+    } catch (InvalidDateException | IllegalArgumentException e) {
+      throw new IOException("Invalid event: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes a date-time as epoch seconds and nanoseconds.
+   *
+   * @param out      the stream to write to
+   * @param dateTime the date-time
+   * @throws IOException if the stream cannot be written
+   */
+  public static void writeDateTime(DataOutputStream out, LocalDateTime dateTime)
+      throws IOException {
+    out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+    out.writeInt(dateTime.getNano());
+  }
+
+  /**
+   * Reads a date-time written by {@link #writeDateTime}.
+   *
+   * @param in the stream to read from
+   * @return the date-time
+   * @throws IOException if the stream cannot be read
+   */
+  public static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+    long seconds = in.readLong();
+    return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+  }
+
+  /**
+   * Writes text of any length that may be null.
+   *
+   * @param out  the stream to write to
+   * @param text the text, or null
+   * @throws IOException if the stream cannot be written
+   */
+  public static void writeText(DataOutputStream out, String text) throws IOException {
+    if (text == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads text written by {@link #writeText}. The bytes are read in bounded chunks, so a corrupt
+   * length fails at the end of the stream rather than allocating it all up front.
+   *
+   * @param in the stream to read from
+   * @return the text, or null
+   * @throws IOException if the stream cannot be read or the length is invalid
+   */
+  public static String readText(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == -1) {
+      return null;
+    }
+    if (length < 0) {
+      throw new IOException("Invalid text length: " + length);
+    }
+    byte[] bytes = new byte[Math.min(length, TEXT_CHUNK)];
+    for (int read = 0; read < length; ) {
+      if (read == bytes.length) {
+        bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+      }
+      in.readFully(bytes, read, bytes.length - read);
+      read = bytes.length;
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
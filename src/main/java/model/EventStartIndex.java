@@ -0,0 +1,91 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A navigable index of single events by start time. A range lookup reads the sub-map between the
+ * range bounds, so it touches only the events that start inside the range and returns them in
+ * chronological order.
+ *
+ * <p>Recurring events are not stored here; their occurrences are produced from the series rule
+ * by the model.
+ */
+public class EventStartIndex {
+
+  private final NavigableMap<LocalDateTime, List<Event>> byStart;
+  private final Map<Event, LocalDateTime> indexedStarts;
+
+  /**
+   * Constructs an empty start-time index.
+   */
+  public EventStartIndex() {
+    this.byStart = new TreeMap<>();
+    this.indexedStarts = new IdentityHashMap<>();
+  }
+
+  /**
+   * Adds an event under its current start time. Adding an event that is already indexed moves it
+   * to its current start time.
+   *
+   * @param event the event to index
+   */
+  public void add(Event event) {
+    remove(event);
+    LocalDateTime start = event.getStartDateTime();
+    byStart.computeIfAbsent(start, k -> new ArrayList<>()).add(event);
+    indexedStarts.put(event, start);
+  }
+
+  /**
+   * Removes an event from the index.
+   *
+   * @param event the event to remove
+   */
+  public void remove(Event event) {
+    LocalDateTime start = indexedStarts.remove(event);
+    if (start == null) {
+      return;
+    }
+    List<Event> bucket = byStart.get(start);
+    bucket.remove(event);
+    if (bucket.isEmpty()) {
+      byStart.remove(start);
+    }
+  }
+
+  /**
+   * Re-indexes an event whose start time may have changed. Events that are not in the index are
+   * ignored.
+   *
+   * @param event the modified event
+   */
+  public void update(Event event) {
+    if (indexedStarts.containsKey(event)) {
+      add(event);
+    }
+  }
+
+  /**
+   * Returns the events starting within the given range, in chronological order.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return the events whose start falls in the range
+   */
+  public List<Event> startingBetween(LocalDateTime start, LocalDateTime end) {
+    List<Event> result = new ArrayList<>();
+    if (!start.isBefore(end)) {
+      return result;
+    }
+    for (List<Event> bucket : byStart.subMap(start, true, end, false).values()) {
+      result.addAll(bucket);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,188 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of stored events by case-insensitive subject. Every event is filed under its
+ * normalized subject; single events are additionally filed under their start time within that
+ * subject, so looking up the occurrence of a subject at a given time only visits the single
+ * events starting then and the series sharing the subject.
+ *
+ * <p>Lookups return events in the order they were added, matching a scan of the model's event
+ * list.
+ */
+public class EventSubjectIndex {
+
+  private final Map<String, List<Event>> bySubject;
+  private final Map<String, List<Event>> seriesBySubject;
+  private final Map<String, Map<LocalDateTime, List<Event>>> singlesBySubjectAndStart;
+  private final Map<Event, Entry> entries;
+  private long nextSequence;
+
+  /**
+   * Constructs an empty subject index.
+   */
+  public EventSubjectIndex() {
+    this.bySubject = new HashMap<>();
+    this.seriesBySubject = new HashMap<>();
+    this.singlesBySubjectAndStart = new HashMap<>();
+    this.entries = new IdentityHashMap<>();
+  }
+
+  /**
+   * Normalizes a subject so that two subjects share a key exactly when
+   * {@link String#equalsIgnoreCase} holds between them. Each code point is folded on its own, as
+   * that comparison does, so a character whose upper case is several characters, like "ß", keeps
+   * its own key instead of matching "SS".
+   *
+   * @param subject the subject to normalize
+   * @return the lookup key for the subject
+   */
+  static String normalize(String subject) {
+    if (subject == null) {
+      return "";
+    }
+    StringBuilder key = new StringBuilder(subject.length());
+    subject.codePoints().forEach(
+        c -> key.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+    return key.toString();
+  }
+
+  /**
+   * Adds an event to the index. Adding an event that is already indexed refreshes its keys.
+   *
+   * @param event the event to index
+   */
+  public void add(Event event) {
+    Entry existing = entries.get(event);
+    long sequence = existing == null ? nextSequence++ : existing.sequence;
+    if (existing != null) {
+      unlink(event, existing);
+    }
+    Entry entry = new Entry(sequence, normalize(event.getSubject()));
+    entries.put(event, entry);
+    insert(bySubject.computeIfAbsent(entry.subject, k -> new ArrayList<>()), event);
+    if (event instanceof SingleEvent) {
+      entry.start = event.getStartDateTime();
+      insert(singlesBySubjectAndStart.computeIfAbsent(entry.subject, k -> new HashMap<>())
+          .computeIfAbsent(entry.start, k -> new ArrayList<>()), event);
+    } else {
+      insert(seriesBySubject.computeIfAbsent(entry.subject, k -> new ArrayList<>()), event);
+    }
+  }
+
+  /**
+   * Removes an event from the index.
+   *
+   * @param event the event to remove
+   */
+  public void remove(Event event) {
+    Entry entry = entries.remove(event);
+    if (entry != null) {
+      unlink(event, entry);
+    }
+  }
+
+  /**
+   * Re-indexes an event whose subject or start time may have changed. Events that are not in the
+   * index are ignored.
+   *
+   * @param event the modified event
+   */
+  public void update(Event event) {
+    if (entries.containsKey(event)) {
+      add(event);
+    }
+  }
+
+  /**
+   * Returns the stored events whose subject equals the given subject, ignoring case.
+   *
+   * @param subject the subject to look up
+   * @return the matching events, in the order they were added
+   */
+  public List<Event> withSubject(String subject) {
+    List<Event> bucket = bySubject.get(normalize(subject));
+    return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+  }
+
+  /**
+   * Returns the stored events that may have an occurrence with the given subject starting at the
+   * given time: single events starting exactly then, and every other event with the subject.
+   * Candidates that are not single events should be confirmed against their occurrences.
+   *
+   * @param subject the subject to look up
+   * @param start   the occurrence start
+   * @return candidate events, in the order they were added
+   */
+  public List<Event> candidatesAt(String subject, LocalDateTime start) {
+    String key = normalize(subject);
+    List<Event> result = new ArrayList<>();
+    Map<LocalDateTime, List<Event>> singles = singlesBySubjectAndStart.get(key);
+    if (singles != null && singles.containsKey(start)) {
+      result.addAll(singles.get(start));
+    }
+    List<Event> series = seriesBySubject.get(key);
+    if (series != null) {
+      result.addAll(series);
+    }
+    result.sort(Comparator.comparingLong(e -> entries.get(e).sequence));
+    return result;
+  }
+
+  private void insert(List<Event> bucket, Event event) {
+    long sequence = entries.get(event).sequence;
+    int index = bucket.size();
+    while (index > 0 && entries.get(bucket.get(index - 1)).sequence > sequence) {
+      index--;
+    }
+    bucket.add(index, event);
+  }
+
+  private void unlink(Event event, Entry entry) {
+    removeFrom(bySubject, entry.subject, event);
+    if (entry.start != null) {
+      Map<LocalDateTime, List<Event>> singles = singlesBySubjectAndStart.get(entry.subject);
+      if (singles != null) {
+        removeFrom(singles, entry.start, event);
+        if (singles.isEmpty()) {
+          singlesBySubjectAndStart.remove(entry.subject);
+        }
+      }
+    } else {
+      removeFrom(seriesBySubject, entry.subject, event);
+    }
+  }
+
+  private static <K> void removeFrom(Map<K, List<Event>> buckets, K key, Event event) {
+    List<Event> bucket = buckets.get(key);
+    if (bucket == null) {
+      return;
+    }
+    bucket.removeIf(e -> e == event);
+    if (bucket.isEmpty()) {
+      buckets.remove(key);
+    }
+  }
+
+  /**
+   * Records the keys an event was filed under so it can be unlinked later.
+   */
+  private static class Entry {
+
+    private final long sequence;
+    private final String subject;
+    private LocalDateTime start;
+
+    Entry(long sequence, String subject) {
+      this.sequence = sequence;
+      this.subject = subject;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package model;
 
 import java.io.IOException;
+import java.time.LocalDate;
 
 /**
  * Defines the contract for exporting calendar data.
@@ -16,4 +17,16 @@ public interface Exporter {
    * @throws IOException if an I/O error occurs during export
    */
   String export(ICalendarModel model, String outputPath) throws IOException;
+
+  /**
+   * Exports the occurrences of the given calendar model that start on or before a date. Recurring
+   * series are expanded only up to that date, however far they run.
+   *
+   * @param model      the calendar model to export
+   * @param outputPath the file path where the export should be written
+   * @param until      the last start date to export, or null to export every occurrence
+   * @return a message indicating success or failure
+   * @throws IOException if an I/O error occurs during export
+   */
+  String export(ICalendarModel model, String outputPath, LocalDate until) throws IOException;
 }
@@ -0,0 +1,342 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A free/busy layer over a calendar, kept as one minute-resolution bitmap per day. Each day has
+ * two 1440-bit maps: one marking the minutes an event covers entirely, and one marking the minute
+ * boundaries an event strictly contains. With them, checking whether the calendar is busy at an
+ * instant is a single bit test, and counting busy minutes in a range is a popcount.
+ *
+ * <p>Days are computed lazily, the first time they are queried, from the stored events the
+ * calendar reports for that day. Afterwards the owning model reports every added, edited or
+ * removed event: additions are merged into the cached days their envelope covers, and edits or
+ * removals drop the days the event had marked so that they are recomputed on the next query. At
+ * most a fixed number of days is cached; past that the least recently queried day is dropped.
+ *
+ * <p>Occurrences whose start or end is not on a whole minute cannot be represented by the bits;
+ * they are kept beside the day's bitmaps and checked exactly.
+ *
+ * <p>Since a query may fill in a day, queries are writes to the layer; its methods are
+ * synchronized so that several readers sharing a model's read lock can query it together.
+ */
+public class FreeBusyIndex {
+
+  /**
+   * The number of minutes, and therefore bits, in each day's bitmaps.
+   */
+  public static final int MINUTES_PER_DAY = 1440;
+
+  /**
+   * The default largest number of days whose bitmaps are cached.
+   */
+  public static final int DEFAULT_MAX_DAYS = 366;
+
+  private static final long SECONDS_PER_DAY = 86400;
+
+  private final Function<LocalDate, List<Event>> source;
+  private final int maxDays;
+  private final LinkedHashMap<Long, Day> days;
+  private final Map<Event, Set<Long>> daysByEvent;
+
+  /**
+   * Constructs an empty free/busy layer that caches up to {@link #DEFAULT_MAX_DAYS} days.
+   *
+   * @param source returns the stored events that may touch a given day
+   */
+  public FreeBusyIndex(Function<LocalDate, List<Event>> source) {
+    this(source, DEFAULT_MAX_DAYS);
+  }
+
+  /**
+   * Constructs an empty free/busy layer.
+   *
+   * @param source  returns the stored events that may touch a given day
+   * @param maxDays the largest number of days whose bitmaps are cached
+   * @throws IllegalArgumentException if maxDays is less than 1
+   */
+  public FreeBusyIndex(Function<LocalDate, List<Event>> source, int maxDays) {
+    if (maxDays < 1) {
+      throw new IllegalArgumentException("At least one day must be cached.");
+    }
+    this.source = source;
+    this.maxDays = maxDays;
+    this.days = new LinkedHashMap<>(16, 0.75f, true);
+    this.daysByEvent = new IdentityHashMap<>();
+  }
+
+  /**
+   * Checks whether some event is in progress at the given instant, that is, starts before and
+   * ends after it.
+   *
+   * @param dateTime the instant to check
+   * @return true if the calendar is busy at that instant
+   */
+  public synchronized boolean isBusyAt(LocalDateTime dateTime) {
+    Day day = day(dateTime.toLocalDate());
+    int minute = dateTime.getHour() * 60 + dateTime.getMinute();
+    boolean onBoundary = dateTime.getSecond() == 0 && dateTime.getNano() == 0;
+    if (onBoundary ? day.through.get(minute) : day.covered.get(minute)) {
+      return true;
+    }
+    for (Event occurrence : day.unaligned) {
+      if (occurrence.getStartDateTime().isBefore(dateTime)
+          && occurrence.getEffectiveEndDateTime().isAfter(dateTime)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Counts the minutes in the given range during which some event is in progress. The range is
+   * taken to whole minutes; a minute only partly covered by an event that does not start or end
+   * on a whole minute counts as busy.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return the number of busy minutes
+   */
+  public synchronized long busyMinutes(LocalDateTime start, LocalDateTime end) {
+    long total = 0;
+    LocalDateTime from = start.withSecond(0).withNano(0);
+    for (LocalDate date = from.toLocalDate(); date.atStartOfDay().isBefore(end);
+        date = date.plusDays(1)) {
+      int first = date.equals(from.toLocalDate())
+          ? from.getHour() * 60 + from.getMinute() : 0;
+      int last = date.equals(end.toLocalDate())
+          ? end.getHour() * 60 + end.getMinute() + (isWholeMinute(end) ? 0 : 1)
+          : MINUTES_PER_DAY;
+      if (first >= last) {
+        continue;
+      }
+      Day day = day(date);
+      if (day.unaligned.isEmpty()) {
+        total += day.covered.get(first, last).cardinality();
+      } else {
+        BitSet busy = (BitSet) day.covered.clone();
+        for (Event occurrence : day.unaligned) {
+          markTouched(busy, occurrence, date);
+        }
+        total += busy.get(first, last).cardinality();
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Merges a newly stored event into the cached days it touches. Days that are not cached yet
+   * will include it when they are computed. The days are found from the event's envelope, or
+   * from the cached days when the envelope spans more days than are cached.
+   *
+   * @param event the stored event
+   */
+  public synchronized void add(Event event) {
+    if (days.isEmpty()) {
+      return;
+    }
+    long first = Math.floorDiv(EventIntervalIndex.envelopeStart(event), SECONDS_PER_DAY);
+    long last = Math.floorDiv(EventIntervalIndex.envelopeEnd(event) - 1, SECONDS_PER_DAY);
+    if (last - first < days.size()) {
+      for (long key = first; key <= last; key++) {
+        Day day = days.get(key);
+        if (day != null) {
+          mark(day, event, LocalDate.ofEpochDay(key));
+        }
+      }
+      return;
+    }
+    for (Map.Entry<Long, Day> entry : days.entrySet()) {
+      LocalDate date = LocalDate.ofEpochDay(entry.getKey());
+      if (mayTouch(event, date)) {
+        mark(entry.getValue(), event, date);
+      }
+    }
+  }
+
+  /**
+   * Drops the cached days an event had marked, then merges the event as it is now into the days
+   * that remain. Call this after a stored event was modified.
+   *
+   * @param event the modified event
+   */
+  public synchronized void update(Event event) {
+    remove(event);
+    add(event);
+  }
+
+  /**
+   * Drops the cached days a removed event had marked.
+   *
+   * @param event the removed event
+   */
+  public synchronized void remove(Event event) {
+    Set<Long> marked = daysByEvent.remove(event);
+    if (marked != null) {
+      for (long key : marked) {
+        drop(key);
+      }
+    }
+  }
+
+  /**
+   * Drops every cached day.
+   */
+  public synchronized void clear() {
+    days.clear();
+    daysByEvent.clear();
+  }
+
+  /**
+   * Returns the number of days whose bitmaps are currently cached.
+   *
+   * @return the cached day count
+   */
+  public synchronized int getCachedDayCount() {
+    return days.size();
+  }
+
+  private Day day(LocalDate date) {
+    long key = date.toEpochDay();
+    Day day = days.get(key);
+    if (day == null) {
+      day = new Day();
+      days.put(key, day);
+      for (Event event : source.apply(date)) {
+        mark(day, event, date);
+      }
+      while (days.size() > maxDays) {
+        drop(days.keySet().iterator().next());
+      }
+    }
+    return day;
+  }
+
+  /**
+   * Drops a cached day and forgets that its events marked it.
+   */
+  private void drop(long key) {
+    Day day = days.remove(key);
+    if (day == null) {
+      return;
+    }
+    for (Event event : day.marking) {
+      Set<Long> marked = daysByEvent.get(event);
+      if (marked != null) {
+        marked.remove(key);
+        if (marked.isEmpty()) {
+          daysByEvent.remove(event);
+        }
+      }
+    }
+  }
+
+  /**
+   * Marks the occurrences of a stored event that touch the given day.
+   */
+  private void mark(Day day, Event event, LocalDate date) {
+    boolean touched = false;
+    for (Event occurrence : occurrencesTouching(event, date)) {
+      LocalDateTime start = occurrence.getStartDateTime();
+      LocalDateTime end = occurrence.getEffectiveEndDateTime();
+      if (!start.isBefore(end)) {
+        continue;
+      }
+      touched = true;
+      if (!isWholeMinute(start) || !isWholeMinute(end)) {
+        day.unaligned.add(occurrence);
+        continue;
+      }
+      LocalDateTime dayStart = date.atStartOfDay();
+      LocalDateTime dayEnd = dayStart.plusDays(1);
+      int first = start.isBefore(dayStart) ? 0 : minuteOfDay(start);
+      int last = end.isAfter(dayEnd) ? MINUTES_PER_DAY : minuteOfDay(end, date);
+      day.covered.set(first, last);
+      int throughFirst = start.isBefore(dayStart) ? 0 : first + 1;
+      int throughLast = end.isAfter(dayEnd) ? MINUTES_PER_DAY : last;
+      if (throughFirst < throughLast) {
+        day.through.set(throughFirst, throughLast);
+      }
+    }
+    if (touched) {
+      day.marking.add(event);
+      daysByEvent.computeIfAbsent(event, k -> new HashSet<>()).add(date.toEpochDay());
+    }
+  }
+
+  /**
+   * Returns the occurrences of a stored event that overlap the given day.
+   */
+  private static List<Event> occurrencesTouching(Event event, LocalDate date) {
+    LocalDateTime dayStart = date.atStartOfDay();
+    LocalDateTime dayEnd = dayStart.plusDays(1);
+    List<Event> result = new ArrayList<>();
+    if (event instanceof RecurringEvent) {
+      return ((RecurringEvent) event).occurrencesOverlapping(dayStart, dayEnd);
+    }
+    for (Event occurrence : event.getOccurrences()) {
+      if (occurrence.getStartDateTime().isBefore(dayEnd)
+          && occurrence.getEffectiveEndDateTime().isAfter(dayStart)) {
+        result.add(occurrence);
+      }
+    }
+    return result;
+  }
+
+  private static boolean mayTouch(Event event, LocalDate date) {
+    long dayStart = date.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    long dayEnd = date.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    return EventIntervalIndex.envelopeStart(event) < dayEnd
+        && EventIntervalIndex.envelopeEnd(event) > dayStart;
+  }
+
+  private static void markTouched(BitSet busy, Event occurrence, LocalDate date) {
+    LocalDateTime dayStart = date.atStartOfDay();
+    LocalDateTime dayEnd = dayStart.plusDays(1);
+    LocalDateTime start = occurrence.getStartDateTime();
+    LocalDateTime end = occurrence.getEffectiveEndDateTime();
+    int first = start.isBefore(dayStart) ? 0 : minuteOfDay(start);
+    int last = end.isAfter(dayEnd) ? MINUTES_PER_DAY
+        : minuteOfDay(end, date) + (isWholeMinute(end) ? 0 : 1);
+    if (first < last) {
+      busy.set(first, last);
+    }
+  }
+
+  private static int minuteOfDay(LocalDateTime dateTime) {
+    return dateTime.getHour() * 60 + dateTime.getMinute();
+  }
+
+  private static int minuteOfDay(LocalDateTime end, LocalDate date) {
+    return end.toLocalDate().isAfter(date) ? MINUTES_PER_DAY : minuteOfDay(end);
+  }
+
+  private static boolean isWholeMinute(LocalDateTime dateTime) {
+    LocalTime time = dateTime.toLocalTime();
+    return time.getSecond() == 0 && time.getNano() == 0;
+  }
+
+  /**
+   * The bitmaps of one day.
+   */
+  private static class Day {
+
+    private final BitSet covered = new BitSet(MINUTES_PER_DAY);
+    private final BitSet through = new BitSet(MINUTES_PER_DAY);
+    private final List<Event> unaligned = new ArrayList<>();
+    private final Set<Event> marking = Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+}
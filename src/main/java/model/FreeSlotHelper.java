@@ -0,0 +1,168 @@
+package model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A utility class that finds the time left free by several calendars at once. Each calendar's
+ * occurrences overlapping the range are read through its interval-based query and converted to
+ * instants with the calendar's own timezone, so calendars in different zones are compared on the
+ * same timeline. The per-calendar lists are already sorted, so they are combined with a k-way
+ * merge over a heap holding one cursor per calendar, and the gaps between the merged busy
+ * intervals are the free slots.
+ */
+public class FreeSlotHelper {
+
+  /**
+   * Finds the free slots shared by a group of calendars.
+   *
+   * @param calendars    the calendars whose busy time is combined
+   * @param zone         the timezone the range, the working hours and the result are expressed in
+   * @param start        the inclusive start of the range
+   * @param end          the exclusive end of the range
+   * @param minDuration  the shortest slot to report, or null to report every slot
+   * @param workingHours the daily window slots must fall in, or null for the whole day
+   * @return the free slots in chronological order
+   */
+  public static List<TimeSlot> findFreeSlots(List<ICalendarContext> calendars, ZoneId zone,
+      LocalDateTime start, LocalDateTime end, Duration minDuration, WorkingHours workingHours) {
+    List<TimeSlot> result = new ArrayList<>();
+    Instant rangeStart = start.atZone(zone).toInstant();
+    Instant rangeEnd = end.atZone(zone).toInstant();
+    if (!rangeStart.isBefore(rangeEnd)) {
+      return result;
+    }
+    PriorityQueue<Cursor> heap = new PriorityQueue<>(
+        Comparator.comparing((Cursor cursor) -> cursor.current().start));
+    for (ICalendarContext calendar : calendars) {
+      Cursor cursor = new Cursor(busyIntervals(calendar, rangeStart, rangeEnd));
+      if (cursor.hasCurrent()) {
+        heap.add(cursor);
+      }
+    }
+    Instant free = rangeStart;
+    while (!heap.isEmpty()) {
+      Cursor cursor = heap.poll();
+      Interval busy = cursor.current();
+      if (busy.start.isAfter(free)) {
+        addSlots(result, free, min(busy.start, rangeEnd), zone, minDuration, workingHours);
+      }
+      if (busy.end.isAfter(free)) {
+        free = busy.end;
+      }
+      cursor.advance();
+      if (cursor.hasCurrent()) {
+        heap.add(cursor);
+      }
+    }
+    if (free.isBefore(rangeEnd)) {
+      addSlots(result, free, rangeEnd, zone, minDuration, workingHours);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the busy intervals of one calendar overlapping the range, sorted by start.
+   */
+  private static List<Interval> busyIntervals(ICalendarContext calendar, Instant rangeStart,
+      Instant rangeEnd) {
+    ZoneId zone = calendar.getTimezone();
+    List<Event> occurrences = calendar.getCalendarModel().getOccurrencesOverlapping(
+        LocalDateTime.ofInstant(rangeStart, zone), LocalDateTime.ofInstant(rangeEnd, zone));
+    List<Interval> intervals = new ArrayList<>(occurrences.size());
+    for (Event occurrence : occurrences) {
+      Instant start = occurrence.getStartDateTime().atZone(zone).toInstant();
+      Instant end = occurrence.getEffectiveEndDateTime().atZone(zone).toInstant();
+      if (start.isBefore(end)) {
+        intervals.add(new Interval(start, end));
+      }
+    }
+    intervals.sort(Comparator.comparing((Interval interval) -> interval.start));
+    return intervals;
+  }
+
+  /**
+   * Adds a gap to the result, clipped to the working hours of each day it spans and filtered by
+   * the minimum duration.
+   */
+  private static void addSlots(List<TimeSlot> result, Instant start, Instant end, ZoneId zone,
+      Duration minDuration, WorkingHours workingHours) {
+    if (workingHours == null) {
+      addSlot(result, start, end, zone, minDuration);
+      return;
+    }
+    LocalDate last = LocalDateTime.ofInstant(end, zone).toLocalDate();
+    for (LocalDate date = LocalDateTime.ofInstant(start, zone).toLocalDate();
+        !date.isAfter(last); date = date.plusDays(1)) {
+      Instant open = workingHours.openingOn(date).atZone(zone).toInstant();
+      Instant close = workingHours.closingOn(date).atZone(zone).toInstant();
+      addSlot(result, max(start, open), min(end, close), zone, minDuration);
+    }
+  }
+
+  private static void addSlot(List<TimeSlot> result, Instant start, Instant end, ZoneId zone,
+      Duration minDuration) {
+    if (!start.isBefore(end)) {
+      return;
+    }
+    if (minDuration != null && Duration.between(start, end).compareTo(minDuration) < 0) {
+      return;
+    }
+    result.add(new TimeSlot(LocalDateTime.ofInstant(start, zone),
+        LocalDateTime.ofInstant(end, zone)));
+  }
+
+  private static Instant min(Instant a, Instant b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static Instant max(Instant a, Instant b) {
+    return a.isAfter(b) ? a : b;
+  }
+
+  /**
+   * A busy interval on the shared timeline.
+   */
+  private static class Interval {
+
+    private final Instant start;
+    private final Instant end;
+
+    private Interval(Instant start, Instant end) {
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  /**
+   * A position in one calendar's sorted busy intervals.
+   */
+  private static class Cursor {
+
+    private final List<Interval> intervals;
+    private int position;
+
+    private Cursor(List<Interval> intervals) {
+      this.intervals = intervals;
+    }
+
+    private boolean hasCurrent() {
+      return position < intervals.size();
+    }
+
+    private Interval current() {
+      return intervals.get(position);
+    }
+
+    private void advance() {
+      position++;
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.List;
+
 /**
  * Manages multiple calendars and their active states.
  */
@@ -22,19 +24,49 @@ public interface ICalendarManager {
   ICalendarContext getCalendar(String name);
 
   /**
-   * Gets the currently active calendar context.
+   * Creates an empty model for a new calendar of this manager.
+   *
+   * @return a new calendar model
+   */
+  ICalendarModel newCalendarModel();
+
+  /**
+   * Returns every calendar held by the manager.
+   *
+   * @return a copy of the list of calendars, in no particular order
+   */
+  List<ICalendarContext> getCalendars();
+
+  /**
+   * Renames a calendar without it ever being missing from the manager.
+   *
+   * @param oldName the current name of the calendar
+   * @param newName the new name
+   * @return true if renamed, false if there is no such calendar or the new name is taken
+   */
+  boolean renameCalendar(String oldName, String newName);
+
+  /**
+   * Gets the current calendar of the default session.
    *
    * @return the current calendar
    */
   ICalendarContext getCurrentCalendar();
 
   /**
-   * Sets the active calendar by name.
+   * Sets the current calendar of the default session by name.
    *
    * @param name the name of the calendar to set as active
    */
   void setCurrentCalendar(String name);
 
+  /**
+   * Gets the session used by clients that do not open their own.
+   *
+   * @return the default session
+   */
+  CalendarSession getDefaultSession();
+
   /**
    * Removes a calendar from the system.
    *
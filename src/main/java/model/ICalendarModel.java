@@ -2,6 +2,7 @@ package model;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +19,29 @@ public interface ICalendarModel {
    */
   void addEvent(Event event, boolean autoDecline) throws EventConflictException;
 
+  /**
+   * Adds a batch of events, checking the events with auto-decline enabled against the stored
+   * events and against the earlier events of the batch.
+   *
+   * @param events the events to add, in order
+   * @param policy what to do with conflicting events
+   * @return the added events and the conflicts found
+   * @throws EventConflictException if the policy is all-or-nothing and an event conflicts
+   */
+  BatchAddResult addEvents(Collection<? extends Event> events, ConflictPolicy policy)
+      throws EventConflictException;
+
+  /**
+   * Applies a multi-step change as one unit: no other reader or writer of the model observes the
+   * calendar between its steps.
+   *
+   * @param operation the change to apply
+   * @param <T>       the type of the operation's result
+   * @return the result of the operation
+   * @throws Exception if the operation fails
+   */
+  <T> T atomically(CalendarOperation<T> operation) throws Exception;
+
   /**
    * Returns all events scheduled on the given date.
    *
@@ -33,6 +57,110 @@ public interface ICalendarModel {
    */
   List<Event> getAllEvents();
 
+  /**
+   * Returns the stored event with the given id.
+   *
+   * @param id the id assigned when the event was added
+   * @return the event, or null if there is none
+   */
+  Event getById(long id);
+
+  /**
+   * Changes one property of the stored event with the given id.
+   *
+   * @param id       the event id
+   * @param property the property to change
+   * @param newValue the new value
+   * @throws Exception if no event has the id or the edit fails
+   */
+  void editById(long id, String property, String newValue) throws Exception;
+
+  /**
+   * Removes the stored event with the given id.
+   *
+   * @param id the event id
+   * @return true if an event was removed, false otherwise
+   */
+  boolean removeById(long id);
+
+  /**
+   * Returns the stored events whose subject equals the given subject, ignoring case.
+   *
+   * @param subject the subject to look up
+   * @return list of matching events in the order they were added
+   */
+  List<Event> getEventsBySubject(String subject);
+
+  /**
+   * Returns the occurrences whose subject equals the given subject, ignoring case, and that start
+   * exactly at the given time. Recurring events contribute the matching occurrence.
+   *
+   * @param subject the subject to look up
+   * @param start   the occurrence start
+   * @return list of matching occurrences in the order their events were added
+   */
+  List<Event> getOccurrencesAt(String subject, LocalDateTime start);
+
+  /**
+   * Returns the occurrences starting within the given range, in chronological order. Recurring
+   * events contribute one entry per occurrence.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return list of occurrences ordered by start time
+   */
+  List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Returns the dictionary that event subjects, descriptions and locations are interned in.
+   *
+   * @return the calendar's text dictionary
+   */
+  TextDictionary getTextDictionary();
+
+  /**
+   * Returns the budget that bounds how many occurrences the calendar's recurring events cache.
+   *
+   * @return the calendar's occurrence cache budget
+   */
+  OccurrenceCacheBudget getOccurrenceCacheBudget();
+
+  /**
+   * Retrieves the occurrences in progress at some point of a range, that is, those starting before
+   * its end and ending after its start, in chronological order.
+   *
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return the overlapping occurrences
+   */
+  List<Event> getOccurrencesOverlapping(LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Returns an immutable point-in-time view of the calendar, safe to iterate while the calendar
+   * is being changed.
+   *
+   * @return a snapshot of the calendar's events
+   */
+  CalendarSnapshot getSnapshot();
+
+  /**
+   * Returns the id the next stored event will be given. Ids are never reused, so this can be
+   * larger than every stored id when the latest events were removed.
+   *
+   * @return the next event id
+   */
+  long getNextId();
+
+  /**
+   * Stores events saved from a calendar, keeping the ids they carry, without conflict checks,
+   * and continues numbering new events from the given id. Meant for an empty model being loaded
+   * from a checkpoint.
+   *
+   * @param events the events in the order they were added, each carrying its id
+   * @param nextId the id the next stored event should be given
+   */
+  void restore(List<? extends Event> events, long nextId);
+
   /**
    * Checks whether the calendar is busy at a specific date and time.
    *
@@ -40,5 +168,14 @@ public interface ICalendarModel {
    * @return true if there is a conflict, false otherwise
    */
   boolean isBusyAt(LocalDateTime dateTime);
+
+  /**
+   * Counts the minutes in a range during which the calendar is busy.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return the number of busy minutes
+   */
+  long getBusyMinutes(LocalDateTime start, LocalDateTime end);
 }
 
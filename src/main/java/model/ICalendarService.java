@@ -2,7 +2,9 @@ package model;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Provides operations for managing events within a calendar.
@@ -46,6 +48,17 @@ public interface ICalendarService {
       int occurrenceCount, LocalDate recurrenceEndDate, boolean autoDecline)
       throws Exception;
 
+  /**
+   * Adds a batch of events to the calendar in one conflict-checking pass.
+   *
+   * @param events the events to add, in order
+   * @param policy what to do with conflicting events
+   * @return the added events and the conflicts found
+   * @throws Exception if the batch cannot be added
+   */
+  BatchAddResult addEvents(Collection<? extends Event> events, ConflictPolicy policy)
+      throws Exception;
+
   /**
    * Gets all events on the specified date.
    *
@@ -61,6 +74,109 @@ public interface ICalendarService {
    */
   List<Event> getAllEvents();
 
+  /**
+   * Gets the event with the given id.
+   *
+   * @param id event id
+   * @return the event, or null if there is none
+   */
+  Event getById(long id);
+
+  /**
+   * Edits one property of the event with the given id. A recurring event is edited as a whole
+   * series.
+   *
+   * @param id       event id
+   * @param property property to change
+   * @param newValue new value
+   * @throws Exception if no event has the id or the edit fails
+   */
+  void editById(long id, String property, String newValue) throws Exception;
+
+  /**
+   * Removes the event with the given id.
+   *
+   * @param id event id
+   * @return true if an event was removed
+   */
+  boolean removeById(long id);
+
+  /**
+   * Gets the events whose subject equals the given subject, ignoring case.
+   *
+   * @param subject subject to look up
+   * @return list of matching events
+   */
+  List<Event> getEventsBySubject(String subject);
+
+  /**
+   * Gets the occurrences with the given subject, ignoring case, starting at the given datetime.
+   *
+   * @param subject subject to look up
+   * @param start   occurrence start datetime
+   * @return list of matching occurrences
+   */
+  List<Event> getOccurrencesAt(String subject, LocalDateTime start);
+
+  /**
+   * Gets the occurrences starting within a datetime range, in chronological order.
+   *
+   * @param start inclusive start datetime
+   * @param end   exclusive end datetime
+   * @return list of occurrences
+   */
+  List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Streams the occurrences starting within a datetime range in chronological order, reading the
+   * range a window at a time rather than all at once.
+   *
+   * @param start inclusive start datetime
+   * @param end   exclusive end datetime
+   * @return lazy stream of occurrences
+   */
+  Stream<Event> streamOccurrencesBetween(LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Gets one page of the occurrences starting within a datetime range.
+   *
+   * @param start  inclusive start datetime
+   * @param end    exclusive end datetime
+   * @param offset number of occurrences to skip
+   * @param limit  largest number of occurrences on the page
+   * @return the page and the token continuing it
+   */
+  EventPage getOccurrencePage(LocalDateTime start, LocalDateTime end, int offset, int limit);
+
+  /**
+   * Gets the page of occurrences that follows an earlier page.
+   *
+   * @param start     inclusive start datetime
+   * @param end       exclusive end datetime
+   * @param pageToken token returned with the previous page, or null for the first page
+   * @param limit     largest number of occurrences on the page
+   * @return the page and the token continuing it
+   */
+  EventPage getOccurrencePage(LocalDateTime start, LocalDateTime end, String pageToken,
+      int limit);
+
+  /**
+   * Gets the dictionary that the calendar's event text is interned in, including its sharing
+   * statistics.
+   *
+   * @return the text dictionary
+   */
+  TextDictionary getTextDictionary();
+
+  /**
+   * Retrieves the occurrences overlapping a range in chronological order.
+   *
+   * @param start the range start
+   * @param end   the range end
+   * @return the overlapping occurrences
+   */
+  List<Event> getOccurrencesOverlapping(LocalDateTime start, LocalDateTime end);
+
   /**
    * Checks if the calendar is busy at the given date and time.
    *
@@ -69,6 +185,15 @@ public interface ICalendarService {
    */
   boolean isBusyAt(LocalDateTime dateTime);
 
+  /**
+   * Counts the busy minutes between two date-times.
+   *
+   * @param start the inclusive start
+   * @param end   the exclusive end
+   * @return the number of busy minutes
+   */
+  long getBusyMinutes(LocalDateTime start, LocalDateTime end);
+
   /**
    * Edits an existing event.
    *
@@ -92,6 +217,18 @@ public interface ICalendarService {
    */
   String exportTo(String format, String path) throws Exception;
 
+  /**
+   * Exports the occurrences starting on or before a date to the specified format and path.
+   * Recurring series are expanded only up to that date.
+   *
+   * @param format the export format
+   * @param path   the output file path
+   * @param until  the last start date to export, or null to export every occurrence
+   * @return export result
+   * @throws Exception if export fails
+   */
+  String exportTo(String format, String path, LocalDate until) throws Exception;
+
   /**
    * Imports calendar data from a file.
    *
@@ -111,6 +248,17 @@ public interface ICalendarService {
    */
   String printEventsOn(LocalDate date) throws Exception;
 
+  /**
+   * Prints all events on the specified date, optionally following each line with the id of its
+   * stored event.
+   *
+   * @param date    the target date
+   * @param showIds whether to list event ids
+   * @return formatted event list
+   * @throws Exception if retrieval fails
+   */
+  String printEventsOn(LocalDate date, boolean showIds) throws Exception;
+
   /**
    * Prints all events within a datetime range.
    *
@@ -121,6 +269,29 @@ public interface ICalendarService {
    */
   String printEventsRange(LocalDateTime start, LocalDateTime end) throws Exception;
 
+  /**
+   * Writes all events within a datetime range to an output, a page of lines at a time.
+   *
+   * @param start start datetime
+   * @param end   end datetime
+   * @param out   where the listing is written
+   * @throws Exception if retrieval or writing fails
+   */
+  void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out) throws Exception;
+
+  /**
+   * Writes all events within a datetime range to an output, a page of lines at a time,
+   * optionally following each line with the id of its stored event.
+   *
+   * @param start   start datetime
+   * @param end     end datetime
+   * @param out     where the listing is written
+   * @param showIds whether to list event ids
+   * @throws Exception if retrieval or writing fails
+   */
+  void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out, boolean showIds)
+      throws Exception;
+
   /**
    * For different EditModes.
    */
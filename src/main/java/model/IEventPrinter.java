@@ -26,5 +26,15 @@ public interface IEventPrinter {
    * @throws Exception if an error occurs
    */
   String printEventsRange(LocalDateTime start, LocalDateTime end) throws Exception;
-}
 
+  /**
+   * Writes events within a specific time range to an output, a page of lines at a time, so the
+   * listing is never held in memory as a whole.
+   *
+   * @param start the start datetime
+   * @param end   the end datetime
+   * @param out   where the listing is written
+   * @throws Exception if an error occurs
+   */
+  void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out) throws Exception;
+}
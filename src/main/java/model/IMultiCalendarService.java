@@ -1,7 +1,10 @@
 package model;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Extends calendar service to support multiple calendars and event copying.
@@ -76,6 +79,37 @@ public interface IMultiCalendarService extends ICalendarService {
   String copyEventsBetween(LocalDate sourceStartDate, LocalDate sourceEndDate,
       String targetCalendarName, LocalDate targetStartDate) throws Exception;
 
+  /**
+   * Finds the time left free by all of the given calendars. The range, the working hours and the
+   * returned slots are in the timezone of the current calendar, or of the first named calendar if
+   * none is in use; each calendar's events are read in its own timezone.
+   *
+   * @param calendarNames the calendars to combine, or an empty list for the current calendar
+   * @param start         the inclusive start of the range
+   * @param end           the exclusive end of the range
+   * @param minDuration   the shortest slot to report, or null for any length
+   * @param workingHours  the daily window slots must fall in, or null for the whole day
+   * @return the free slots in chronological order
+   * @throws Exception if a calendar does not exist or no calendar is in use
+   */
+  List<TimeSlot> findFreeSlots(List<String> calendarNames, LocalDateTime start,
+      LocalDateTime end, Duration minDuration, WorkingHours workingHours) throws Exception;
+
+  /**
+   * Merges the occurrences of several calendars starting within a range into one chronological
+   * agenda. The range and the merged times are in the timezone of the current calendar, or of the
+   * first named calendar if none is in use.
+   *
+   * @param calendarNames the calendars to merge, in the order ties are broken, or an empty set
+   *                      for the current calendar
+   * @param start         the inclusive start of the range
+   * @param end           the exclusive end of the range
+   * @return the merged occurrences in chronological order
+   * @throws Exception if a calendar does not exist or no calendar is in use
+   */
+  List<MergedOccurrence> getMergedOccurrences(Set<String> calendarNames, LocalDateTime start,
+      LocalDateTime end) throws Exception;
+
   /**
    * Gets the name and timezone of the current calendar.
    *
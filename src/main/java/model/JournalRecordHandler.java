@@ -0,0 +1,19 @@
+package model;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Applies one record read back from a {@link CommandJournal} during replay.
+ */
+@FunctionalInterface
+public interface JournalRecordHandler {
+
+  /**
+   * Applies a journal record.
+   *
+   * @param record the record payload, positioned at its first byte
+   * @throws IOException if the payload cannot be decoded
+   */
+  void apply(DataInputStream record) throws IOException;
+}
@@ -0,0 +1,19 @@
+package model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the payload of one record appended to a {@link CommandJournal}.
+ */
+@FunctionalInterface
+public interface JournalRecordWriter {
+
+  /**
+   * Writes a journal record.
+   *
+   * @param record the stream the payload is written to
+   * @throws IOException if the payload cannot be written
+   */
+  void write(DataOutputStream record) throws IOException;
+}
@@ -0,0 +1,640 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A multi-calendar service that records every successful change in a {@link CommandJournal}
+ * before returning, so the calendars can be rebuilt after a crash by
+ * {@link #recover(ICalendarManager, CommandJournal)}. Queries go straight to a
+ * {@link MultiCalendarService}.
+ *
+ * <p>Each record names the calendar it applies to rather than relying on the session's current
+ * calendar, and replaying the same changes in the same order assigns the same event ids, so
+ * records that refer to events by id stay valid. Changes from every service sharing a journal are
+ * applied and appended one at a time, which keeps the journal in the order the changes were
+ * made; the commit that may force the file runs after that, so concurrent sessions share forces.
+ * The lock they hold is the journal's own monitor, which {@link CalendarCheckpoint} also takes to
+ * capture every calendar between two changes.
+ */
+public class JournaledCalendarService implements IMultiCalendarService {
+
+  private static final byte CREATE_CALENDAR = 1;
+  private static final byte EDIT_CALENDAR = 2;
+  private static final byte ADD_SINGLE_EVENT = 3;
+  private static final byte ADD_RECURRING_EVENT = 4;
+  private static final byte ADD_EVENTS = 5;
+  private static final byte EDIT_EVENT = 6;
+  private static final byte EDIT_BY_ID = 7;
+  private static final byte REMOVE_BY_ID = 8;
+  private static final byte COPY_EVENT = 9;
+  private static final byte COPY_EVENTS_ON = 10;
+  private static final byte COPY_EVENTS_BETWEEN = 11;
+  private static final int RECORD_CAPACITY = 256;
+
+  private final MultiCalendarService delegate;
+  private final CalendarSession session;
+  private final CommandJournal journal;
+
+  /**
+   * Constructs a journaled service working in the manager's default session.
+   *
+   * @param calendarManager the calendar manager holding the calendars
+   * @param journal         the journal changes are recorded in
+   */
+  public JournaledCalendarService(ICalendarManager calendarManager, CommandJournal journal) {
+    this(calendarManager, calendarManager.getDefaultSession(), journal);
+  }
+
+  /**
+   * Constructs a journaled service for one session of a shared calendar manager. Services for
+   * different sessions should share one journal.
+   *
+   * @param calendarManager the calendar manager holding the calendars
+   * @param session         the session whose current calendar commands apply to
+   * @param journal         the journal changes are recorded in
+   */
+  public JournaledCalendarService(ICalendarManager calendarManager, CalendarSession session,
+      CommandJournal journal) {
+    this.delegate = new MultiCalendarService(calendarManager, session);
+    this.session = session;
+    this.journal = journal;
+  }
+
+  /**
+   * Rebuilds calendars by replaying a journal into a calendar manager, normally an empty one at
+   * startup. Replay uses a session of its own, so no session's current calendar is changed.
+   *
+   * @param calendarManager the calendar manager to rebuild
+   * @param journal         the journal to replay
+   * @return the number of records replayed
+   * @throws IOException if the journal cannot be read, holds an unknown record or holds a
+   *                     change that fails on replay
+   */
+  public static int recover(ICalendarManager calendarManager, CommandJournal journal)
+      throws IOException {
+    return recover(calendarManager, journal, journal.getStartPosition());
+  }
+
+  /**
+   * Replays the records of a journal from a position on, normally into a calendar manager just
+   * loaded from a {@link CalendarCheckpoint} taken at that position. A record is only appended
+   * once its change has succeeded, so a change that fails or has no effect on replay means the
+   * rebuilt calendars have diverged from the journaled ones, and recovery fails rather than
+   * carry on from a state no session ever saw.
+   *
+   * @param calendarManager the calendar manager to bring up to date
+   * @param journal         the journal to replay
+   * @param from            the position to replay from
+   * @return the number of records replayed
+   * @throws IOException if the journal cannot be read, does not hold the position, holds an
+   *                     unknown record or holds a change that fails on replay
+   */
+  public static int recover(ICalendarManager calendarManager, CommandJournal journal, long from)
+      throws IOException {
+    MultiCalendarService service =
+        new MultiCalendarService(calendarManager, new CalendarSession(calendarManager));
+    int[] replayed = new int[1];
+    return journal.replay(from, record -> {
+      byte type = record.readByte();
+      try {
+        apply(service, type, record);
+      } catch (IOException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IOException("Record " + (replayed[0] + 1) + " of journal " + journal.getPath()
+            + " after position " + from + " failed on replay: " + e.getMessage(), e);
+      }
+      replayed[0]++;
+    });
+  }
+
+  @Override
+  public boolean createCalendar(String name, String timezone) throws Exception {
+    return journaled(() -> delegate.createCalendar(name, timezone), out -> {
+      out.writeByte(CREATE_CALENDAR);
+      EventRecordHelper.writeText(out, name);
+      EventRecordHelper.writeText(out, timezone);
+    });
+  }
+
+  @Override
+  public boolean editCalendar(String calendarName, String property, String newValue)
+      throws Exception {
+    return journaled(() -> delegate.editCalendar(calendarName, property, newValue), out -> {
+      out.writeByte(EDIT_CALENDAR);
+      EventRecordHelper.writeText(out, calendarName);
+      EventRecordHelper.writeText(out, property);
+      EventRecordHelper.writeText(out, newValue);
+    });
+  }
+
+  @Override
+  public boolean useCalendar(String calendarName) throws Exception {
+    return delegate.useCalendar(calendarName);
+  }
+
+  @Override
+  public void addSingleEvent(String subject, LocalDateTime start, LocalDateTime end,
+      String description, String location, boolean isPublic, boolean autoDecline)
+      throws Exception {
+    journaledInCurrent(() -> {
+      delegate.addSingleEvent(subject, start, end, description, location, isPublic,
+          autoDecline);
+      return true;
+    }, out -> {
+      out.writeByte(ADD_SINGLE_EVENT);
+      EventRecordHelper.writeSingle(out, subject, start, end, description, location, isPublic);
+      out.writeBoolean(autoDecline);
+    });
+  }
+
+  @Override
+  public void addRecurringEvent(String subject, LocalDateTime start, LocalDateTime end,
+      String description, String location, boolean isPublic, Set<DayOfWeek> recurrenceDays,
+      int occurrenceCount, LocalDate recurrenceEndDate, boolean autoDecline) throws Exception {
+    journaledInCurrent(() -> {
+      delegate.addRecurringEvent(subject, start, end, description, location, isPublic,
+          recurrenceDays, occurrenceCount, recurrenceEndDate, autoDecline);
+      return true;
+    }, out -> {
+      out.writeByte(ADD_RECURRING_EVENT);
+      EventRecordHelper.writeSingle(out, subject, start, end, description, location, isPublic);
+      EventRecordHelper.writeRule(out, recurrenceDays, occurrenceCount, recurrenceEndDate);
+      out.writeBoolean(autoDecline);
+    });
+  }
+
+  @Override
+  public BatchAddResult addEvents(Collection<? extends Event> events, ConflictPolicy policy)
+      throws Exception {
+    BatchAddResult[] result = new BatchAddResult[1];
+    journaledInCurrent(() -> {
+      result[0] = delegate.addEvents(events, policy);
+      return !result[0].getAdded().isEmpty();
+    }, out -> writeEvents(out, events, policy));
+    return result[0];
+  }
+
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    return delegate.getEventsOn(date);
+  }
+
+  @Override
+  public List<Event> getAllEvents() {
+    return delegate.getAllEvents();
+  }
+
+  @Override
+  public Event getById(long id) {
+    return delegate.getById(id);
+  }
+
+  @Override
+  public void editById(long id, String property, String newValue) throws Exception {
+    journaledInCurrent(() -> {
+      delegate.editById(id, property, newValue);
+      return true;
+    }, out -> {
+      out.writeByte(EDIT_BY_ID);
+      out.writeLong(id);
+      EventRecordHelper.writeText(out, property);
+      EventRecordHelper.writeText(out, newValue);
+    });
+  }
+
+  /**
+   * Removes the event with the given id from the current calendar and journals the removal.
+   *
+   * @param id the event id
+   * @return true if an event was removed, false if the current calendar has no such event
+   * @throws UncheckedIOException if the removal was made but could not be journaled
+   */
+  @Override
+  public boolean removeById(long id) {
+    try {
+      return journaledInCurrent(() -> delegate.removeById(id), out -> {
+        out.writeByte(REMOVE_BY_ID);
+        out.writeLong(id);
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  @Override
+  public List<Event> getEventsBySubject(String subject) {
+    return delegate.getEventsBySubject(subject);
+  }
+
+  @Override
+  public List<Event> getOccurrencesAt(String subject, LocalDateTime start) {
+    return delegate.getOccurrencesAt(subject, start);
+  }
+
+  @Override
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    return delegate.getOccurrencesBetween(start, end);
+  }
+
+  @Override
+  public Stream<Event> streamOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    return delegate.streamOccurrencesBetween(start, end);
+  }
+
+  @Override
+  public EventPage getOccurrencePage(LocalDateTime start, LocalDateTime end, int offset,
+      int limit) {
+    return delegate.getOccurrencePage(start, end, offset, limit);
+  }
+
+  @Override
+  public EventPage getOccurrencePage(LocalDateTime start, LocalDateTime end, String pageToken,
+      int limit) {
+    return delegate.getOccurrencePage(start, end, pageToken, limit);
+  }
+
+  @Override
+  public List<Event> getOccurrencesOverlapping(LocalDateTime start, LocalDateTime end) {
+    return delegate.getOccurrencesOverlapping(start, end);
+  }
+
+  @Override
+  public TextDictionary getTextDictionary() {
+    return delegate.getTextDictionary();
+  }
+
+  @Override
+  public boolean isBusyAt(LocalDateTime dateTime) {
+    return delegate.isBusyAt(dateTime);
+  }
+
+  @Override
+  public long getBusyMinutes(LocalDateTime start, LocalDateTime end) {
+    return delegate.getBusyMinutes(start, end);
+  }
+
+  @Override
+  public void editEvent(String subject, LocalDateTime from, String property, String newValue,
+      EditMode mode) throws Exception {
+    journaledInCurrent(() -> {
+      delegate.editEvent(subject, from, property, newValue, mode);
+      return true;
+    }, out -> {
+      out.writeByte(EDIT_EVENT);
+      EventRecordHelper.writeText(out, subject);
+      out.writeBoolean(from != null);
+      if (from != null) {
+        EventRecordHelper.writeDateTime(out, from);
+      }
+      EventRecordHelper.writeText(out, property);
+      EventRecordHelper.writeText(out, newValue);
+      out.writeByte(mode.ordinal());
+    });
+  }
+
+  @Override
+  public String exportTo(String format, String path) throws Exception {
+    return delegate.exportTo(format, path);
+  }
+
+  @Override
+  public String exportTo(String format, String path, LocalDate until) throws Exception {
+    return delegate.exportTo(format, path, until);
+  }
+
+  /**
+   * Imports events from a file and journals the events that were added, so replay does not
+   * depend on the file still being there. Unlike the other records, this one can only be encoded
+   * once the import is done; since text of any length can be encoded, only running out of memory
+   * could then keep it out of the journal.
+   */
+  @Override
+  public String importFrom(String format, String path) throws Exception {
+    long sequence;
+    String message;
+    synchronized (journal) {
+      String calendar = currentCalendarName();
+      long lastId = 0;
+      for (Event event : delegate.getAllEvents()) {
+        lastId = Math.max(lastId, event.getId());
+      }
+      message = delegate.importFrom(format, path);
+      List<Event> added = new ArrayList<>();
+      for (Event event : delegate.getAllEvents()) {
+        if (event.getId() > lastId) {
+          added.add(event);
+        }
+      }
+      if (added.isEmpty()) {
+        return message;
+      }
+      sequence = journal.append(encode(out -> {
+        writeEvents(out, added, ConflictPolicy.SKIP_CONFLICTING);
+        EventRecordHelper.writeText(out, calendar);
+      }));
+    }
+    journal.commit(sequence);
+    return message;
+  }
+
+  @Override
+  public String printEventsOn(LocalDate date) throws Exception {
+    return delegate.printEventsOn(date);
+  }
+
+  @Override
+  public String printEventsRange(LocalDateTime start, LocalDateTime end) throws Exception {
+    return delegate.printEventsRange(start, end);
+  }
+
+  @Override
+  public void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out)
+      throws Exception {
+    delegate.printEventsRange(start, end, out);
+  }
+
+  @Override
+  public String printEventsOn(LocalDate date, boolean showIds) throws Exception {
+    return delegate.printEventsOn(date, showIds);
+  }
+
+  @Override
+  public void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out,
+      boolean showIds) throws Exception {
+    delegate.printEventsRange(start, end, out, showIds);
+  }
+
+  @Override
+  public String copyEvent(String eventName, LocalDateTime sourceStart,
+      String targetCalendarName, LocalDateTime targetStart) throws Exception {
+    String[] message = new String[1];
+    journaledInCurrent(() -> {
+      message[0] = delegate.copyEvent(eventName, sourceStart, targetCalendarName, targetStart);
+      return true;
+    }, out -> {
+      out.writeByte(COPY_EVENT);
+      EventRecordHelper.writeText(out, eventName);
+      EventRecordHelper.writeDateTime(out, sourceStart);
+      EventRecordHelper.writeText(out, targetCalendarName);
+      EventRecordHelper.writeDateTime(out, targetStart);
+    });
+    return message[0];
+  }
+
+  @Override
+  public String copyEventsOn(LocalDate sourceDate, String targetCalendarName,
+      LocalDate targetDate) throws Exception {
+    String[] message = new String[1];
+    journaledInCurrent(() -> {
+      message[0] = delegate.copyEventsOn(sourceDate, targetCalendarName, targetDate);
+      return true;
+    }, out -> {
+      out.writeByte(COPY_EVENTS_ON);
+      out.writeLong(sourceDate.toEpochDay());
+      EventRecordHelper.writeText(out, targetCalendarName);
+      out.writeLong(targetDate.toEpochDay());
+    });
+    return message[0];
+  }
+
+  @Override
+  public String copyEventsBetween(LocalDate sourceStartDate, LocalDate sourceEndDate,
+      String targetCalendarName, LocalDate targetStartDate) throws Exception {
+    String[] message = new String[1];
+    journaledInCurrent(() -> {
+      message[0] = delegate.copyEventsBetween(sourceStartDate, sourceEndDate,
+          targetCalendarName, targetStartDate);
+      return true;
+    }, out -> {
+      out.writeByte(COPY_EVENTS_BETWEEN);
+      out.writeLong(sourceStartDate.toEpochDay());
+      out.writeLong(sourceEndDate.toEpochDay());
+      EventRecordHelper.writeText(out, targetCalendarName);
+      out.writeLong(targetStartDate.toEpochDay());
+    });
+    return message[0];
+  }
+
+  @Override
+  public List<TimeSlot> findFreeSlots(List<String> calendarNames, LocalDateTime start,
+      LocalDateTime end, Duration minDuration, WorkingHours workingHours) throws Exception {
+    return delegate.findFreeSlots(calendarNames, start, end, minDuration, workingHours);
+  }
+
+  @Override
+  public List<MergedOccurrence> getMergedOccurrences(Set<String> calendarNames,
+      LocalDateTime start, LocalDateTime end) throws Exception {
+    return delegate.getMergedOccurrences(calendarNames, start, end);
+  }
+
+  @Override
+  public String[] getCurrentCalendarNameAndZone() throws Exception {
+    return delegate.getCurrentCalendarNameAndZone();
+  }
+
+  /**
+   * A change to apply through the delegate, returning whether it changed anything worth
+   * recording.
+   */
+  private interface Change {
+
+    boolean apply() throws Exception;
+  }
+
+  /**
+   * Applies a change to the set of calendars and journals it if it succeeded. The record is
+   * encoded before the change is applied, so a record that cannot be encoded fails the change
+   * instead of leaving it out of the journal.
+   */
+  private boolean journaled(Change change, JournalRecordWriter writer) throws Exception {
+    byte[] record = encode(writer);
+    long sequence;
+    synchronized (journal) {
+      if (!change.apply()) {
+        return false;
+      }
+      sequence = journal.append(record);
+    }
+    journal.commit(sequence);
+    return true;
+  }
+
+  /**
+   * Applies a change to the session's current calendar and journals it, followed by that
+   * calendar's name, if it succeeded. Without a current calendar the change itself fails. The
+   * name is read under the same lock as renames are applied, so one cannot slip in between, and
+   * the record is encoded before the change is applied.
+   */
+  private boolean journaledInCurrent(Change change, JournalRecordWriter writer) throws Exception {
+    long sequence;
+    synchronized (journal) {
+      String calendar = currentCalendarName();
+      byte[] record = encode(out -> {
+        writer.write(out);
+        EventRecordHelper.writeText(out, calendar);
+      });
+      if (!change.apply()) {
+        return false;
+      }
+      sequence = journal.append(record);
+    }
+    journal.commit(sequence);
+    return true;
+  }
+
+  private String currentCalendarName() {
+    ICalendarContext current = session.getCurrentCalendar();
+    return current == null ? null : current.getName();
+  }
+
+  /**
+   * Encodes a record into a buffer sized for a typical event record, so the common records are
+   * written without growing it.
+   */
+  private static byte[] encode(JournalRecordWriter writer) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_CAPACITY);
+    writer.write(new DataOutputStream(bytes));
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Fails a replayed change that had no effect, although it had one when it was journaled.
+   *
+   * @param applied whether the change took effect
+   * @throws Exception if it did not
+   */
+  private static void require(boolean applied) throws Exception {
+    if (!applied) {
+      throw new Exception("The change had no effect.");
+    }
+  }
+
+  /**
+   * Applies one decoded record to the replaying service. Records for the current calendar carry
+   * its name last, after the fields of the change.
+   */
+  private static void apply(MultiCalendarService service, byte type, DataInputStream in)
+      throws Exception {
+    switch (type) {
+      case CREATE_CALENDAR:
+        require(service.createCalendar(EventRecordHelper.readText(in),
+            EventRecordHelper.readText(in)));
+        return;
+      case EDIT_CALENDAR:
+        require(service.editCalendar(EventRecordHelper.readText(in),
+            EventRecordHelper.readText(in), EventRecordHelper.readText(in)));
+        return;
+      case ADD_SINGLE_EVENT: {
+        SingleEvent event = EventRecordHelper.readSingle(in);
+        boolean autoDecline = in.readBoolean();
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        service.addSingleEvent(event.getSubject(), event.getStartDateTime(), event.endDateTime,
+            event.getDescription(), event.getLocation(), event.isPublic(), autoDecline);
+        return;
+      }
+      case ADD_RECURRING_EVENT: {
+        RecurringEvent event = EventRecordHelper.readRecurring(in);
+        boolean autoDecline = in.readBoolean();
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        service.addRecurringEvent(event.getSubject(), event.getStartDateTime(),
+            event.endDateTime, event.getDescription(), event.getLocation(), event.isPublic(),
+            event.getRecurrenceDays(), event.getOccurrenceCount(),
+            event.getRecurrenceEndDate(), autoDecline);
+        return;
+      }
+      case ADD_EVENTS: {
+        ConflictPolicy policy = ConflictPolicy.values()[in.readByte()];
+        int count = in.readInt();
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          events.add(EventRecordHelper.readEvent(in));
+        }
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        service.addEvents(events, policy);
+        return;
+      }
+      case EDIT_EVENT: {
+        String subject = EventRecordHelper.readText(in);
+        LocalDateTime from = in.readBoolean() ? EventRecordHelper.readDateTime(in) : null;
+        String property = EventRecordHelper.readText(in);
+        String newValue = EventRecordHelper.readText(in);
+        EditMode mode = EditMode.values()[in.readByte()];
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        service.editEvent(subject, from, property, newValue, mode);
+        return;
+      }
+      case EDIT_BY_ID: {
+        long id = in.readLong();
+        String property = EventRecordHelper.readText(in);
+        String newValue = EventRecordHelper.readText(in);
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        service.editById(id, property, newValue);
+        return;
+      }
+      case REMOVE_BY_ID: {
+        long id = in.readLong();
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        require(service.removeById(id));
+        return;
+      }
+      case COPY_EVENT: {
+        String eventName = EventRecordHelper.readText(in);
+        LocalDateTime sourceStart = EventRecordHelper.readDateTime(in);
+        String target = EventRecordHelper.readText(in);
+        LocalDateTime targetStart = EventRecordHelper.readDateTime(in);
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        service.copyEvent(eventName, sourceStart, target, targetStart);
+        return;
+      }
+      case COPY_EVENTS_ON: {
+        LocalDate sourceDate = LocalDate.ofEpochDay(in.readLong());
+        String target = EventRecordHelper.readText(in);
+        LocalDate targetDate = LocalDate.ofEpochDay(in.readLong());
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        service.copyEventsOn(sourceDate, target, targetDate);
+        return;
+      }
+      case COPY_EVENTS_BETWEEN: {
+        LocalDate sourceStart = LocalDate.ofEpochDay(in.readLong());
+        LocalDate sourceEnd = LocalDate.ofEpochDay(in.readLong());
+        String target = EventRecordHelper.readText(in);
+        LocalDate targetStart = LocalDate.ofEpochDay(in.readLong());
+        require(service.useCalendar(EventRecordHelper.readText(in)));
+        service.copyEventsBetween(sourceStart, sourceEnd, target, targetStart);
+        return;
+      }
+      default:
+        throw new IOException("Unknown journal record type: " + type);
+    }
+  }
+
+  /**
+   * Writes the events of a batch and the conflict policy it is added under. Replaying it against
+   * the same calendar adds the same events, whose ids follow from the order they are replayed in.
+   */
+  private static void writeEvents(DataOutputStream out, Collection<? extends Event> events,
+      ConflictPolicy policy) throws IOException {
+    out.writeByte(ADD_EVENTS);
+    out.writeByte(policy.ordinal());
+    out.writeInt(events.size());
+    for (Event event : events) {
+      EventRecordHelper.writeEvent(out, event);
+    }
+  }
+}
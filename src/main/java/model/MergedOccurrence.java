@@ -0,0 +1,67 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of an agenda merged from several calendars: an occurrence, the calendar it belongs
+ * to, and its times converted to the timezone the agenda is shown in.
+ */
+public class MergedOccurrence {
+
+  private final String calendarName;
+  private final Event occurrence;
+  private final LocalDateTime start;
+  private final LocalDateTime end;
+
+  /**
+   * Constructs a merged entry.
+   *
+   * @param calendarName the calendar the occurrence belongs to
+   * @param occurrence   the occurrence, with times in its own calendar's timezone
+   * @param start        the start in the agenda's timezone
+   * @param end          the end in the agenda's timezone
+   */
+  public MergedOccurrence(String calendarName, Event occurrence, LocalDateTime start,
+      LocalDateTime end) {
+    this.calendarName = calendarName;
+    this.occurrence = occurrence;
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the name of the calendar the occurrence belongs to.
+   *
+   * @return the calendar name
+   */
+  public String getCalendarName() {
+    return calendarName;
+  }
+
+  /**
+   * Returns the occurrence as stored in its calendar.
+   *
+   * @return the occurrence, with times in its own calendar's timezone
+   */
+  public Event getOccurrence() {
+    return occurrence;
+  }
+
+  /**
+   * Returns the start of the occurrence in the agenda's timezone.
+   *
+   * @return the converted start
+   */
+  public LocalDateTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the occurrence in the agenda's timezone.
+   *
+   * @return the converted end
+   */
+  public LocalDateTime getEnd() {
+    return end;
+  }
+}
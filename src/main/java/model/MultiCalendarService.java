@@ -1,11 +1,15 @@
 package model;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Provides calendar services that support managing multiple calendars and delegating event
@@ -14,14 +18,28 @@ import java.util.Set;
 public class MultiCalendarService implements IMultiCalendarService {
 
   private ICalendarManager calendarManager;
+  private CalendarSession session;
 
   /**
-   * Constructs a MultiCalendarService with the given calendar manager.
+   * Constructs a MultiCalendarService with the given calendar manager, working in the manager's
+   * default session.
    *
    * @param calendarManager the calendar manager used to handle calendar contexts
    */
   public MultiCalendarService(ICalendarManager calendarManager) {
+    this(calendarManager, calendarManager.getDefaultSession());
+  }
+
+  /**
+   * Constructs a MultiCalendarService for one session of a shared calendar manager. Services for
+   * different sessions choose their current calendars independently.
+   *
+   * @param calendarManager the calendar manager used to handle calendar contexts
+   * @param session         the session whose current calendar commands apply to
+   */
+  public MultiCalendarService(ICalendarManager calendarManager, CalendarSession session) {
     this.calendarManager = calendarManager;
+    this.session = session;
   }
 
   @Override
@@ -34,7 +52,8 @@ public class MultiCalendarService implements IMultiCalendarService {
     if (calendarManager.getCalendar(name) != null) {
       return false;
     }
-    ICalendarContext cal = new CalendarContext(name, timezone);
+    ICalendarContext cal = new CalendarContext(name, timezone,
+        calendarManager.newCalendarModel());
     return calendarManager.addCalendar(cal);
   }
 
@@ -46,27 +65,15 @@ public class MultiCalendarService implements IMultiCalendarService {
       return false;
     }
     if (property.equalsIgnoreCase("name")) {
-      if (calendarManager.getCalendar(newValue) != null) {
-        return false;
-      }
-      calendarManager.removeCalendar(calendarName);
-      cal.setName(newValue);
-      calendarManager.addCalendar(cal);
-      if (calendarManager.getCurrentCalendar() != null &&
-          calendarManager.getCurrentCalendar().getName().equals(calendarName)) {
-        calendarManager.setCurrentCalendar(newValue);
-      }
-      return true;
+      return calendarManager.renameCalendar(calendarName, newValue);
     } else if (property.equalsIgnoreCase("timezone")) {
-      ZoneId oldZone = cal.getTimezone();
       ZoneId newZone;
       try {
         newZone = ZoneId.of(newValue);
       } catch (Exception e) {
         throw new Exception("Invalid timezone: " + newValue);
       }
-      cal.setTimezone(newValue);
-      EventMigrationHelper.migrateEvents(cal, oldZone, newZone);
+      EventMigrationHelper.changeTimezone(cal, newZone);
       return true;
     }
     return false;
@@ -74,16 +81,11 @@ public class MultiCalendarService implements IMultiCalendarService {
 
   @Override
   public boolean useCalendar(String calendarName) throws Exception {
-    ICalendarContext cal = calendarManager.getCalendar(calendarName);
-    if (cal == null) {
-      return false;
-    }
-    calendarManager.setCurrentCalendar(calendarName);
-    return true;
+    return session.setCurrentCalendar(calendarName);
   }
 
   private ICalendarContext getCurrentCalendar() throws Exception {
-    ICalendarContext cal = calendarManager.getCurrentCalendar();
+    ICalendarContext cal = session.getCurrentCalendar();
     if (cal == null) {
       throw new Exception("No active calendar set.");
     }
@@ -109,6 +111,12 @@ public class MultiCalendarService implements IMultiCalendarService {
             isPublic, recurrenceDays, occurrenceCount, recurrenceEndDate, true);
   }
 
+  @Override
+  public BatchAddResult addEvents(Collection<? extends Event> events, ConflictPolicy policy)
+      throws Exception {
+    return getCurrentCalendar().getCalendarService().addEvents(events, policy);
+  }
+
   @Override
   public List<Event> getEventsOn(LocalDate date) {
     try {
@@ -127,6 +135,107 @@ public class MultiCalendarService implements IMultiCalendarService {
     }
   }
 
+  @Override
+  public Event getById(long id) {
+    try {
+      return getCurrentCalendar().getCalendarService().getById(id);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  @Override
+  public void editById(long id, String property, String newValue) throws Exception {
+    getCurrentCalendar().getCalendarService().editById(id, property, newValue);
+  }
+
+  @Override
+  public boolean removeById(long id) {
+    try {
+      return getCurrentCalendar().getCalendarService().removeById(id);
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  @Override
+  public List<Event> getEventsBySubject(String subject) {
+    try {
+      return getCurrentCalendar().getCalendarService().getEventsBySubject(subject);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  @Override
+  public List<Event> getOccurrencesAt(String subject, LocalDateTime start) {
+    try {
+      return getCurrentCalendar().getCalendarService().getOccurrencesAt(subject, start);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  @Override
+  public List<Event> getOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    try {
+      return getCurrentCalendar().getCalendarService().getOccurrencesBetween(start, end);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  @Override
+  public Stream<Event> streamOccurrencesBetween(LocalDateTime start, LocalDateTime end) {
+    try {
+      return getCurrentCalendar().getCalendarService().streamOccurrencesBetween(start, end);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  @Override
+  public EventPage getOccurrencePage(LocalDateTime start, LocalDateTime end, int offset,
+      int limit) {
+    ICalendarContext cal;
+    try {
+      cal = getCurrentCalendar();
+    } catch (Exception e) {
+      return null;
+    }
+    return cal.getCalendarService().getOccurrencePage(start, end, offset, limit);
+  }
+
+  @Override
+  public EventPage getOccurrencePage(LocalDateTime start, LocalDateTime end, String pageToken,
+      int limit) {
+    ICalendarContext cal;
+    try {
+      cal = getCurrentCalendar();
+    } catch (Exception e) {
+      return null;
+    }
+    return cal.getCalendarService().getOccurrencePage(start, end, pageToken, limit);
+  }
+
+  @Override
+  public List<Event> getOccurrencesOverlapping(LocalDateTime start, LocalDateTime end) {
+    try {
+      return getCurrentCalendar().getCalendarService().getOccurrencesOverlapping(start, end);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  @Override
+  public TextDictionary getTextDictionary() {
+    try {
+      return getCurrentCalendar().getCalendarService().getTextDictionary();
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
   @Override
   public boolean isBusyAt(LocalDateTime dateTime) {
     try {
@@ -136,6 +245,15 @@ public class MultiCalendarService implements IMultiCalendarService {
     }
   }
 
+  @Override
+  public long getBusyMinutes(LocalDateTime start, LocalDateTime end) {
+    try {
+      return getCurrentCalendar().getCalendarService().getBusyMinutes(start, end);
+    } catch (Exception e) {
+      return 0;
+    }
+  }
+
   @Override
   public void editEvent(String subject, LocalDateTime from, String property,
       String newValue, EditMode mode) throws Exception {
@@ -147,6 +265,11 @@ public class MultiCalendarService implements IMultiCalendarService {
     return getCurrentCalendar().getCalendarService().exportTo(format, path);
   }
 
+  @Override
+  public String exportTo(String format, String path, LocalDate until) throws Exception {
+    return getCurrentCalendar().getCalendarService().exportTo(format, path, until);
+  }
+
   @Override
   public String importFrom(String format, String path) throws Exception {
     return getCurrentCalendar().getCalendarService().importFrom(format, path);
@@ -162,6 +285,23 @@ public class MultiCalendarService implements IMultiCalendarService {
     return getCurrentCalendar().getCalendarService().printEventsRange(start, end);
   }
 
+  @Override
+  public void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out)
+      throws Exception {
+    getCurrentCalendar().getCalendarService().printEventsRange(start, end, out);
+  }
+
+  @Override
+  public String printEventsOn(LocalDate date, boolean showIds) throws Exception {
+    return getCurrentCalendar().getCalendarService().printEventsOn(date, showIds);
+  }
+
+  @Override
+  public void printEventsRange(LocalDateTime start, LocalDateTime end, Appendable out,
+      boolean showIds) throws Exception {
+    getCurrentCalendar().getCalendarService().printEventsRange(start, end, out, showIds);
+  }
+
   @Override
   public String copyEvent(String eventName, LocalDateTime sourceStart,
       String targetCalendarName, LocalDateTime targetStart) throws Exception {
@@ -197,6 +337,50 @@ public class MultiCalendarService implements IMultiCalendarService {
         sourceEndDate, targetStartDate);
   }
 
+  @Override
+  public List<TimeSlot> findFreeSlots(List<String> calendarNames, LocalDateTime start,
+      LocalDateTime end, Duration minDuration, WorkingHours workingHours) throws Exception {
+    List<ICalendarContext> calendars = resolveCalendars(calendarNames);
+    return FreeSlotHelper.findFreeSlots(calendars, referenceZone(calendars), start, end,
+        minDuration, workingHours);
+  }
+
+  @Override
+  public List<MergedOccurrence> getMergedOccurrences(Set<String> calendarNames,
+      LocalDateTime start, LocalDateTime end) throws Exception {
+    List<ICalendarContext> calendars = resolveCalendars(calendarNames);
+    return OccurrenceMergeHelper.merge(calendars, referenceZone(calendars), start, end);
+  }
+
+  /**
+   * Looks up calendars by name, falling back to the current calendar when no name is given.
+   */
+  private List<ICalendarContext> resolveCalendars(Collection<String> calendarNames)
+      throws Exception {
+    List<ICalendarContext> calendars = new ArrayList<>();
+    for (String name : calendarNames) {
+      ICalendarContext cal = calendarManager.getCalendar(name);
+      if (cal == null) {
+        throw new Exception("Calendar not found: " + name);
+      }
+      calendars.add(cal);
+    }
+    if (calendars.isEmpty()) {
+      calendars.add(getCurrentCalendar());
+    }
+    return calendars;
+  }
+
+  /**
+   * Returns the timezone cross-calendar queries are expressed in: the current calendar's, or the
+   * first requested calendar's if none is in use.
+   */
+  private ZoneId referenceZone(List<ICalendarContext> calendars) {
+    ICalendarContext current = session.getCurrentCalendar();
+    ICalendarContext reference = current != null ? current : calendars.get(0);
+    return reference.getTimezone();
+  }
+
   @Override
   public String[] getCurrentCalendarNameAndZone() throws Exception {
     ICalendarContext currentCal = getCurrentCalendar();
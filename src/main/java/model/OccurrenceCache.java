@@ -0,0 +1,115 @@
+package model;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Caches the expanded occurrence list of one recurring event against the event's mutation
+ * version. The list is held through a soft reference so the garbage collector can reclaim it
+ * under memory pressure, and how much is cached is bounded by the {@link OccurrenceCacheBudget}
+ * of the calendar the series is stored in: a series with more occurrences than the per-series
+ * limit is never cached, and the least recently used lists are dropped once the calendar's
+ * series together hold more than the total limit. A series outside any calendar caches under a
+ * budget of its own.
+ *
+ * <p>The list covers the whole series. Queries over a window expand just that window through
+ * {@link RecurringEvent#occurrencesStartingBetween} and never go through this cache, so a series
+ * running for decades is only expanded in full when every occurrence is asked for.
+ *
+ * <p>Occurrences are read-only {@link OccurrenceView}s, so only a change to the series itself can
+ * make the cached list stale.
+ */
+public class OccurrenceCache {
+
+  private final RecurringEvent series;
+  private volatile OccurrenceCacheBudget budget;
+  private volatile Entry entry;
+
+  /**
+   * Constructs an empty cache for the given series, with a budget of its own.
+   *
+   * @param series the recurring event whose occurrences are cached
+   */
+  public OccurrenceCache(RecurringEvent series) {
+    this.series = series;
+    this.budget = new OccurrenceCacheBudget();
+  }
+
+  /**
+   * Returns the budget this cache is counted against.
+   *
+   * @return the occurrence cache budget
+   */
+  public OccurrenceCacheBudget getBudget() {
+    return budget;
+  }
+
+  /**
+   * Moves this cache to another budget, dropping its list from the previous one.
+   *
+   * @param newBudget the budget to count the list against from now on
+   */
+  void setBudget(OccurrenceCacheBudget newBudget) {
+    OccurrenceCacheBudget previous = budget;
+    budget = newBudget;
+    previous.release(this);
+  }
+
+  /**
+   * Returns every occurrence of the series, expanding them only if the series changed since the
+   * last call or the cached list was dropped or reclaimed.
+   *
+   * @return an unmodifiable list of occurrences
+   */
+  public List<Event> getOccurrences() {
+    OccurrenceCacheBudget owner = budget;
+    Entry current = entry;
+    List<Event> occurrences = current == null ? null : current.occurrences.get();
+    if (occurrences != null && current.version == series.getVersion()) {
+      owner.touch(this);
+      return occurrences;
+    }
+    long version = series.getVersion();
+    occurrences = Collections.unmodifiableList(series.generateOccurrenceViews());
+    owner.admit(this, new Entry(occurrences, version), occurrences.size());
+    return occurrences;
+  }
+
+  /**
+   * Drops the cached list so the next request expands the series again.
+   */
+  public void clear() {
+    budget.release(this);
+  }
+
+  /**
+   * Installs a list admitted by the budget. Called under the budget's lock.
+   *
+   * @param admitted the list to keep
+   */
+  void store(Entry admitted) {
+    entry = admitted;
+  }
+
+  /**
+   * Forgets the cached list. Called under the budget's lock.
+   */
+  void drop() {
+    entry = null;
+  }
+
+  /**
+   * An expanded list and the series version it was expanded for.
+   */
+  static final class Entry {
+
+    private final SoftReference<List<Event>> occurrences;
+    private final long version;
+
+    private Entry(List<Event> occurrences, long version) {
+      this.occurrences = new SoftReference<>(occurrences);
+      this.version = version;
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The occurrence cache settings of one calendar model, shared by the {@link OccurrenceCache}s of
+ * every series stored in it. It limits how many occurrences a single series may cache and how
+ * many the series of the calendar may cache together. When the total goes over the limit, the
+ * lists of the least recently used series are dropped until it fits again.
+ *
+ * <p>Every cached list is admitted and evicted under this budget's lock, so its count is exact
+ * for the lists handed to it. The lists are still held through soft references, so the garbage
+ * collector may reclaim one before it is evicted here.
+ */
+public class OccurrenceCacheBudget {
+
+  /**
+   * The default largest number of occurrences a single series may cache.
+   */
+  public static final int DEFAULT_MAX_PER_SERIES = 10000;
+
+  /**
+   * The default largest number of occurrences the series of one calendar may cache together.
+   */
+  public static final int DEFAULT_MAX_TOTAL = 100000;
+
+  private final Map<OccurrenceCache, Integer> sizes;
+  private int maxPerSeries;
+  private int maxTotal;
+  private long total;
+
+  /**
+   * Constructs a budget with the default limits.
+   */
+  public OccurrenceCacheBudget() {
+    this.sizes = new LinkedHashMap<>(16, 0.75f, true);
+    this.maxPerSeries = DEFAULT_MAX_PER_SERIES;
+    this.maxTotal = DEFAULT_MAX_TOTAL;
+  }
+
+  /**
+   * Returns the largest number of occurrences a single series may cache.
+   *
+   * @return the per-series limit
+   */
+  public synchronized int getMaxPerSeries() {
+    return maxPerSeries;
+  }
+
+  /**
+   * Sets the largest number of occurrences a single series may cache. Lists already cached above
+   * the new limit are dropped. A limit of zero disables caching.
+   *
+   * @param limit the per-series limit
+   * @throws IllegalArgumentException if the limit is negative
+   */
+  public synchronized void setMaxPerSeries(int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("Cache limit cannot be negative.");
+    }
+    maxPerSeries = limit;
+    Iterator<Map.Entry<OccurrenceCache, Integer>> it = sizes.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<OccurrenceCache, Integer> entry = it.next();
+      if (entry.getValue() > limit) {
+        entry.getKey().drop();
+        total -= entry.getValue();
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns the largest number of occurrences the series of the calendar may cache together.
+   *
+   * @return the total limit
+   */
+  public synchronized int getMaxTotal() {
+    return maxTotal;
+  }
+
+  /**
+   * Sets the largest number of occurrences the series of the calendar may cache together. The
+   * least recently used lists are dropped until the cached total fits the new limit.
+   *
+   * @param limit the total limit
+   * @throws IllegalArgumentException if the limit is negative
+   */
+  public synchronized void setMaxTotal(int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("Cache limit cannot be negative.");
+    }
+    maxTotal = limit;
+    evict(null);
+  }
+
+  /**
+   * Returns the number of occurrences currently cached under this budget.
+   *
+   * @return the cached total
+   */
+  public synchronized long getCachedOccurrences() {
+    return total;
+  }
+
+  /**
+   * Returns the number of series whose lists are currently cached under this budget.
+   *
+   * @return the number of cached lists
+   */
+  public synchronized int getCachedSeries() {
+    return sizes.size();
+  }
+
+  /**
+   * Offers a freshly expanded list to the budget. If it fits the limits, it is stored in the
+   * cache and the least recently used lists of other series are dropped to make room. A list
+   * offered by a cache that has meanwhile moved to another budget is not kept.
+   *
+   * @param cache the cache of the series
+   * @param entry the list to cache
+   * @param size  the number of occurrences in the list
+   */
+  synchronized void admit(OccurrenceCache cache, OccurrenceCache.Entry entry, int size) {
+    if (cache.getBudget() != this) {
+      return;
+    }
+    release(cache);
+    if (size > maxPerSeries || size > maxTotal) {
+      return;
+    }
+    cache.store(entry);
+    sizes.put(cache, size);
+    total += size;
+    evict(cache);
+  }
+
+  /**
+   * Marks the list of a cache as just used, so it is evicted after the others.
+   *
+   * @param cache the cache that was read
+   */
+  synchronized void touch(OccurrenceCache cache) {
+    sizes.get(cache);
+  }
+
+  /**
+   * Drops the list of a cache and stops counting it.
+   *
+   * @param cache the cache to release
+   */
+  synchronized void release(OccurrenceCache cache) {
+    Integer size = sizes.remove(cache);
+    cache.drop();
+    if (size != null) {
+      total -= size;
+    }
+  }
+
+  private void evict(OccurrenceCache keep) {
+    Iterator<Map.Entry<OccurrenceCache, Integer>> it = sizes.entrySet().iterator();
+    while (total > maxTotal && it.hasNext()) {
+      Map.Entry<OccurrenceCache, Integer> entry = it.next();
+      if (entry.getKey() == keep) {
+        continue;
+      }
+      entry.getKey().drop();
+      total -= entry.getValue();
+      it.remove();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * A forward-only cursor over the occurrences of a recurring event. Each call to {@link #next()}
+ * advances to the following occurrence and exposes its start and end times, without building any
+ * event objects, so callers can stop as soon as they have found what they need.
+ *
+ * <p>The cursor follows the same rule as {@link RecurringEvent#generateOccurrences()}: days are
+ * walked from the series start, every day matching the recurrence weekdays counts towards the
+ * occurrence limit, and the walk stops at the occurrence limit or the recurrence end date.
+ */
+public class OccurrenceCursor {
+
+  private final Set<DayOfWeek> recurrenceDays;
+  private final LocalTime startTime;
+  private final LocalTime endTime;
+  private final int occurrenceCount;
+  private final LocalDate recurrenceEndDate;
+
+  private LocalDate currentDate;
+  private int count;
+  private boolean done;
+  private LocalDateTime start;
+  private LocalDateTime end;
+
+  /**
+   * Constructs a cursor positioned before the first occurrence of the given series.
+   *
+   * @param event the recurring event to walk
+   */
+  public OccurrenceCursor(RecurringEvent event) {
+    this(event, event.getStartDateTime().toLocalDate(), 0);
+  }
+
+  /**
+   * Constructs a cursor that resumes the walk of a series part-way through. The caller supplies
+   * the day to resume from and how many recurrence days the walk has already counted before it.
+   *
+   * @param event    the recurring event to walk
+   * @param fromDate the first day to examine
+   * @param skipped  the number of recurrence days counted before {@code fromDate}
+   */
+  OccurrenceCursor(RecurringEvent event, LocalDate fromDate, int skipped) {
+    this.recurrenceDays = event.getRecurrenceDays();
+    this.startTime = event.getStartDateTime().toLocalTime();
+    this.endTime = event.getEffectiveEndDateTime().toLocalTime();
+    this.occurrenceCount = event.getOccurrenceCount();
+    this.recurrenceEndDate = event.getRecurrenceEndDate();
+    this.currentDate = fromDate;
+    this.count = skipped;
+    boolean pastEndDate = recurrenceEndDate != null && fromDate.isAfter(recurrenceEndDate)
+        && fromDate.isAfter(event.getStartDateTime().toLocalDate());
+    boolean pastCount = occurrenceCount != -1 && skipped >= Math.max(occurrenceCount, 1);
+    this.done = recurrenceDays.isEmpty() || pastEndDate || pastCount;
+  }
+
+  /**
+   * Advances to the next occurrence.
+   *
+   * @return true if the cursor now points at an occurrence, false if the series is exhausted
+   */
+  public boolean next() {
+    while (!done) {
+      LocalDate date = currentDate;
+      boolean matches = recurrenceDays.contains(date.getDayOfWeek());
+      currentDate = currentDate.plusDays(1);
+      if (matches) {
+        count++;
+        if (occurrenceCount != -1 && count >= occurrenceCount) {
+          done = true;
+        }
+      }
+      if (recurrenceEndDate != null && currentDate.isAfter(recurrenceEndDate)) {
+        done = true;
+      }
+      if (matches) {
+        LocalDateTime occurrenceStart = LocalDateTime.of(date, startTime);
+        LocalDateTime occurrenceEnd = LocalDateTime.of(date, endTime);
+        if (!occurrenceEnd.isBefore(occurrenceStart)) {
+          start = occurrenceStart;
+          end = occurrenceEnd;
+          return true;
+        }
+      }
+    }
+    start = null;
+    end = null;
+    return false;
+  }
+
+  /**
+   * Returns the start of the current occurrence.
+   *
+   * @return the occurrence start, or null if the cursor is not on an occurrence
+   */
+  public LocalDateTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the current occurrence.
+   *
+   * @return the occurrence end, or null if the cursor is not on an occurrence
+   */
+  public LocalDateTime getEnd() {
+    return end;
+  }
+}
@@ -0,0 +1,330 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The exceptions to the rule of one recurring series: occurrences that were modified and
+ * occurrences that were cancelled. Both are keyed by the date the rule places the occurrence on,
+ * so expanding the series checks each generated date with a single hash lookup.
+ *
+ * <p>An override whose times stay on its own date is "in place"; an override moved to other days
+ * is "displaced" and is additionally kept in a separate map, which day and range queries scan
+ * because it cannot be found by date. Displaced overrides are expected to be rare.
+ *
+ * <p>Exceptions are changed only through {@link RecurringEvent}, which notifies the series'
+ * listeners so that caches and indexes are refreshed.
+ */
+public class OccurrenceExceptions {
+
+  private final Map<LocalDate, SingleEvent> overrides;
+  private final Map<LocalDate, SingleEvent> displaced;
+  private final Set<LocalDate> cancelled;
+
+  /**
+   * Constructs an empty exception table.
+   */
+  public OccurrenceExceptions() {
+    this.overrides = new HashMap<>();
+    this.displaced = new HashMap<>();
+    this.cancelled = new HashSet<>();
+  }
+
+  /**
+   * Returns the replacement for the occurrence the rule places on the given date.
+   *
+   * @param date the occurrence date
+   * @return the override, or null if that occurrence is not modified
+   */
+  public SingleEvent getOverride(LocalDate date) {
+    return overrides.isEmpty() ? null : overrides.get(date);
+  }
+
+  /**
+   * Checks whether the occurrence the rule places on the given date was cancelled.
+   *
+   * @param date the occurrence date
+   * @return true if the occurrence is cancelled
+   */
+  public boolean isCancelled(LocalDate date) {
+    return !cancelled.isEmpty() && cancelled.contains(date);
+  }
+
+  /**
+   * Checks whether the occurrence on the given date differs from the rule, either because it was
+   * modified or because it was cancelled.
+   *
+   * @param date the occurrence date
+   * @return true if the date has an exception
+   */
+  public boolean isException(LocalDate date) {
+    return getOverride(date) != null || isCancelled(date);
+  }
+
+  /**
+   * Checks whether the series has no exceptions at all.
+   *
+   * @return true if no occurrence is modified or cancelled
+   */
+  public boolean isEmpty() {
+    return overrides.isEmpty() && cancelled.isEmpty();
+  }
+
+  /**
+   * Returns the number of modified and cancelled occurrences.
+   *
+   * @return the exception count
+   */
+  public int size() {
+    return overrides.size() + cancelled.size();
+  }
+
+  /**
+   * Returns the modified occurrences keyed by their original date.
+   *
+   * @return an unmodifiable view of the overrides
+   */
+  public Map<LocalDate, SingleEvent> getOverrides() {
+    return Collections.unmodifiableMap(overrides);
+  }
+
+  /**
+   * Returns the dates of the cancelled occurrences.
+   *
+   * @return an unmodifiable view of the cancelled dates
+   */
+  public Set<LocalDate> getCancelled() {
+    return Collections.unmodifiableSet(cancelled);
+  }
+
+  /**
+   * Returns the overrides that were moved away from their original date.
+   *
+   * @return an unmodifiable view of the displaced overrides keyed by original date
+   */
+  public Map<LocalDate, SingleEvent> getDisplaced() {
+    return Collections.unmodifiableMap(displaced);
+  }
+
+  /**
+   * Finds the original date of the override covering the given day: the override on that date if
+   * it stays in place, otherwise a displaced override touching the day.
+   *
+   * @param day the day to look up
+   * @return the original date of a covering override, or null if none covers the day
+   */
+  public LocalDate overrideCovering(LocalDate day) {
+    SingleEvent inPlace = getOverride(day);
+    if (inPlace != null && !displaced.containsKey(day)) {
+      return day;
+    }
+    for (Map.Entry<LocalDate, SingleEvent> entry : displaced.entrySet()) {
+      SingleEvent override = entry.getValue();
+      if (!day.isBefore(override.getStartDateTime().toLocalDate())
+          && !day.isAfter(override.getEffectiveEndDateTime().toLocalDate())) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds the original date of the override starting exactly at the given time.
+   *
+   * @param start the override start
+   * @return the original date, or null if no override starts then
+   */
+  public LocalDate overrideStartingAt(LocalDateTime start) {
+    SingleEvent inPlace = getOverride(start.toLocalDate());
+    if (inPlace != null && inPlace.getStartDateTime().equals(start)) {
+      return start.toLocalDate();
+    }
+    for (Map.Entry<LocalDate, SingleEvent> entry : displaced.entrySet()) {
+      if (entry.getValue().getStartDateTime().equals(start)) {
+        return entry.getKey();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the original dates of the overrides starting within the given range. In-place
+   * overrides are found by date, visiting whichever is smaller of the overrides and the days in
+   * the range; displaced overrides are scanned.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return the matching original dates, in no particular order
+   */
+  public List<LocalDate> overridesStartingBetween(LocalDateTime start, LocalDateTime end) {
+    List<LocalDate> result = new ArrayList<>();
+    if (overrides.isEmpty() || !start.isBefore(end)) {
+      return result;
+    }
+    LocalDate firstDay = start.toLocalDate();
+    LocalDate lastDay = end.toLocalDate();
+    long days = lastDay.toEpochDay() - firstDay.toEpochDay() + 1;
+    if (days <= overrides.size()) {
+      for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+        SingleEvent override = overrides.get(day);
+        if (override != null && !displaced.containsKey(day)
+            && startsWithin(override, start, end)) {
+          result.add(day);
+        }
+      }
+      for (Map.Entry<LocalDate, SingleEvent> entry : displaced.entrySet()) {
+        if (startsWithin(entry.getValue(), start, end)) {
+          result.add(entry.getKey());
+        }
+      }
+    } else {
+      for (Map.Entry<LocalDate, SingleEvent> entry : overrides.entrySet()) {
+        if (startsWithin(entry.getValue(), start, end)) {
+          result.add(entry.getKey());
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether any override overlaps the given range. A zero-length range is treated as an
+   * instant, which an override covers when it starts before and ends after it.
+   *
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return true if an override overlaps the range
+   */
+  public boolean anyOverrideOverlaps(LocalDateTime start, LocalDateTime end) {
+    if (overrides.isEmpty()) {
+      return false;
+    }
+    LocalDate firstDay = start.toLocalDate();
+    LocalDate lastDay = end.toLocalDate();
+    long days = lastDay.toEpochDay() - firstDay.toEpochDay() + 1;
+    if (days <= overrides.size()) {
+      for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+        SingleEvent override = overrides.get(day);
+        if (override != null && overlaps(override, start, end)) {
+          return true;
+        }
+      }
+      for (SingleEvent override : displaced.values()) {
+        if (overlaps(override, start, end)) {
+          return true;
+        }
+      }
+      return false;
+    }
+    for (SingleEvent override : overrides.values()) {
+      if (overlaps(override, start, end)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the earliest day touched by a displaced override.
+   *
+   * @return the earliest day, or null if no override is displaced
+   */
+  public LocalDate earliestDisplacedDay() {
+    LocalDate earliest = null;
+    for (SingleEvent override : displaced.values()) {
+      LocalDate day = override.getStartDateTime().toLocalDate();
+      if (earliest == null || day.isBefore(earliest)) {
+        earliest = day;
+      }
+    }
+    return earliest;
+  }
+
+  /**
+   * Returns the latest day touched by a displaced override.
+   *
+   * @return the latest day, or null if no override is displaced
+   */
+  public LocalDate latestDisplacedDay() {
+    LocalDate latest = null;
+    for (SingleEvent override : displaced.values()) {
+      LocalDate day = override.getEffectiveEndDateTime().toLocalDate();
+      if (latest == null || day.isAfter(latest)) {
+        latest = day;
+      }
+    }
+    return latest;
+  }
+
+  /**
+   * Returns a copy of this table whose overrides are frozen copies, for a frozen series.
+   *
+   * @return the copied table
+   */
+  OccurrenceExceptions frozenCopy() {
+    OccurrenceExceptions copy = new OccurrenceExceptions();
+    for (Map.Entry<LocalDate, SingleEvent> entry : overrides.entrySet()) {
+      copy.override(entry.getKey(), entry.getValue().frozenCopy());
+    }
+    copy.cancelled.addAll(cancelled);
+    return copy;
+  }
+
+  /**
+   * Records a replacement for the occurrence on the given date, clearing any cancellation.
+   *
+   * @param date     the original occurrence date
+   * @param override the replacement occurrence
+   */
+  void override(LocalDate date, SingleEvent override) {
+    cancelled.remove(date);
+    overrides.put(date, override);
+    if (override.getStartDateTime().toLocalDate().equals(date)
+        && override.getEffectiveEndDateTime().toLocalDate().equals(date)) {
+      displaced.remove(date);
+    } else {
+      displaced.put(date, override);
+    }
+  }
+
+  /**
+   * Cancels the occurrence on the given date, dropping any override.
+   *
+   * @param date the original occurrence date
+   */
+  void cancel(LocalDate date) {
+    overrides.remove(date);
+    displaced.remove(date);
+    cancelled.add(date);
+  }
+
+  /**
+   * Drops any exception recorded for the given date.
+   *
+   * @param date the original occurrence date
+   * @return true if an exception was removed
+   */
+  boolean restore(LocalDate date) {
+    displaced.remove(date);
+    boolean removed = overrides.remove(date) != null;
+    return cancelled.remove(date) || removed;
+  }
+
+  private static boolean startsWithin(SingleEvent override, LocalDateTime start,
+      LocalDateTime end) {
+    LocalDateTime overrideStart = override.getStartDateTime();
+    return !overrideStart.isBefore(start) && overrideStart.isBefore(end);
+  }
+
+  private static boolean overlaps(SingleEvent override, LocalDateTime start, LocalDateTime end) {
+    return override.getStartDateTime().isBefore(end)
+        && start.isBefore(override.getEffectiveEndDateTime());
+  }
+}
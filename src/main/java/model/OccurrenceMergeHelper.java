@@ -0,0 +1,122 @@
+package model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A utility class that merges the occurrences of several calendars into one chronological
+ * agenda. Each calendar returns its occurrences already sorted, and each is converted to the
+ * agenda's timezone exactly once; the sorted lists are then combined with a k-way merge over a
+ * heap holding one cursor per calendar, so the merge costs O(n log k) for n occurrences across k
+ * calendars instead of sorting the whole union.
+ */
+public class OccurrenceMergeHelper {
+
+  /**
+   * Merges the occurrences starting within a range across calendars. Occurrences starting at
+   * the same instant are ordered by the position of their calendar in the given list.
+   *
+   * @param calendars the calendars to merge
+   * @param zone      the timezone the range and the merged times are expressed in
+   * @param start     the inclusive start of the range
+   * @param end       the exclusive end of the range
+   * @return the merged occurrences in chronological order
+   */
+  public static List<MergedOccurrence> merge(List<ICalendarContext> calendars, ZoneId zone,
+      LocalDateTime start, LocalDateTime end) {
+    Instant rangeStart = start.atZone(zone).toInstant();
+    Instant rangeEnd = end.atZone(zone).toInstant();
+    PriorityQueue<Cursor> heap = new PriorityQueue<>(Comparator
+        .comparing((Cursor cursor) -> cursor.current().instant)
+        .thenComparingInt(cursor -> cursor.order));
+    int total = 0;
+    for (int i = 0; i < calendars.size(); i++) {
+      Cursor cursor = new Cursor(i, converted(calendars.get(i), zone, rangeStart, rangeEnd));
+      total += cursor.entries.size();
+      if (cursor.hasCurrent()) {
+        heap.add(cursor);
+      }
+    }
+    List<MergedOccurrence> result = new ArrayList<>(total);
+    while (!heap.isEmpty()) {
+      Cursor cursor = heap.poll();
+      result.add(cursor.current().occurrence);
+      cursor.advance();
+      if (cursor.hasCurrent()) {
+        heap.add(cursor);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Reads one calendar's occurrences in the range and converts each to the agenda's timezone.
+   */
+  private static List<Entry> converted(ICalendarContext calendar, ZoneId zone,
+      Instant rangeStart, Instant rangeEnd) {
+    ZoneId own = calendar.getTimezone();
+    List<Event> occurrences = calendar.getCalendarModel().getOccurrencesBetween(
+        LocalDateTime.ofInstant(rangeStart, own), LocalDateTime.ofInstant(rangeEnd, own));
+    List<Entry> entries = new ArrayList<>(occurrences.size());
+    for (Event occurrence : occurrences) {
+      Instant instant = occurrence.getStartDateTime().atZone(own).toInstant();
+      if (instant.isBefore(rangeStart) || !instant.isBefore(rangeEnd)) {
+        continue;
+      }
+      LocalDateTime end = occurrence.getEffectiveEndDateTime().atZone(own)
+          .withZoneSameInstant(zone).toLocalDateTime();
+      entries.add(new Entry(instant, new MergedOccurrence(calendar.getName(), occurrence,
+          LocalDateTime.ofInstant(instant, zone), end)));
+    }
+    // Local order is instant order except across a daylight-saving gap; the sort is linear on
+    // an already sorted list.
+    entries.sort(Comparator.comparing((Entry entry) -> entry.instant));
+    return entries;
+  }
+
+  /**
+   * An occurrence together with its start on the shared timeline.
+   */
+  private static class Entry {
+
+    private final Instant instant;
+    private final MergedOccurrence occurrence;
+
+    private Entry(Instant instant, MergedOccurrence occurrence) {
+      this.instant = instant;
+      this.occurrence = occurrence;
+    }
+  }
+
+  /**
+   * A position in one calendar's converted occurrences.
+   */
+  private static class Cursor {
+
+    private final int order;
+    private final List<Entry> entries;
+    private int position;
+
+    private Cursor(int order, List<Entry> entries) {
+      this.order = order;
+      this.entries = entries;
+    }
+
+    private boolean hasCurrent() {
+      return position < entries.size();
+    }
+
+    private Entry current() {
+      return entries.get(position);
+    }
+
+    private void advance() {
+      position++;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A utility class that reads the occurrences of a range lazily instead of as one list. The range
+ * is walked in consecutive windows, and only the occurrences starting in the current window are
+ * held at a time, so listing years of a busy calendar needs memory for one window rather than
+ * for the whole range. Windows start at a day and double while they come back empty, up to
+ * {@link #MAX_WINDOW}, so sparse stretches are crossed in a few queries.
+ *
+ * <p>Each window is a separate query on the model, so a stream over a model that is changing
+ * sees each window as it is when the stream reaches it.
+ */
+public class OccurrenceStreamHelper {
+
+  /**
+   * The window the walk starts with, and returns to after a window holding occurrences.
+   */
+  public static final Duration INITIAL_WINDOW = Duration.ofDays(1);
+
+  /**
+   * The widest window the walk grows to across empty stretches.
+   */
+  public static final Duration MAX_WINDOW = Duration.ofDays(32);
+
+  private static final String TOKEN_SEPARATOR = "#";
+
+  /**
+   * Streams the occurrences starting within a range in chronological order, the same sequence
+   * {@link ICalendarModel#getOccurrencesBetween} returns.
+   *
+   * @param model the model to read
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return a lazy, ordered stream of occurrences
+   */
+  public static Stream<Event> stream(ICalendarModel model, LocalDateTime start,
+      LocalDateTime end) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+        new WindowIterator(model, start, end), Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Reads one page of the occurrences starting within a range, skipping a number of occurrences
+   * first.
+   *
+   * @param model  the model to read
+   * @param start  the inclusive start of the range
+   * @param end    the exclusive end of the range
+   * @param offset the number of occurrences to skip
+   * @param limit  the largest number of occurrences on the page
+   * @return the page and the token that continues it
+   * @throws IllegalArgumentException if the offset is negative or the limit is not positive
+   */
+  public static EventPage page(ICalendarModel model, LocalDateTime start, LocalDateTime end,
+      int offset, int limit) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Page offset cannot be negative.");
+    }
+    return collect(model, start, end, offset, limit);
+  }
+
+  /**
+   * Reads the page that continues an earlier one. A null token starts at the beginning of the
+   * range.
+   *
+   * @param model the model to read
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @param token the token returned with the previous page, or null
+   * @param limit the largest number of occurrences on the page
+   * @return the page and the token that continues it
+   * @throws IllegalArgumentException if the token is malformed or the limit is not positive
+   */
+  public static EventPage page(ICalendarModel model, LocalDateTime start, LocalDateTime end,
+      String token, int limit) {
+    if (token == null) {
+      return collect(model, start, end, 0, limit);
+    }
+    int separator = token.lastIndexOf(TOKEN_SEPARATOR);
+    try {
+      LocalDateTime resume = LocalDateTime.parse(token.substring(0, separator));
+      int seen = Integer.parseInt(token.substring(separator + 1));
+      if (seen < 0) {
+        throw new NumberFormatException();
+      }
+      // The token names the start of the last occurrence returned and how many occurrences at
+      // that start were returned; the walk resumes there and skips those.
+      return collect(model, resume.isBefore(start) ? start : resume, end, seen, limit);
+    } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Invalid page token: " + token);
+    }
+  }
+
+  /**
+   * Walks the range from the given start, skips occurrences, and collects a page. Occurrences
+   * sharing a start are counted so the token can resume between them.
+   */
+  private static EventPage collect(ICalendarModel model, LocalDateTime start, LocalDateTime end,
+      int skip, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Page limit must be positive.");
+    }
+    List<Event> events = new ArrayList<>(Math.min(limit, 1024));
+    Iterator<Event> occurrences = new WindowIterator(model, start, end);
+    LocalDateTime lastStart = null;
+    int sameStart = 0;
+    int skipped = 0;
+    String nextToken = null;
+    while (occurrences.hasNext()) {
+      Event occurrence = occurrences.next();
+      if (events.size() == limit) {
+        nextToken = lastStart + TOKEN_SEPARATOR + sameStart;
+        break;
+      }
+      LocalDateTime occStart = occurrence.getStartDateTime();
+      sameStart = occStart.equals(lastStart) ? sameStart + 1 : 1;
+      lastStart = occStart;
+      if (skipped < skip) {
+        skipped++;
+        continue;
+      }
+      events.add(occurrence);
+    }
+    return new EventPage(events, nextToken);
+  }
+
+  /**
+   * Iterates over a range one window of occurrences at a time.
+   */
+  private static class WindowIterator implements Iterator<Event> {
+
+    private final ICalendarModel model;
+    private final LocalDateTime end;
+    private LocalDateTime windowStart;
+    private Duration window;
+    private Iterator<Event> current;
+
+    private WindowIterator(ICalendarModel model, LocalDateTime start, LocalDateTime end) {
+      this.model = model;
+      this.end = end;
+      this.windowStart = start;
+      this.window = INITIAL_WINDOW;
+      this.current = Collections.emptyIterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext() && windowStart.isBefore(end)) {
+        LocalDateTime windowEnd = Duration.between(windowStart, end).compareTo(window) <= 0
+            ? end : windowStart.plus(window);
+        List<Event> found = model.getOccurrencesBetween(windowStart, windowEnd);
+        windowStart = windowEnd;
+        if (found.isEmpty()) {
+          window = window.multipliedBy(2).compareTo(MAX_WINDOW) < 0
+              ? window.multipliedBy(2) : MAX_WINDOW;
+        } else {
+          window = INITIAL_WINDOW;
+        }
+        current = found.iterator();
+      }
+      return current.hasNext();
+    }
+
+    @Override
+    public Event next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+  }
+}
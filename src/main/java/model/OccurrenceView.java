@@ -0,0 +1,180 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A lightweight, read-only occurrence of a recurring event. A view holds only its series and its
+ * date; the subject, description, location, visibility and times are read from the series when
+ * asked for, so expanding a long-running series allocates two fields per occurrence instead of a
+ * full {@link SingleEvent}.
+ *
+ * <p>Because the values are read through, a view always reflects the series' current text and
+ * times. If the occurrence was modified, the values come from its override in the series'
+ * {@link OccurrenceExceptions}, found by date with one hash lookup. Use {@link #toSingleEvent()}
+ * to obtain an independent copy.
+ */
+public class OccurrenceView implements Event {
+
+  private final RecurringEvent series;
+  private final LocalDate date;
+
+  /**
+   * Constructs a view of the occurrence of a series on the given date.
+   *
+   * @param series the recurring event the occurrence belongs to
+   * @param date   the date of the occurrence
+   */
+  public OccurrenceView(RecurringEvent series, LocalDate date) {
+    this.series = series;
+    this.date = date;
+  }
+
+  /**
+   * Returns the series this occurrence belongs to.
+   *
+   * @return the recurring event
+   */
+  public RecurringEvent getSeries() {
+    return series;
+  }
+
+  /**
+   * Returns the date the series rule places this occurrence on. A modified occurrence may have
+   * been moved to another day.
+   *
+   * @return the original occurrence date
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * Returns the override of this occurrence, if it was modified.
+   *
+   * @return the override, or null if the occurrence follows the series
+   */
+  public SingleEvent getOverride() {
+    return series.getExceptions().getOverride(date);
+  }
+
+  @Override
+  public String getSubject() {
+    SingleEvent override = getOverride();
+    return override == null ? series.getSubject() : override.getSubject();
+  }
+
+  @Override
+  public LocalDateTime getStartDateTime() {
+    SingleEvent override = getOverride();
+    return override == null ? LocalDateTime.of(date, series.getStartDateTime().toLocalTime())
+        : override.getStartDateTime();
+  }
+
+  @Override
+  public LocalDateTime getEffectiveEndDateTime() {
+    SingleEvent override = getOverride();
+    return override == null
+        ? LocalDateTime.of(date, series.getEffectiveEndDateTime().toLocalTime())
+        : override.getEffectiveEndDateTime();
+  }
+
+  @Override
+  public String getDescription() {
+    SingleEvent override = getOverride();
+    return override == null ? series.getDescription() : override.getDescription();
+  }
+
+  @Override
+  public String getLocation() {
+    SingleEvent override = getOverride();
+    return override == null ? series.getLocation() : override.getLocation();
+  }
+
+  @Override
+  public boolean isPublic() {
+    SingleEvent override = getOverride();
+    return override == null ? series.isPublic() : override.isPublic();
+  }
+
+  @Override
+  public boolean isAutoDecline() {
+    return series.isAutoDecline();
+  }
+
+  @Override
+  public long getId() {
+    return series.getId();
+  }
+
+  /**
+   * Checks if this occurrence overlaps any occurrence of another event.
+   *
+   * @param other the other event to check against
+   * @return true if the events conflict, false otherwise
+   */
+  @Override
+  public boolean conflictsWith(Event other) {
+    LocalDateTime start = getStartDateTime();
+    LocalDateTime end = getEffectiveEndDateTime();
+    if (other instanceof RecurringEvent) {
+      return ((RecurringEvent) other).overlaps(start, end);
+    }
+    for (Event occurrence : other.getOccurrences()) {
+      if (start.isBefore(occurrence.getEffectiveEndDateTime())
+          && occurrence.getStartDateTime().isBefore(end)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns a list containing this occurrence as its sole occurrence.
+   *
+   * @return a singleton list with this view
+   */
+  @Override
+  public List<Event> getOccurrences() {
+    return Collections.singletonList(this);
+  }
+
+  /**
+   * Copies this occurrence into a standalone single event.
+   *
+   * @return a single event with the occurrence's current values
+   */
+  public SingleEvent toSingleEvent() {
+    SingleEvent override = getOverride();
+    if (override == null) {
+      return series.createOccurrence(getStartDateTime(), getEffectiveEndDateTime());
+    }
+    try {
+      return new SingleEvent(override.getSubject(), override.getStartDateTime(),
+          override.getEffectiveEndDateTime(), override.getDescription(), override.getLocation(),
+          override.isPublic());
+    } catch (InvalidDateException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof OccurrenceView)) {
+      return false;
+    }
+    OccurrenceView other = (OccurrenceView) o;
+    return series == other.series && date.equals(other.date);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(System.identityHashCode(series), date);
+  }
+}
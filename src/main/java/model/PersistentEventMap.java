@@ -0,0 +1,231 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable sorted map from event ids to events, kept as a persistent AVL tree. Adding or
+ * removing an entry copies only the O(log n) nodes on the path to it and shares every other node
+ * with the previous version, so each write produces a new map cheaply while every older map stays
+ * valid and unchanged.
+ *
+ * <p>Models assign ids in increasing order, so iterating in id order visits events in the order
+ * they were added.
+ */
+public final class PersistentEventMap implements Iterable<Event> {
+
+  private static final PersistentEventMap EMPTY = new PersistentEventMap(null);
+
+  private final Node root;
+
+  private PersistentEventMap(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns the empty map.
+   *
+   * @return a map with no entries
+   */
+  public static PersistentEventMap empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return the entry count
+   */
+  public int size() {
+    return size(root);
+  }
+
+  /**
+   * Checks whether the map has no entries.
+   *
+   * @return true if the map is empty
+   */
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  /**
+   * Returns the event stored under an id.
+   *
+   * @param id the event id
+   * @return the event, or null if the id has no entry
+   */
+  public Event get(long id) {
+    Node node = root;
+    while (node != null) {
+      if (id < node.id) {
+        node = node.left;
+      } else if (id > node.id) {
+        node = node.right;
+      } else {
+        return node.event;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns a map that also holds the given entry, replacing any entry with the same id. This map
+   * is not changed.
+   *
+   * @param id    the event id
+   * @param event the event
+   * @return the new map
+   */
+  public PersistentEventMap with(long id, Event event) {
+    return new PersistentEventMap(insert(root, id, event));
+  }
+
+  /**
+   * Returns a map without the entry for the given id. This map is not changed.
+   *
+   * @param id the event id
+   * @return the new map, or this map if the id has no entry
+   */
+  public PersistentEventMap without(long id) {
+    if (get(id) == null) {
+      return this;
+    }
+    return new PersistentEventMap(delete(root, id));
+  }
+
+  /**
+   * Iterates over the events in increasing id order.
+   *
+   * @return an iterator over the events
+   */
+  @Override
+  public Iterator<Event> iterator() {
+    return new InOrder(root);
+  }
+
+  private static Node insert(Node node, long id, Event event) {
+    if (node == null) {
+      return new Node(id, event, null, null);
+    }
+    if (id < node.id) {
+      return balance(node.id, node.event, insert(node.left, id, event), node.right);
+    }
+    if (id > node.id) {
+      return balance(node.id, node.event, node.left, insert(node.right, id, event));
+    }
+    return new Node(id, event, node.left, node.right);
+  }
+
+  private static Node delete(Node node, long id) {
+    if (id < node.id) {
+      return balance(node.id, node.event, delete(node.left, id), node.right);
+    }
+    if (id > node.id) {
+      return balance(node.id, node.event, node.left, delete(node.right, id));
+    }
+    if (node.left == null) {
+      return node.right;
+    }
+    if (node.right == null) {
+      return node.left;
+    }
+    Node successor = node.right;
+    while (successor.left != null) {
+      successor = successor.left;
+    }
+    return balance(successor.id, successor.event, node.left, delete(node.right, successor.id));
+  }
+
+  private static Node balance(long id, Event event, Node left, Node right) {
+    int diff = height(left) - height(right);
+    if (diff > 1) {
+      if (height(left.left) < height(left.right)) {
+        left = rotateLeft(left.id, left.event, left.left, left.right);
+      }
+      return rotateRight(id, event, left, right);
+    }
+    if (diff < -1) {
+      if (height(right.right) < height(right.left)) {
+        right = rotateRight(right.id, right.event, right.left, right.right);
+      }
+      return rotateLeft(id, event, left, right);
+    }
+    return new Node(id, event, left, right);
+  }
+
+  private static Node rotateRight(long id, Event event, Node left, Node right) {
+    return new Node(left.id, left.event, left.left, new Node(id, event, left.right, right));
+  }
+
+  private static Node rotateLeft(long id, Event event, Node left, Node right) {
+    return new Node(right.id, right.event, new Node(id, event, left, right.left), right.right);
+  }
+
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static int size(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * An immutable tree node. Nodes are never changed once built, so they can be shared freely
+   * between versions of the map.
+   */
+  private static final class Node {
+
+    private final long id;
+    private final Event event;
+    private final Node left;
+    private final Node right;
+    private final int height;
+    private final int size;
+
+    private Node(long id, Event event, Node left, Node right) {
+      this.id = id;
+      this.event = event;
+      this.left = left;
+      this.right = right;
+      this.height = Math.max(height(left), height(right)) + 1;
+      this.size = size(left) + size(right) + 1;
+    }
+  }
+
+  /**
+   * An in-order walk over a tree using an explicit stack.
+   */
+  private static final class InOrder implements Iterator<Event> {
+
+    private final Deque<Node> stack = new ArrayDeque<>();
+
+    private InOrder(Node root) {
+      pushLeft(root);
+    }
+
+    private void pushLeft(Node node) {
+      while (node != null) {
+        stack.push(node);
+        node = node.left;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !stack.isEmpty();
+    }
+
+    @Override
+    public Event next() {
+      if (stack.isEmpty()) {
+        throw new NoSuchElementException();
+      }
+      Node node = stack.pop();
+      pushLeft(node.right);
+      return node.event;
+    }
+  }
+}
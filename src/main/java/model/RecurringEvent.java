@@ -4,6 +4,9 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
@@ -15,6 +18,8 @@ public class RecurringEvent extends AbstractEvent {
   private Set<DayOfWeek> recurrenceDays;
   private int occurrenceCount = -1;
   private LocalDate recurrenceEndDate;
+  private final OccurrenceCache occurrenceCache = new OccurrenceCache(this);
+  private final OccurrenceExceptions exceptions;
 
   /**
    * Constructs a RecurringEvent with the specified parameters.
@@ -50,51 +55,476 @@ public class RecurringEvent extends AbstractEvent {
     this.recurrenceDays = recurrenceDays;
     this.occurrenceCount = occurrenceCount;
     this.recurrenceEndDate = recurrenceEndDate;
+    this.exceptions = new OccurrenceExceptions();
+  }
+
+  private RecurringEvent(RecurringEvent source) {
+    super(source);
+    this.recurrenceDays = Collections.unmodifiableSet(source.recurrenceDays.isEmpty()
+        ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(source.recurrenceDays));
+    this.occurrenceCount = source.occurrenceCount;
+    this.recurrenceEndDate = source.recurrenceEndDate;
+    this.exceptions = source.exceptions.frozenCopy();
+  }
+
+  @Override
+  RecurringEvent frozenCopy() {
+    RecurringEvent copy = new RecurringEvent(this);
+    copy.freeze();
+    return copy;
+  }
+
+  /**
+   * Returns a cursor that walks the occurrences of this series lazily, one start/end pair at a
+   * time, without creating event objects.
+   *
+   * @return a new occurrence cursor positioned before the first occurrence
+   */
+  public OccurrenceCursor occurrenceCursor() {
+    return new OccurrenceCursor(this);
+  }
+
+  /**
+   * Returns a cursor over the occurrences of this series that fall on or after the given date.
+   * The cursor is positioned arithmetically, so earlier occurrences are never walked.
+   *
+   * @param from the earliest date of interest
+   * @return a new occurrence cursor positioned before the first occurrence on or after the date
+   */
+  public OccurrenceCursor occurrenceCursor(LocalDate from) {
+    LocalDate first = startDateTime.toLocalDate();
+    if (!from.isAfter(first) || recurrenceDays.isEmpty()) {
+      return occurrenceCursor();
+    }
+    return new OccurrenceCursor(this, from,
+        (int) Math.min(Integer.MAX_VALUE, countRecurrenceDays(first, from.minusDays(1))));
+  }
+
+  /**
+   * Checks whether this series has an occurrence on the given date, without expanding it.
+   * Cancelled occurrences are skipped and modified occurrences count on the days they were moved
+   * to.
+   *
+   * @param date the date to check
+   * @return true if an occurrence falls on the date, false otherwise
+   */
+  public boolean occursOn(LocalDate date) {
+    return hasUnchangedOccurrenceOn(date) || exceptions.overrideCovering(date) != null;
+  }
+
+  /**
+   * Returns the occurrence of this series on the given date, taking exceptions into account.
+   *
+   * @param date the date to look up
+   * @return a view of the occurrence, or null if the series has no occurrence on that date
+   */
+  public Event occurrenceOn(LocalDate date) {
+    if (hasUnchangedOccurrenceOn(date)) {
+      return new OccurrenceView(this, date);
+    }
+    LocalDate original = exceptions.overrideCovering(date);
+    return original == null ? null : new OccurrenceView(this, original);
+  }
+
+  /**
+   * Checks whether the rule places an occurrence on the given date and that occurrence is neither
+   * modified nor cancelled.
+   *
+   * @param date the date to check
+   * @return true if an unchanged occurrence falls on the date
+   */
+  boolean hasUnchangedOccurrenceOn(LocalDate date) {
+    return occurrenceIndexOf(date) >= 0 && !exceptions.isException(date);
+  }
+
+  /**
+   * Returns the date of the first unchanged occurrence on or after the given date. Dates with
+   * exceptions are stepped over, so the walk visits at most one date per exception.
+   *
+   * @param date the earliest date of interest
+   * @return the occurrence date, or null if no unchanged occurrence remains
+   */
+  LocalDate nextUnchangedOccurrenceOnOrAfter(LocalDate date) {
+    LocalDate candidate = nextOccurrenceOnOrAfter(date);
+    while (candidate != null && exceptions.isException(candidate)) {
+      candidate = nextOccurrenceOnOrAfter(candidate.plusDays(1));
+    }
+    return candidate;
+  }
+
+  /**
+   * Returns the table of modified and cancelled occurrences of this series.
+   *
+   * @return the series' exceptions
+   */
+  public OccurrenceExceptions getExceptions() {
+    return exceptions;
+  }
+
+  /**
+   * Replaces the occurrence the rule places on the given date. The rest of the series is left
+   * untouched.
+   *
+   * @param date     the original date of the occurrence
+   * @param override the replacement occurrence
+   * @throws IllegalArgumentException if the rule has no occurrence on that date
+   */
+  public void overrideOccurrence(LocalDate date, SingleEvent override) {
+    requireMutable();
+    requireRuleOccurrence(date);
+    exceptions.override(date, override);
+    fireChanged();
+  }
+
+  /**
+   * Cancels the occurrence the rule places on the given date.
+   *
+   * @param date the original date of the occurrence
+   * @throws IllegalArgumentException if the rule has no occurrence on that date
+   */
+  public void cancelOccurrence(LocalDate date) {
+    requireMutable();
+    requireRuleOccurrence(date);
+    exceptions.cancel(date);
+    fireChanged();
+  }
+
+  /**
+   * Restores the occurrence on the given date to follow the rule again.
+   *
+   * @param date the original date of the occurrence
+   * @return true if the occurrence had an exception, false otherwise
+   */
+  public boolean restoreOccurrence(LocalDate date) {
+    requireMutable();
+    boolean restored = exceptions.restore(date);
+    if (restored) {
+      fireChanged();
+    }
+    return restored;
+  }
+
+  private void requireRuleOccurrence(LocalDate date) {
+    if (occurrenceIndexOf(date) < 0) {
+      throw new IllegalArgumentException("Series '" + subject + "' has no occurrence on "
+          + date + ".");
+    }
+  }
+
+  /**
+   * Returns the zero-based position of the occurrence the rule places on the given date, ignoring
+   * exceptions.
+   *
+   * @param date the date to look up
+   * @return the occurrence index, or -1 if the series does not occur on that date
+   */
+  public int occurrenceIndexOf(LocalDate date) {
+    LocalDate first = startDateTime.toLocalDate();
+    if (!hasOccurrences() || date.isBefore(first)
+        || !recurrenceDays.contains(date.getDayOfWeek())) {
+      return -1;
+    }
+    LocalDate lastWalked = lastWalkedDate();
+    if (lastWalked != null && date.isAfter(lastWalked)) {
+      return -1;
+    }
+    long index = countRecurrenceDays(first, date) - 1;
+    return index < occurrenceLimit() ? (int) index : -1;
   }
 
   /**
-   * Generates a list of occurrences as single events for this recurring event.
+   * Returns the date of the first occurrence the rule places on or after the given date, without
+   * expanding the series. Exceptions are ignored.
+   *
+   * @param date the earliest date of interest
+   * @return the occurrence date, or null if no occurrence remains
+   */
+  public LocalDate nextOccurrenceOnOrAfter(LocalDate date) {
+    if (!hasOccurrences()) {
+      return null;
+    }
+    LocalDate first = startDateTime.toLocalDate();
+    LocalDate candidate = nextRecurrenceDay(date.isBefore(first) ? first : date);
+    return occurrenceIndexOf(candidate) >= 0 ? candidate : null;
+  }
+
+  /**
+   * Returns the date of the last occurrence the rule produces, without expanding the series.
+   * Exceptions are ignored.
+   *
+   * @return the last occurrence date, or null if the series has no occurrences
+   */
+  public LocalDate lastOccurrenceDate() {
+    if (!hasOccurrences()) {
+      return null;
+    }
+    LocalDate first = startDateTime.toLocalDate();
+    LocalDate byCount = occurrenceCount == -1 ? null : nthRecurrenceDay(occurrenceLimit() - 1);
+    LocalDate lastWalked = lastWalkedDate();
+    if (lastWalked == null) {
+      return byCount;
+    }
+    LocalDate byDate = previousRecurrenceDay(lastWalked);
+    if (byDate.isBefore(first)) {
+      return null;
+    }
+    return byCount == null || byDate.isBefore(byCount) ? byDate : byCount;
+  }
+
+  /**
+   * Indicates whether the rule can produce any occurrence at all. Occurrences share the series
+   * times, so an end time before the start time rules out every occurrence.
+   *
+   * @return true if the series has recurrence days and valid occurrence times
+   */
+  private boolean hasOccurrences() {
+    return !recurrenceDays.isEmpty()
+        && !getEffectiveEndDateTime().toLocalTime().isBefore(startDateTime.toLocalTime());
+  }
+
+  /**
+   * Returns the maximum number of recurrence days the series counts before it stops.
+   *
+   * @return the occurrence limit, or {@code Long.MAX_VALUE} if only an end date bounds the series
+   */
+  private long occurrenceLimit() {
+    return occurrenceCount == -1 ? Long.MAX_VALUE : Math.max(occurrenceCount, 1);
+  }
+
+  /**
+   * Returns the last day the series rule examines. The first day is always examined, even when
+   * the recurrence end date precedes it.
+   *
+   * @return the last examined day, or null if the series has no end date
+   */
+  private LocalDate lastWalkedDate() {
+    if (recurrenceEndDate == null) {
+      return null;
+    }
+    LocalDate first = startDateTime.toLocalDate();
+    return recurrenceEndDate.isBefore(first) ? first : recurrenceEndDate;
+  }
+
+  /**
+   * Counts the recurrence days in an inclusive date range using whole weeks plus a remainder.
+   *
+   * @param from the first day of the range
+   * @param to   the last day of the range
+   * @return the number of days in the range that fall on a recurrence weekday
+   */
+  private long countRecurrenceDays(LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      return 0;
+    }
+    long days = to.toEpochDay() - from.toEpochDay() + 1;
+    long count = (days / 7) * recurrenceDays.size();
+    DayOfWeek weekday = from.getDayOfWeek();
+    for (int i = 0; i < days % 7; i++) {
+      if (recurrenceDays.contains(weekday.plus(i))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private LocalDate nextRecurrenceDay(LocalDate date) {
+    LocalDate candidate = date;
+    while (!recurrenceDays.contains(candidate.getDayOfWeek())) {
+      candidate = candidate.plusDays(1);
+    }
+    return candidate;
+  }
+
+  private LocalDate previousRecurrenceDay(LocalDate date) {
+    LocalDate candidate = date;
+    while (!recurrenceDays.contains(candidate.getDayOfWeek())) {
+      candidate = candidate.minusDays(1);
+    }
+    return candidate;
+  }
+
+  /**
+   * Returns the n-th recurrence day (zero-based) on or after the series start.
+   *
+   * @param n the position of the recurrence day
+   * @return the date of that recurrence day
+   */
+  private LocalDate nthRecurrenceDay(long n) {
+    LocalDate candidate = nextRecurrenceDay(startDateTime.toLocalDate())
+        .plusWeeks(n / recurrenceDays.size());
+    long remaining = n % recurrenceDays.size();
+    while (remaining > 0) {
+      candidate = nextRecurrenceDay(candidate.plusDays(1));
+      remaining--;
+    }
+    return candidate;
+  }
+
+  /**
+   * Generates a list of occurrences as single events for this recurring event. Cancelled
+   * occurrences are left out and modified occurrences are copied from their overrides.
    *
    * @return a list of SingleEvent occurrences
    */
   public List<SingleEvent> generateOccurrences() {
     List<SingleEvent> occurrences = new ArrayList<>();
-    LocalDate currentDate = startDateTime.toLocalDate();
-    int count = 0;
-    while (true) {
-      if (recurrenceDays.contains(currentDate.getDayOfWeek())) {
-        LocalDateTime occurrenceStart = LocalDateTime.of(currentDate, startDateTime.toLocalTime());
-        LocalDateTime occurrenceEnd = LocalDateTime.of(currentDate, endDateTime.toLocalTime());
-        try {
-          SingleEvent occurrence = new SingleEvent(subject, occurrenceStart,
-              occurrenceEnd, description, location, isPublic);
-          occurrences.add(occurrence);
-        } catch (InvalidDateException e) {
-          // In case of an invalid occurrence, skip to the next date.
-        }
-        count++;
-        if (occurrenceCount != -1 && count >= occurrenceCount) {
-          break;
-        }
+    for (Event view : generateOccurrenceViews()) {
+      SingleEvent occurrence = ((OccurrenceView) view).toSingleEvent();
+      if (occurrence != null) {
+        occurrences.add(occurrence);
       }
-      currentDate = currentDate.plusDays(1);
-      if (recurrenceEndDate != null && currentDate.isAfter(recurrenceEndDate)) {
-        break;
+    }
+    return occurrences;
+  }
+
+  /**
+   * Checks whether this series has an occurrence starting exactly at the given time.
+   *
+   * @param start the occurrence start
+   * @return true if an occurrence starts at that time
+   */
+  public boolean hasOccurrenceAt(LocalDateTime start) {
+    return occurrenceDateAt(start) != null;
+  }
+
+  /**
+   * Returns the original date of the occurrence starting exactly at the given time. A modified
+   * occurrence is found by its current start, not the time the rule gave it.
+   *
+   * @param start the occurrence start
+   * @return the date the rule places that occurrence on, or null if none starts then
+   */
+  public LocalDate occurrenceDateAt(LocalDateTime start) {
+    if (startDateTime.toLocalTime().equals(start.toLocalTime())
+        && hasUnchangedOccurrenceOn(start.toLocalDate())) {
+      return start.toLocalDate();
+    }
+    return exceptions.overrideStartingAt(start);
+  }
+
+  /**
+   * Expands this series into lightweight occurrence views that read their values from the series,
+   * or from the override of a modified occurrence. Cancelled occurrences are left out.
+   *
+   * @return a list of occurrence views in chronological order
+   */
+  public List<Event> generateOccurrenceViews() {
+    List<Event> occurrences = new ArrayList<>();
+    OccurrenceCursor cursor = occurrenceCursor();
+    while (cursor.next()) {
+      LocalDate date = cursor.getStart().toLocalDate();
+      if (!exceptions.isCancelled(date)) {
+        occurrences.add(new OccurrenceView(this, date));
       }
     }
+    if (!exceptions.getDisplaced().isEmpty()) {
+      occurrences.sort(Comparator.comparing(Event::getStartDateTime));
+    }
     return occurrences;
   }
 
   /**
-   * Checks if this recurring event conflicts with another event by comparing each occurrence.
+   * Returns the occurrences of this series starting within the given range. Unchanged occurrences
+   * are produced by a cursor positioned at the start of the range, and modified occurrences are
+   * added from the exception table, so neither the rest of the series nor its other exceptions
+   * are visited.
+   *
+   * @param start the inclusive start of the range
+   * @param end   the exclusive end of the range
+   * @return occurrence views, not necessarily in chronological order
+   */
+  public List<Event> occurrencesStartingBetween(LocalDateTime start, LocalDateTime end) {
+    List<Event> result = new ArrayList<>();
+    OccurrenceCursor cursor = occurrenceCursor(start.toLocalDate());
+    while (cursor.next() && cursor.getStart().isBefore(end)) {
+      LocalDate date = cursor.getStart().toLocalDate();
+      if (!cursor.getStart().isBefore(start) && !exceptions.isException(date)) {
+        result.add(new OccurrenceView(this, date));
+      }
+    }
+    for (LocalDate date : exceptions.overridesStartingBetween(start, end)) {
+      result.add(new OccurrenceView(this, date));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the occurrences of this series that overlap the given range, that is, start before its
+   * end and end after its start. Unchanged occurrences never cross midnight, so only those starting
+   * from the first day of the range are visited; displaced overrides starting earlier are added
+   * from the exception table.
+   *
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return occurrence views, not necessarily in chronological order
+   */
+  public List<Event> occurrencesOverlapping(LocalDateTime start, LocalDateTime end) {
+    LocalDateTime firstDay = start.toLocalDate().atStartOfDay();
+    List<Event> result = new ArrayList<>();
+    for (Event occurrence : occurrencesStartingBetween(firstDay, end)) {
+      if (occurrence.getEffectiveEndDateTime().isAfter(start)) {
+        result.add(occurrence);
+      }
+    }
+    for (LocalDate original : exceptions.getDisplaced().keySet()) {
+      OccurrenceView view = new OccurrenceView(this, original);
+      if (view.getStartDateTime().isBefore(firstDay)
+          && view.getEffectiveEndDateTime().isAfter(start)) {
+        result.add(view);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Builds a standalone single event for one occurrence of this series.
+   *
+   * @param occurrenceStart the start of the occurrence
+   * @param occurrenceEnd   the end of the occurrence
+   * @return the occurrence as a single event, or null if the times are invalid
+   */
+  public SingleEvent createOccurrence(LocalDateTime occurrenceStart,
+      LocalDateTime occurrenceEnd) {
+    try {
+      return new SingleEvent(subject, occurrenceStart, occurrenceEnd, description, location,
+          isPublic);
+    } catch (InvalidDateException e) {
+      // In case of an invalid occurrence, skip it.
+      return null;
+    }
+  }
+
+  /**
+   * Checks whether any occurrence of this series overlaps the given time range, taking modified
+   * and cancelled occurrences into account.
+   *
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return true if an occurrence overlaps the range, false otherwise
+   */
+  public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+    return EventConflictHelper.seriesOverlapsRange(this, start, end);
+  }
+
+  /**
+   * Checks if this recurring event conflicts with another event. Single events and other series
+   * are compared arithmetically without expanding occurrences, consulting the exception table
+   * only for the dates involved; any other event has its own occurrences checked against this
+   * series the same way.
    *
    * @param other the other event to compare
    * @return true if any occurrence conflicts, false otherwise
    */
   @Override
   public boolean conflictsWith(Event other) {
-    for (SingleEvent occurrence : this.generateOccurrences()) {
-      if (other.conflictsWith(occurrence)) {
+    if (other instanceof SingleEvent || other instanceof OccurrenceView) {
+      return overlaps(other.getStartDateTime(), other.getEffectiveEndDateTime());
+    }
+    if (other instanceof RecurringEvent) {
+      return EventConflictHelper.seriesConflict(this, (RecurringEvent) other);
+    }
+    for (Event occurrence : other.getOccurrences()) {
+      if (overlaps(occurrence.getStartDateTime(), occurrence.getEffectiveEndDateTime())) {
         return true;
       }
     }
@@ -102,16 +532,41 @@ public class RecurringEvent extends AbstractEvent {
   }
 
   /**
-   * Returns the list of occurrences for this recurring event.
+   * Returns every occurrence of this recurring event as read-only {@link OccurrenceView}s. The
+   * list is cached until the series is modified. For a long series prefer the windowed queries
+   * or an {@link OccurrenceCursor}, which expand only what they visit.
    *
-   * @return a list of event occurrences
+   * @return an unmodifiable list of event occurrences
    */
   @Override
   public List<Event> getOccurrences() {
-    return new ArrayList<>(generateOccurrences());
+    return occurrenceCache.getOccurrences();
+  }
+
+  /**
+   * Counts the cached occurrence list of this series against the budget of the calendar that
+   * stores it.
+   *
+   * @param budget the calendar's occurrence cache budget
+   */
+  void useOccurrenceCacheBudget(OccurrenceCacheBudget budget) {
+    occurrenceCache.setBudget(budget);
   }
 
 
+  /**
+   * Interns the text of the series and of its modified occurrences.
+   *
+   * @param dictionary the dictionary to intern into
+   */
+  @Override
+  void internText(TextDictionary dictionary) {
+    super.internText(dictionary);
+    for (SingleEvent override : exceptions.getOverrides().values()) {
+      override.internText(dictionary);
+    }
+  }
+
   public Set<DayOfWeek> getRecurrenceDays() {
     return recurrenceDays;
   }
@@ -125,7 +580,20 @@ public class RecurringEvent extends AbstractEvent {
   }
 
   public void setRecurrenceEndDate(LocalDate newEndDate) {
+    requireMutable();
     this.recurrenceEndDate = newEndDate;
+    fireChanged();
+  }
+
+  /**
+   * Replaces the weekdays the series recurs on.
+   *
+   * @param newRecurrenceDays the days on which the event recurs
+   */
+  void setRecurrenceDays(Set<DayOfWeek> newRecurrenceDays) {
+    requireMutable();
+    this.recurrenceDays = newRecurrenceDays;
+    fireChanged();
   }
 
 
@@ -31,6 +31,17 @@ public class SingleEvent extends AbstractEvent {
     this.endDateTime = endDateTime;
   }
 
+  private SingleEvent(SingleEvent source) {
+    super(source);
+  }
+
+  @Override
+  SingleEvent frozenCopy() {
+    SingleEvent copy = new SingleEvent(this);
+    copy.freeze();
+    return copy;
+  }
+
 
   /**
    * Checks if this event conflicts with another event.
@@ -49,12 +60,9 @@ public class SingleEvent extends AbstractEvent {
       return start1.isBefore(end2) && start2.isBefore(end1);
     } else if (other instanceof RecurringEvent) {
       RecurringEvent rec = (RecurringEvent) other;
-      for (SingleEvent occurrence : rec.generateOccurrences()) {
-        if (this.conflictsWith(occurrence)) {
-          return true;
-        }
-      }
-      return false;
+      return rec.overlaps(this.startDateTime, this.getEffectiveEndDateTime());
+    } else if (other instanceof OccurrenceView) {
+      return other.conflictsWith(this);
     }
     return false;
   }
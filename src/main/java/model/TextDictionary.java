@@ -0,0 +1,89 @@
+package model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A per-calendar dictionary of event text. Subjects, descriptions and locations are passed
+ * through {@link #intern(String)} so that equal values share one string instance. Entries are
+ * held weakly and disappear once no event refers to them any more.
+ *
+ * <p>The dictionary counts its lookups and how many of them replaced a separate but equal
+ * instance, which is the number of duplicate strings the calendar no longer keeps.
+ */
+public class TextDictionary {
+
+  private final Map<String, WeakReference<String>> entries;
+  private long lookups;
+  private long hits;
+
+  /**
+   * Constructs an empty dictionary.
+   */
+  public TextDictionary() {
+    this.entries = new WeakHashMap<>();
+  }
+
+  /**
+   * Returns the canonical instance of the given text, registering it if it is new.
+   *
+   * @param text the text to intern, may be null
+   * @return an equal string shared by every caller, or null if text is null
+   */
+  public synchronized String intern(String text) {
+    if (text == null) {
+      return null;
+    }
+    lookups++;
+    WeakReference<String> ref = entries.get(text);
+    String canonical = ref == null ? null : ref.get();
+    if (canonical != null) {
+      if (canonical != text) {
+        hits++;
+      }
+      return canonical;
+    }
+    entries.put(text, new WeakReference<>(text));
+    return text;
+  }
+
+  /**
+   * Returns the number of distinct strings currently held.
+   *
+   * @return the dictionary size
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns how many strings have been passed through the dictionary.
+   *
+   * @return the lookup count
+   */
+  public synchronized long getLookupCount() {
+    return lookups;
+  }
+
+  /**
+   * Returns how many lookups replaced a separate copy with the instance already in the
+   * dictionary.
+   *
+   * @return the number of duplicates replaced by a shared instance
+   */
+  public synchronized long getSharedCount() {
+    return hits;
+  }
+
+  /**
+   * Describes the dictionary contents and savings.
+   *
+   * @return a one-line summary
+   */
+  @Override
+  public synchronized String toString() {
+    return "Text dictionary: " + entries.size() + " distinct strings, " + hits
+        + " duplicate copies shared over " + lookups + " lookups.";
+  }
+}
@@ -0,0 +1,75 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A span of time between two date-times, such as a free slot found across calendars. The start is
+ * inclusive and the end exclusive.
+ */
+public class TimeSlot {
+
+  private final LocalDateTime start;
+  private final LocalDateTime end;
+
+  /**
+   * Constructs a time slot.
+   *
+   * @param start the inclusive start
+   * @param end   the exclusive end
+   */
+  public TimeSlot(LocalDateTime start, LocalDateTime end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the start of the slot.
+   *
+   * @return the inclusive start
+   */
+  public LocalDateTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the slot.
+   *
+   * @return the exclusive end
+   */
+  public LocalDateTime getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns the length of the slot.
+   *
+   * @return the duration between start and end
+   */
+  public Duration getDuration() {
+    return Duration.between(start, end);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TimeSlot)) {
+      return false;
+    }
+    TimeSlot other = (TimeSlot) o;
+    return start.equals(other.start) && end.equals(other.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(start, end);
+  }
+
+  @Override
+  public String toString() {
+    return start + " to " + end;
+  }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A daily window of working hours, such as 09:00 to 17:00. An end of midnight stands for the end
+ * of the day, so a window may run up to but not across midnight.
+ */
+public class WorkingHours {
+
+  private final LocalTime start;
+  private final LocalTime end;
+
+  /**
+   * Constructs a daily window.
+   *
+   * @param start the time the window opens
+   * @param end   the time the window closes, or midnight for the end of the day
+   * @throws IllegalArgumentException if the window is empty or crosses midnight
+   */
+  public WorkingHours(LocalTime start, LocalTime end) {
+    if (!end.equals(LocalTime.MIDNIGHT) && !start.isBefore(end)) {
+      throw new IllegalArgumentException("Working hours must start before they end.");
+    }
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the time the window opens.
+   *
+   * @return the opening time
+   */
+  public LocalTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the time the window closes.
+   *
+   * @return the closing time, midnight meaning the end of the day
+   */
+  public LocalTime getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns the opening of the window on the given date.
+   *
+   * @param date the date
+   * @return the date-time the window opens
+   */
+  public LocalDateTime openingOn(LocalDate date) {
+    return date.atTime(start);
+  }
+
+  /**
+   * Returns the closing of the window on the given date.
+   *
+   * @param date the date
+   * @return the date-time the window closes
+   */
+  public LocalDateTime closingOn(LocalDate date) {
+    return end.equals(LocalTime.MIDNIGHT) ? date.plusDays(1).atStartOfDay() : date.atTime(end);
+  }
+}
@@ -3,9 +3,19 @@ package view;
 import controller.CalendarControllerFactory;
 import controller.IAppController;
 import controller.ICalendarControllerFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.CalendarCheckpointer;
 import model.CalendarManager;
+import model.ColumnarCalendarModel;
+import model.CommandJournal;
 import model.ICalendarManager;
 import model.IMultiCalendarService;
+import model.JournaledCalendarService;
 import model.MultiCalendarService;
 
 /**
@@ -17,12 +27,52 @@ public class CalendarApp {
   /**
    * Entry point for the Calendar application.
    *
-   * @param args command line arguments: --mode [interactive|headless] [optional command file]
+   * @param args command line arguments: --mode [interactive|headless] [optional command file],
+   *             optionally followed by --journal [file] to journal changes to the file and
+   *             replay it at startup; a checkpoint is kept next to it in [file].checkpoint so
+   *             only the changes made since the latest checkpoint are replayed; --columnar
+   *             stores each calendar's single events column-wise, which takes far less memory
+   *             for very large calendars
    */
   public static void main(String[] args) throws Exception {
 
-    ICalendarManager calendarManager = new CalendarManager();
-    IMultiCalendarService service = new MultiCalendarService(calendarManager);
+    IMultiCalendarService service;
+    int columnarFlag = Arrays.asList(args).indexOf("--columnar");
+    boolean columnar = columnarFlag >= 0;
+    if (columnar) {
+      args = withoutFlag(args, columnarFlag, 1);
+    }
+    int journalFlag = Arrays.asList(args).indexOf("--journal");
+    boolean journaled = journalFlag >= 0 && journalFlag + 1 < args.length;
+    ICalendarManager calendarManager;
+    if (columnar) {
+      calendarManager = new CalendarManager(ColumnarCalendarModel::new);
+    } else if (journaled) {
+      calendarManager = new CalendarManager(CalendarCheckpointer::newCalendarModel);
+    } else {
+      calendarManager = new CalendarManager();
+    }
+    if (journaled) {
+      Path journalPath = Paths.get(args[journalFlag + 1]);
+      Path checkpointPath = journalPath.resolveSibling(journalPath.getFileName() + ".checkpoint");
+      CommandJournal journal = new CommandJournal(journalPath);
+      CalendarCheckpointer.recover(calendarManager, journal, checkpointPath);
+      CalendarCheckpointer checkpointer =
+          new CalendarCheckpointer(calendarManager, journal, checkpointPath);
+      checkpointer.start(CalendarCheckpointer.DEFAULT_INTERVAL);
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        checkpointer.close();
+        try {
+          journal.close();
+        } catch (IOException e) {
+          System.err.println("Could not close journal: " + e.getMessage());
+        }
+      }));
+      service = new JournaledCalendarService(calendarManager, journal);
+      args = withoutFlag(args, journalFlag, 2);
+    } else {
+      service = new MultiCalendarService(calendarManager);
+    }
 
     ICalendarView view = new CalendarGUI();
 
@@ -31,5 +81,13 @@ public class CalendarApp {
 
     controller.start();
   }
-}
 
+  /**
+   * Returns the arguments without a flag and the values following it.
+   */
+  private static String[] withoutFlag(String[] args, int flag, int length) {
+    List<String> rest = new ArrayList<>(Arrays.asList(args));
+    rest.subList(flag, flag + length).clear();
+    return rest.toArray(new String[0]);
+  }
+}
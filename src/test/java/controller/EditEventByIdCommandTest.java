@@ -0,0 +1,32 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import model.CalendarModel;
+import model.CalendarService;
+import model.ICalendarService;
+import org.junit.Test;
+
+/**
+ * Unit tests for the EditEventByIdCommand class.
+ */
+public class EditEventByIdCommandTest {
+
+  @Test
+  public void testEditsEventById() throws Exception {
+    ICalendarService service = new CalendarService(new CalendarModel());
+    service.addSingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true, false);
+
+    String result = new EditEventByIdCommand(service, 1, "subject", "Review").execute();
+    assertEquals("Edited event 1: subject changed to Review", result);
+    assertEquals("Review", service.getById(1).getSubject());
+  }
+
+  @Test(expected = Exception.class)
+  public void testUnknownIdFails() throws Exception {
+    ICalendarService service = new CalendarService(new CalendarModel());
+    new EditEventByIdCommand(service, 5, "subject", "Review").execute();
+  }
+}
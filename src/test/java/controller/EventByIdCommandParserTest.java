@@ -0,0 +1,41 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import model.CalendarModel;
+import model.CalendarService;
+import model.ICalendarService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test Cases for {@link EventByIdCommandParser}.
+ */
+public class EventByIdCommandParserTest {
+
+  private EventByIdCommandParser parser;
+
+  @Before
+  public void setUp() {
+    ICalendarService service = new CalendarService(new CalendarModel());
+    parser = new EventByIdCommandParser(service);
+  }
+
+  @Test
+  public void testParsesEachAction() {
+    assertTrue(parser.parse("show event id 3".split(" ")) instanceof ShowEventByIdCommand);
+    assertTrue(parser.parse("remove event id 3".split(" ")) instanceof RemoveEventByIdCommand);
+    assertTrue(parser.parse("edit event id 3 location with Lab".split(" "))
+        instanceof EditEventByIdCommand);
+  }
+
+  @Test
+  public void testRejectsMalformedInput() throws Exception {
+    assertEquals("Invalid event id command.",
+        parser.parse("edit event id 3 location Lab".split(" ")).execute());
+    assertEquals("Invalid event id command.", parser.parse("show event 3".split(" ")).execute());
+    assertEquals("Error processing event id command: invalid id x",
+        parser.parse("show event id x".split(" ")).execute());
+  }
+}
@@ -87,4 +87,19 @@ public class ExportCommandParserTest {
     String result = cmd.execute();
     assertEquals("Invalid export command.", result);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testExportUntilDate() throws Exception {
+    String[] tokens = "export cal test.csv until 2025-03-31".split("\\s+");
+    Command cmd = parser.parse(tokens);
+    assertNotNull(cmd);
+    assertTrue(cmd.execute().startsWith("Calendar exported to:"));
+  }
+
+  @Test
+  public void testExportUntilInvalidDate() throws Exception {
+    String[] tokens = "export cal test.csv until tomorrow".split("\\s+");
+    Command cmd = parser.parse(tokens);
+    assertTrue(cmd.execute().startsWith("Error processing export command:"));
+  }
+}
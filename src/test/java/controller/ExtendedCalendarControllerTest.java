@@ -49,4 +49,22 @@ public class ExtendedCalendarControllerTest {
     String result = controller.processCommand("print events on not-a-date");
     assertTrue(result.toLowerCase().contains("invalid date format"));
   }
+
+  @Test
+  public void testStreamingCommandWritesToOutput() {
+    CalendarManager manager = new CalendarManager();
+    IMultiCalendarService service = new MultiCalendarService(manager);
+    ExtendedCalendarController controller = new ExtendedCalendarController(service);
+    controller.processCommand("create calendar --name Work --timezone UTC");
+    controller.processCommand("use calendar --name Work");
+    controller.processCommand("create event Review from 2025-03-01T09:00 to 2025-03-01T10:00");
+    StringBuilder out = new StringBuilder();
+    String result = controller.processCommand(
+        "print events from 2025-03-01T00:00 to 2025-03-02T00:00", out);
+    assertEquals("", result);
+    assertEquals(controller.processCommand(
+        "print events from 2025-03-01T00:00 to 2025-03-02T00:00"), out.toString());
+    assertTrue(out.toString().contains("Review"));
+    assertEquals("exit", controller.processCommand("exit", out));
+  }
 }
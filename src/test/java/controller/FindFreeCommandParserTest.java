@@ -0,0 +1,80 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDateTime;
+import model.CalendarContext;
+import model.CalendarManager;
+import model.MultiCalendarService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the FindFreeCommandParser class.
+ */
+public class FindFreeCommandParserTest {
+
+  private FindFreeCommandParser parser;
+
+  @Before
+  public void setUp() throws Exception {
+    CalendarContext work = new CalendarContext("Work", "UTC");
+    work.getCalendarService().addSingleEvent("Meeting", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, false);
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar(work);
+    manager.addCalendar(new CalendarContext("Home", "UTC"));
+    manager.setCurrentCalendar("Work");
+    parser = new FindFreeCommandParser(new MultiCalendarService(manager));
+  }
+
+  private static String[] tokens(String line) {
+    return line.split("\\s+");
+  }
+
+  @Test
+  public void testParsesAllOptions() throws Exception {
+    Command command = parser.parse(tokens("find free from 2025-03-03T00:00 to 2025-03-04T00:00"
+        + " for 60 between 08:00 and 12:00 in Work,Home"));
+    assertTrue(command instanceof FindFreeCommand);
+    assertEquals("Free: 2025-03-03T08:00 to 2025-03-03T09:00 (60 minutes)\n"
+        + "Free: 2025-03-03T10:00 to 2025-03-03T12:00 (120 minutes)\n", command.execute());
+  }
+
+  @Test
+  public void testRangeOnly() {
+    assertTrue(parser.parse(tokens("find free from 2025-03-03 to 2025-03-04"))
+        instanceof FindFreeCommand);
+  }
+
+  @Test
+  public void testInvalidSyntax() throws Exception {
+    Command command = parser.parse(tokens("find free 2025-03-03 to 2025-03-04"));
+    assertFalse(command instanceof FindFreeCommand);
+    assertEquals("Invalid find free command.", command.execute());
+    command = parser.parse(tokens("find free from 2025-03-03 to 2025-03-04 for"));
+    assertEquals("Invalid find free command.", command.execute());
+  }
+
+  @Test
+  public void testInvalidValues() throws Exception {
+    assertTrue(parser.parse(tokens("find free from 2025-03-03 to 2025-03-04 for ten"))
+        .execute().startsWith("Error processing find free command"));
+    assertTrue(parser.parse(tokens("find free from 2025-03-03 to 2025-03-04"
+        + " between 17:00 and 09:00")).execute().startsWith("Error processing find free command"));
+  }
+
+  @Test
+  public void testUnknownCalendarIsReported() throws Exception {
+    Command command = parser.parse(tokens("find free from 2025-03-03 to 2025-03-04 in Nope"));
+    try {
+      command.execute();
+      fail("Expected an unknown calendar");
+    } catch (Exception e) {
+      assertEquals("Calendar not found: Nope", e.getMessage());
+    }
+  }
+}
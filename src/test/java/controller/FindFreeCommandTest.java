@@ -0,0 +1,62 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import model.CalendarContext;
+import model.CalendarManager;
+import model.IMultiCalendarService;
+import model.MultiCalendarService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the FindFreeCommand class.
+ */
+public class FindFreeCommandTest {
+
+  private IMultiCalendarService service;
+
+  @Before
+  public void setUp() throws Exception {
+    CalendarContext work = new CalendarContext("Work", "UTC");
+    CalendarContext home = new CalendarContext("Home", "UTC");
+    work.getCalendarService().addSingleEvent("Meeting", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, false);
+    home.getCalendarService().addSingleEvent("Dentist", LocalDateTime.of(2025, 3, 3, 11, 0),
+        LocalDateTime.of(2025, 3, 3, 11, 45), "", "", true, false);
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar(work);
+    manager.addCalendar(home);
+    manager.setCurrentCalendar("Work");
+    service = new MultiCalendarService(manager);
+  }
+
+  @Test
+  public void testListsSlotsAcrossCalendars() throws Exception {
+    FindFreeCommand command = new FindFreeCommand(service, Arrays.asList("Work", "Home"),
+        LocalDateTime.of(2025, 3, 3, 8, 0), LocalDateTime.of(2025, 3, 3, 12, 0), null, null);
+    assertEquals("Free: 2025-03-03T08:00 to 2025-03-03T09:00 (60 minutes)\n"
+        + "Free: 2025-03-03T10:00 to 2025-03-03T11:00 (60 minutes)\n"
+        + "Free: 2025-03-03T11:45 to 2025-03-03T12:00 (15 minutes)\n", command.execute());
+  }
+
+  @Test
+  public void testDefaultsToCurrentCalendar() throws Exception {
+    FindFreeCommand command = new FindFreeCommand(service, Collections.emptyList(),
+        LocalDateTime.of(2025, 3, 3, 8, 0), LocalDateTime.of(2025, 3, 3, 12, 0),
+        Duration.ofMinutes(90), null);
+    assertEquals("Free: 2025-03-03T10:00 to 2025-03-03T12:00 (120 minutes)\n",
+        command.execute());
+  }
+
+  @Test
+  public void testNoSlots() throws Exception {
+    FindFreeCommand command = new FindFreeCommand(service, Collections.singletonList("Work"),
+        LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 3, 10, 0), null, null);
+    assertEquals("No free slots found.", command.execute());
+  }
+}
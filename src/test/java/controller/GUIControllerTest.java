@@ -227,4 +227,18 @@ public class GUIControllerTest {
   }
 
 
-}
\ No newline at end of file
+
+  @Test
+  public void editAndRemoveEventById() {
+    controller.createSingleEvent("Standup", "2025-04-10T09:00", "2025-04-10T09:15", "", "",
+        true, false);
+    String listing = controller.printEventsOn(LocalDate.of(2025, 4, 10));
+    assertTrue(listing.contains("[id 1]"));
+
+    assertEquals("Edited event 1: location changed to Lab",
+        controller.editEventById("1", "location", "Lab"));
+    assertTrue(controller.printEventsOn(LocalDate.of(2025, 4, 10)).contains("Lab"));
+    assertEquals("Removed event 1.", controller.removeEventById("1"));
+    assertEquals("No event found with id 1.", controller.removeEventById("1"));
+  }
+}
@@ -0,0 +1,33 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import model.CalendarManager;
+import model.IMultiCalendarService;
+import model.MultiCalendarService;
+import org.junit.Test;
+
+/**
+ * Test Cases for {@link GUIEventByIdParser}.
+ */
+public class GUIEventByIdParserTest {
+
+  private final IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+  private final GUIEventByIdParser parser = new GUIEventByIdParser(service);
+
+  @Test
+  public void testValidInputBuildsCommands() {
+    assertTrue(parser.parseEdit("4", "location", "Lab") instanceof EditEventByIdCommand);
+    assertTrue(parser.parseRemove(" 4 ") instanceof RemoveEventByIdCommand);
+  }
+
+  @Test
+  public void testInvalidInputReportsErrors() throws Exception {
+    assertEquals("Error: Invalid event id: abc",
+        parser.parseEdit("abc", "location", "Lab").execute());
+    assertEquals("Error: Property cannot be empty.",
+        parser.parseEdit("4", " ", "Lab").execute());
+    assertEquals("Error: Invalid event id: null", parser.parseRemove(null).execute());
+  }
+}
@@ -0,0 +1,82 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import model.CalendarContext;
+import model.CalendarManager;
+import model.MultiCalendarService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the PrintEventsAcrossCommandParser class.
+ */
+public class PrintEventsAcrossCommandParserTest {
+
+  private PrintEventsAcrossCommandParser parser;
+
+  @Before
+  public void setUp() throws Exception {
+    CalendarContext work = new CalendarContext("Work", "UTC");
+    work.getCalendarService().addSingleEvent("Meeting", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, false);
+    CalendarContext home = new CalendarContext("Home", "UTC");
+    home.getCalendarService().addSingleEvent("Gym", LocalDateTime.of(2025, 3, 3, 7, 0),
+        LocalDateTime.of(2025, 3, 3, 8, 0), "", "", true, false);
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar(work);
+    manager.addCalendar(home);
+    manager.setCurrentCalendar("Work");
+    parser = new PrintEventsAcrossCommandParser(new MultiCalendarService(manager));
+  }
+
+  private static String[] tokens(String line) {
+    return line.split("\\s+");
+  }
+
+  @Test
+  public void testOnDateAcross() throws Exception {
+    Command command = parser.parse(tokens("print events on 2025-03-03 across Work,Home"));
+    assertTrue(command instanceof PrintEventsAcrossCommand);
+    assertEquals("Events from 2025-03-03T00:00 to 2025-03-04T00:00 across Work, Home:\n"
+        + "- Gym at 2025-03-03T07:00 (Home)\n"
+        + "- Meeting at 2025-03-03T09:00 (Work)\n", command.execute());
+  }
+
+  @Test
+  public void testOnDateAcrossWithIds() throws Exception {
+    Command command = parser.parse(tokens("print events on 2025-03-03 across Work,Home with ids"));
+    assertTrue(command instanceof PrintEventsAcrossCommand);
+    assertTrue(command.execute().endsWith("- Meeting at 2025-03-03T09:00 (Work) [id 1]\n"));
+  }
+
+  @Test
+  public void testWithIdsWithoutAcrossUsesCurrentCalendar() throws Exception {
+    Command command = parser.parse(tokens("print events on 2025-03-03 with ids"));
+    assertTrue(command instanceof PrintEventsCommand);
+    assertTrue(command.execute().contains("Meeting at 2025-03-03T09:00 [id 1]"));
+  }
+
+  @Test
+  public void testRangeAcross() {
+    assertTrue(parser.parse(tokens("print events from 2025-03-03T00:00 to 2025-03-03T08:00"
+        + " across Home")) instanceof PrintEventsAcrossCommand);
+  }
+
+  @Test
+  public void testWithoutAcrossUsesCurrentCalendar() throws Exception {
+    Command command = parser.parse(tokens("print events on 2025-03-03"));
+    assertTrue(command instanceof PrintEventsCommand);
+    assertTrue(command.execute().contains("Meeting"));
+  }
+
+  @Test
+  public void testInvalidInput() throws Exception {
+    assertEquals("Invalid print command.",
+        parser.parse(tokens("print events at 2025-03-03 across Home")).execute());
+    assertEquals("Invalid date format. Expected 'YYYY-MM-DD'",
+        parser.parse(tokens("print events on 03/03/2025 across Home")).execute());
+  }
+}
@@ -0,0 +1,56 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import model.CalendarContext;
+import model.CalendarManager;
+import model.IMultiCalendarService;
+import model.MultiCalendarService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the PrintEventsAcrossCommand class.
+ */
+public class PrintEventsAcrossCommandTest {
+
+  private IMultiCalendarService service;
+
+  @Before
+  public void setUp() throws Exception {
+    CalendarContext work = new CalendarContext("Work", "UTC");
+    CalendarContext home = new CalendarContext("Home", "UTC");
+    work.getCalendarService().addSingleEvent("Meeting", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "Room 1", true, false);
+    home.getCalendarService().addSingleEvent("Dentist", LocalDateTime.of(2025, 3, 3, 8, 0),
+        LocalDateTime.of(2025, 3, 3, 8, 45), "", "", true, false);
+    CalendarManager manager = new CalendarManager();
+    manager.addCalendar(work);
+    manager.addCalendar(home);
+    manager.setCurrentCalendar("Work");
+    service = new MultiCalendarService(manager);
+  }
+
+  @Test
+  public void testPrintsMergedAgenda() throws Exception {
+    PrintEventsAcrossCommand command = new PrintEventsAcrossCommand(service,
+        new LinkedHashSet<>(Arrays.asList("Work", "Home")), LocalDateTime.of(2025, 3, 3, 0, 0),
+        LocalDateTime.of(2025, 3, 4, 0, 0));
+    assertEquals("Events from 2025-03-03T00:00 to 2025-03-04T00:00 across Work, Home:\n"
+        + "- Dentist at 2025-03-03T08:00 (Home)\n"
+        + "- Meeting at Room 1 2025-03-03T09:00 (Work)\n", command.execute());
+  }
+
+  @Test
+  public void testPrintsIdsWhenAsked() throws Exception {
+    PrintEventsAcrossCommand command = new PrintEventsAcrossCommand(service,
+        new LinkedHashSet<>(Arrays.asList("Work", "Home")), LocalDateTime.of(2025, 3, 3, 0, 0),
+        LocalDateTime.of(2025, 3, 4, 0, 0), true);
+    assertEquals("Events from 2025-03-03T00:00 to 2025-03-04T00:00 across Work, Home:\n"
+        + "- Dentist at 2025-03-03T08:00 (Home) [id 1]\n"
+        + "- Meeting at Room 1 2025-03-03T09:00 (Work) [id 1]\n", command.execute());
+  }
+}
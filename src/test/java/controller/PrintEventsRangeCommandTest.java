@@ -1,5 +1,6 @@
 package controller;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDateTime;
@@ -39,4 +40,16 @@ public class PrintEventsRangeCommandTest {
     String output = cmd.execute();
     assertTrue(output.contains("Meeting"));
   }
+
+  /**
+   * Tests that the command writes the same listing to an output when streamed.
+   */
+  @Test
+  public void testExecuteToStreamsTheListing() throws Exception {
+    PrintEventsRangeCommand cmd = new PrintEventsRangeCommand(calendar, "2025-03-01T00:00",
+        "2025-03-02T00:00");
+    StringBuilder out = new StringBuilder();
+    cmd.executeTo(out);
+    assertEquals(cmd.execute(), out.toString());
+  }
 }
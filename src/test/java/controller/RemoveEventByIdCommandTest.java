@@ -0,0 +1,27 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import model.CalendarModel;
+import model.CalendarService;
+import model.ICalendarService;
+import org.junit.Test;
+
+/**
+ * Unit tests for the RemoveEventByIdCommand class.
+ */
+public class RemoveEventByIdCommandTest {
+
+  @Test
+  public void testRemovesOnce() throws Exception {
+    ICalendarService service = new CalendarService(new CalendarModel());
+    service.addSingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true, false);
+
+    assertEquals("Removed event 1.", new RemoveEventByIdCommand(service, 1).execute());
+    assertTrue(service.getAllEvents().isEmpty());
+    assertEquals("No event found with id 1.", new RemoveEventByIdCommand(service, 1).execute());
+  }
+}
@@ -0,0 +1,42 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import model.CalendarManager;
+import model.CalendarModel;
+import model.CalendarService;
+import model.ICalendarService;
+import model.IMultiCalendarService;
+import model.MultiCalendarService;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ShowDictionaryCommand class.
+ */
+public class ShowDictionaryCommandTest {
+
+  /**
+   * Tests that the summary counts the duplicate text shared by the calendar's events.
+   */
+  @Test
+  public void testReportsSharedDuplicates() throws Exception {
+    ICalendarService calendar = new CalendarService(new CalendarModel());
+    for (int day = 1; day <= 3; day++) {
+      calendar.addSingleEvent(new String("Standup"), LocalDateTime.of(2025, 3, day, 9, 0),
+          LocalDateTime.of(2025, 3, day, 9, 15), "", new String("Room"), true, false);
+    }
+    assertEquals(calendar.getTextDictionary().toString(),
+        new ShowDictionaryCommand(calendar).execute());
+    assertEquals(4, calendar.getTextDictionary().getSharedCount());
+  }
+
+  /**
+   * Tests the message when no calendar is in use.
+   */
+  @Test
+  public void testNoCalendarInUse() {
+    IMultiCalendarService service = new MultiCalendarService(new CalendarManager());
+    assertEquals("No calendar in use.", new ShowDictionaryCommand(service).execute());
+  }
+}
@@ -0,0 +1,26 @@
+package controller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import model.CalendarModel;
+import model.CalendarService;
+import model.ICalendarService;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ShowEventByIdCommand class.
+ */
+public class ShowEventByIdCommandTest {
+
+  @Test
+  public void testShowsStoredEventOrReportsMissingId() throws Exception {
+    ICalendarService service = new CalendarService(new CalendarModel());
+    service.addSingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "Room 1", true, false);
+
+    assertEquals("Event 1: Meeting from 2025-03-01T09:00 to 2025-03-01T10:00 at Room 1",
+        new ShowEventByIdCommand(service, 1).execute());
+    assertEquals("No event found with id 2.", new ShowEventByIdCommand(service, 2).execute());
+  }
+}
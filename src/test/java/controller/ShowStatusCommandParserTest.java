@@ -37,6 +37,14 @@ public class ShowStatusCommandParserTest {
   }
 
 
+  @Test
+  public void testShowDictionaryCommand() throws Exception {
+    Command cmd = parser.parse("show dictionary".split("\\s+"));
+    assertTrue(cmd instanceof ShowDictionaryCommand);
+    assertTrue(cmd.execute().startsWith("Text dictionary: "));
+  }
+
+
   @Test
   public void testInvalidShowCommandTooFewTokens() throws Exception {
     String[] tokens = "show status".split("\\s+");
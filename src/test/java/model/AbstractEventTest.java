@@ -152,4 +152,33 @@ public class AbstractEventTest {
       assertEquals("End date & time must be after start date & time.", e.getMessage());
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testSettersBumpVersionAndNotifyListeners() throws InvalidDateException {
+    SingleEvent event = new SingleEvent("Versioned", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    int[] notifications = new int[1];
+    event.addChangeListener(e -> notifications[0]++);
+    long before = event.getVersion();
+
+    event.setSubject("Renamed");
+    event.setLocation("Room");
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 1, 11, 0));
+
+    assertEquals(before + 3, event.getVersion());
+    assertEquals(3, notifications[0]);
+  }
+
+  @Test
+  public void testFailedSetterDoesNotBumpVersion() throws InvalidDateException {
+    SingleEvent event = new SingleEvent("Versioned", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    long before = event.getVersion();
+    try {
+      event.setEndDateTime(LocalDateTime.of(2025, 3, 1, 8, 0));
+      fail("Expected InvalidDateException not thrown.");
+    } catch (InvalidDateException e) {
+      assertEquals(before, event.getVersion());
+    }
+  }
+}
@@ -10,9 +10,14 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -136,4 +141,50 @@ public class CSVExporterTest {
     assertTrue("File path should contain the test file name.", filePath.contains(testFile));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testExportAppliesOccurrenceExceptions() throws Exception {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    RecurringEvent recurring = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "Room", true, days, 3, null);
+    calendar.addEvent(recurring, false);
+    recurring.cancelOccurrence(LocalDate.of(2025, 3, 10));
+    recurring.overrideOccurrence(LocalDate.of(2025, 3, 17), new SingleEvent("Standup",
+        LocalDateTime.of(2025, 3, 17, 10, 0), LocalDateTime.of(2025, 3, 17, 10, 15), "", "Lab",
+        true));
+
+    String filePath = new CSVExporter().export(calendar, testFile);
+    try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+      reader.readLine();
+      assertTrue(reader.readLine().startsWith("Standup,2025-03-03,09:00"));
+      assertEquals("Standup,2025-03-17,10:00,2025-03-17,10:15,false,,Lab,false",
+          reader.readLine());
+      assertNull(reader.readLine());
+    }
+  }
+
+  @Test
+  public void testExportUntilStopsLongSeriesAtBound() throws Exception {
+    RecurringEvent daily = new RecurringEvent("Daily", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true, EnumSet.allOf(DayOfWeek.class), -1,
+        LocalDate.of(2099, 12, 31));
+    calendar.addEvent(daily, false);
+    daily.overrideOccurrence(LocalDate.of(2025, 3, 20), new SingleEvent("Daily",
+        LocalDateTime.of(2025, 3, 4, 13, 0), LocalDateTime.of(2025, 3, 4, 13, 15), "", "", true));
+    daily.overrideOccurrence(LocalDate.of(2025, 3, 4), new SingleEvent("Daily",
+        LocalDateTime.of(2025, 3, 9, 13, 0), LocalDateTime.of(2025, 3, 9, 13, 15), "", "", true));
+    calendar.addEvent(new SingleEvent("Later", LocalDateTime.of(2025, 3, 6, 9, 30),
+        LocalDateTime.of(2025, 3, 6, 10, 0), "", "", true), false);
+
+    String filePath = new CSVExporter().export(calendar, testFile, LocalDate.of(2025, 3, 5));
+    List<String> rows;
+    try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+      reader.readLine();
+      rows = reader.lines().collect(Collectors.toList());
+    }
+    assertEquals(Arrays.asList(
+        "Daily,2025-03-03,09:00,2025-03-03,09:15,false,,,false",
+        "Daily,2025-03-05,09:00,2025-03-05,09:15,false,,,false",
+        "Daily,2025-03-04,13:00,2025-03-04,13:15,false,,,false"), rows);
+  }
+}
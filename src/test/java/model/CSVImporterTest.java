@@ -1,10 +1,12 @@
 package model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileWriter;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -94,4 +96,43 @@ public class CSVImporterTest {
     String result = importer.importData(model, tempFile.getAbsolutePath());
     assertEquals("Imported 1 events.\n1 errors:\nLine 3: Invalid number of fields.\n", result);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void importSharesRepeatedText() throws Exception {
+    CSVImporter importer = new CSVImporter();
+    File tempFile = File.createTempFile("repeatedText", ".csv");
+    FileWriter writer = new FileWriter(tempFile);
+    writer.write(
+        "Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,Private\n");
+    writer.write("Meeting,2025-04-10,10:00,2025-04-10,11:00,false,Weekly sync,Office,false\n");
+    writer.write("Meeting,2025-04-11,10:00,2025-04-11,11:00,false,Weekly sync,Office,false\n");
+    writer.close();
+    ICalendarModel model = manager.getCalendar("DUMMY").getCalendarModel();
+    importer.importData(model, tempFile.getAbsolutePath());
+
+    List<Event> events = model.getAllEvents();
+    assertSame(events.get(0).getLocation(), events.get(1).getLocation());
+    assertSame(events.get(0).getDescription(), events.get(1).getDescription());
+    assertEquals(3, model.getTextDictionary().size());
+    assertEquals(3, model.getTextDictionary().getSharedCount());
+  }
+
+  @Test
+  public void importReportsConflictsInLineOrder() throws Exception {
+    CSVImporter importer = new CSVImporter();
+    File tempFile = File.createTempFile("conflicts", ".csv");
+    FileWriter writer = new FileWriter(tempFile);
+    writer.write(
+        "Subject,Start Date,Start Time,End Date,End Time,AllDay,Description,Location,Private\n");
+    writer.write("Late,2025-04-10,10:00,2025-04-10,12:00,false,,Office,false\n");
+    writer.write("Early,2025-04-10,09:00,2025-04-10,11:00,false,,Office,false\n");
+    writer.write("Broken,2025-04-10\n");
+    writer.write("After,2025-04-10,12:00,2025-04-10,13:00,false,,Office,false\n");
+    writer.close();
+    ICalendarModel model = manager.getCalendar("DUMMY").getCalendarModel();
+    String result = importer.importData(model, tempFile.getAbsolutePath());
+    assertEquals("Imported 2 events.\n2 errors:\n"
+        + "Line 3: Event 'Early' conflicts with existing event 'Late'.\n"
+        + "Line 4: Invalid number of fields.\n", result);
+  }
+}
@@ -0,0 +1,170 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link CalendarCheckpoint}.
+ */
+public class CalendarCheckpointTest {
+
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+  private Path journalFile;
+  private Path checkpointFile;
+  private ICalendarManager manager;
+  private CommandJournal journal;
+  private JournaledCalendarService service;
+
+  @Before
+  public void setUp() throws Exception {
+    journalFile = Files.createTempFile("calendar", ".journal");
+    Files.delete(journalFile);
+    checkpointFile = Files.createTempFile("calendar", ".checkpoint");
+    Files.delete(checkpointFile);
+    manager = new CalendarManager();
+    journal = new CommandJournal(journalFile, 1);
+    service = new JournaledCalendarService(manager, journal);
+    service.createCalendar("Work", "America/New_York");
+    service.createCalendar("Home", "Europe/London");
+    service.useCalendar("Work");
+    service.addSingleEvent("Review", MONDAY.plusHours(3), MONDAY.plusHours(4), "notes", "Lab",
+        true, true);
+    service.addRecurringEvent("Standup", MONDAY, MONDAY.plusMinutes(15), "", "Room", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 8, null, true);
+    service.editEvent("Standup", MONDAY.plusDays(7), "location", "Hall",
+        ICalendarService.EditMode.SINGLE);
+    service.addSingleEvent("Scratch", MONDAY.plusDays(1), MONDAY.plusDays(1).plusHours(1), "",
+        "", true, true);
+    service.removeById(service.getEventsBySubject("Scratch").get(0).getId());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    journal.close();
+    Files.deleteIfExists(journalFile);
+    Files.deleteIfExists(checkpointFile);
+  }
+
+  private static List<String> describe(ICalendarManager calendars, String name) {
+    ICalendarContext calendar = calendars.getCalendar(name);
+    List<String> lines = new ArrayList<>();
+    lines.add(name + " " + calendar.getTimezone() + " "
+        + calendar.getCalendarModel().getNextId());
+    for (Event event : calendar.getCalendarService().getAllEvents()) {
+      lines.add(event.getId() + " " + event.getSubject() + " " + event.getStartDateTime() + " "
+          + event.getEffectiveEndDateTime() + " " + event.getLocation() + " "
+          + event.isAutoDecline());
+      for (Event occurrence : event.getOccurrences()) {
+        lines.add("  " + occurrence.getStartDateTime() + " " + occurrence.getLocation());
+      }
+    }
+    return lines;
+  }
+
+  @Test
+  public void testLoadRestoresCalendarsIdsAndExceptions() throws Exception {
+    CalendarCheckpoint checkpoint = CalendarCheckpoint.capture(manager, journal);
+    assertEquals(journal.getPosition(), checkpoint.getPosition());
+    checkpoint.write(checkpointFile);
+
+    ICalendarManager loaded = new CalendarManager();
+    assertEquals(checkpoint.getPosition(), CalendarCheckpoint.load(checkpointFile, loaded));
+    assertEquals(describe(manager, "Work"), describe(loaded, "Work"));
+    assertEquals(describe(manager, "Home"), describe(loaded, "Home"));
+    RecurringEvent standup = (RecurringEvent) loaded.getCalendar("Work").getCalendarService()
+        .getEventsBySubject("Standup").get(0);
+    assertEquals(1, standup.getExceptions().size());
+  }
+
+  @Test
+  public void testCaptureIsAPointInTimeView() throws Exception {
+    CalendarCheckpoint checkpoint = CalendarCheckpoint.capture(manager, journal);
+    service.addSingleEvent("Later", MONDAY.plusDays(1), MONDAY.plusDays(1).plusHours(1), "", "",
+        true, true);
+    service.editCalendar("Home", "name", "House");
+    checkpoint.write(checkpointFile);
+
+    ICalendarManager loaded = new CalendarManager();
+    CalendarCheckpoint.load(checkpointFile, loaded);
+    assertEquals(2, loaded.getCalendar("Work").getCalendarService().getAllEvents().size());
+    assertNull(loaded.getCalendar("House"));
+    assertEquals(0, loaded.getCalendar("Home").getCalendarService().getAllEvents().size());
+  }
+
+  @Test
+  public void testReplayingTheTailMatchesTheLiveCalendars() throws Exception {
+    CalendarCheckpoint.capture(manager, journal).write(checkpointFile);
+    service.addSingleEvent("Later", MONDAY.plusDays(1), MONDAY.plusDays(1).plusHours(1), "", "",
+        true, true);
+    long later = service.getEventsBySubject("Later").get(0).getId();
+    service.editById(later, "subject", "Renamed");
+
+    ICalendarManager loaded = new CalendarManager();
+    long position = CalendarCheckpoint.load(checkpointFile, loaded);
+    assertEquals(2, JournaledCalendarService.recover(loaded, journal, position));
+    assertEquals(describe(manager, "Work"), describe(loaded, "Work"));
+  }
+
+  @Test
+  public void testCalendarNameLongerThanModifiedUtf8LimitIsKept() throws Exception {
+    StringBuilder name = new StringBuilder();
+    while (name.length() <= 70_000) {
+      name.append("Team calendar ");
+    }
+    service.editCalendar("Home", "name", name.toString());
+    CalendarCheckpoint.capture(manager, journal).write(checkpointFile);
+
+    ICalendarManager loaded = new CalendarManager();
+    CalendarCheckpoint.load(checkpointFile, loaded);
+    assertEquals(describe(manager, name.toString()), describe(loaded, name.toString()));
+  }
+
+  @Test
+  public void testRejectsCorruptCheckpoint() throws Exception {
+    CalendarCheckpoint.capture(manager, journal).write(checkpointFile);
+    try (RandomAccessFile raw = new RandomAccessFile(checkpointFile.toFile(), "rw")) {
+      raw.seek(raw.length() / 2);
+      int value = raw.read();
+      raw.seek(raw.length() / 2);
+      raw.write(value ^ 0x40);
+    }
+    ICalendarManager loaded = new CalendarManager();
+    try {
+      CalendarCheckpoint.load(checkpointFile, loaded);
+      fail("A corrupt checkpoint should be rejected");
+    } catch (IOException expected) {
+      // expected
+    }
+    assertEquals(0, loaded.getCalendars().size());
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsTruncatedCheckpoint() throws Exception {
+    CalendarCheckpoint.capture(manager, journal).write(checkpointFile);
+    try (RandomAccessFile raw = new RandomAccessFile(checkpointFile.toFile(), "rw")) {
+      raw.setLength(raw.length() - 6);
+    }
+    CalendarCheckpoint.load(checkpointFile, new CalendarManager());
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsCalendarThatAlreadyExists() throws Exception {
+    CalendarCheckpoint.capture(manager, journal).write(checkpointFile);
+    CalendarCheckpoint.load(checkpointFile, manager);
+  }
+}
@@ -0,0 +1,188 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link CalendarCheckpointer}.
+ */
+public class CalendarCheckpointerTest {
+
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+  private Path journalFile;
+  private Path checkpointFile;
+  private ICalendarManager manager;
+  private CommandJournal journal;
+  private JournaledCalendarService service;
+  private CalendarCheckpointer checkpointer;
+
+  @Before
+  public void setUp() throws Exception {
+    journalFile = Files.createTempFile("calendar", ".journal");
+    Files.delete(journalFile);
+    checkpointFile = journalFile.resolveSibling(journalFile.getFileName() + ".checkpoint");
+    manager = new CalendarManager(CalendarCheckpointer::newCalendarModel);
+    journal = new CommandJournal(journalFile, 1);
+    service = new JournaledCalendarService(manager, journal);
+    checkpointer = new CalendarCheckpointer(manager, journal, checkpointFile);
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    checkpointer.close();
+    journal.close();
+    Files.deleteIfExists(journalFile);
+    Files.deleteIfExists(checkpointFile);
+  }
+
+  private void addEvents(int count, int from) throws Exception {
+    for (int i = from; i < from + count; i++) {
+      service.addSingleEvent("E" + i, MONDAY.plusHours(i), MONDAY.plusHours(i).plusMinutes(30),
+          "", "", true, true);
+    }
+  }
+
+  /**
+   * Closes the journal, as a crash would leave it, and recovers a fresh manager from the
+   * checkpoint and the journal.
+   */
+  private ICalendarManager restart(int expectedReplayed) throws IOException {
+    journal.close();
+    ICalendarManager recovered = new CalendarManager(CalendarCheckpointer::newCalendarModel);
+    journal = new CommandJournal(journalFile, 1);
+    assertEquals(expectedReplayed,
+        CalendarCheckpointer.recover(recovered, journal, checkpointFile));
+    return recovered;
+  }
+
+  private static List<String> describe(ICalendarManager calendars, String name) {
+    List<String> lines = new ArrayList<>();
+    for (Event event : calendars.getCalendar(name).getCalendarService().getAllEvents()) {
+      lines.add(event.getId() + " " + event.getSubject() + " " + event.getStartDateTime());
+    }
+    return lines;
+  }
+
+  @Test
+  public void testCheckpointCompactsTheJournal() throws Exception {
+    addEvents(50, 0);
+    long before = Files.size(journalFile);
+    assertTrue(checkpointer.checkpoint());
+    assertTrue(Files.size(journalFile) < before / 10);
+    assertEquals(journal.getPosition(), journal.getStartPosition());
+    assertFalse(checkpointer.checkpoint());
+  }
+
+  @Test
+  public void testRestartReplaysOnlyTheTail() throws Exception {
+    addEvents(50, 0);
+    checkpointer.checkpoint();
+    addEvents(3, 50);
+    service.removeById(service.getEventsBySubject("E10").get(0).getId());
+
+    ICalendarManager recovered = restart(4);
+    assertEquals(describe(manager, "Work"), describe(recovered, "Work"));
+  }
+
+  @Test
+  public void testCrashBeforeCompactionStillRecovers() throws Exception {
+    addEvents(5, 0);
+    CalendarCheckpoint.capture(manager, journal).write(checkpointFile);
+    addEvents(2, 5);
+
+    ICalendarManager recovered = restart(2);
+    assertEquals(describe(manager, "Work"), describe(recovered, "Work"));
+  }
+
+  @Test
+  public void testRecoverWithoutCheckpointReplaysTheWholeJournal() throws Exception {
+    addEvents(3, 0);
+    ICalendarManager recovered = restart(4);
+    assertEquals(describe(manager, "Work"), describe(recovered, "Work"));
+  }
+
+  @Test(expected = IOException.class)
+  public void testRecoverRefusesCompactedJournalWithoutCheckpoint() throws Exception {
+    addEvents(3, 0);
+    checkpointer.checkpoint();
+    Files.delete(checkpointFile);
+    restart(0);
+  }
+
+  @Test
+  public void testRecoveredCalendarsKeepCheckpointing() throws Exception {
+    addEvents(5, 0);
+    checkpointer.checkpoint();
+    ICalendarManager recovered = restart(0);
+    JournaledCalendarService resumed = new JournaledCalendarService(recovered, journal);
+    resumed.useCalendar("Work");
+    resumed.addSingleEvent("After", MONDAY.minusDays(1), MONDAY.minusDays(1).plusHours(1), "",
+        "", true, true);
+    checkpointer = new CalendarCheckpointer(recovered, journal, checkpointFile);
+    assertTrue(checkpointer.checkpoint());
+    resumed.editCalendar("Work", "name", "Office");
+
+    ICalendarManager again = restart(1);
+    assertNull(again.getCalendar("Work"));
+    assertEquals(describe(recovered, "Office"), describe(again, "Office"));
+    assertEquals(6, describe(again, "Office").size());
+  }
+
+  @Test
+  public void testBackgroundCheckpointsCompactTheJournal() throws Exception {
+    addEvents(20, 0);
+    checkpointer.start(Duration.ofMillis(20));
+    long deadline = System.currentTimeMillis() + 10000;
+    while (journal.getStartPosition() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    checkpointer.close();
+    assertNull(checkpointer.getLastFailure());
+    assertTrue(journal.getStartPosition() > 0);
+    addEvents(1, 20);
+
+    ICalendarManager recovered = restart(1);
+    assertEquals(describe(manager, "Work"), describe(recovered, "Work"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonPositiveInterval() {
+    checkpointer.start(Duration.ZERO);
+  }
+
+  @Test
+  public void testJournaledCalendarsAreCapturedFromTheirSnapshots() throws Exception {
+    addEvents(3, 0);
+    ConcurrentCalendarModel model =
+        (ConcurrentCalendarModel) manager.getCalendar("Work").getCalendarModel();
+    assertTrue(model.isSnapshotsEnabled());
+    assertSame(model.getSnapshot(), model.getSnapshot());
+    assertTrue(checkpointer.checkpoint());
+
+    service.createCalendar("Home", "Europe/London");
+    ICalendarManager recovered = restart(1);
+    for (String name : new String[] {"Work", "Home"}) {
+      ConcurrentCalendarModel loaded =
+          (ConcurrentCalendarModel) recovered.getCalendar(name).getCalendarModel();
+      assertTrue(loaded.isSnapshotsEnabled());
+    }
+    assertEquals(describe(manager, "Work"), describe(recovered, "Work"));
+  }
+}
@@ -4,8 +4,15 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -100,4 +107,81 @@ public class CalendarManagerTest {
     assertNotNull(manager.getCalendar("Personal"));
     assertNotNull(manager.getCalendar("Holidays"));
   }
+
+  @Test
+  public void testRenameCalendar() {
+    ICalendarContext cal1 = new CalendarContext("Cal1", "America/New_York");
+    ICalendarContext cal2 = new CalendarContext("Cal2", "Europe/Paris");
+    manager.addCalendar(cal1);
+    manager.addCalendar(cal2);
+    manager.setCurrentCalendar("Cal1");
+
+    assertFalse(manager.renameCalendar("Cal1", "Cal2"));
+    assertFalse(manager.renameCalendar("Missing", "Cal3"));
+    assertTrue(manager.renameCalendar("Cal1", "Cal3"));
+    assertNull(manager.getCalendar("Cal1"));
+    assertSame(cal1, manager.getCalendar("Cal3"));
+    assertEquals("Cal3", cal1.getName());
+    assertSame(cal1, manager.getCurrentCalendar());
+  }
+
+  @Test
+  public void testConcurrentRenamesClaimEachNameOnce() throws Exception {
+    int calendars = 8;
+    for (int i = 0; i < calendars; i++) {
+      manager.addCalendar(new CalendarContext("C" + i, "UTC"));
+    }
+    AtomicInteger wins = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < calendars; i++) {
+      final int index = i;
+      Thread thread = new Thread(() -> {
+        if (manager.renameCalendar("C" + index, "Shared")) {
+          wins.incrementAndGet();
+        }
+      });
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(1, wins.get());
+    int found = manager.getCalendar("Shared") != null ? 1 : 0;
+    for (int i = 0; i < calendars; i++) {
+      found += manager.getCalendar("C" + i) != null ? 1 : 0;
+    }
+    assertEquals(calendars, found);
+    assertEquals("Shared", manager.getCalendar("Shared").getName());
+  }
+
+  @Test
+  public void testGetCalendarsListsEveryCalendar() {
+    manager.addCalendar(new CalendarContext("Cal1", "America/New_York"));
+    manager.addCalendar(new CalendarContext("Cal2", "Europe/Paris"));
+    manager.renameCalendar("Cal2", "Cal3");
+    Set<String> names = new HashSet<>();
+    for (ICalendarContext calendar : manager.getCalendars()) {
+      names.add(calendar.getName());
+    }
+    assertEquals(new HashSet<>(Arrays.asList("Cal1", "Cal3")), names);
+  }
+
+  @Test
+  public void testNewCalendarsAreConcurrentByDefault() throws Exception {
+    MultiCalendarService service = new MultiCalendarService(manager);
+    assertTrue(service.createCalendar("Shared", "America/New_York"));
+    assertTrue(manager.getCalendar("Shared").getCalendarModel()
+        instanceof ConcurrentCalendarModel);
+  }
+
+  @Test
+  public void testModelFactoryIsUsedForNewCalendars() throws Exception {
+    CalendarManager columnar = new CalendarManager(ColumnarCalendarModel::new);
+    new MultiCalendarService(columnar).createCalendar("Large", "UTC");
+    assertTrue(columnar.getCalendar("Large").getCalendarModel()
+        instanceof ColumnarCalendarModel);
+  }
 }
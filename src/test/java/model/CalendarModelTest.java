@@ -8,8 +8,12 @@ import static org.junit.Assert.fail;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
@@ -147,4 +151,433 @@ public class CalendarModelTest {
     LocalDateTime afterTime = LocalDateTime.of(2025, 3, 10, 14, 30);
     assertFalse("Calendar should not be busy after the event.", calendar.isBusyAt(afterTime));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testConflictDetectedAfterEventIsMoved()
+      throws InvalidDateException, EventConflictException {
+    SingleEvent event = new SingleEvent("Review", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    calendar.addEvent(event, false);
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 5, 10, 0));
+    event.setStartDateTime(LocalDateTime.of(2025, 3, 5, 9, 0));
+
+    SingleEvent original = new SingleEvent("Original", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    original.setAutoDecline(true);
+    calendar.addEvent(original, true);
+
+    SingleEvent moved = new SingleEvent("Moved", LocalDateTime.of(2025, 3, 5, 9, 30),
+        LocalDateTime.of(2025, 3, 5, 10, 30), "", "", true);
+    moved.setAutoDecline(true);
+    try {
+      calendar.addEvent(moved, true);
+      fail("Expected a conflict with the moved event");
+    } catch (EventConflictException e) {
+      assertEquals("Event 'Moved' conflicts with existing event 'Review'.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testRecurringConflictDetected() throws InvalidDateException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    try {
+      calendar.addEvent(new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+          LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true, days, 20, null), false);
+    } catch (EventConflictException e) {
+      fail("Unexpected conflict");
+    }
+    SingleEvent clash = new SingleEvent("Clash", LocalDateTime.of(2025, 5, 5, 9, 10),
+        LocalDateTime.of(2025, 5, 5, 9, 40), "", "", true);
+    clash.setAutoDecline(true);
+    try {
+      calendar.addEvent(clash, true);
+      fail("Expected a conflict with the recurring event");
+    } catch (EventConflictException e) {
+      assertEquals("Event 'Clash' conflicts with existing event 'Standup'.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testGetEventsOnFollowsEditedEvent()
+      throws InvalidDateException, EventConflictException {
+    SingleEvent event = new SingleEvent("Dentist", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    calendar.addEvent(event, false);
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 8, 10, 0));
+    event.setStartDateTime(LocalDateTime.of(2025, 3, 8, 9, 0));
+
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 1)).isEmpty());
+    assertEquals(1, calendar.getEventsOn(LocalDate.of(2025, 3, 8)).size());
+  }
+
+  @Test
+  public void testGetEventsOnSkipsDaysOutsideRecurrence()
+      throws InvalidDateException, EventConflictException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    RecurringEvent weekly = new RecurringEvent("Weekly", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, days, 3, null);
+    calendar.addEvent(weekly, false);
+
+    assertEquals(1, calendar.getEventsOn(LocalDate.of(2025, 3, 17)).size());
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 24)).isEmpty());
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 4)).isEmpty());
+  }
+
+  @Test
+  public void testGetOccurrencesBetweenIsChronological()
+      throws InvalidDateException, EventConflictException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    days.add(DayOfWeek.WEDNESDAY);
+    RecurringEvent standup = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 30), "", "", true, days, -1,
+        LocalDate.of(2025, 3, 31));
+    SingleEvent lunch = new SingleEvent("Lunch", LocalDateTime.of(2025, 3, 4, 12, 0),
+        LocalDateTime.of(2025, 3, 4, 13, 0), "", "", true);
+    SingleEvent early = new SingleEvent("Early", LocalDateTime.of(2025, 3, 3, 7, 0),
+        LocalDateTime.of(2025, 3, 3, 8, 0), "", "", true);
+    calendar.addEvent(standup, false);
+    calendar.addEvent(lunch, false);
+    calendar.addEvent(early, false);
+
+    List<Event> occurrences = calendar.getOccurrencesBetween(
+        LocalDateTime.of(2025, 3, 3, 0, 0), LocalDateTime.of(2025, 3, 5, 9, 0));
+    assertEquals(3, occurrences.size());
+    assertEquals("Early", occurrences.get(0).getSubject());
+    assertEquals("Standup", occurrences.get(1).getSubject());
+    assertEquals("Lunch", occurrences.get(2).getSubject());
+  }
+
+  @Test
+  public void testGetOccurrencesBetweenFollowsEditedEvent()
+      throws InvalidDateException, EventConflictException {
+    SingleEvent event = new SingleEvent("Dentist", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    calendar.addEvent(event, false);
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 8, 10, 0));
+    event.setStartDateTime(LocalDateTime.of(2025, 3, 8, 9, 0));
+
+    assertTrue(calendar.getOccurrencesBetween(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 2, 0, 0)).isEmpty());
+    assertEquals(1, calendar.getOccurrencesBetween(LocalDateTime.of(2025, 3, 8, 0, 0),
+        LocalDateTime.of(2025, 3, 9, 0, 0)).size());
+  }
+
+  @Test
+  public void testIsBusyAtWithRecurringAndEditedEvents()
+      throws InvalidDateException, EventConflictException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.TUESDAY);
+    RecurringEvent review = new RecurringEvent("Review", LocalDateTime.of(2025, 3, 4, 14, 0),
+        LocalDateTime.of(2025, 3, 4, 15, 0), "", "", true, days, 4, null);
+    SingleEvent call = new SingleEvent("Call", LocalDateTime.of(2025, 3, 5, 9, 0),
+        LocalDateTime.of(2025, 3, 5, 10, 0), "", "", true);
+    calendar.addEvent(review, false);
+    calendar.addEvent(call, false);
+
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 18, 14, 30)));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 18, 14, 0)));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 4, 1, 14, 30)));
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 5, 9, 30)));
+
+    call.setEndDateTime(LocalDateTime.of(2025, 3, 6, 10, 0));
+    call.setStartDateTime(LocalDateTime.of(2025, 3, 6, 9, 0));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 5, 9, 30)));
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 6, 9, 30)));
+  }
+
+  @Test
+  public void testOccurrencesAtFollowSubjectEdits()
+      throws InvalidDateException, EventConflictException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    RecurringEvent weekly = new RecurringEvent("Weekly", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, days, 3, null);
+    SingleEvent draft = new SingleEvent("Draft", LocalDateTime.of(2025, 3, 4, 9, 0),
+        LocalDateTime.of(2025, 3, 4, 10, 0), "", "", true);
+    calendar.addEvent(weekly, false);
+    calendar.addEvent(draft, false);
+
+    List<Event> found = calendar.getOccurrencesAt("WEEKLY", LocalDateTime.of(2025, 3, 10, 9, 0));
+    assertEquals(1, found.size());
+    assertEquals(LocalDateTime.of(2025, 3, 10, 9, 0), found.get(0).getStartDateTime());
+    assertTrue(calendar.getOccurrencesAt("weekly", LocalDateTime.of(2025, 3, 24, 9, 0))
+        .isEmpty());
+
+    draft.setSubject("Final");
+    assertTrue(calendar.getEventsBySubject("draft").isEmpty());
+    assertEquals(1, calendar.getOccurrencesAt("final", LocalDateTime.of(2025, 3, 4, 9, 0))
+        .size());
+  }
+
+  @Test
+  public void testIdsAreAssignedAndAddressable() throws Exception {
+    SingleEvent first = new SingleEvent("First", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    SingleEvent second = new SingleEvent("Second", LocalDateTime.of(2025, 3, 1, 11, 0),
+        LocalDateTime.of(2025, 3, 1, 12, 0), "", "", true);
+    calendar.addEvent(first, false);
+    calendar.addEvent(second, false);
+
+    assertEquals(1, first.getId());
+    assertEquals(2, second.getId());
+    assertTrue(calendar.getById(2) == second);
+
+    calendar.editById(2, "location", "Room 9");
+    assertEquals("Room 9", second.getLocation());
+
+    assertTrue(calendar.removeById(1));
+    assertFalse(calendar.removeById(1));
+    assertEquals(1, calendar.getAllEvents().size());
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 1)).get(0) == second);
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+    assertTrue(calendar.getEventsBySubject("first").isEmpty());
+  }
+
+  @Test(expected = Exception.class)
+  public void testEditByUnknownIdFails() throws Exception {
+    calendar.editById(42, "location", "Nowhere");
+  }
+
+  @Test
+  public void testOccurrenceExceptionsAreVisibleToQueries() throws Exception {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    RecurringEvent re = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 30), "", "", true, days, 3, null);
+    calendar.addEvent(re, false);
+    re.cancelOccurrence(LocalDate.of(2025, 3, 10));
+    re.overrideOccurrence(LocalDate.of(2025, 3, 17), new SingleEvent("Standup",
+        LocalDateTime.of(2025, 3, 20, 14, 0), LocalDateTime.of(2025, 3, 20, 15, 0), "", "",
+        true));
+
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 10)).isEmpty());
+    assertTrue(calendar.getEventsOn(LocalDate.of(2025, 3, 17)).isEmpty());
+    assertEquals(1, calendar.getEventsOn(LocalDate.of(2025, 3, 20)).size());
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 10, 9, 15)));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 17, 9, 15)));
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 20, 14, 30)));
+
+    List<Event> range = calendar.getOccurrencesBetween(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 4, 1, 0, 0));
+    assertEquals(2, range.size());
+    assertEquals(LocalDateTime.of(2025, 3, 20, 14, 0), range.get(1).getStartDateTime());
+    assertEquals(1, calendar.getOccurrencesAt("standup",
+        LocalDateTime.of(2025, 3, 20, 14, 0)).size());
+  }
+
+  @Test
+  public void testAddEventsSkipsConflictsAndIndexesTheRest() throws Exception {
+    SingleEvent stored = new SingleEvent("Stored", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    calendar.addEvent(stored, false);
+    List<Event> batch = new ArrayList<>();
+    for (int hour = 8; hour < 12; hour++) {
+      SingleEvent event = new SingleEvent("Slot" + hour, LocalDateTime.of(2025, 3, 1, hour, 30),
+          LocalDateTime.of(2025, 3, 1, hour + 1, 0), "", "", true);
+      event.setAutoDecline(true);
+      batch.add(event);
+    }
+    BatchAddResult result = calendar.addEvents(batch, ConflictPolicy.SKIP_CONFLICTING);
+
+    assertEquals(3, result.getAdded().size());
+    assertEquals(1, result.getConflicts().size());
+    assertEquals(4, calendar.getAllEvents().size());
+    assertEquals(4, calendar.getEventsOn(LocalDate.of(2025, 3, 1)).size());
+    assertTrue(calendar.getById(result.getAdded().get(0).getId()) == batch.get(0));
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 1, 11, 45)));
+  }
+
+  @Test
+  public void testAddEventsAllOrNothingAddsNothing() throws Exception {
+    SingleEvent stored = new SingleEvent("Stored", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    calendar.addEvent(stored, false);
+    SingleEvent fine = new SingleEvent("Fine", LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 10, 0), "", "", true);
+    SingleEvent clash = new SingleEvent("Clash", LocalDateTime.of(2025, 3, 1, 9, 30),
+        LocalDateTime.of(2025, 3, 1, 10, 30), "", "", true);
+    clash.setAutoDecline(true);
+    try {
+      calendar.addEvents(Arrays.asList(fine, clash), ConflictPolicy.ALL_OR_NOTHING);
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertEquals(1, calendar.getAllEvents().size());
+    }
+  }
+
+  @Test
+  public void testFreeBusyFollowsEditsAndRemovals() throws Exception {
+    calendar.setFreeBusyEnabled(true);
+    SingleEvent meeting = new SingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    calendar.addEvent(meeting, false);
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+    assertEquals(60, calendar.getBusyMinutes(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 2, 0, 0)));
+
+    meeting.setEndDateTime(LocalDateTime.of(2025, 3, 1, 12, 0));
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 1, 11, 30)));
+    assertEquals(180, calendar.getBusyMinutes(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 2, 0, 0)));
+
+    assertTrue(calendar.removeById(meeting.getId()));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+    assertEquals(0, calendar.getBusyMinutes(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 2, 0, 0)));
+  }
+
+  @Test
+  public void testFreeBusyFollowsOccurrenceExceptions() throws Exception {
+    calendar.setFreeBusyEnabled(true);
+    RecurringEvent standup = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 30), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 3, null);
+    calendar.addEvent(standup, false);
+    assertTrue(calendar.isBusyAt(LocalDateTime.of(2025, 3, 10, 9, 15)));
+    standup.cancelOccurrence(LocalDate.of(2025, 3, 10));
+    assertFalse(calendar.isBusyAt(LocalDateTime.of(2025, 3, 10, 9, 15)));
+  }
+
+  @Test
+  public void testFreeBusyMatchesIntervalQueries() throws Exception {
+    calendar.setFreeBusyEnabled(true);
+    CalendarModel reference = new CalendarModel();
+    assertFalse(reference.isFreeBusyEnabled());
+    Random random = new Random(16);
+    LocalDateTime base = LocalDateTime.of(2025, 3, 1, 0, 0);
+    for (int i = 0; i < 60; i++) {
+      LocalDateTime start = base.plusMinutes(random.nextInt(14 * 1440));
+      LocalDateTime end = start.plusMinutes(1 + random.nextInt(600));
+      if (i % 7 == 0) {
+        end = end.plusSeconds(random.nextInt(60));
+      }
+      SingleEvent event = new SingleEvent("E" + i, start, end, "", "", true);
+      calendar.addEvent(event, false);
+      reference.addEvent(event, false);
+      if (i % 10 == 0) {
+        for (int j = 0; j < 200; j++) {
+          LocalDateTime probe = base.plusSeconds(random.nextInt(15 * 86400));
+          assertEquals(probe.toString(), reference.isBusyAt(probe), calendar.isBusyAt(probe));
+        }
+      }
+    }
+    for (int j = 0; j < 2000; j++) {
+      LocalDateTime probe = base.plusMinutes(random.nextInt(15 * 1440));
+      assertEquals(probe.toString(), reference.isBusyAt(probe), calendar.isBusyAt(probe));
+    }
+    LocalDateTime from = base.plusHours(5);
+    LocalDateTime to = base.plusDays(9).plusMinutes(17);
+    assertEquals(reference.getBusyMinutes(from, to), calendar.getBusyMinutes(from, to));
+  }
+
+  @Test
+  public void testOccurrencesOverlappingIncludeEventsInProgress() throws Exception {
+    calendar.addEvent(new SingleEvent("Overnight", LocalDateTime.of(2025, 3, 1, 22, 0),
+        LocalDateTime.of(2025, 3, 2, 2, 0), "", "", true), false);
+    calendar.addEvent(new SingleEvent("Breakfast", LocalDateTime.of(2025, 3, 2, 8, 0),
+        LocalDateTime.of(2025, 3, 2, 9, 0), "", "", true), false);
+    calendar.addEvent(new SingleEvent("Late", LocalDateTime.of(2025, 3, 2, 12, 0),
+        LocalDateTime.of(2025, 3, 2, 13, 0), "", "", true), false);
+
+    List<Event> overlapping = calendar.getOccurrencesOverlapping(
+        LocalDateTime.of(2025, 3, 2, 0, 0), LocalDateTime.of(2025, 3, 2, 12, 0));
+    assertEquals(2, overlapping.size());
+    assertEquals("Overnight", overlapping.get(0).getSubject());
+    assertEquals("Breakfast", overlapping.get(1).getSubject());
+    assertTrue(calendar.getOccurrencesOverlapping(LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 12, 0)).isEmpty());
+  }
+
+  @Test
+  public void testSnapshotsArePointInTime() throws Exception {
+    calendar.setSnapshotsEnabled(true);
+    assertTrue(calendar.isSnapshotsEnabled());
+    SingleEvent meeting = new SingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    calendar.addEvent(meeting, false);
+    CalendarSnapshot before = calendar.getSnapshot();
+    assertTrue(before == calendar.getSnapshot());
+
+    meeting.setSubject("Renamed");
+    calendar.addEvent(new SingleEvent("Lunch", LocalDateTime.of(2025, 3, 1, 12, 0),
+        LocalDateTime.of(2025, 3, 1, 13, 0), "", "", true), false);
+    CalendarSnapshot after = calendar.getSnapshot();
+
+    assertEquals(1, before.size());
+    assertEquals("Meeting", before.getById(meeting.getId()).getSubject());
+    assertEquals(2, after.size());
+    assertEquals("Renamed", after.getById(meeting.getId()).getSubject());
+    assertTrue(after.getVersion() > before.getVersion());
+
+    calendar.removeById(meeting.getId());
+    assertEquals(1, calendar.getSnapshot().size());
+    assertEquals(2, after.size());
+  }
+
+  @Test
+  public void testSnapshotWithoutSnapshotMode() throws Exception {
+    assertFalse(calendar.isSnapshotsEnabled());
+    calendar.addEvent(new SingleEvent("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true), false);
+    CalendarSnapshot snapshot = calendar.getSnapshot();
+    assertEquals(1, snapshot.size());
+    assertEquals("Meeting", snapshot.getEvents().get(0).getSubject());
+    calendar.setSnapshotsEnabled(false);
+    assertFalse(calendar.isSnapshotsEnabled());
+  }
+
+  @Test
+  public void testReadersSeeConsistentSnapshotsWhileWriting() throws Exception {
+    calendar.setSnapshotsEnabled(true);
+    final int writes = 500;
+    final List<String> failures = new ArrayList<>();
+    Thread reader = new Thread(() -> {
+      long lastVersion = -1;
+      while (lastVersion < writes) {
+        CalendarSnapshot snapshot = calendar.getSnapshot();
+        int count = 0;
+        for (Event event : snapshot) {
+          if (!event.getSubject().equals("E" + event.getId())) {
+            failures.add("Torn event " + event.getSubject());
+          }
+          count++;
+        }
+        if (count != snapshot.size() || snapshot.getVersion() < lastVersion) {
+          failures.add("Inconsistent snapshot at version " + snapshot.getVersion());
+        }
+        lastVersion = snapshot.getVersion();
+      }
+    });
+    reader.start();
+    for (int i = 1; i <= writes; i++) {
+      calendar.addEvent(new SingleEvent("E" + i, LocalDateTime.of(2025, 3, 1, 9, 0),
+          LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true), false);
+    }
+    reader.join(10000);
+    assertFalse(reader.isAlive());
+    assertTrue(failures.toString(), failures.isEmpty());
+    assertEquals(writes, calendar.getSnapshot().size());
+  }
+
+  @Test
+  public void testRestoreKeepsIdsAndContinuesNumbering() throws Exception {
+    SingleEvent first = new SingleEvent("First", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    SingleEvent second = new SingleEvent("Second", LocalDateTime.of(2025, 3, 1, 9, 30),
+        LocalDateTime.of(2025, 3, 1, 10, 30), "", "", true);
+    first.assignId(2);
+    second.assignId(5);
+    calendar.restore(Arrays.asList(first, second), 7);
+
+    assertEquals(7, calendar.getNextId());
+    assertEquals("Second", calendar.getById(5).getSubject());
+    assertEquals(2, calendar.getEventsOn(LocalDate.of(2025, 3, 1)).size());
+    calendar.addEvent(new SingleEvent("Third", LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 10, 0), "", "", true), false);
+    assertEquals("Third", calendar.getById(7).getSubject());
+    assertEquals(8, calendar.getNextId());
+  }
+}
@@ -0,0 +1,86 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the CalendarSession class.
+ */
+public class CalendarSessionTest {
+
+  private CalendarManager manager;
+  private ICalendarContext work;
+  private ICalendarContext home;
+
+  @Before
+  public void setUp() {
+    manager = new CalendarManager();
+    work = new CalendarContext("Work", "UTC");
+    home = new CalendarContext("Home", "Europe/London");
+    manager.addCalendar(work);
+    manager.addCalendar(home);
+  }
+
+  @Test
+  public void testSessionsChooseIndependently() {
+    CalendarSession first = new CalendarSession(manager);
+    CalendarSession second = new CalendarSession(manager);
+    assertNull(first.getCurrentCalendar());
+    assertTrue(first.setCurrentCalendar("Work"));
+    assertTrue(second.setCurrentCalendar("Home"));
+    assertSame(work, first.getCurrentCalendar());
+    assertSame(home, second.getCurrentCalendar());
+    assertNull(manager.getCurrentCalendar());
+  }
+
+  @Test
+  public void testUnknownCalendarKeepsCurrent() {
+    CalendarSession session = new CalendarSession(manager);
+    session.setCurrentCalendar("Work");
+    assertFalse(session.setCurrentCalendar("Missing"));
+    assertSame(work, session.getCurrentCalendar());
+  }
+
+  @Test
+  public void testSessionFollowsRenameAndRemoval() {
+    CalendarSession session = new CalendarSession(manager);
+    session.setCurrentCalendar("Work");
+    assertTrue(manager.renameCalendar("Work", "Office"));
+    assertEquals("Office", session.getCurrentCalendar().getName());
+    manager.removeCalendar("Office");
+    assertNull(session.getCurrentCalendar());
+  }
+
+  @Test
+  public void testCurrentCalendarIsNeverLostDuringRenames() throws Exception {
+    CalendarSession session = new CalendarSession(manager);
+    session.setCurrentCalendar("Work");
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicInteger misses = new AtomicInteger();
+    Thread reader = new Thread(() -> {
+      while (!done.get()) {
+        if (session.getCurrentCalendar() != work) {
+          misses.incrementAndGet();
+        }
+        Thread.yield();
+      }
+    });
+    reader.start();
+    String name = "Work";
+    for (int i = 0; i < 2000; i++) {
+      assertTrue(manager.renameCalendar(name, "Work" + i));
+      name = "Work" + i;
+    }
+    done.set(true);
+    reader.join();
+    assertEquals(0, misses.get());
+  }
+}
@@ -0,0 +1,106 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for the CalendarSnapshot class.
+ */
+public class CalendarSnapshotTest {
+
+  private static SingleEvent single(String subject, LocalDateTime start, LocalDateTime end)
+      throws Exception {
+    return new SingleEvent(subject, start, end, "", "", true);
+  }
+
+  @Test
+  public void testEventsAreFrozenCopies() throws Exception {
+    SingleEvent meeting = single("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0));
+    CalendarSnapshot snapshot = CalendarSnapshot.empty().with(1, meeting);
+    Event frozen = snapshot.getById(1);
+    assertNotSame(meeting, frozen);
+    assertTrue(((AbstractEvent) frozen).isFrozen());
+
+    meeting.setSubject("Renamed");
+    assertEquals("Meeting", frozen.getSubject());
+    try {
+      ((SingleEvent) frozen).setSubject("Changed");
+      fail("Expected a frozen event");
+    } catch (UnsupportedOperationException e) {
+      assertEquals("Event 'Meeting' belongs to a snapshot and cannot be modified.",
+          e.getMessage());
+    }
+  }
+
+  @Test
+  public void testFrozenSeriesKeepsItsExceptions() throws Exception {
+    RecurringEvent series = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 3, null);
+    series.cancelOccurrence(LocalDate.of(2025, 3, 10));
+    series.overrideOccurrence(LocalDate.of(2025, 3, 17), single("Moved",
+        LocalDateTime.of(2025, 3, 17, 11, 0), LocalDateTime.of(2025, 3, 17, 11, 15)));
+    RecurringEvent frozen = (RecurringEvent) CalendarSnapshot.empty().with(4, series).getById(4);
+
+    series.restoreOccurrence(LocalDate.of(2025, 3, 10));
+    assertEquals(2, frozen.getOccurrences().size());
+    assertEquals("Moved", frozen.getOccurrences().get(1).getSubject());
+    try {
+      frozen.cancelOccurrence(LocalDate.of(2025, 3, 3));
+      fail("Expected a frozen series");
+    } catch (UnsupportedOperationException e) {
+      assertEquals(2, frozen.getOccurrences().size());
+    }
+    try {
+      frozen.getExceptions().getOverride(LocalDate.of(2025, 3, 17)).setSubject("Again");
+      fail("Expected a frozen override");
+    } catch (UnsupportedOperationException e) {
+      assertEquals("Moved", frozen.getOccurrences().get(1).getSubject());
+    }
+  }
+
+  @Test
+  public void testVersionsAndRemoval() throws Exception {
+    CalendarSnapshot first = CalendarSnapshot.empty().with(1, single("A",
+        LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    CalendarSnapshot second = first.without(1);
+    assertEquals(1, first.getVersion());
+    assertEquals(2, second.getVersion());
+    assertEquals(1, first.size());
+    assertEquals(0, second.size());
+    assertNull(second.getById(1));
+  }
+
+  @Test
+  public void testQueries() throws Exception {
+    CalendarSnapshot snapshot = CalendarSnapshot.of(Arrays.asList(
+        single("Late", LocalDateTime.of(2025, 3, 3, 15, 0), LocalDateTime.of(2025, 3, 3, 16, 0)),
+        single("Overnight", LocalDateTime.of(2025, 3, 2, 22, 0),
+            LocalDateTime.of(2025, 3, 3, 1, 0)),
+        new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+            LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 2,
+            null)));
+    assertEquals(3, snapshot.size());
+    assertEquals("Late", snapshot.getEvents().get(0).getSubject());
+    assertEquals(3, snapshot.getEventsOn(LocalDate.of(2025, 3, 3)).size());
+    assertEquals(1, snapshot.getEventsOn(LocalDate.of(2025, 3, 10)).size());
+
+    List<Event> occurrences = snapshot.getOccurrencesBetween(LocalDateTime.of(2025, 3, 3, 0, 0),
+        LocalDateTime.of(2025, 3, 11, 0, 0));
+    assertEquals(3, occurrences.size());
+    assertEquals("Standup", occurrences.get(0).getSubject());
+    assertEquals("Late", occurrences.get(1).getSubject());
+    assertEquals(LocalDateTime.of(2025, 3, 10, 9, 0), occurrences.get(2).getStartDateTime());
+  }
+}
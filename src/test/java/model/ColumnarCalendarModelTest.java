@@ -0,0 +1,360 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ColumnarCalendarModel class.
+ */
+public class ColumnarCalendarModelTest {
+
+  private ColumnarCalendarModel model;
+
+  @Before
+  public void setUp() {
+    model = new ColumnarCalendarModel();
+  }
+
+  private SingleEvent single(String subject, LocalDateTime start, LocalDateTime end)
+      throws InvalidDateException {
+    return new SingleEvent(subject, start, end, "Desc", "Room", true);
+  }
+
+  @Test
+  public void testGetAllEventsKeepsInsertionOrderAndValues() throws Exception {
+    SingleEvent meeting = single("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0));
+    RecurringEvent standup = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", false,
+        EnumSet.of(DayOfWeek.MONDAY), 3, null);
+    SingleEvent lunch = new SingleEvent("Lunch", LocalDateTime.of(2025, 3, 2, 12, 0), null,
+        null, "Cafe", false);
+    model.addEvent(meeting, false);
+    model.addEvent(standup, false);
+    model.addEvent(lunch, false);
+
+    List<Event> all = model.getAllEvents();
+    assertEquals(3, all.size());
+    assertEquals("Meeting", all.get(0).getSubject());
+    assertEquals("Room", all.get(0).getLocation());
+    assertEquals(LocalDateTime.of(2025, 3, 1, 10, 0), all.get(0).getEffectiveEndDateTime());
+    assertTrue(all.get(1) == standup);
+    assertNull(all.get(2).getDescription());
+    assertFalse(all.get(2).isPublic());
+    assertEquals(LocalDateTime.of(2025, 3, 2, 23, 59), all.get(2).getEffectiveEndDateTime());
+  }
+
+  @Test
+  public void testTextIsDictionaryEncoded() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      model.addEvent(single("Meeting", LocalDateTime.of(2025, 3, 1 + i, 9, 0),
+          LocalDateTime.of(2025, 3, 1 + i, 10, 0)), false);
+    }
+    assertEquals(3, model.getDictionarySize());
+  }
+
+  @Test
+  public void testSubjectLookupMergesRowsAndSeriesInInsertionOrder() throws Exception {
+    LocalDateTime monday = LocalDateTime.of(2025, 3, 3, 9, 0);
+    SingleEvent first = single("Sync", monday.plusDays(1), monday.plusDays(1).plusHours(1));
+    RecurringEvent series = new RecurringEvent("SYNC", monday, monday.plusMinutes(30), "", "",
+        true, EnumSet.of(DayOfWeek.MONDAY), 3, null);
+    SingleEvent last = single("sync", monday.plusDays(2), monday.plusDays(2).plusHours(1));
+    model.addEvent(first, false);
+    model.addEvent(single("Lunch", monday.plusDays(1), monday.plusDays(1).plusHours(1)), false);
+    model.addEvent(series, false);
+    model.addEvent(last, false);
+    model.addEvent(single("Straße", monday.plusDays(3), monday.plusDays(3).plusHours(1)), false);
+
+    List<Event> found = model.getEventsBySubject("sYnC");
+    assertEquals(3, found.size());
+    assertEquals(monday.plusDays(1), found.get(0).getStartDateTime());
+    assertTrue(found.get(1) == series);
+    assertEquals(monday.plusDays(2), found.get(2).getStartDateTime());
+    assertEquals(1, model.getOccurrencesAt("sync", monday.plusDays(7)).size());
+    assertEquals(1, model.getOccurrencesAt("SYNC", monday.plusDays(2)).size());
+    assertEquals(1, model.getEventsBySubject("STRAßE").size());
+    assertTrue(model.getEventsBySubject("STRASSE").isEmpty());
+
+    assertTrue(model.removeById(found.get(0).getId()));
+    assertEquals(2, model.getEventsBySubject("sync").size());
+  }
+
+  @Test
+  public void testRemovalCompactsAndKeepsViewsWritingToTheirRows() throws Exception {
+    LocalDateTime monday = LocalDateTime.of(2025, 3, 3, 9, 0);
+    RecurringEvent series = new RecurringEvent("Standup", monday, monday.plusMinutes(15), "", "",
+        true, EnumSet.of(DayOfWeek.SUNDAY), 3, null);
+    for (int i = 0; i < 20; i++) {
+      model.addEvent(single("Event " + i, monday.plusDays(i), monday.plusDays(i).plusHours(1)),
+          false);
+      if (i == 10) {
+        model.addEvent(series, false);
+      }
+    }
+    Event kept = model.getEventsBySubject("Event 19").get(0);
+    for (int i = 0; i < 18; i++) {
+      assertTrue(model.removeById(model.getEventsBySubject("Event " + i).get(0).getId()));
+    }
+    assertFalse(model.removeById(1));
+
+    List<Event> all = model.getAllEvents();
+    assertEquals(3, all.size());
+    assertTrue(all.get(0) == series);
+    assertEquals("Event 18", all.get(1).getSubject());
+    assertEquals("Event 19", all.get(2).getSubject());
+    assertTrue(model.getById(series.getId()) == series);
+
+    ((SingleEvent) kept).setLocation("Hall");
+    assertEquals("Hall", model.getById(kept.getId()).getLocation());
+    assertEquals("Room", model.getEventsBySubject("Event 18").get(0).getLocation());
+    assertEquals(1, model.getEventsOn(monday.plusDays(19).toLocalDate()).size());
+    assertTrue(model.getEventsOn(monday.plusDays(3).toLocalDate()).isEmpty());
+  }
+
+  @Test
+  public void testTextNoRowUsesLeavesTheDictionary() throws Exception {
+    model.addEvent(single("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)), false);
+    model.addEvent(single("Review", LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 10, 0)), false);
+    int withBoth = model.getDictionarySize();
+    Event review = model.getEventsBySubject("Review").get(0);
+    assertTrue(model.removeById(review.getId()));
+    assertEquals(withBoth - 1, model.getDictionarySize());
+    ((SingleEvent) model.getEventsBySubject("Meeting").get(0)).setSubject("Standup");
+    assertEquals(withBoth - 1, model.getDictionarySize());
+    assertTrue(model.getEventsBySubject("Meeting").isEmpty());
+    assertEquals(1, model.getEventsBySubject("Standup").size());
+    model.addEvent(single("Meeting", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0)), false);
+    assertEquals(withBoth, model.getDictionarySize());
+    assertEquals(1, model.getEventsBySubject("Meeting").size());
+  }
+
+  @Test
+  public void testAutoDeclineConflictMessage() throws Exception {
+    model.addEvent(single("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)), false);
+    SingleEvent clash = single("Clash", LocalDateTime.of(2025, 3, 1, 9, 30),
+        LocalDateTime.of(2025, 3, 1, 11, 0));
+    clash.setAutoDecline(true);
+    try {
+      model.addEvent(clash, true);
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertEquals("Event 'Clash' conflicts with existing event 'Meeting'.", e.getMessage());
+    }
+    SingleEvent adjacent = single("Adjacent", LocalDateTime.of(2025, 3, 1, 10, 0),
+        LocalDateTime.of(2025, 3, 1, 11, 0));
+    adjacent.setAutoDecline(true);
+    model.addEvent(adjacent, true);
+    assertEquals(2, model.getAllEvents().size());
+  }
+
+  @Test
+  public void testRecurringConflictWithStoredRow() throws Exception {
+    model.addEvent(single("Meeting", LocalDateTime.of(2025, 3, 10, 9, 0),
+        LocalDateTime.of(2025, 3, 10, 10, 0)), false);
+    RecurringEvent standup = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 30),
+        LocalDateTime.of(2025, 3, 3, 9, 45), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    standup.setAutoDecline(true);
+    try {
+      model.addEvent(standup, true);
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertEquals("Event 'Standup' conflicts with existing event 'Meeting'.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testQueriesMatchCalendarModel() throws Exception {
+    CalendarModel reference = new CalendarModel();
+    Event[] events = {
+        single("A", LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)),
+        single("B", LocalDateTime.of(2025, 3, 1, 22, 0), LocalDateTime.of(2025, 3, 3, 1, 0)),
+        new RecurringEvent("C", LocalDateTime.of(2025, 3, 3, 14, 0),
+            LocalDateTime.of(2025, 3, 3, 15, 0), "", "", true,
+            EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), -1, LocalDate.of(2025, 3, 20))
+    };
+    for (Event event : events) {
+      model.addEvent(event, false);
+      reference.addEvent(event, false);
+    }
+    for (LocalDate date = LocalDate.of(2025, 2, 28); date.isBefore(LocalDate.of(2025, 3, 22));
+        date = date.plusDays(1)) {
+      assertEquals(date.toString(), reference.getEventsOn(date).size(),
+          model.getEventsOn(date).size());
+      for (int hour = 0; hour < 24; hour++) {
+        LocalDateTime instant = date.atTime(hour, 30);
+        assertEquals(instant.toString(), reference.isBusyAt(instant), model.isBusyAt(instant));
+      }
+    }
+    LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(2025, 3, 15, 0, 0);
+    List<Event> expected = reference.getOccurrencesBetween(from, to);
+    List<Event> actual = model.getOccurrencesBetween(from, to);
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getSubject(), actual.get(i).getSubject());
+      assertEquals(expected.get(i).getStartDateTime(), actual.get(i).getStartDateTime());
+    }
+  }
+
+  @Test
+  public void testBusyBoundariesAreExclusive() throws Exception {
+    model.addEvent(single("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)), false);
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 0)));
+    assertTrue(model.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 0, 30)));
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 3, 1, 10, 0)));
+  }
+
+  @Test
+  public void testEditsThroughReturnedEventAreWrittenBack() throws Exception {
+    model.addEvent(single("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)), false);
+    SingleEvent view = (SingleEvent) model.getAllEvents().get(0);
+    view.setSubject("Renamed");
+    view.setEndDateTime(LocalDateTime.of(2025, 3, 4, 10, 0));
+    view.setStartDateTime(LocalDateTime.of(2025, 3, 4, 9, 0));
+
+    assertTrue(model.getEventsOn(LocalDate.of(2025, 3, 1)).isEmpty());
+    List<Event> moved = model.getEventsOn(LocalDate.of(2025, 3, 4));
+    assertEquals(1, moved.size());
+    assertEquals("Renamed", moved.get(0).getSubject());
+  }
+
+  @Test
+  public void testStaleViewDoesNotRevertAnotherViewsEdit() throws Exception {
+    model.addEvent(single("Meeting", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)), false);
+    SingleEvent first = (SingleEvent) model.getById(1);
+    SingleEvent second = (SingleEvent) model.getById(1);
+    first.setSubject("Renamed");
+    first.setEndDateTime(LocalDateTime.of(2025, 3, 1, 11, 0));
+    second.setLocation("Hall");
+
+    Event stored = model.getById(1);
+    assertEquals("Renamed", stored.getSubject());
+    assertEquals(LocalDateTime.of(2025, 3, 1, 11, 0), stored.getEffectiveEndDateTime());
+    assertEquals("Hall", stored.getLocation());
+    assertEquals(1, model.getEventsBySubject("renamed").size());
+    assertTrue(model.getEventsBySubject("Meeting").isEmpty());
+  }
+
+  @Test
+  public void testMovingOpenEndedViewMovesItsEnd() throws Exception {
+    model.addEvent(new SingleEvent("Lunch", LocalDateTime.of(2025, 3, 2, 12, 0), null,
+        null, null, false), false);
+    SingleEvent view = (SingleEvent) model.getById(1);
+    view.setStartDateTime(LocalDateTime.of(2025, 3, 5, 12, 0));
+
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 3, 2, 13, 0)));
+    assertTrue(model.isBusyAt(LocalDateTime.of(2025, 3, 5, 23, 0)));
+    assertEquals(LocalDateTime.of(2025, 3, 5, 23, 59),
+        model.getById(1).getEffectiveEndDateTime());
+  }
+
+  @Test
+  public void testIdLookupEditAndRemove() throws Exception {
+    model.addEvent(single("First", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)), false);
+    model.addEvent(single("Second", LocalDateTime.of(2025, 3, 1, 11, 0),
+        LocalDateTime.of(2025, 3, 1, 12, 0)), false);
+
+    assertEquals("Second", model.getById(2).getSubject());
+    assertEquals(2, model.getById(2).getId());
+    model.editById(2, "subject", "Renamed");
+    assertEquals("Renamed", model.getById(2).getSubject());
+
+    assertTrue(model.removeById(1));
+    assertFalse(model.removeById(1));
+    assertNull(model.getById(1));
+    assertEquals(1, model.getAllEvents().size());
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+    assertTrue(model.getOccurrencesBetween(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)).isEmpty());
+  }
+
+  @Test
+  public void testAddEventsChecksAgainstColumns() throws Exception {
+    model.addEvent(single("Stored", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)), false);
+    SingleEvent clash = single("Clash", LocalDateTime.of(2025, 3, 1, 9, 30),
+        LocalDateTime.of(2025, 3, 1, 10, 30));
+    clash.setAutoDecline(true);
+    SingleEvent fine = single("Fine", LocalDateTime.of(2025, 3, 1, 10, 0),
+        LocalDateTime.of(2025, 3, 1, 11, 0));
+    fine.setAutoDecline(true);
+
+    BatchAddResult result = model.addEvents(Arrays.asList(clash, fine),
+        ConflictPolicy.SKIP_CONFLICTING);
+    assertEquals(1, result.getAdded().size());
+    assertEquals("Event 'Clash' conflicts with existing event 'Stored'.",
+        result.getConflicts().get(clash));
+    assertEquals(2, model.getAllEvents().size());
+  }
+
+  @Test
+  public void testOccurrencesOverlappingMatchCalendarModel() throws Exception {
+    CalendarModel reference = new CalendarModel();
+    Event[] events = {
+        single("A", LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)),
+        single("B", LocalDateTime.of(2025, 3, 1, 22, 0), LocalDateTime.of(2025, 3, 3, 1, 0)),
+        new RecurringEvent("C", LocalDateTime.of(2025, 3, 3, 14, 0),
+            LocalDateTime.of(2025, 3, 3, 15, 0), "", "", true,
+            EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), -1, LocalDate.of(2025, 3, 20))
+    };
+    for (Event event : events) {
+      model.addEvent(event, false);
+      reference.addEvent(event, false);
+    }
+    LocalDateTime[] bounds = {
+        LocalDateTime.of(2025, 3, 1, 9, 30), LocalDateTime.of(2025, 3, 1, 10, 0),
+        LocalDateTime.of(2025, 3, 2, 12, 0), LocalDateTime.of(2025, 3, 3, 14, 30),
+        LocalDateTime.of(2025, 3, 6, 15, 0), LocalDateTime.of(2025, 3, 20, 0, 0)
+    };
+    for (LocalDateTime start : bounds) {
+      for (LocalDateTime end : bounds) {
+        List<Event> expected = reference.getOccurrencesOverlapping(start, end);
+        List<Event> actual = model.getOccurrencesOverlapping(start, end);
+        assertEquals(start + " " + end, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+          assertEquals(expected.get(i).getStartDateTime(), actual.get(i).getStartDateTime());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testRestoreKeepsIdsAndContinuesNumbering() throws Exception {
+    SingleEvent first = single("First", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0));
+    SingleEvent second = single("Second", LocalDateTime.of(2025, 3, 1, 11, 0),
+        LocalDateTime.of(2025, 3, 1, 12, 0));
+    first.assignId(3);
+    second.assignId(4);
+    model.restore(Arrays.asList(first, second), 9);
+
+    assertEquals(9, model.getNextId());
+    assertEquals("First", model.getById(3).getSubject());
+    assertEquals(4, model.getById(4).getId());
+    model.addEvent(single("Third", LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 10, 0)), false);
+    assertEquals("Third", model.getById(9).getSubject());
+  }
+}
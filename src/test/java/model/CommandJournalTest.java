@@ -0,0 +1,311 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link CommandJournal}.
+ */
+public class CommandJournalTest {
+
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("calendar", ".journal");
+    Files.delete(file);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private List<String> replayAll(CommandJournal journal) throws IOException {
+    return replayFrom(journal, journal.getStartPosition());
+  }
+
+  private List<String> replayFrom(CommandJournal journal, long from) throws IOException {
+    List<String> records = new ArrayList<>();
+    journal.replay(from, record -> {
+      byte[] payload = new byte[record.available()];
+      record.readFully(payload);
+      records.add(new String(payload, StandardCharsets.UTF_8));
+    });
+    return records;
+  }
+
+  @Test
+  public void testRecordsReplayInOrderAfterReopen() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(1, journal.append(bytes("first")));
+      assertEquals(2, journal.append(bytes("second")));
+      assertEquals(3, journal.append(new byte[0]));
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(Arrays.asList("first", "second", ""), replayAll(journal));
+      journal.append(bytes("third"));
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(4, replayAll(journal).size());
+    }
+  }
+
+  @Test
+  public void testCommitForcesOnlyFullBatches() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 3)) {
+      journal.commit(journal.append(bytes("a")));
+      journal.commit(journal.append(bytes("b")));
+      assertEquals(0, journal.getDurableCount());
+      journal.commit(journal.append(bytes("c")));
+      assertEquals(3, journal.getDurableCount());
+      journal.append(bytes("d"));
+      journal.sync();
+      assertEquals(4, journal.getDurableCount());
+    }
+  }
+
+  @Test
+  public void testElapsedDelayForcesBeforeBatchIsFull() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 1000, Duration.ZERO)) {
+      journal.commit(journal.append(bytes("a")));
+      assertEquals(1, journal.getDurableCount());
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1000, Duration.ofDays(1))) {
+      journal.commit(journal.append(bytes("b")));
+      assertEquals(0, journal.getDurableCount());
+    }
+    try (CommandJournal journal = new CommandJournal(file)) {
+      assertEquals(Arrays.asList("a", "b"), replayAll(journal));
+    }
+  }
+
+  @Test
+  public void testPendingRecordsAreForcedAfterTheDelay() throws Exception {
+    try (CommandJournal journal = new CommandJournal(file, 1000, Duration.ofMillis(20))) {
+      journal.commit(journal.append(bytes("a")));
+      journal.commit(journal.append(bytes("b")));
+      long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+      while (journal.getDurableCount() < 2 && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+      assertEquals(2, journal.getDurableCount());
+      assertNull(journal.getLastFlushFailure());
+      journal.commit(journal.append(bytes("c")));
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(Arrays.asList("a", "b", "c"), replayAll(journal));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNegativeDelay() throws IOException {
+    new CommandJournal(file, 1, Duration.ofMillis(-1));
+  }
+
+  @Test
+  public void testBatchOfOneMakesEveryCommitDurable() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      journal.commit(journal.append(bytes("a")));
+      assertEquals(1, journal.getDurableCount());
+      journal.commit(journal.append(bytes("b")));
+      assertEquals(2, journal.getDurableCount());
+    }
+  }
+
+  @Test
+  public void testTornTailIsTruncated() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      journal.append(bytes("kept"));
+      journal.append(bytes("torn"));
+    }
+    long intact = Files.size(file) - (4 + 4 + 4);
+    try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+      raw.setLength(Files.size(file) - 3);
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(Collections.singletonList("kept"), replayAll(journal));
+      assertEquals(intact, Files.size(file));
+      journal.append(bytes("after"));
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(Arrays.asList("kept", "after"), replayAll(journal));
+    }
+  }
+
+  @Test
+  public void testCorruptRecordEndsReplay() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      journal.append(bytes("good"));
+      journal.append(bytes("bad!"));
+      journal.append(bytes("lost"));
+    }
+    try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+      raw.seek(16 + 12 + 4);
+      raw.write('X');
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(Collections.singletonList("good"), replayAll(journal));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsFileThatIsNotAJournal() throws IOException {
+    Files.write(file, bytes("Subject,Start Date"));
+    new CommandJournal(file, 1).close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonPositiveBatchSize() throws IOException {
+    new CommandJournal(file, 0);
+  }
+
+  @Test
+  public void testConcurrentAppendsAreAllKept() throws Exception {
+    int threads = 3;
+    int perThread = 50;
+    try (CommandJournal journal = new CommandJournal(file, 4)) {
+      List<Thread> workers = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final int thread = t;
+        Thread worker = new Thread(() -> {
+          try {
+            for (int i = 0; i < perThread; i++) {
+              journal.commit(journal.append(bytes(thread + ":" + i)));
+            }
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+        });
+        workers.add(worker);
+        worker.start();
+      }
+      for (Thread worker : workers) {
+        worker.join(30000);
+      }
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      List<String> records = replayAll(journal);
+      assertEquals(threads * perThread, records.size());
+      for (int t = 0; t < threads; t++) {
+        int next = 0;
+        for (String record : records) {
+          if (record.startsWith(t + ":")) {
+            assertEquals(t + ":" + next, record);
+            next++;
+          }
+        }
+        assertEquals(perThread, next);
+      }
+    }
+  }
+
+  @Test
+  public void testReplayHandsOutPayloadBytes() throws IOException {
+    byte[] payload = {1, 2, 3, (byte) 0xff};
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      journal.append(payload);
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      List<byte[]> read = new ArrayList<>();
+      journal.replay((DataInputStream record) -> {
+        byte[] copy = new byte[record.available()];
+        record.readFully(copy);
+        read.add(copy);
+      });
+      assertEquals(1, read.size());
+      assertTrue(Arrays.equals(payload, read.get(0)));
+    }
+  }
+
+  @Test
+  public void testCompactKeepsRecordsAfterThePosition() throws IOException {
+    long position;
+    long afterKept;
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      journal.append(bytes("old"));
+      journal.append(bytes("older"));
+      position = journal.getPosition();
+      journal.append(bytes("kept"));
+      afterKept = journal.getPosition();
+      journal.sync();
+      long before = Files.size(file);
+      journal.compact(position);
+      assertEquals(position, journal.getStartPosition());
+      assertTrue(Files.size(file) < before);
+      journal.append(bytes("after"));
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(position, journal.getStartPosition());
+      assertEquals(Arrays.asList("kept", "after"), replayAll(journal));
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(Collections.singletonList("after"), replayFrom(journal, afterKept));
+    }
+  }
+
+  @Test
+  public void testPositionCountsRecordBytesAcrossReopen() throws IOException {
+    long position;
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(0, journal.getPosition());
+      journal.append(bytes("abc"));
+      position = journal.getPosition();
+      assertEquals(8 + 3, position);
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(position, journal.getPosition());
+      assertEquals(Collections.emptyList(), replayFrom(journal, position));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testReplayRejectsPositionBeforeCompaction() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      journal.append(bytes("a"));
+      journal.append(bytes("b"));
+      journal.compact(journal.getPosition());
+      replayFrom(journal, 0);
+    }
+  }
+
+  @Test
+  public void testReplayMovesAnEmptyJournalForward() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(0, replayFrom(journal, 500).size());
+      assertEquals(500, journal.getStartPosition());
+      journal.append(bytes("next"));
+    }
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      assertEquals(Collections.singletonList("next"), replayFrom(journal, 500));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCompactRejectsPositionPastTheEnd() throws IOException {
+    try (CommandJournal journal = new CommandJournal(file, 1)) {
+      journal.append(bytes("a"));
+      journal.compact(journal.getPosition() + 1);
+    }
+  }
+}
@@ -0,0 +1,289 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+/**
+ * Unit and stress tests for the ConcurrentCalendarModel class.
+ */
+public class ConcurrentCalendarModelTest {
+
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 3, 0, 0);
+  private static final int OCCURRENCES = 8;
+
+  private static SingleEvent single(String subject, LocalDateTime start) throws Exception {
+    return new SingleEvent(subject, start, start.plusMinutes(30), "", "", true);
+  }
+
+  private static RecurringEvent series(String subject, int slot) throws Exception {
+    LocalDateTime start = BASE.plusMinutes(15L * slot);
+    return new RecurringEvent(subject, start, start.plusMinutes(10), "", "", true,
+        EnumSet.allOf(DayOfWeek.class), OCCURRENCES, null);
+  }
+
+  /**
+   * Runs the readers until the writer finishes, then reports every failure they recorded.
+   */
+  private static void runWithReaders(int readers, Runnable read, Runnable write)
+      throws Exception {
+    AtomicBoolean done = new AtomicBoolean();
+    List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch started = new CountDownLatch(readers);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < readers; i++) {
+      Thread reader = new Thread(() -> {
+        started.countDown();
+        try {
+          while (!done.get()) {
+            read.run();
+          }
+          read.run();
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+      threads.add(reader);
+      reader.start();
+    }
+    started.await();
+    try {
+      write.run();
+    } finally {
+      done.set(true);
+    }
+    for (Thread thread : threads) {
+      thread.join(30000);
+      assertFalse(thread.isAlive());
+    }
+    assertTrue(failures.toString(), failures.isEmpty());
+  }
+
+  @Test
+  public void testQueriesMatchSequentialModel() throws Exception {
+    ConcurrentCalendarModel model = new ConcurrentCalendarModel();
+    CalendarModel expected = new CalendarModel();
+    for (int i = 0; i < 20; i++) {
+      model.addEvent(single("E" + i, BASE.plusHours(i)), false);
+      expected.addEvent(single("E" + i, BASE.plusHours(i)), false);
+    }
+    model.addEvent(series("Standup", 2), false);
+    expected.addEvent(series("Standup", 2), false);
+    assertTrue(model.removeById(3));
+    assertTrue(expected.removeById(3));
+    model.editById(4, "location", "Room 1");
+
+    LocalDateTime end = BASE.plusDays(10);
+    assertEquals(expected.getOccurrencesBetween(BASE, end).size(),
+        model.getOccurrencesBetween(BASE, end).size());
+    assertEquals(expected.getOccurrencesOverlapping(BASE, end).size(),
+        model.getOccurrencesOverlapping(BASE, end).size());
+    assertEquals(expected.getEventsOn(BASE.toLocalDate()).size(),
+        model.getEventsOn(BASE.toLocalDate()).size());
+    assertEquals(expected.getBusyMinutes(BASE, end), model.getBusyMinutes(BASE, end));
+    assertEquals(expected.isBusyAt(BASE.plusMinutes(35)), model.isBusyAt(BASE.plusMinutes(35)));
+    assertEquals(20, model.getAllEvents().size());
+    assertEquals("Room 1", model.getById(4).getLocation());
+    assertEquals(1, model.getEventsBySubject("standup").size());
+    assertEquals(1, model.getOccurrencesAt("E5", BASE.plusHours(5)).size());
+    assertEquals(20, model.getSnapshot().size());
+  }
+
+  @Test
+  public void testAtomicallyRunsAgainstTheUnderlyingModel() throws Exception {
+    ConcurrentCalendarModel model = new ConcurrentCalendarModel();
+    Integer count = model.atomically(calendar -> {
+      calendar.addEvent(single("A", BASE), false);
+      calendar.addEvent(single("B", BASE.plusHours(1)), false);
+      return calendar.getAllEvents().size();
+    });
+    assertEquals(Integer.valueOf(2), count);
+    assertEquals(2, model.getAllEvents().size());
+  }
+
+  @Test
+  public void testConcurrentWritersLoseNoEvents() throws Exception {
+    ConcurrentCalendarModel model = new ConcurrentCalendarModel();
+    int writers = 4;
+    int perWriter = 250;
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    for (int w = 0; w < writers; w++) {
+      final int writer = w;
+      Thread thread = new Thread(() -> {
+        try {
+          for (int i = 0; i < perWriter; i++) {
+            model.addEvent(single("W" + writer, BASE.plusMinutes(i)), false);
+          }
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join(30000);
+    }
+    assertTrue(failures.toString(), failures.isEmpty());
+    List<Event> all = model.getAllEvents();
+    assertEquals(writers * perWriter, all.size());
+    Set<Long> ids = new HashSet<>();
+    for (Event event : all) {
+      ids.add(event.getId());
+      assertSame(event, model.getById(event.getId()));
+    }
+    assertEquals(writers * perWriter, ids.size());
+    assertEquals(perWriter, model.getEventsBySubject("W0").size());
+  }
+
+  @Test
+  public void testReadersSeeEveryCompletedWriteInOrder() throws Exception {
+    ConcurrentCalendarModel model = new ConcurrentCalendarModel();
+    int writes = 400;
+    LocalDateTime end = BASE.plusDays(30);
+    ThreadLocal<int[]> lastSeen = ThreadLocal.withInitial(() -> new int[1]);
+    runWithReaders(4, () -> {
+      List<Event> occurrences = model.getOccurrencesBetween(BASE, end);
+      int count = occurrences.size();
+      if (count < lastSeen.get()[0]) {
+        throw new AssertionError("Went back from " + lastSeen.get()[0] + " to " + count);
+      }
+      lastSeen.get()[0] = count;
+      for (int i = 1; i < count; i++) {
+        if (occurrences.get(i).getStartDateTime()
+            .isBefore(occurrences.get(i - 1).getStartDateTime())) {
+          throw new AssertionError("Occurrences out of order");
+        }
+      }
+      List<Event> all = model.getAllEvents();
+      for (Event event : all) {
+        if (model.getById(event.getId()) != event) {
+          throw new AssertionError("Listed event " + event.getId() + " not found by id");
+        }
+      }
+      if (model.getEventsOn(BASE.toLocalDate()).size() > writes) {
+        throw new AssertionError("Too many events");
+      }
+      model.isBusyAt(BASE.plusMinutes(90));
+    }, () -> {
+      try {
+        for (int i = 0; i < writes; i++) {
+          model.addEvent(single("E" + i, BASE.plusMinutes(7L * i)), false);
+          if (i % 10 == 9) {
+            model.editById(i, "location", "Room " + i);
+          }
+        }
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertEquals(writes, model.getOccurrencesBetween(BASE, end).size());
+  }
+
+  @Test
+  public void testFromModeSplitIsNeverSeenHalfApplied() throws Exception {
+    ConcurrentCalendarModel model = new ConcurrentCalendarModel();
+    ICalendarService service = new CalendarService(model);
+    int seriesCount = 60;
+    LocalDateTime end = BASE.plusDays(OCCURRENCES + 1);
+    runWithReaders(4, () -> {
+      Map<String, Integer> counts = new HashMap<>();
+      for (Event occurrence : model.getOccurrencesBetween(BASE, end)) {
+        counts.merge(occurrence.getSubject(), 1, Integer::sum);
+      }
+      for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+        if (entry.getValue() != OCCURRENCES) {
+          throw new AssertionError(entry.getKey() + " had " + entry.getValue() + " occurrences");
+        }
+      }
+    }, () -> {
+      try {
+        for (int i = 0; i < seriesCount; i++) {
+          model.addEvent(series("S" + i, i), false);
+          service.editEvent("S" + i, BASE.plusDays(OCCURRENCES / 2).plusMinutes(15L * i),
+              "location", "Moved", ICalendarService.EditMode.FROM);
+        }
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    for (int i = 0; i < seriesCount; i++) {
+      List<Event> series = model.getEventsBySubject("S" + i);
+      assertEquals(2, series.size());
+      assertEquals("Moved", series.get(1).getLocation());
+    }
+  }
+
+  @Test
+  public void testSnapshotsStayConsistentUnderWrites() throws Exception {
+    ConcurrentCalendarModel model = new ConcurrentCalendarModel();
+    model.setSnapshotsEnabled(true);
+    assertTrue(model.isSnapshotsEnabled());
+    int writes = 300;
+    runWithReaders(2, () -> {
+      CalendarSnapshot snapshot = model.getSnapshot();
+      int count = 0;
+      for (Event event : snapshot) {
+        assertNotNull(event);
+        count++;
+      }
+      if (count != snapshot.size()) {
+        throw new AssertionError("Snapshot size changed while iterating");
+      }
+    }, () -> {
+      try {
+        for (int i = 0; i < writes; i++) {
+          model.addEvent(single("E" + i, BASE.plusMinutes(i)), false);
+        }
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertEquals(writes, model.getSnapshot().size());
+  }
+
+  @Test
+  public void testPublishedSnapshotIsReadWhileAWriterHoldsTheLock() throws Exception {
+    ConcurrentCalendarModel model = new ConcurrentCalendarModel();
+    model.setSnapshotsEnabled(true);
+    model.addEvent(single("Kept", BASE), false);
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread writer = new Thread(() -> {
+      try {
+        model.atomically(m -> {
+          locked.countDown();
+          release.await();
+          return null;
+        });
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    writer.start();
+    locked.await();
+    try {
+      assertEquals(1, model.getSnapshot().size());
+    } finally {
+      release.countDown();
+      writer.join();
+    }
+  }
+}
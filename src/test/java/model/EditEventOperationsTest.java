@@ -259,5 +259,46 @@ public class EditEventOperationsTest {
         model.getAllEvents().get(0).getStartDateTime());
   }
 
+  @Test
+  public void testEditSingleOccurrenceRecordsOverride() throws Exception {
+    CalendarModel model = new CalendarModel();
+    RecurringEvent re = new RecurringEvent("Class",
+        LocalDateTime.of(2025, 5, 2, 9, 0),
+        LocalDateTime.of(2025, 5, 2, 10, 0),
+        "Desc", "Room", true,
+        Collections.singleton(DayOfWeek.FRIDAY), 3, null);
+    model.addEvent(re, false);
+    new EditEventOperations().editEvent(model, "Class", LocalDateTime.of(2025, 5, 9, 9, 0),
+        "location", "Lab", ICalendarService.EditMode.SINGLE);
+    new EditEventOperations().editEvent(model, "Class", LocalDateTime.of(2025, 5, 9, 9, 0),
+        "start", "2025-05-09T08:00", ICalendarService.EditMode.SINGLE);
+
+    assertEquals(1, model.getAllEvents().size());
+    List<Event> occurrences = re.getOccurrences();
+    assertEquals("Room", occurrences.get(0).getLocation());
+    assertEquals("Lab", occurrences.get(1).getLocation());
+    assertEquals(LocalDateTime.of(2025, 5, 9, 8, 0), occurrences.get(1).getStartDateTime());
+    assertTrue(model.isBusyAt(LocalDateTime.of(2025, 5, 9, 8, 30)));
+    assertEquals(1, re.getExceptions().size());
+  }
 
+  @Test
+  public void testFromEditCarriesLaterExceptionsToNewSeries() throws Exception {
+    CalendarModel model = new CalendarModel();
+    RecurringEvent re = new RecurringEvent("Seminar",
+        LocalDateTime.of(2025, 5, 2, 14, 0),
+        LocalDateTime.of(2025, 5, 2, 15, 0),
+        "Talk", "Auditorium", true,
+        Collections.singleton(DayOfWeek.FRIDAY), -1, LocalDate.of(2025, 5, 30));
+    model.addEvent(re, false);
+    re.cancelOccurrence(LocalDate.of(2025, 5, 23));
+    new EditEventOperations().editEvent(model, "Seminar", LocalDateTime.of(2025, 5, 16, 14, 0),
+        "location", "Hall", ICalendarService.EditMode.FROM);
+
+    RecurringEvent later = (RecurringEvent) model.getAllEvents().get(1);
+    assertTrue(re.getExceptions().isEmpty());
+    assertTrue(later.getExceptions().isCancelled(LocalDate.of(2025, 5, 23)));
+    assertFalse(model.isBusyAt(LocalDateTime.of(2025, 5, 23, 14, 30)));
+    assertTrue(model.isBusyAt(LocalDateTime.of(2025, 5, 30, 14, 30)));
+  }
 }
@@ -0,0 +1,97 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for the EventBatchHelper class.
+ */
+public class EventBatchHelperTest {
+
+  private SingleEvent event(String subject, int day, int startHour, int endHour)
+      throws InvalidDateException {
+    SingleEvent event = new SingleEvent(subject, LocalDateTime.of(2025, 3, day, startHour, 0),
+        LocalDateTime.of(2025, 3, day, endHour, 0), "", "", true);
+    event.setAutoDecline(true);
+    return event;
+  }
+
+  @Test
+  public void testEarlierBatchEventsWinInGivenOrder() throws Exception {
+    SingleEvent late = event("Late", 1, 10, 12);
+    SingleEvent early = event("Early", 1, 9, 11);
+    SingleEvent free = event("Free", 1, 12, 13);
+    BatchAddResult result = EventBatchHelper.plan(Arrays.asList(late, early, free),
+        Collections.emptyList(), ConflictPolicy.SKIP_CONFLICTING);
+
+    assertEquals(Arrays.asList(late, free), result.getAdded());
+    assertEquals("Event 'Early' conflicts with existing event 'Late'.",
+        result.getConflicts().get(early));
+  }
+
+  @Test
+  public void testExistingEventsAreCheckedFirst() throws Exception {
+    SingleEvent stored = event("Stored", 2, 9, 10);
+    RecurringEvent series = new RecurringEvent("Series", LocalDateTime.of(2025, 3, 3, 14, 0),
+        LocalDateTime.of(2025, 3, 3, 15, 0), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 4,
+        null);
+    SingleEvent clash = event("Clash", 2, 9, 11);
+    SingleEvent onSeries = event("OnSeries", 10, 14, 16);
+    SingleEvent declineOff = event("DeclineOff", 17, 14, 15);
+    declineOff.setAutoDecline(false);
+
+    BatchAddResult result = EventBatchHelper.plan(Arrays.asList(clash, onSeries, declineOff),
+        Arrays.asList(stored, series), ConflictPolicy.REPORT_ONLY);
+    assertEquals(3, result.getAdded().size());
+    assertEquals(2, result.getConflicts().size());
+    assertEquals("Event 'OnSeries' conflicts with existing event 'Series'.",
+        result.getConflicts().get(onSeries));
+  }
+
+  @Test
+  public void testAllOrNothingThrows() throws Exception {
+    try {
+      EventBatchHelper.plan(Arrays.asList(event("A", 1, 9, 10), event("B", 1, 9, 10)),
+          Collections.emptyList(), ConflictPolicy.ALL_OR_NOTHING);
+      fail("Expected a conflict");
+    } catch (EventConflictException e) {
+      assertEquals("Event 'B' conflicts with existing event 'A'.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testMatchesOneAtATimeInsertion() throws Exception {
+    Random random = new Random(7);
+    List<SingleEvent> batch = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      int day = 1 + random.nextInt(20);
+      int start = random.nextInt(22);
+      batch.add(event("E" + i, day, start, start + 1 + random.nextInt(2)));
+    }
+    CalendarModel sequential = new CalendarModel();
+    List<Event> expected = new ArrayList<>();
+    for (SingleEvent event : batch) {
+      try {
+        sequential.addEvent(event, true);
+        expected.add(event);
+      } catch (EventConflictException e) {
+        // Skipped, as the batch should skip it.
+      }
+    }
+    BatchAddResult result = EventBatchHelper.plan(batch, Collections.emptyList(),
+        ConflictPolicy.SKIP_CONFLICTING);
+    assertEquals(expected, result.getAdded());
+    assertTrue(result.getConflicts().size() + expected.size() == batch.size());
+  }
+}
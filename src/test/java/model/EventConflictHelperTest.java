@@ -0,0 +1,128 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link EventConflictHelper}.
+ */
+public class EventConflictHelperTest {
+
+  private RecurringEvent series(String subject, LocalDate start, int startHour, int endHour,
+      EnumSet<DayOfWeek> days, int count, LocalDate until) throws InvalidDateException {
+    return new RecurringEvent(subject, start.atTime(startHour, 0), start.atTime(endHour, 0), "",
+        "", true, days, count, until);
+  }
+
+  @Test
+  public void testFirstConflictDateOnSharedWeekday() throws InvalidDateException {
+    RecurringEvent standup = series("Standup", LocalDate.of(2025, 1, 6), 9, 10,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), -1, LocalDate.of(2030, 1, 1));
+    RecurringEvent review = series("Review", LocalDate.of(2025, 3, 1), 9, 11,
+        EnumSet.of(DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), -1, LocalDate.of(2030, 1, 1));
+
+    assertEquals(LocalDate.of(2025, 3, 5), EventConflictHelper.firstConflictDate(standup,
+        review));
+    assertTrue(EventConflictHelper.seriesConflict(review, standup));
+  }
+
+  @Test
+  public void testNoConflictWithoutSharedWeekday() throws InvalidDateException {
+    RecurringEvent monday = series("Mon", LocalDate.of(2025, 1, 6), 9, 10,
+        EnumSet.of(DayOfWeek.MONDAY), -1, LocalDate.of(2030, 1, 1));
+    RecurringEvent tuesday = series("Tue", LocalDate.of(2025, 1, 6), 9, 10,
+        EnumSet.of(DayOfWeek.TUESDAY), -1, LocalDate.of(2030, 1, 1));
+    assertFalse(EventConflictHelper.seriesConflict(monday, tuesday));
+  }
+
+  @Test
+  public void testNoConflictWhenWindowsOnlyTouch() throws InvalidDateException {
+    RecurringEvent morning = series("Morning", LocalDate.of(2025, 1, 6), 9, 10,
+        EnumSet.of(DayOfWeek.MONDAY), 50, null);
+    RecurringEvent later = series("Later", LocalDate.of(2025, 1, 6), 10, 11,
+        EnumSet.of(DayOfWeek.MONDAY), 50, null);
+    assertNull(EventConflictHelper.firstConflictDate(morning, later));
+  }
+
+  @Test
+  public void testNoConflictWhenDateEnvelopesAreDisjoint() throws InvalidDateException {
+    RecurringEvent spring = series("Spring", LocalDate.of(2025, 3, 3), 9, 10,
+        EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    RecurringEvent autumn = series("Autumn", LocalDate.of(2025, 9, 1), 9, 10,
+        EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    assertFalse(EventConflictHelper.seriesConflict(spring, autumn));
+  }
+
+  @Test
+  public void testSeriesOverlapsMultiDayRange() throws InvalidDateException {
+    RecurringEvent friday = series("Friday", LocalDate.of(2025, 1, 3), 15, 16,
+        EnumSet.of(DayOfWeek.FRIDAY), -1, LocalDate.of(2025, 12, 31));
+
+    assertTrue(EventConflictHelper.seriesOverlapsRange(friday,
+        LocalDateTime.of(2025, 6, 2, 8, 0), LocalDateTime.of(2025, 6, 9, 8, 0)));
+    assertFalse(EventConflictHelper.seriesOverlapsRange(friday,
+        LocalDateTime.of(2025, 6, 6, 16, 0), LocalDateTime.of(2025, 6, 9, 8, 0)));
+    assertTrue(EventConflictHelper.seriesOverlapsRange(friday,
+        LocalDateTime.of(2025, 6, 5, 8, 0), LocalDateTime.of(2025, 6, 6, 15, 30)));
+    assertFalse(EventConflictHelper.seriesOverlapsRange(friday,
+        LocalDateTime.of(2026, 1, 1, 8, 0), LocalDateTime.of(2026, 1, 31, 8, 0)));
+  }
+
+  @Test
+  public void testAgreesWithExpansion() throws InvalidDateException {
+    RecurringEvent a = series("A", LocalDate.of(2025, 2, 3), 9, 11,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), 9, null);
+    RecurringEvent[] others = {
+        series("B", LocalDate.of(2025, 3, 6), 10, 12, EnumSet.of(DayOfWeek.THURSDAY), 3, null),
+        series("C", LocalDate.of(2025, 3, 7), 10, 12, EnumSet.of(DayOfWeek.THURSDAY), 3, null),
+        series("D", LocalDate.of(2025, 1, 1), 8, 9, EnumSet.allOf(DayOfWeek.class), -1,
+            LocalDate.of(2025, 6, 1))
+    };
+    for (RecurringEvent other : others) {
+      boolean expected = false;
+      for (SingleEvent mine : a.generateOccurrences()) {
+        for (SingleEvent theirs : other.generateOccurrences()) {
+          expected |= mine.getStartDateTime().isBefore(theirs.getEffectiveEndDateTime())
+              && theirs.getStartDateTime().isBefore(mine.getEffectiveEndDateTime());
+        }
+      }
+      assertEquals(other.getSubject(), expected, EventConflictHelper.seriesConflict(a, other));
+    }
+  }
+
+  @Test
+  public void testExceptionsOnLongSeriesOnlyWalkSharedDates() throws Exception {
+    RecurringEvent daily = series("Daily", LocalDate.of(2025, 1, 6), 9, 10,
+        EnumSet.allOf(DayOfWeek.class), -1, LocalDate.of(2099, 12, 31));
+    daily.cancelOccurrence(LocalDate.of(2025, 1, 7));
+    RecurringEvent late = series("Late", LocalDate.of(2099, 12, 28), 9, 10,
+        EnumSet.of(DayOfWeek.MONDAY), 1, null);
+    assertTrue(EventConflictHelper.seriesConflict(daily, late));
+
+    late.cancelOccurrence(LocalDate.of(2099, 12, 28));
+    assertFalse(EventConflictHelper.seriesConflict(daily, late));
+  }
+
+  @Test
+  public void testMovedOverrideConflictsOutsideRuleDates() throws Exception {
+    RecurringEvent mondays = series("Mon", LocalDate.of(2025, 1, 6), 9, 10,
+        EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    RecurringEvent fridays = series("Fri", LocalDate.of(2025, 6, 6), 14, 15,
+        EnumSet.of(DayOfWeek.FRIDAY), 4, null);
+    assertFalse(EventConflictHelper.seriesConflict(mondays, fridays));
+
+    mondays.overrideOccurrence(LocalDate.of(2025, 1, 13), new SingleEvent("Mon",
+        LocalDateTime.of(2025, 6, 13, 14, 30), LocalDateTime.of(2025, 6, 13, 15, 30), "", "",
+        true));
+    assertTrue(EventConflictHelper.seriesConflict(mondays, fridays));
+    assertTrue(EventConflictHelper.seriesConflict(fridays, mondays));
+  }
+}
@@ -134,5 +134,17 @@ public class EventCopyHelperTest {
     assertTrue(result.contains("No events found between 2025-08-01 and 2025-08-05"));
   }
 
-}
+  @Test
+  public void testCopyEventsBetweenDatesFromEmptyCalendar() throws Exception {
+    CalendarContext sourceContext = new CalendarContext("EmptySrc", "America/Denver");
+    CalendarContext targetContext = new CalendarContext("EmptyTgt", "America/Denver");
+    String result = EventCopyHelper.copyEventsBetweenDates(
+        sourceContext, targetContext,
+        LocalDate.of(2025, 8, 1),
+        LocalDate.of(2025, 8, 5),
+        LocalDate.of(2025, 9, 1));
+    assertTrue(result.contains("No events found between 2025-08-01 and 2025-08-05"));
+    assertTrue(targetContext.getCalendarService().getAllEvents().isEmpty());
+  }
 
+}
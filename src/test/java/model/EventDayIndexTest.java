@@ -0,0 +1,82 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link EventDayIndex}.
+ */
+public class EventDayIndexTest {
+
+  private EventDayIndex index;
+
+  @Before
+  public void setUp() {
+    index = new EventDayIndex();
+  }
+
+  @Test
+  public void testMultiDayEventInEveryBucket() throws InvalidDateException {
+    SingleEvent trip = new SingleEvent("Trip", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 17, 0), "", "", true);
+    index.add(trip);
+
+    assertTrue(index.candidatesOn(LocalDate.of(2025, 2, 28)).isEmpty());
+    assertEquals(1, index.candidatesOn(LocalDate.of(2025, 3, 1)).size());
+    assertEquals(1, index.candidatesOn(LocalDate.of(2025, 3, 2)).size());
+    assertEquals(1, index.candidatesOn(LocalDate.of(2025, 3, 3)).size());
+    assertTrue(index.candidatesOn(LocalDate.of(2025, 3, 4)).isEmpty());
+  }
+
+  @Test
+  public void testRecurringFiledByWeekday() throws InvalidDateException {
+    RecurringEvent standup = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), -1, LocalDate.of(2025, 3, 31));
+    index.add(standup);
+
+    assertEquals(1, index.candidatesOn(LocalDate.of(2025, 3, 5)).size());
+    assertTrue(index.candidatesOn(LocalDate.of(2025, 3, 4)).isEmpty());
+    assertTrue(index.candidatesOn(LocalDate.of(2025, 2, 24)).isEmpty());
+    assertTrue(index.candidatesOn(LocalDate.of(2025, 4, 7)).isEmpty());
+  }
+
+  @Test
+  public void testUpdateAndRemove() throws InvalidDateException {
+    SingleEvent event = new SingleEvent("Call", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+    SingleEvent other = new SingleEvent("Other", LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 10, 0), "", "", true);
+    index.add(event);
+    index.add(other);
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 2, 12, 0));
+    event.setStartDateTime(LocalDateTime.of(2025, 3, 2, 11, 0));
+    index.update(event);
+
+    assertTrue(index.candidatesOn(LocalDate.of(2025, 3, 1)).isEmpty());
+    List<Event> onSecond = index.candidatesOn(LocalDate.of(2025, 3, 2));
+    assertEquals(2, onSecond.size());
+    assertEquals(event, onSecond.get(0));
+
+    index.remove(event);
+    assertEquals(1, index.candidatesOn(LocalDate.of(2025, 3, 2)).size());
+  }
+
+  @Test
+  public void testVeryLongEventIsNotBucketed() throws InvalidDateException {
+    SingleEvent sabbatical = new SingleEvent("Sabbatical", LocalDateTime.of(2020, 1, 1, 0, 0),
+        LocalDateTime.of(2030, 1, 1, 0, 0), "", "", true);
+    index.add(sabbatical);
+
+    assertEquals(1, index.candidatesOn(LocalDate.of(2025, 6, 1)).size());
+    assertTrue(index.candidatesOn(LocalDate.of(2031, 6, 1)).isEmpty());
+  }
+}
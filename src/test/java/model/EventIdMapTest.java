@@ -0,0 +1,65 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for the EventIdMap class.
+ */
+public class EventIdMapTest {
+
+  private SingleEvent event(int n) throws InvalidDateException {
+    return new SingleEvent("E" + n, LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+  }
+
+  @Test
+  public void testPutGetAndGrow() throws InvalidDateException {
+    EventIdMap map = new EventIdMap();
+    List<Event> events = new ArrayList<>();
+    for (int i = 1; i <= 1000; i++) {
+      SingleEvent e = event(i);
+      events.add(e);
+      map.put(i, e);
+    }
+    assertEquals(1000, map.size());
+    for (int i = 1; i <= 1000; i++) {
+      assertSame(events.get(i - 1), map.get(i));
+    }
+    assertNull(map.get(1001));
+    assertNull(map.get(0));
+  }
+
+  @Test
+  public void testRemoveKeepsOtherEntriesReachable() throws InvalidDateException {
+    EventIdMap map = new EventIdMap();
+    List<Event> events = new ArrayList<>();
+    for (int i = 1; i <= 200; i++) {
+      SingleEvent e = event(i);
+      events.add(e);
+      map.put(i * 16L, e);
+    }
+    for (int i = 1; i <= 200; i += 2) {
+      assertSame(events.get(i - 1), map.remove(i * 16L));
+    }
+    assertNull(map.remove(16L));
+    assertEquals(100, map.size());
+    for (int i = 2; i <= 200; i += 2) {
+      assertSame(events.get(i - 1), map.get(i * 16L));
+    }
+    for (int i = 1; i <= 200; i += 2) {
+      assertNull(map.get(i * 16L));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroIdRejected() throws InvalidDateException {
+    new EventIdMap().put(0, event(1));
+  }
+}
@@ -0,0 +1,132 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link EventIntervalIndex}.
+ */
+public class EventIntervalIndexTest {
+
+  private EventIntervalIndex index;
+
+  @Before
+  public void setUp() {
+    index = new EventIntervalIndex();
+  }
+
+  private SingleEvent single(String subject, LocalDateTime start, LocalDateTime end)
+      throws InvalidDateException {
+    return new SingleEvent(subject, start, end, "", "", true);
+  }
+
+  @Test
+  public void testFindOverlappingReturnsOnlyOverlappingEvents() throws InvalidDateException {
+    SingleEvent morning = single("Morning", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0));
+    SingleEvent evening = single("Evening", LocalDateTime.of(2025, 3, 1, 18, 0),
+        LocalDateTime.of(2025, 3, 1, 19, 0));
+    SingleEvent nextDay = single("NextDay", LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 10, 0));
+    index.add(morning);
+    index.add(evening);
+    index.add(nextDay);
+
+    List<Event> found = index.findOverlapping(LocalDateTime.of(2025, 3, 1, 9, 30),
+        LocalDateTime.of(2025, 3, 1, 12, 0));
+    assertEquals(1, found.size());
+    assertTrue(found.contains(morning));
+  }
+
+  @Test
+  public void testResultsAreInInsertionOrder() throws InvalidDateException {
+    SingleEvent late = single("Late", LocalDateTime.of(2025, 3, 1, 11, 0),
+        LocalDateTime.of(2025, 3, 1, 12, 0));
+    SingleEvent early = single("Early", LocalDateTime.of(2025, 3, 1, 8, 0),
+        LocalDateTime.of(2025, 3, 1, 12, 0));
+    index.add(late);
+    index.add(early);
+
+    List<Event> found = index.findOverlapping(LocalDateTime.of(2025, 3, 1, 11, 30),
+        LocalDateTime.of(2025, 3, 1, 11, 45));
+    assertEquals(2, found.size());
+    assertEquals(late, found.get(0));
+    assertEquals(early, found.get(1));
+  }
+
+  @Test
+  public void testRecurringEnvelopeCoversWholeSeries() throws InvalidDateException {
+    RecurringEvent weekly = new RecurringEvent("Weekly", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, EnumSet.of(DayOfWeek.MONDAY), 10,
+        null);
+    index.add(weekly);
+
+    assertEquals(1, index.findOverlapping(LocalDateTime.of(2025, 5, 5, 9, 0),
+        LocalDateTime.of(2025, 5, 5, 9, 30)).size());
+    assertEquals(0, index.findOverlapping(LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 9, 0)).size());
+    assertEquals(0, index.findOverlapping(LocalDateTime.of(2026, 1, 1, 9, 0),
+        LocalDateTime.of(2026, 1, 2, 9, 0)).size());
+  }
+
+  @Test
+  public void testUpdateMovesEvent() throws InvalidDateException {
+    SingleEvent event = single("Moving", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0));
+    index.add(event);
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 10, 10, 0));
+    event.setStartDateTime(LocalDateTime.of(2025, 3, 10, 9, 0));
+    index.update(event);
+
+    assertEquals(0, index.findOverlapping(LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)).size());
+    assertEquals(1, index.findOverlapping(LocalDateTime.of(2025, 3, 10, 9, 0),
+        LocalDateTime.of(2025, 3, 10, 10, 0)).size());
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  public void testRemoveAndManyEvents() throws InvalidDateException {
+    LocalDate day = LocalDate.of(2025, 1, 1);
+    SingleEvent[] events = new SingleEvent[500];
+    for (int i = 0; i < events.length; i++) {
+      LocalDateTime start = day.plusDays(i).atTime(9, 0);
+      events[i] = single("E" + i, start, start.plusHours(1));
+      index.add(events[i]);
+    }
+    for (int i = 0; i < events.length; i += 2) {
+      index.remove(events[i]);
+    }
+    assertEquals(250, index.size());
+    for (int i = 0; i < events.length; i++) {
+      LocalDateTime probe = day.plusDays(i).atTime(9, 30);
+      List<Event> found = index.findOverlapping(probe, probe);
+      assertEquals(i % 2 == 0 ? 0 : 1, found.size());
+    }
+  }
+
+  @Test
+  public void testAnyOverlappingStabsInstant() throws InvalidDateException {
+    SingleEvent morning = single("Morning", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0));
+    SingleEvent evening = single("Evening", LocalDateTime.of(2025, 3, 1, 18, 0),
+        LocalDateTime.of(2025, 3, 1, 19, 0));
+    index.add(morning);
+    index.add(evening);
+    LocalDateTime instant = LocalDateTime.of(2025, 3, 1, 18, 30);
+
+    assertTrue(index.anyOverlapping(instant, instant, e -> e == evening));
+    assertFalse(index.anyOverlapping(instant, instant, e -> e == morning));
+    LocalDateTime gap = LocalDateTime.of(2025, 3, 1, 12, 0);
+    assertFalse(index.anyOverlapping(gap, gap, e -> true));
+  }
+}
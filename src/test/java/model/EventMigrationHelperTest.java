@@ -1,11 +1,15 @@
 package model;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.EnumSet;
 import java.util.List;
 import org.junit.Test;
 
@@ -54,6 +58,39 @@ public class EventMigrationHelperTest {
     LocalDateTime newStart = after.get(0).getStartDateTime();
     assertNotEquals(origStart, newStart);
   }
-}
 
+  @Test
+  public void testMigrateSeriesMovesItsExceptions() throws Exception {
+    CalendarContext context = new CalendarContext("TestExceptions", "America/New_York");
+    context.getCalendarService().addRecurringEvent("Call",
+        LocalDateTime.of(2025, 3, 3, 20, 0),
+        LocalDateTime.of(2025, 3, 3, 21, 0),
+        "", "", true, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY),
+        6, null, true);
+    RecurringEvent series = (RecurringEvent) context.getCalendarService().getAllEvents().get(0);
+    LocalDate moved = LocalDate.of(2025, 3, 5);
+    series.overrideOccurrence(moved, new SingleEvent("Call", moved.atTime(22, 0),
+        moved.atTime(23, 0), "", "Hall", true));
+    series.cancelOccurrence(LocalDate.of(2025, 3, 10));
+
+    EventMigrationHelper.migrateEvents(context, ZoneId.of("America/New_York"),
+        ZoneId.of("Asia/Kolkata"));
 
+    assertEquals(LocalDateTime.of(2025, 3, 4, 6, 30), series.getStartDateTime());
+    assertEquals(EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY), series.getRecurrenceDays());
+    OccurrenceExceptions exceptions = series.getExceptions();
+    assertEquals(2, exceptions.size());
+    SingleEvent override = exceptions.getOverride(LocalDate.of(2025, 3, 6));
+    assertEquals(LocalDateTime.of(2025, 3, 6, 8, 30), override.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 6, 9, 30), override.getEffectiveEndDateTime());
+    assertTrue(exceptions.isCancelled(LocalDate.of(2025, 3, 11)));
+
+    List<Event> occurrences = series.getOccurrences();
+    assertEquals(5, occurrences.size());
+    assertEquals(LocalDateTime.of(2025, 3, 6, 8, 30), occurrences.get(1).getStartDateTime());
+    assertEquals("Hall", occurrences.get(1).getLocation());
+    for (Event occurrence : occurrences) {
+      assertNotEquals(LocalDate.of(2025, 3, 11), occurrence.getStartDateTime().toLocalDate());
+    }
+  }
+}
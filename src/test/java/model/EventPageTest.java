@@ -0,0 +1,34 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for the EventPage class.
+ */
+public class EventPageTest {
+
+  @Test
+  public void testAccessors() throws Exception {
+    List<Event> events = new ArrayList<>();
+    events.add(new SingleEvent("A", LocalDateTime.of(2025, 1, 1, 9, 0),
+        LocalDateTime.of(2025, 1, 1, 10, 0), "", "", true));
+    EventPage page = new EventPage(events, "2025-01-01T09:00#1");
+    assertEquals(1, page.getEvents().size());
+    assertEquals("2025-01-01T09:00#1", page.getNextToken());
+    assertTrue(page.hasMore());
+    assertFalse(new EventPage(Collections.emptyList(), null).hasMore());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testEventsAreUnmodifiable() {
+    new EventPage(new ArrayList<>(), null).getEvents().add(null);
+  }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the EventPositionMap class.
+ */
+public class EventPositionMapTest {
+
+  @Test
+  public void testPutGetAndGrow() {
+    EventPositionMap map = new EventPositionMap();
+    for (int i = 1; i <= 1000; i++) {
+      map.put(i, i - 1);
+    }
+    assertEquals(1000, map.size());
+    for (int i = 1; i <= 1000; i++) {
+      assertEquals(i - 1, map.get(i));
+    }
+    map.put(5, 42);
+    assertEquals(42, map.get(5));
+    assertEquals(1000, map.size());
+    assertEquals(EventPositionMap.ABSENT, map.get(1001));
+    assertEquals(EventPositionMap.ABSENT, map.get(0));
+  }
+
+  @Test
+  public void testRemoveKeepsOtherEntriesReachable() {
+    EventPositionMap map = new EventPositionMap();
+    for (int i = 1; i <= 200; i++) {
+      map.put(i * 16L, i);
+    }
+    for (int i = 1; i <= 200; i += 2) {
+      assertEquals(i, map.remove(i * 16L));
+    }
+    assertEquals(EventPositionMap.ABSENT, map.remove(16L));
+    assertEquals(100, map.size());
+    for (int i = 2; i <= 200; i += 2) {
+      assertEquals(i, map.get(i * 16L));
+    }
+    for (int i = 1; i <= 200; i += 2) {
+      assertEquals(EventPositionMap.ABSENT, map.get(i * 16L));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroIdRejected() {
+    new EventPositionMap().put(0, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativePositionRejected() {
+    new EventPositionMap().put(1, -1);
+  }
+}
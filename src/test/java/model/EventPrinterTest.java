@@ -3,8 +3,12 @@ package model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import org.junit.Test;
 
 
@@ -75,4 +79,75 @@ public class EventPrinterTest {
     String[] lines = output.split("\n");
     assertEquals(1, lines.length);
   }
+
+  @Test
+  public void testPrintEventsOnShowsModifiedOccurrence() throws Exception {
+    CalendarModel model = new CalendarModel();
+    EventPrinter printer = new EventPrinter(model);
+    RecurringEvent standup = new RecurringEvent("Standup",
+        LocalDateTime.of(2025, 5, 5, 9, 0),
+        LocalDateTime.of(2025, 5, 5, 9, 15),
+        "", "Room1", true, EnumSet.of(DayOfWeek.MONDAY), 3, null);
+    model.addEvent(standup, false);
+    standup.overrideOccurrence(LocalDate.of(2025, 5, 12), new SingleEvent("Standup",
+        LocalDateTime.of(2025, 5, 12, 11, 0), LocalDateTime.of(2025, 5, 12, 11, 15), "",
+        "Lab", true));
+    standup.cancelOccurrence(LocalDate.of(2025, 5, 19));
+
+    String output = printer.printEventsOn(LocalDate.of(2025, 5, 12));
+    assertTrue(output.contains("Standup at Lab 2025-05-12T11:00"));
+    assertEquals("", printer.printEventsOn(LocalDate.of(2025, 5, 19)));
+  }
+
+  @Test
+  public void testRangeIsWrittenInPages() throws Exception {
+    CalendarModel model = new CalendarModel();
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+    int count = EventPrinter.PAGE_LINES * 2 + 5;
+    for (int i = 0; i < count; i++) {
+      model.addEvent(new SingleEvent("E" + i, base.plusHours(i), base.plusHours(i).plusMinutes(30),
+          "", "", true), false);
+    }
+    EventPrinter printer = new EventPrinter(model);
+    List<Integer> pageSizes = new ArrayList<>();
+    StringBuilder written = new StringBuilder();
+    Appendable out = new Appendable() {
+      @Override
+      public Appendable append(CharSequence csq) {
+        pageSizes.add(csq.toString().split("\n", -1).length - 1);
+        written.append(csq);
+        return this;
+      }
+
+      @Override
+      public Appendable append(CharSequence csq, int start, int end) {
+        return append(csq.subSequence(start, end));
+      }
+
+      @Override
+      public Appendable append(char c) {
+        return append(String.valueOf(c));
+      }
+    };
+    printer.printEventsRange(base, base.plusYears(1), out);
+    assertEquals(printer.printEventsRange(base, base.plusYears(1)), written.toString());
+    assertEquals(3, pageSizes.size());
+    assertEquals(EventPrinter.PAGE_LINES + 1, (int) pageSizes.get(0));
+    assertEquals(EventPrinter.PAGE_LINES, (int) pageSizes.get(1));
+    assertEquals(5, (int) pageSizes.get(2));
+  }
+
+  @Test
+  public void testIdsAreListedOnlyWhenAsked() throws Exception {
+    CalendarModel model = new CalendarModel();
+    model.addEvent(new SingleEvent("TestEvent", LocalDateTime.of(2025, 5, 1, 9, 0),
+        LocalDateTime.of(2025, 5, 1, 10, 0), "", "Room1", true), false);
+    LocalDate day = LocalDate.of(2025, 5, 1);
+    assertEquals("Events on 2025-05-01:\n- TestEvent at Room1 2025-05-01T09:00\n",
+        new EventPrinter(model).printEventsOn(day));
+    assertEquals("Events on 2025-05-01:\n- TestEvent at Room1 2025-05-01T09:00 [id 1]\n",
+        new EventPrinter(model, true).printEventsOn(day));
+    assertTrue(new EventPrinter(model, true).printEventsRange(day.atStartOfDay(),
+        day.plusDays(1).atStartOfDay()).contains("2025-05-01T09:00 [id 1]"));
+  }
 }
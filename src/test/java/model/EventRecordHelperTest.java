@@ -0,0 +1,124 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link EventRecordHelper}.
+ */
+public class EventRecordHelperTest {
+
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+  private static AbstractEvent roundTrip(Event event) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    EventRecordHelper.writeEvent(new DataOutputStream(bytes), event);
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    AbstractEvent read = EventRecordHelper.readEvent(in);
+    assertEquals(0, in.available());
+    return read;
+  }
+
+  @Test
+  public void testSingleEventRoundTripsWithMissingFields() throws Exception {
+    SingleEvent event = new SingleEvent("Holiday", MONDAY.toLocalDate().atStartOfDay(), null,
+        null, "Home", false);
+    event.setAutoDecline(true);
+    AbstractEvent read = roundTrip(event);
+    assertTrue(read instanceof SingleEvent);
+    assertEquals("Holiday", read.getSubject());
+    assertEquals(event.getStartDateTime(), read.getStartDateTime());
+    assertNull(read.endDateTime);
+    assertNull(read.getDescription());
+    assertEquals("Home", read.getLocation());
+    assertFalse(read.isPublic());
+    assertTrue(read.isAutoDecline());
+  }
+
+  @Test
+  public void testSeriesRoundTripsWithItsExceptions() throws Exception {
+    RecurringEvent series = new RecurringEvent("Standup", MONDAY, MONDAY.plusMinutes(15), "Daily",
+        "Room", true, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), -1,
+        LocalDate.of(2025, 4, 30));
+    LocalDate moved = LocalDate.of(2025, 3, 10);
+    LocalDate displaced = LocalDate.of(2025, 3, 13);
+    LocalDate cancelled = LocalDate.of(2025, 3, 17);
+    series.overrideOccurrence(moved, new SingleEvent("Standup", moved.atTime(11, 0),
+        moved.atTime(11, 30), "Later", "Hall", true));
+    series.overrideOccurrence(displaced, new SingleEvent("Standup", displaced.atTime(23, 0),
+        displaced.plusDays(1).atTime(1, 0), "Late", "Hall", false));
+    series.cancelOccurrence(cancelled);
+
+    AbstractEvent read = roundTrip(series);
+    assertTrue(read instanceof RecurringEvent);
+    RecurringEvent copy = (RecurringEvent) read;
+    assertEquals(series.getRecurrenceDays(), copy.getRecurrenceDays());
+    assertEquals(-1, copy.getOccurrenceCount());
+    assertEquals(series.getRecurrenceEndDate(), copy.getRecurrenceEndDate());
+    assertEquals(moved.atTime(11, 0),
+        copy.getExceptions().getOverride(moved).getStartDateTime());
+    assertEquals("Late", copy.getExceptions().getOverride(displaced).getDescription());
+    assertTrue(copy.getExceptions().getDisplaced().containsKey(displaced));
+    assertTrue(copy.getExceptions().isCancelled(cancelled));
+    assertEquals(series.getOccurrences().size(), copy.getOccurrences().size());
+  }
+
+  @Test
+  public void testDateTimeKeepsNanoseconds() throws IOException {
+    LocalDateTime precise = MONDAY.plusNanos(123456789);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    EventRecordHelper.writeDateTime(new DataOutputStream(bytes), precise);
+    assertEquals(precise, EventRecordHelper.readDateTime(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+  }
+
+  @Test
+  public void testTextOfAnyLengthRoundTrips() throws IOException {
+    char[] filler = new char[70000];
+    Arrays.fill(filler, '\u00e9');
+    String[] texts = {null, "", "Caf\u00e9", new String(filler)};
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    for (String text : texts) {
+      EventRecordHelper.writeText(out, text);
+    }
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    for (String text : texts) {
+      assertEquals(text, EventRecordHelper.readText(in));
+    }
+    assertEquals(0, in.available());
+  }
+
+  @Test(expected = IOException.class)
+  public void testTextWithCorruptLengthFailsAtTheEnd() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new DataOutputStream(bytes).writeInt(Integer.MAX_VALUE);
+    EventRecordHelper.readText(new DataInputStream(new ByteArrayInputStream(
+        bytes.toByteArray())));
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsInvalidEvent() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeBoolean(false);
+    EventRecordHelper.writeSingle(out, "Backwards", MONDAY, MONDAY.minusHours(1), "", "", true);
+    out.writeBoolean(false);
+    EventRecordHelper.readEvent(new DataInputStream(new ByteArrayInputStream(
+        bytes.toByteArray())));
+  }
+}
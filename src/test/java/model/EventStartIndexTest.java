@@ -0,0 +1,78 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the EventStartIndex class.
+ */
+public class EventStartIndexTest {
+
+  private EventStartIndex index;
+
+  @Before
+  public void setUp() {
+    index = new EventStartIndex();
+  }
+
+  private SingleEvent event(String subject, int day, int hour) throws InvalidDateException {
+    return new SingleEvent(subject, LocalDateTime.of(2025, 3, day, hour, 0),
+        LocalDateTime.of(2025, 3, day, hour + 1, 0), "", "", true);
+  }
+
+  @Test
+  public void testRangeIsChronologicalAndHalfOpen() throws InvalidDateException {
+    SingleEvent late = event("Late", 2, 15);
+    SingleEvent early = event("Early", 2, 9);
+    SingleEvent boundary = event("Boundary", 3, 0);
+    index.add(late);
+    index.add(early);
+    index.add(boundary);
+
+    List<Event> result = index.startingBetween(LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 0, 0));
+    assertEquals(2, result.size());
+    assertSame(early, result.get(0));
+    assertSame(late, result.get(1));
+  }
+
+  @Test
+  public void testEventsSharingStartAreAllReturned() throws InvalidDateException {
+    index.add(event("A", 2, 9));
+    index.add(event("B", 2, 9));
+    assertEquals(2, index.startingBetween(LocalDateTime.of(2025, 3, 2, 0, 0),
+        LocalDateTime.of(2025, 3, 3, 0, 0)).size());
+  }
+
+  @Test
+  public void testUpdateMovesEvent() throws InvalidDateException {
+    SingleEvent moved = event("Moved", 2, 9);
+    index.add(moved);
+    moved.setEndDateTime(LocalDateTime.of(2025, 3, 5, 10, 0));
+    moved.setStartDateTime(LocalDateTime.of(2025, 3, 5, 9, 0));
+    index.update(moved);
+
+    assertTrue(index.startingBetween(LocalDateTime.of(2025, 3, 2, 0, 0),
+        LocalDateTime.of(2025, 3, 3, 0, 0)).isEmpty());
+    assertEquals(1, index.startingBetween(LocalDateTime.of(2025, 3, 5, 0, 0),
+        LocalDateTime.of(2025, 3, 6, 0, 0)).size());
+  }
+
+  @Test
+  public void testRemoveAndEmptyRange() throws InvalidDateException {
+    SingleEvent gone = event("Gone", 2, 9);
+    index.add(gone);
+    index.remove(gone);
+    assertTrue(index.startingBetween(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 9, 0, 0)).isEmpty());
+    index.add(gone);
+    assertTrue(index.startingBetween(LocalDateTime.of(2025, 3, 9, 0, 0),
+        LocalDateTime.of(2025, 3, 1, 0, 0)).isEmpty());
+  }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the EventSubjectIndex class.
+ */
+public class EventSubjectIndexTest {
+
+  private EventSubjectIndex index;
+
+  @Before
+  public void setUp() {
+    index = new EventSubjectIndex();
+  }
+
+  private SingleEvent single(String subject, int day) throws InvalidDateException {
+    return new SingleEvent(subject, LocalDateTime.of(2025, 3, day, 9, 0),
+        LocalDateTime.of(2025, 3, day, 10, 0), "", "", true);
+  }
+
+  @Test
+  public void testLookupIgnoresCaseAndKeepsInsertionOrder() throws InvalidDateException {
+    SingleEvent first = single("Review", 2);
+    SingleEvent other = single("Lunch", 2);
+    SingleEvent second = single("REVIEW", 1);
+    index.add(first);
+    index.add(other);
+    index.add(second);
+
+    List<Event> found = index.withSubject("review");
+    assertEquals(2, found.size());
+    assertSame(first, found.get(0));
+    assertSame(second, found.get(1));
+  }
+
+  @Test
+  public void testCandidatesAtNarrowsSinglesByStart() throws Exception {
+    SingleEvent monday = single("Sync", 3);
+    SingleEvent tuesday = single("Sync", 4);
+    RecurringEvent series = new RecurringEvent("sync", LocalDateTime.of(2025, 3, 5, 9, 0),
+        LocalDateTime.of(2025, 3, 5, 10, 0), "", "", true,
+        EnumSet.of(DayOfWeek.WEDNESDAY), 3, null);
+    index.add(series);
+    index.add(monday);
+    index.add(tuesday);
+
+    List<Event> found = index.candidatesAt("SYNC", LocalDateTime.of(2025, 3, 4, 9, 0));
+    assertEquals(2, found.size());
+    assertSame(series, found.get(0));
+    assertSame(tuesday, found.get(1));
+  }
+
+  @Test
+  public void testUpdateFollowsSubjectAndStartChanges() throws InvalidDateException {
+    SingleEvent event = single("Draft", 2);
+    index.add(event);
+    event.setSubject("Final");
+    event.setEndDateTime(LocalDateTime.of(2025, 3, 6, 10, 0));
+    event.setStartDateTime(LocalDateTime.of(2025, 3, 6, 9, 0));
+    index.update(event);
+
+    assertTrue(index.withSubject("draft").isEmpty());
+    assertEquals(1, index.withSubject("final").size());
+    assertTrue(index.candidatesAt("final", LocalDateTime.of(2025, 3, 2, 9, 0)).isEmpty());
+    assertEquals(1, index.candidatesAt("final", LocalDateTime.of(2025, 3, 6, 9, 0)).size());
+
+    index.remove(event);
+    assertTrue(index.withSubject("final").isEmpty());
+  }
+
+  @Test
+  public void testKeysAgreeWithEqualsIgnoreCase() throws InvalidDateException {
+    String[] subjects = {"Straße", "STRASSE", "strasse", "STRAẞE", "Σίσυφος", "ΣΊΣΥΦΟΣ",
+        "σίσυφοσ", "İstanbul", "istanbul", "ǅemal", "ǆemal", "Ǆemal"};
+    for (String a : subjects) {
+      for (String b : subjects) {
+        assertEquals(a + " / " + b, a.equalsIgnoreCase(b),
+            EventSubjectIndex.normalize(a).equals(EventSubjectIndex.normalize(b)));
+      }
+    }
+    index.add(single("Straße", 2));
+    assertEquals(1, index.withSubject("STRAßE").size());
+    assertTrue(index.withSubject("STRASSE").isEmpty());
+  }
+}
@@ -0,0 +1,163 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the FreeBusyIndex class.
+ */
+public class FreeBusyIndexTest {
+
+  private List<Event> events;
+  private FreeBusyIndex index;
+
+  @Before
+  public void setUp() {
+    events = new ArrayList<>();
+    index = new FreeBusyIndex(date -> events);
+  }
+
+  private SingleEvent single(LocalDateTime start, LocalDateTime end) throws Exception {
+    return new SingleEvent("Event", start, end, "", "", true);
+  }
+
+  private void store(Event event) {
+    events.add(event);
+    index.add(event);
+  }
+
+  @Test
+  public void testBoundariesAreExclusive() throws Exception {
+    store(single(LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 8, 59)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 0)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 0, 1)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 59, 59)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 10, 0)));
+  }
+
+  @Test
+  public void testAdjacentEventsAreFreeAtTheSharedInstant() throws Exception {
+    store(single(LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    store(single(LocalDateTime.of(2025, 3, 1, 10, 0), LocalDateTime.of(2025, 3, 1, 11, 0)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 10, 0)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 10, 1)));
+    assertEquals(120, index.busyMinutes(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 2, 0, 0)));
+  }
+
+  @Test
+  public void testMultiDayEventCoversEveryDay() throws Exception {
+    store(single(LocalDateTime.of(2025, 3, 1, 22, 0), LocalDateTime.of(2025, 3, 3, 1, 0)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 2, 0, 0)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 3, 0, 0)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 3, 1, 0)));
+    assertEquals(120 + 1440 + 60, index.busyMinutes(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 4, 0, 0)));
+    assertEquals(30, index.busyMinutes(LocalDateTime.of(2025, 3, 3, 0, 30),
+        LocalDateTime.of(2025, 3, 3, 12, 0)));
+  }
+
+  @Test
+  public void testUnalignedTimesAreCheckedExactly() throws Exception {
+    store(single(LocalDateTime.of(2025, 3, 1, 9, 0, 30), LocalDateTime.of(2025, 3, 1, 9, 2, 15)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 0, 10)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 0, 40)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 2)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 2, 15)));
+    assertEquals(3, index.busyMinutes(LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0)));
+  }
+
+  @Test
+  public void testRecurringOccurrencesAreMarked() throws Exception {
+    store(new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 4, null));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 5, 9, 10)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 4, 9, 10)));
+    assertEquals(60, index.busyMinutes(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 20, 0, 0)));
+  }
+
+  @Test
+  public void testDaysAreComputedLazily() throws Exception {
+    store(single(LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    assertEquals(0, index.getCachedDayCount());
+    index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30));
+    index.isBusyAt(LocalDateTime.of(2025, 3, 1, 11, 30));
+    assertEquals(1, index.getCachedDayCount());
+    index.clear();
+    assertEquals(0, index.getCachedDayCount());
+  }
+
+  @Test
+  public void testAddMergesIntoCachedDays() throws Exception {
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+    store(single(LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    assertEquals(1, index.getCachedDayCount());
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+  }
+
+  @Test
+  public void testUpdateAndRemoveDropMarkedDays() throws Exception {
+    SingleEvent meeting = single(LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0));
+    store(meeting);
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 2, 9, 30)));
+
+    meeting.setEndDateTime(LocalDateTime.of(2025, 3, 2, 10, 0));
+    meeting.setStartDateTime(LocalDateTime.of(2025, 3, 2, 9, 0));
+    index.update(meeting);
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 2, 9, 30)));
+
+    events.remove(meeting);
+    index.remove(meeting);
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 2, 9, 30)));
+  }
+
+  @Test
+  public void testBusyMinutesOfEmptyRange() {
+    LocalDateTime instant = LocalDateTime.of(2025, 3, 1, 9, 0);
+    assertEquals(0, index.busyMinutes(instant, instant));
+    assertEquals(0, index.getCachedDayCount());
+    assertEquals(0, index.busyMinutes(instant, LocalDate.of(2025, 3, 2).atStartOfDay()));
+  }
+
+  @Test
+  public void testCacheDropsLeastRecentlyQueriedDays() throws Exception {
+    index = new FreeBusyIndex(date -> events, 2);
+    store(single(LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30));
+    index.isBusyAt(LocalDateTime.of(2025, 3, 2, 9, 30));
+    index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30));
+    index.isBusyAt(LocalDateTime.of(2025, 3, 3, 9, 30));
+    assertEquals(2, index.getCachedDayCount());
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 1, 9, 30)));
+    assertEquals(2, index.getCachedDayCount());
+  }
+
+  @Test
+  public void testAddOfLongSeriesMergesIntoCachedDays() throws Exception {
+    assertFalse(index.isBusyAt(LocalDateTime.of(2025, 3, 5, 9, 10)));
+    assertFalse(index.isBusyAt(LocalDateTime.of(2026, 3, 4, 9, 10)));
+    store(new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true,
+        EnumSet.of(DayOfWeek.WEDNESDAY), -1, LocalDate.of(2027, 1, 1)));
+    assertEquals(2, index.getCachedDayCount());
+    assertTrue(index.isBusyAt(LocalDateTime.of(2025, 3, 5, 9, 10)));
+    assertTrue(index.isBusyAt(LocalDateTime.of(2026, 3, 4, 9, 10)));
+  }
+}
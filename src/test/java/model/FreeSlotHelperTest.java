@@ -0,0 +1,141 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for the FreeSlotHelper class.
+ */
+public class FreeSlotHelperTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private static void add(ICalendarContext calendar, LocalDateTime start, LocalDateTime end)
+      throws Exception {
+    calendar.getCalendarModel().addEvent(
+        new SingleEvent("Busy", start, end, "", "", true), false);
+  }
+
+  private static TimeSlot slot(LocalDateTime start, LocalDateTime end) {
+    return new TimeSlot(start, end);
+  }
+
+  @Test
+  public void testGapsBetweenMergedCalendars() throws Exception {
+    CalendarContext a = new CalendarContext("A", "UTC");
+    CalendarContext b = new CalendarContext("B", "UTC");
+    add(a, LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 3, 10, 0));
+    add(b, LocalDateTime.of(2025, 3, 3, 9, 30), LocalDateTime.of(2025, 3, 3, 11, 0));
+    add(a, LocalDateTime.of(2025, 3, 3, 13, 0), LocalDateTime.of(2025, 3, 3, 14, 0));
+
+    List<TimeSlot> slots = FreeSlotHelper.findFreeSlots(Arrays.asList(a, b), UTC,
+        LocalDateTime.of(2025, 3, 3, 8, 0), LocalDateTime.of(2025, 3, 3, 18, 0), null, null);
+    assertEquals(Arrays.asList(
+        slot(LocalDateTime.of(2025, 3, 3, 8, 0), LocalDateTime.of(2025, 3, 3, 9, 0)),
+        slot(LocalDateTime.of(2025, 3, 3, 11, 0), LocalDateTime.of(2025, 3, 3, 13, 0)),
+        slot(LocalDateTime.of(2025, 3, 3, 14, 0), LocalDateTime.of(2025, 3, 3, 18, 0))), slots);
+  }
+
+  @Test
+  public void testEventsStartingBeforeTheRangeBlockItsStart() throws Exception {
+    CalendarContext a = new CalendarContext("A", "UTC");
+    add(a, LocalDateTime.of(2025, 3, 2, 22, 0), LocalDateTime.of(2025, 3, 3, 9, 0));
+    List<TimeSlot> slots = FreeSlotHelper.findFreeSlots(Collections.singletonList(a), UTC,
+        LocalDateTime.of(2025, 3, 3, 0, 0), LocalDateTime.of(2025, 3, 3, 12, 0), null, null);
+    assertEquals(Collections.singletonList(
+        slot(LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 3, 12, 0))), slots);
+  }
+
+  @Test
+  public void testTimezonesAreNormalized() throws Exception {
+    CalendarContext london = new CalendarContext("London", "Europe/London");
+    CalendarContext newYork = new CalendarContext("NewYork", "America/New_York");
+    add(london, LocalDateTime.of(2025, 1, 15, 14, 0), LocalDateTime.of(2025, 1, 15, 15, 0));
+    add(newYork, LocalDateTime.of(2025, 1, 15, 10, 0), LocalDateTime.of(2025, 1, 15, 11, 0));
+
+    List<TimeSlot> slots = FreeSlotHelper.findFreeSlots(Arrays.asList(london, newYork),
+        ZoneId.of("Europe/London"), LocalDateTime.of(2025, 1, 15, 13, 0),
+        LocalDateTime.of(2025, 1, 15, 17, 0), null, null);
+    assertEquals(Arrays.asList(
+        slot(LocalDateTime.of(2025, 1, 15, 13, 0), LocalDateTime.of(2025, 1, 15, 14, 0)),
+        slot(LocalDateTime.of(2025, 1, 15, 16, 0), LocalDateTime.of(2025, 1, 15, 17, 0))),
+        slots);
+  }
+
+  @Test
+  public void testMinimumDurationAndWorkingHours() throws Exception {
+    CalendarContext a = new CalendarContext("A", "UTC");
+    add(a, LocalDateTime.of(2025, 3, 3, 9, 20), LocalDateTime.of(2025, 3, 3, 16, 0));
+    WorkingHours hours = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+    List<TimeSlot> slots = FreeSlotHelper.findFreeSlots(Collections.singletonList(a), UTC,
+        LocalDateTime.of(2025, 3, 3, 0, 0), LocalDateTime.of(2025, 3, 5, 0, 0),
+        Duration.ofMinutes(30), hours);
+    assertEquals(Arrays.asList(
+        slot(LocalDateTime.of(2025, 3, 3, 16, 0), LocalDateTime.of(2025, 3, 3, 17, 0)),
+        slot(LocalDateTime.of(2025, 3, 4, 9, 0), LocalDateTime.of(2025, 3, 4, 17, 0))), slots);
+  }
+
+  @Test
+  public void testRecurringEventsAreMerged() throws Exception {
+    CalendarContext a = new CalendarContext("A", "UTC");
+    a.getCalendarModel().addEvent(new RecurringEvent("Standup",
+        LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), 2, null), false);
+    WorkingHours hours = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(12, 0));
+    List<TimeSlot> slots = FreeSlotHelper.findFreeSlots(Collections.singletonList(a), UTC,
+        LocalDateTime.of(2025, 3, 3, 0, 0), LocalDateTime.of(2025, 3, 5, 0, 0), null, hours);
+    assertEquals(Arrays.asList(
+        slot(LocalDateTime.of(2025, 3, 3, 10, 0), LocalDateTime.of(2025, 3, 3, 12, 0)),
+        slot(LocalDateTime.of(2025, 3, 4, 10, 0), LocalDateTime.of(2025, 3, 4, 12, 0))), slots);
+  }
+
+  @Test
+  public void testEmptyRange() {
+    CalendarContext a = new CalendarContext("A", "UTC");
+    LocalDateTime instant = LocalDateTime.of(2025, 3, 3, 9, 0);
+    assertTrue(FreeSlotHelper.findFreeSlots(Collections.singletonList(a), UTC, instant, instant,
+        null, null).isEmpty());
+  }
+
+  @Test
+  public void testSlotsMatchBusyChecks() throws Exception {
+    Random random = new Random(17);
+    List<ICalendarContext> calendars = new ArrayList<>();
+    LocalDateTime base = LocalDateTime.of(2025, 3, 1, 0, 0);
+    for (int c = 0; c < 5; c++) {
+      CalendarContext calendar = new CalendarContext("C" + c, "UTC");
+      for (int i = 0; i < 20; i++) {
+        LocalDateTime start = base.plusMinutes(15L * random.nextInt(7 * 96));
+        add(calendar, start, start.plusMinutes(15L * (1 + random.nextInt(8))));
+      }
+      calendars.add(calendar);
+    }
+    LocalDateTime end = base.plusDays(7);
+    List<TimeSlot> slots = FreeSlotHelper.findFreeSlots(calendars, UTC, base, end, null, null);
+    for (LocalDateTime t = base.plusMinutes(1); t.isBefore(end); t = t.plusMinutes(15)) {
+      boolean busy = false;
+      for (ICalendarContext calendar : calendars) {
+        busy |= calendar.getCalendarModel().isBusyAt(t);
+      }
+      boolean free = false;
+      for (TimeSlot slot : slots) {
+        free |= slot.getStart().isBefore(t) && slot.getEnd().isAfter(t);
+      }
+      assertEquals(t.toString(), !busy, free);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package model;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Measures what journaling costs a stream of changes: the same events are added through a plain
+ * {@link MultiCalendarService} and through a {@link JournaledCalendarService} on a journal with
+ * the default batch size and delay, and the best of several rounds of each is compared. It is a
+ * program rather than a test, since its timings depend on the machine and its disk.
+ *
+ * <p>Run it with the test classes on the class path, optionally passing the number of events per
+ * round and the number of rounds.
+ */
+public class JournalOverheadBenchmark {
+
+  private static final LocalDateTime START = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+  /**
+   * Runs the benchmark and prints the time per change with and without the journal.
+   *
+   * @param args the number of events per round and the number of rounds, both optional
+   * @throws Exception if a change or the journal fails
+   */
+  public static void main(String[] args) throws Exception {
+    int events = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+    long plain = Long.MAX_VALUE;
+    long journaled = Long.MAX_VALUE;
+    for (int round = 0; round < rounds; round++) {
+      plain = Math.min(plain, runPlain(events));
+      journaled = Math.min(journaled, runJournaled(events));
+    }
+    System.out.printf("plain:     %.0f ns per change%n", (double) plain / events);
+    System.out.printf("journaled: %.0f ns per change%n", (double) journaled / events);
+    System.out.printf("overhead:  %.1f%%%n", 100.0 * (journaled - plain) / plain);
+  }
+
+  private static long runPlain(int events) throws Exception {
+    return addEvents(new MultiCalendarService(new CalendarManager()), events);
+  }
+
+  private static long runJournaled(int events) throws Exception {
+    Path file = Files.createTempFile("benchmark", ".journal");
+    Files.delete(file);
+    try (CommandJournal journal = new CommandJournal(file)) {
+      return addEvents(new JournaledCalendarService(new CalendarManager(), journal), events);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Creates a calendar and adds back-to-back events to it, returning the nanoseconds taken by
+   * the additions.
+   */
+  private static long addEvents(IMultiCalendarService service, int events) throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+    long started = System.nanoTime();
+    for (int i = 0; i < events; i++) {
+      LocalDateTime start = START.plusMinutes(30L * i);
+      service.addSingleEvent("Event " + i, start, start.plusMinutes(30), "Notes", "Room",
+          true, false);
+    }
+    return System.nanoTime() - started;
+  }
+}
@@ -0,0 +1,290 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link JournaledCalendarService}.
+ */
+public class JournaledCalendarServiceTest {
+
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+  private Path file;
+  private Path csv;
+  private ICalendarManager manager;
+  private CommandJournal journal;
+  private JournaledCalendarService service;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("calendar", ".journal");
+    Files.delete(file);
+    csv = Files.createTempFile("import", ".csv");
+    manager = new CalendarManager();
+    journal = new CommandJournal(file, 1);
+    service = new JournaledCalendarService(manager, journal);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    journal.close();
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(csv);
+  }
+
+  /**
+   * Closes the journal, as a crash would leave it, and rebuilds a fresh manager from it.
+   */
+  private ICalendarManager restart() throws IOException {
+    journal.close();
+    ICalendarManager recovered = new CalendarManager();
+    journal = new CommandJournal(file, 1);
+    JournaledCalendarService.recover(recovered, journal);
+    return recovered;
+  }
+
+  private static List<String> describe(ICalendarManager calendars, String name) {
+    ICalendarContext calendar = calendars.getCalendar(name);
+    List<String> lines = new ArrayList<>();
+    lines.add(name + " " + calendar.getTimezone());
+    for (Event event : calendar.getCalendarService().getAllEvents()) {
+      lines.add(event.getId() + " " + event.getSubject() + " " + event.getStartDateTime() + " "
+          + event.getEffectiveEndDateTime() + " " + event.getLocation() + " "
+          + event.getOccurrences().size());
+    }
+    return lines;
+  }
+
+  @Test
+  public void testRecoverRebuildsEveryKindOfChange() throws Exception {
+    assertTrue(service.createCalendar("Work", "America/New_York"));
+    assertTrue(service.createCalendar("Home", "America/New_York"));
+    assertTrue(service.useCalendar("Work"));
+    service.addSingleEvent("Review", MONDAY.plusHours(3), MONDAY.plusHours(4), "notes", "Lab",
+        true, true);
+    service.addRecurringEvent("Standup", MONDAY, MONDAY.plusMinutes(15), "", "Room", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 6, null, true);
+    service.addSingleEvent("Holiday", MONDAY.plusDays(5).toLocalDate().atStartOfDay(), null, "",
+        "", false, true);
+    service.editEvent("Standup", MONDAY.plusDays(7), "location", "Hall",
+        ICalendarService.EditMode.FROM);
+    long review = service.getEventsBySubject("Review").get(0).getId();
+    service.editById(review, "subject", "Design review");
+    assertTrue(service.removeById(service.getEventsBySubject("Holiday").get(0).getId()));
+    service.copyEvent("Design review", MONDAY.plusHours(3), "Home", MONDAY.plusDays(1));
+    service.copyEventsOn(MONDAY.toLocalDate(), "Home", LocalDate.of(2025, 4, 7));
+    service.copyEventsBetween(MONDAY.toLocalDate(), MONDAY.toLocalDate().plusDays(2), "Home",
+        LocalDate.of(2025, 5, 5));
+    Files.write(csv, Arrays.asList(
+        "Subject,Start Date,Start Time,End Date,End Time,AllDayEvent,Description,Location,Private",
+        "Lunch,2025-03-04,12:00,2025-03-04,13:00,false,,Cafe,false"));
+    service.importFrom("csv", csv.toString());
+    assertTrue(service.editCalendar("Home", "timezone", "Europe/London"));
+    assertTrue(service.editCalendar("Work", "name", "Office"));
+
+    ICalendarManager recovered = restart();
+    assertEquals(describe(manager, "Office"), describe(recovered, "Office"));
+    assertEquals(describe(manager, "Home"), describe(recovered, "Home"));
+    assertTrue(describe(recovered, "Home").size() > 4);
+    assertNull(recovered.getCalendar("Work"));
+  }
+
+  @Test
+  public void testFailedChangesAreNotJournaled() throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+    service.addSingleEvent("A", MONDAY, MONDAY.plusHours(1), "", "", true, true);
+    long appended = journal.getAppendedCount();
+    try {
+      service.addSingleEvent("B", MONDAY, MONDAY.plusHours(1), "", "", true, true);
+      fail("Conflicting event should be declined");
+    } catch (EventConflictException expected) {
+      // expected
+    }
+    assertFalse(service.createCalendar("Work", "Europe/London"));
+    assertFalse(service.removeById(99));
+    assertEquals(appended, journal.getAppendedCount());
+  }
+
+  @Test
+  public void testRecordsNameTheirCalendarRatherThanTheSession() throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.createCalendar("Home", "America/New_York");
+    JournaledCalendarService other =
+        new JournaledCalendarService(manager, new CalendarSession(manager), journal);
+    service.useCalendar("Work");
+    other.useCalendar("Home");
+    service.addSingleEvent("Work item", MONDAY, MONDAY.plusHours(1), "", "", true, true);
+    other.addSingleEvent("Home item", MONDAY, MONDAY.plusHours(1), "", "", true, true);
+
+    ICalendarManager recovered = restart();
+    assertEquals(describe(manager, "Work"), describe(recovered, "Work"));
+    assertEquals(describe(manager, "Home"), describe(recovered, "Home"));
+    assertNull(recovered.getCurrentCalendar());
+  }
+
+  @Test
+  public void testRecoverAfterTornTailKeepsEarlierChanges() throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+    service.addSingleEvent("A", MONDAY, MONDAY.plusHours(1), "", "", true, true);
+    service.addSingleEvent("B", MONDAY.plusHours(2), MONDAY.plusHours(3), "", "", true, true);
+    journal.close();
+    byte[] content = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(content, content.length - 5));
+
+    ICalendarManager recovered = new CalendarManager();
+    journal = new CommandJournal(file, 1);
+    assertEquals(2, JournaledCalendarService.recover(recovered, journal));
+    List<Event> events = recovered.getCalendar("Work").getCalendarService().getAllEvents();
+    assertEquals(1, events.size());
+    assertEquals("A", events.get(0).getSubject());
+  }
+
+  @Test
+  public void testRecoverFailsWhenReplayDiverges() throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+    service.addSingleEvent("A", MONDAY, MONDAY.plusHours(1), "", "", true, true);
+    journal.close();
+
+    ICalendarManager recovered = new CalendarManager();
+    recovered.addCalendar(new CalendarContext("Work", "Europe/London"));
+    journal = new CommandJournal(file, 1);
+    try {
+      JournaledCalendarService.recover(recovered, journal);
+      fail("A record whose change fails on replay should fail recovery");
+    } catch (IOException expected) {
+      assertTrue(expected.getMessage().contains("Record 1 "));
+    }
+  }
+
+  @Test
+  public void testRemovalThatCannotBeJournaledThrows() throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+    service.addSingleEvent("A", MONDAY, MONDAY.plusHours(1), "", "", true, true);
+    long id = service.getEventsBySubject("A").get(0).getId();
+    journal.close();
+    try {
+      service.removeById(id);
+      fail("A journal failure should not be reported as a missing event");
+    } catch (UncheckedIOException expected) {
+      // expected
+    }
+    assertFalse(service.removeById(id + 1));
+  }
+
+  @Test
+  public void testJournaledServiceKeepsWorkingAfterRecovery() throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+    service.addSingleEvent("A", MONDAY, MONDAY.plusHours(1), "", "", true, true);
+
+    ICalendarManager recovered = restart();
+    JournaledCalendarService resumed = new JournaledCalendarService(recovered, journal);
+    resumed.useCalendar("Work");
+    resumed.editById(resumed.getEventsBySubject("A").get(0).getId(), "location", "Lab");
+
+    ICalendarManager again = restart();
+    assertEquals("Lab",
+        again.getCalendar("Work").getCalendarService().getAllEvents().get(0).getLocation());
+  }
+
+  @Test
+  public void testParallelSessionsReplayToTheSameState() throws Exception {
+    int sessions = 3;
+    int perSession = 40;
+    journal.close();
+    journal = new CommandJournal(file, 8);
+    service = new JournaledCalendarService(manager, journal);
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (int s = 0; s < sessions; s++) {
+      service.createCalendar("Cal" + s, "America/New_York");
+    }
+    for (int s = 0; s < sessions; s++) {
+      final int session = s;
+      JournaledCalendarService user =
+          new JournaledCalendarService(manager, new CalendarSession(manager), journal);
+      Thread thread = new Thread(() -> {
+        try {
+          user.useCalendar("Cal" + session);
+          for (int i = 0; i < perSession; i++) {
+            user.addSingleEvent("E" + i, MONDAY.plusHours(i), MONDAY.plusHours(i).plusMinutes(30),
+                "", "", true, true);
+          }
+          user.editCalendar("Cal" + session, "name", "Renamed" + session);
+        } catch (Throwable t) {
+          synchronized (failures) {
+            failures.add(t);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join(30000);
+    }
+    assertTrue(failures.toString(), failures.isEmpty());
+
+    ICalendarManager recovered = restart();
+    for (int s = 0; s < sessions; s++) {
+      assertEquals(perSession + 1, describe(recovered, "Renamed" + s).size());
+      assertEquals(describe(manager, "Renamed" + s), describe(recovered, "Renamed" + s));
+    }
+  }
+
+  @Test
+  public void testEditOfWholeSeriesIsReplayed() throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+    service.addRecurringEvent("Standup", MONDAY, MONDAY.plusMinutes(15), "", "Room", true,
+        EnumSet.of(DayOfWeek.MONDAY), 4, null, true);
+    service.editEvent("Standup", null, "location", "Hall", ICalendarService.EditMode.ALL);
+    assertEquals(journal.getAppendedCount(), journal.getDurableCount());
+
+    ICalendarManager recovered = restart();
+    assertEquals(describe(manager, "Work"), describe(recovered, "Work"));
+    assertEquals("Hall", recovered.getCalendar("Work").getCalendarService()
+        .getEventsBySubject("Standup").get(0).getLocation());
+  }
+
+  @Test
+  public void testTextLongerThanModifiedUtf8LimitIsReplayed() throws Exception {
+    service.createCalendar("Work", "America/New_York");
+    service.useCalendar("Work");
+    StringBuilder notes = new StringBuilder();
+    while (notes.length() < 70000) {
+      notes.append("minutes \u00e9 ");
+    }
+    service.addSingleEvent("Review", MONDAY, MONDAY.plusHours(1), notes.toString(), "", true,
+        true);
+    long id = service.getEventsBySubject("Review").get(0).getId();
+    service.editById(id, "description", notes + "more");
+
+    ICalendarManager recovered = restart();
+    assertEquals(notes + "more",
+        recovered.getCalendar("Work").getCalendarService().getById(id).getDescription());
+  }
+}
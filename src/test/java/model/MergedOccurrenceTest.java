@@ -0,0 +1,25 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDateTime;
+import org.junit.Test;
+
+/**
+ * Unit tests for the MergedOccurrence class.
+ */
+public class MergedOccurrenceTest {
+
+  @Test
+  public void testAccessors() throws Exception {
+    SingleEvent event = new SingleEvent("Call", LocalDateTime.of(2025, 1, 15, 9, 0),
+        LocalDateTime.of(2025, 1, 15, 10, 0), "", "", true);
+    MergedOccurrence merged = new MergedOccurrence("Work", event,
+        LocalDateTime.of(2025, 1, 15, 14, 0), LocalDateTime.of(2025, 1, 15, 15, 0));
+    assertEquals("Work", merged.getCalendarName());
+    assertSame(event, merged.getOccurrence());
+    assertEquals(LocalDateTime.of(2025, 1, 15, 14, 0), merged.getStart());
+    assertEquals(LocalDateTime.of(2025, 1, 15, 15, 0), merged.getEnd());
+  }
+}
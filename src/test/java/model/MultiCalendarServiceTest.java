@@ -5,12 +5,18 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import org.junit.Before;
@@ -456,4 +462,169 @@ public class MultiCalendarServiceTest {
     multiService.copyEventsOn(LocalDate.now(), "NonExistentTarget", LocalDate.now());
   }
 
+
+  @Test
+  public void testFindFreeSlotsAcrossCalendars() throws Exception {
+    multiService.createCalendar("Work", "America/New_York");
+    multiService.createCalendar("Home", "Europe/London");
+    multiService.useCalendar("Home");
+    multiService.addSingleEvent("Call", LocalDateTime.of(2025, 1, 15, 9, 0),
+        LocalDateTime.of(2025, 1, 15, 10, 0), "", "", true, false);
+    multiService.useCalendar("Work");
+    multiService.addSingleEvent("Standup", LocalDateTime.of(2025, 1, 15, 6, 0),
+        LocalDateTime.of(2025, 1, 15, 6, 30), "", "", true, false);
+
+    List<TimeSlot> slots = multiService.findFreeSlots(Arrays.asList("Work", "Home"),
+        LocalDateTime.of(2025, 1, 15, 3, 0), LocalDateTime.of(2025, 1, 15, 7, 0), null, null);
+    assertEquals(Arrays.asList(
+        new TimeSlot(LocalDateTime.of(2025, 1, 15, 3, 0), LocalDateTime.of(2025, 1, 15, 4, 0)),
+        new TimeSlot(LocalDateTime.of(2025, 1, 15, 5, 0), LocalDateTime.of(2025, 1, 15, 6, 0)),
+        new TimeSlot(LocalDateTime.of(2025, 1, 15, 6, 30), LocalDateTime.of(2025, 1, 15, 7, 0))),
+        slots);
+  }
+
+  @Test
+  public void testFindFreeSlotsRequiresKnownCalendars() throws Exception {
+    multiService.createCalendar("Work", "UTC");
+    try {
+      multiService.findFreeSlots(Arrays.asList("Work", "Missing"),
+          LocalDateTime.of(2025, 1, 15, 0, 0), LocalDateTime.of(2025, 1, 16, 0, 0), null, null);
+      fail("Expected an unknown calendar");
+    } catch (Exception e) {
+      assertEquals("Calendar not found: Missing", e.getMessage());
+    }
+    List<TimeSlot> slots = multiService.findFreeSlots(Arrays.asList("Work"),
+        LocalDateTime.of(2025, 1, 15, 0, 0), LocalDateTime.of(2025, 1, 16, 0, 0),
+        Duration.ofHours(1), null);
+    assertEquals(1, slots.size());
+  }
+
+  @Test
+  public void testGetMergedOccurrences() throws Exception {
+    multiService.createCalendar("Work", "America/New_York");
+    multiService.createCalendar("Home", "Europe/London");
+    multiService.useCalendar("Home");
+    multiService.addSingleEvent("Lunch", LocalDateTime.of(2025, 1, 15, 12, 0),
+        LocalDateTime.of(2025, 1, 15, 13, 0), "", "", true, false);
+    multiService.useCalendar("Work");
+    multiService.addSingleEvent("Standup", LocalDateTime.of(2025, 1, 15, 6, 0),
+        LocalDateTime.of(2025, 1, 15, 6, 30), "", "", true, false);
+
+    List<MergedOccurrence> merged = multiService.getMergedOccurrences(
+        new LinkedHashSet<>(Arrays.asList("Work", "Home")), LocalDateTime.of(2025, 1, 15, 0, 0),
+        LocalDateTime.of(2025, 1, 16, 0, 0));
+    assertEquals(2, merged.size());
+    assertEquals("Standup", merged.get(0).getOccurrence().getSubject());
+    assertEquals("Lunch", merged.get(1).getOccurrence().getSubject());
+    assertEquals(LocalDateTime.of(2025, 1, 15, 7, 0), merged.get(1).getStart());
+    assertEquals("Home", merged.get(1).getCalendarName());
+  }
+
+  @Test
+  public void testSessionsUseDifferentCalendarsInParallel() throws Exception {
+    multiService.createCalendar("Work", "UTC");
+    multiService.createCalendar("Home", "UTC");
+    int events = 200;
+    List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    List<Thread> threads = new ArrayList<>();
+    for (String name : Arrays.asList("Work", "Home")) {
+      IMultiCalendarService client = new MultiCalendarService(manager,
+          new CalendarSession(manager));
+      Thread thread = new Thread(() -> {
+        try {
+          client.useCalendar(name);
+          for (int i = 0; i < events; i++) {
+            LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i);
+            client.addSingleEvent(name + i, start, start.plusMinutes(30), "", "", true, false);
+          }
+          assertEquals(name, client.getCurrentCalendarNameAndZone()[0]);
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(failures.toString(), failures.isEmpty());
+    assertEquals(events, manager.getCalendar("Work").getCalendarService().getAllEvents().size());
+    assertEquals(events, manager.getCalendar("Home").getCalendarService().getAllEvents().size());
+    assertEquals("Work0", manager.getCalendar("Work").getCalendarService().getAllEvents()
+        .get(0).getSubject());
+  }
+
+  @Test
+  public void testParallelTimezoneChangesKeepEventInstants() throws Exception {
+    multiService.createCalendar("Work", "UTC");
+    multiService.useCalendar("Work");
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+    multiService.addSingleEvent("Meeting", start, start.plusHours(1), "", "", true, false);
+    int changes = 200;
+    List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    List<Thread> threads = new ArrayList<>();
+    for (String zone : Arrays.asList("Asia/Kolkata", "America/New_York")) {
+      IMultiCalendarService client = new MultiCalendarService(manager,
+          new CalendarSession(manager));
+      Thread thread = new Thread(() -> {
+        try {
+          for (int i = 0; i < changes; i++) {
+            client.editCalendar("Work", "timezone", i % 2 == 0 ? zone : "UTC");
+          }
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(failures.toString(), failures.isEmpty());
+    ICalendarContext work = manager.getCalendar("Work");
+    LocalDateTime expected = start.atZone(ZoneId.of("UTC"))
+        .withZoneSameInstant(work.getTimezone()).toLocalDateTime();
+    assertEquals(expected,
+        work.getCalendarService().getAllEvents().get(0).getStartDateTime());
+  }
+
+  @Test
+  public void testRenameKeepsEverySessionOnTheCalendar() throws Exception {
+    multiService.createCalendar("Work", "UTC");
+    IMultiCalendarService other = new MultiCalendarService(manager,
+        new CalendarSession(manager));
+    multiService.useCalendar("Work");
+    other.useCalendar("Work");
+    assertTrue(multiService.editCalendar("Work", "name", "Office"));
+    assertEquals("Office", multiService.getCurrentCalendarNameAndZone()[0]);
+    assertEquals("Office", other.getCurrentCalendarNameAndZone()[0]);
+  }
+
+  @Test
+  public void testStreamingAndPagingUseTheCurrentCalendar() throws Exception {
+    assertNull(multiService.streamOccurrencesBetween(LocalDateTime.of(2025, 1, 1, 0, 0),
+        LocalDateTime.of(2025, 2, 1, 0, 0)));
+    assertNull(multiService.getOccurrencePage(LocalDateTime.of(2025, 1, 1, 0, 0),
+        LocalDateTime.of(2025, 2, 1, 0, 0), 0, 10));
+    multiService.createCalendar("Work", "UTC");
+    multiService.useCalendar("Work");
+    for (int i = 0; i < 5; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1 + i, 9, 0);
+      multiService.addSingleEvent("E" + i, start, start.plusHours(1), "", "", true, false);
+    }
+    LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+    assertEquals(5, multiService.streamOccurrencesBetween(from, to).count());
+    EventPage page = multiService.getOccurrencePage(from, to, 1, 2);
+    assertEquals("E1", page.getEvents().get(0).getSubject());
+    EventPage next = multiService.getOccurrencePage(from, to, page.getNextToken(), 10);
+    assertEquals(2, next.getEvents().size());
+    assertEquals("E3", next.getEvents().get(0).getSubject());
+    assertFalse(next.hasMore());
+    StringBuilder out = new StringBuilder();
+    multiService.printEventsRange(from, to, out);
+    assertEquals(multiService.printEventsRange(from, to), out.toString());
+  }
 }
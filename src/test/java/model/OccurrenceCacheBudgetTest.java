@@ -0,0 +1,100 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link OccurrenceCacheBudget}.
+ */
+public class OccurrenceCacheBudgetTest {
+
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+  private CalendarModel model;
+  private OccurrenceCacheBudget budget;
+  private List<RecurringEvent> series;
+
+  @Before
+  public void setUp() throws Exception {
+    model = new CalendarModel();
+    budget = model.getOccurrenceCacheBudget();
+    series = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      LocalDateTime start = MONDAY.plusHours(i);
+      RecurringEvent event = new RecurringEvent("Series " + i, start, start.plusMinutes(30), "",
+          "", true, EnumSet.of(DayOfWeek.MONDAY), 10, null);
+      model.addEvent(event, false);
+      series.add(event);
+    }
+  }
+
+  @Test
+  public void testCountsEverySeriesOfTheCalendar() {
+    for (RecurringEvent event : series) {
+      event.getOccurrences();
+    }
+    assertEquals(3, budget.getCachedSeries());
+    assertEquals(30, budget.getCachedOccurrences());
+  }
+
+  @Test
+  public void testTotalLimitEvictsLeastRecentlyUsedSeries() {
+    budget.setMaxTotal(25);
+    List<Event> first = series.get(0).getOccurrences();
+    List<Event> second = series.get(1).getOccurrences();
+    assertSame(first, series.get(0).getOccurrences());
+    series.get(2).getOccurrences();
+    assertEquals(2, budget.getCachedSeries());
+    assertEquals(20, budget.getCachedOccurrences());
+    assertSame(first, series.get(0).getOccurrences());
+    assertNotSame(second, series.get(1).getOccurrences());
+  }
+
+  @Test
+  public void testLoweringTheTotalDropsLists() {
+    for (RecurringEvent event : series) {
+      event.getOccurrences();
+    }
+    budget.setMaxTotal(10);
+    assertEquals(1, budget.getCachedSeries());
+    assertEquals(10, budget.getCachedOccurrences());
+    budget.setMaxPerSeries(5);
+    assertEquals(0, budget.getCachedOccurrences());
+  }
+
+  @Test
+  public void testRemovedSeriesIsReleased() {
+    series.get(0).getOccurrences();
+    assertEquals(1, budget.getCachedSeries());
+    model.removeById(series.get(0).getId());
+    assertEquals(0, budget.getCachedSeries());
+    series.get(0).getOccurrences();
+    assertEquals(0, budget.getCachedSeries());
+  }
+
+  @Test
+  public void testCalendarsHaveSeparateBudgets() throws Exception {
+    ICalendarModel other = new ColumnarCalendarModel();
+    other.getOccurrenceCacheBudget().setMaxPerSeries(0);
+    RecurringEvent event = new RecurringEvent("Elsewhere", MONDAY, MONDAY.plusMinutes(30), "",
+        "", true, EnumSet.of(DayOfWeek.MONDAY), 10, null);
+    other.addEvent(event, false);
+    assertNotSame(event.getOccurrences(), event.getOccurrences());
+    series.get(0).getOccurrences();
+    assertEquals(10, budget.getCachedOccurrences());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeTotalRejected() {
+    budget.setMaxTotal(-1);
+  }
+}
@@ -0,0 +1,92 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link OccurrenceCache}.
+ */
+public class OccurrenceCacheTest {
+
+  private RecurringEvent series;
+
+  @Before
+  public void setUp() throws InvalidDateException {
+    series = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "Room", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), 10, null);
+  }
+
+  @Test
+  public void testRepeatedCallsReturnCachedList() {
+    List<Event> first = series.getOccurrences();
+    assertEquals(10, first.size());
+    assertSame(first, series.getOccurrences());
+  }
+
+  @Test
+  public void testSetterInvalidatesCache() {
+    List<Event> first = series.getOccurrences();
+    series.setLocation("Elsewhere");
+    List<Event> second = series.getOccurrences();
+    assertNotSame(first, second);
+    assertEquals("Elsewhere", second.get(0).getLocation());
+  }
+
+  @Test
+  public void testRecurrenceEndDateInvalidatesCache() {
+    series.getOccurrences();
+    series.setRecurrenceEndDate(LocalDate.of(2025, 3, 10));
+    assertEquals(3, series.getOccurrences().size());
+  }
+
+  @Test
+  public void testCachedViewsReadThroughToSeries() {
+    List<Event> first = series.getOccurrences();
+    Event occurrence = first.get(0);
+    series.setSubject("Changed");
+    assertEquals("Changed", occurrence.getSubject());
+    assertEquals("Changed", series.getOccurrences().get(0).getSubject());
+  }
+
+  @Test
+  public void testSeriesAboveLimitIsNotCached() {
+    OccurrenceCacheBudget budget = new OccurrenceCacheBudget();
+    budget.setMaxPerSeries(5);
+    series.useOccurrenceCacheBudget(budget);
+    assertNotSame(series.getOccurrences(), series.getOccurrences());
+    assertEquals(0, budget.getCachedOccurrences());
+  }
+
+  @Test
+  public void testMovingToAnotherBudgetReleasesTheList() {
+    OccurrenceCacheBudget first = new OccurrenceCacheBudget();
+    series.useOccurrenceCacheBudget(first);
+    series.getOccurrences();
+    assertEquals(10, first.getCachedOccurrences());
+    OccurrenceCacheBudget second = new OccurrenceCacheBudget();
+    series.useOccurrenceCacheBudget(second);
+    assertEquals(0, first.getCachedOccurrences());
+    series.getOccurrences();
+    assertEquals(10, second.getCachedOccurrences());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCachedListIsUnmodifiable() {
+    series.getOccurrences().clear();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeLimitRejected() {
+    new OccurrenceCacheBudget().setMaxPerSeries(-1);
+  }
+}
@@ -0,0 +1,70 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * JUnit Test Case for {@link OccurrenceCursor}.
+ */
+public class OccurrenceCursorTest {
+
+  @Test
+  public void testCursorMatchesGeneratedOccurrences() throws InvalidDateException {
+    RecurringEvent re = new RecurringEvent("Class", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 30), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), -1, LocalDate.of(2025, 4, 30));
+    List<SingleEvent> expected = re.generateOccurrences();
+
+    OccurrenceCursor cursor = re.occurrenceCursor();
+    int index = 0;
+    while (cursor.next()) {
+      assertEquals(expected.get(index).getStartDateTime(), cursor.getStart());
+      assertEquals(expected.get(index).getEffectiveEndDateTime(), cursor.getEnd());
+      index++;
+    }
+    assertEquals(expected.size(), index);
+  }
+
+  @Test
+  public void testCursorStopsAtOccurrenceCount() throws InvalidDateException {
+    RecurringEvent re = new RecurringEvent("Daily", LocalDateTime.of(2025, 3, 1, 8, 0),
+        LocalDateTime.of(2025, 3, 1, 8, 15), "", "", true, EnumSet.allOf(DayOfWeek.class), 4,
+        null);
+    OccurrenceCursor cursor = re.occurrenceCursor();
+    int count = 0;
+    while (cursor.next()) {
+      count++;
+    }
+    assertEquals(4, count);
+    assertFalse(cursor.next());
+    assertNull(cursor.getStart());
+  }
+
+  @Test
+  public void testCursorSupportsEarlyTermination() throws InvalidDateException {
+    RecurringEvent re = new RecurringEvent("Long", LocalDateTime.of(2025, 1, 1, 8, 0),
+        LocalDateTime.of(2025, 1, 1, 9, 0), "", "", true, EnumSet.allOf(DayOfWeek.class), -1,
+        LocalDate.of(2099, 12, 31));
+    OccurrenceCursor cursor = re.occurrenceCursor();
+    assertTrue(cursor.next());
+    assertTrue(cursor.next());
+    assertEquals(LocalDateTime.of(2025, 1, 2, 8, 0), cursor.getStart());
+  }
+
+  @Test
+  public void testEmptyRecurrenceDaysYieldsNothing() throws InvalidDateException {
+    RecurringEvent re = new RecurringEvent("Never", LocalDateTime.of(2025, 1, 1, 8, 0),
+        LocalDateTime.of(2025, 1, 1, 9, 0), "", "", true, new HashSet<>(), 5, null);
+    assertFalse(re.occurrenceCursor().next());
+  }
+}
@@ -0,0 +1,85 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for the OccurrenceExceptions class.
+ */
+public class OccurrenceExceptionsTest {
+
+  private SingleEvent event(LocalDateTime start, LocalDateTime end) throws InvalidDateException {
+    return new SingleEvent("Moved", start, end, "", "", true);
+  }
+
+  @Test
+  public void testOverrideAndCancelReplaceEachOther() throws Exception {
+    OccurrenceExceptions exceptions = new OccurrenceExceptions();
+    LocalDate date = LocalDate.of(2025, 3, 3);
+    assertTrue(exceptions.isEmpty());
+
+    exceptions.override(date, event(date.atTime(10, 0), date.atTime(11, 0)));
+    assertTrue(exceptions.isException(date));
+    assertFalse(exceptions.isCancelled(date));
+    assertEquals(date.atTime(10, 0), exceptions.getOverride(date).getStartDateTime());
+
+    exceptions.cancel(date);
+    assertNull(exceptions.getOverride(date));
+    assertTrue(exceptions.isCancelled(date));
+    assertEquals(1, exceptions.size());
+
+    assertTrue(exceptions.restore(date));
+    assertFalse(exceptions.restore(date));
+    assertTrue(exceptions.isEmpty());
+  }
+
+  @Test
+  public void testDisplacedOverridesAreFoundByTheirNewDays() throws Exception {
+    OccurrenceExceptions exceptions = new OccurrenceExceptions();
+    LocalDate original = LocalDate.of(2025, 3, 3);
+    LocalDate movedTo = LocalDate.of(2025, 3, 5);
+    exceptions.override(original, event(movedTo.atTime(9, 0), movedTo.atTime(10, 0)));
+
+    assertEquals(1, exceptions.getDisplaced().size());
+    assertNull(exceptions.overrideCovering(original));
+    assertEquals(original, exceptions.overrideCovering(movedTo));
+    assertEquals(original, exceptions.overrideStartingAt(movedTo.atTime(9, 0)));
+    assertEquals(movedTo, exceptions.earliestDisplacedDay());
+    assertEquals(movedTo, exceptions.latestDisplacedDay());
+
+    exceptions.override(original, event(original.atTime(9, 0), original.atTime(10, 0)));
+    assertTrue(exceptions.getDisplaced().isEmpty());
+    assertEquals(original, exceptions.overrideCovering(original));
+  }
+
+  @Test
+  public void testRangeQueries() throws Exception {
+    OccurrenceExceptions exceptions = new OccurrenceExceptions();
+    for (int day = 1; day <= 20; day++) {
+      LocalDate date = LocalDate.of(2025, 3, day);
+      exceptions.override(date, event(date.atTime(12, 0), date.atTime(13, 0)));
+    }
+    List<LocalDate> starting = exceptions.overridesStartingBetween(
+        LocalDateTime.of(2025, 3, 4, 12, 0), LocalDateTime.of(2025, 3, 6, 12, 0));
+    Collections.sort(starting);
+    assertEquals(2, starting.size());
+    assertEquals(LocalDate.of(2025, 3, 4), starting.get(0));
+    assertEquals(LocalDate.of(2025, 3, 5), starting.get(1));
+    assertEquals(20, exceptions.overridesStartingBetween(LocalDateTime.of(2025, 1, 1, 0, 0),
+        LocalDateTime.of(2025, 12, 31, 0, 0)).size());
+
+    LocalDateTime noon = LocalDateTime.of(2025, 3, 7, 12, 0);
+    assertFalse(exceptions.anyOverrideOverlaps(noon, noon));
+    assertTrue(exceptions.anyOverrideOverlaps(noon.plusMinutes(1), noon.plusMinutes(1)));
+    assertFalse(exceptions.anyOverrideOverlaps(LocalDateTime.of(2025, 3, 7, 13, 0),
+        LocalDateTime.of(2025, 3, 8, 12, 0)));
+  }
+}
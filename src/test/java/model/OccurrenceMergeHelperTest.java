@@ -0,0 +1,104 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for the OccurrenceMergeHelper class.
+ */
+public class OccurrenceMergeHelperTest {
+
+  private static void add(ICalendarContext calendar, String subject, LocalDateTime start,
+      LocalDateTime end) throws Exception {
+    calendar.getCalendarModel().addEvent(
+        new SingleEvent(subject, start, end, "", "", true), false);
+  }
+
+  @Test
+  public void testMergesInChronologicalOrder() throws Exception {
+    CalendarContext a = new CalendarContext("A", "UTC");
+    CalendarContext b = new CalendarContext("B", "UTC");
+    add(a, "A2", LocalDateTime.of(2025, 3, 3, 11, 0), LocalDateTime.of(2025, 3, 3, 12, 0));
+    add(a, "A1", LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 3, 10, 0));
+    add(b, "B1", LocalDateTime.of(2025, 3, 3, 10, 0), LocalDateTime.of(2025, 3, 3, 10, 30));
+    b.getCalendarModel().addEvent(new RecurringEvent("Standup",
+        LocalDateTime.of(2025, 3, 3, 8, 0), LocalDateTime.of(2025, 3, 3, 8, 15), "", "", true,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), 2, null), false);
+
+    List<MergedOccurrence> merged = OccurrenceMergeHelper.merge(Arrays.asList(a, b),
+        ZoneId.of("UTC"), LocalDateTime.of(2025, 3, 3, 0, 0), LocalDateTime.of(2025, 3, 5, 0, 0));
+    List<String> subjects = new ArrayList<>();
+    for (MergedOccurrence occurrence : merged) {
+      subjects.add(occurrence.getOccurrence().getSubject() + "@" + occurrence.getCalendarName());
+    }
+    assertEquals(Arrays.asList("Standup@B", "A1@A", "B1@B", "A2@A", "Standup@B"), subjects);
+  }
+
+  @Test
+  public void testTimesAreConvertedToTheAgendaZone() throws Exception {
+    CalendarContext newYork = new CalendarContext("NY", "America/New_York");
+    CalendarContext london = new CalendarContext("London", "Europe/London");
+    add(newYork, "Call", LocalDateTime.of(2025, 1, 15, 9, 0), LocalDateTime.of(2025, 1, 15, 10, 0));
+    add(london, "Lunch", LocalDateTime.of(2025, 1, 15, 12, 0),
+        LocalDateTime.of(2025, 1, 15, 13, 0));
+
+    List<MergedOccurrence> merged = OccurrenceMergeHelper.merge(Arrays.asList(newYork, london),
+        ZoneId.of("Europe/London"), LocalDateTime.of(2025, 1, 15, 0, 0),
+        LocalDateTime.of(2025, 1, 16, 0, 0));
+    assertEquals(2, merged.size());
+    assertEquals("Lunch", merged.get(0).getOccurrence().getSubject());
+    assertEquals("Call", merged.get(1).getOccurrence().getSubject());
+    assertEquals(LocalDateTime.of(2025, 1, 15, 14, 0), merged.get(1).getStart());
+    assertEquals(LocalDateTime.of(2025, 1, 15, 15, 0), merged.get(1).getEnd());
+    assertEquals(LocalDateTime.of(2025, 1, 15, 9, 0),
+        merged.get(1).getOccurrence().getStartDateTime());
+  }
+
+  @Test
+  public void testRangeIsAppliedOnTheSharedTimeline() throws Exception {
+    CalendarContext tokyo = new CalendarContext("Tokyo", "Asia/Tokyo");
+    add(tokyo, "Early", LocalDateTime.of(2025, 1, 15, 8, 0), LocalDateTime.of(2025, 1, 15, 9, 0));
+    List<MergedOccurrence> merged = OccurrenceMergeHelper.merge(Collections.singletonList(tokyo),
+        ZoneId.of("UTC"), LocalDateTime.of(2025, 1, 15, 0, 0),
+        LocalDateTime.of(2025, 1, 16, 0, 0));
+    assertTrue(merged.isEmpty());
+    merged = OccurrenceMergeHelper.merge(Collections.singletonList(tokyo), ZoneId.of("UTC"),
+        LocalDateTime.of(2025, 1, 14, 0, 0), LocalDateTime.of(2025, 1, 15, 0, 0));
+    assertEquals(LocalDateTime.of(2025, 1, 14, 23, 0), merged.get(0).getStart());
+  }
+
+  @Test
+  public void testMatchesSortedUnion() throws Exception {
+    Random random = new Random(18);
+    List<ICalendarContext> calendars = new ArrayList<>();
+    int total = 0;
+    LocalDateTime base = LocalDateTime.of(2025, 3, 1, 0, 0);
+    for (int c = 0; c < 12; c++) {
+      CalendarContext calendar = new CalendarContext("C" + c, "UTC");
+      int count = random.nextInt(30);
+      for (int i = 0; i < count; i++) {
+        LocalDateTime start = base.plusMinutes(30L * random.nextInt(300));
+        add(calendar, "E", start, start.plusMinutes(30));
+      }
+      total += count;
+      calendars.add(calendar);
+    }
+    List<MergedOccurrence> merged = OccurrenceMergeHelper.merge(calendars, ZoneId.of("UTC"),
+        base, base.plusDays(30));
+    assertEquals(total, merged.size());
+    for (int i = 1; i < merged.size(); i++) {
+      assertTrue(!merged.get(i).getStart().isBefore(merged.get(i - 1).getStart()));
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the OccurrenceStreamHelper class.
+ */
+public class OccurrenceStreamHelperTest {
+
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+  private CalendarModel model;
+
+  @Before
+  public void setUp() throws Exception {
+    model = new CalendarModel();
+    Random random = new Random(22);
+    for (int i = 0; i < 300; i++) {
+      LocalDateTime start = BASE.plusHours(random.nextInt(24 * 400));
+      model.addEvent(new SingleEvent("E" + i, start, start.plusMinutes(45), "", "", true), false);
+    }
+    for (int i = 0; i < 5; i++) {
+      model.addEvent(new SingleEvent("Tie" + i, BASE.plusDays(3), BASE.plusDays(3).plusHours(1),
+          "", "", true), false);
+    }
+    model.addEvent(new RecurringEvent("Standup", BASE.plusHours(9),
+        BASE.plusHours(9).plusMinutes(15), "", "", true, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), -1,
+        BASE.plusYears(10).toLocalDate()), false);
+  }
+
+  private static List<String> describe(List<Event> events) {
+    List<String> result = new ArrayList<>();
+    for (Event event : events) {
+      result.add(event.getSubject() + "@" + event.getStartDateTime());
+    }
+    return result;
+  }
+
+  @Test
+  public void testStreamMatchesListQuery() {
+    LocalDateTime end = BASE.plusYears(10);
+    List<Event> expected = model.getOccurrencesBetween(BASE, end);
+    List<Event> streamed = OccurrenceStreamHelper.stream(model, BASE, end)
+        .collect(Collectors.toList());
+    assertEquals(describe(expected), describe(streamed));
+    assertTrue(streamed.size() > 1000);
+  }
+
+  @Test
+  public void testStreamIsLazy() {
+    List<Event> first = OccurrenceStreamHelper.stream(model, BASE, LocalDateTime.of(9999, 1, 1,
+        0, 0)).limit(3).collect(Collectors.toList());
+    assertEquals(describe(model.getOccurrencesBetween(BASE, BASE.plusDays(30)).subList(0, 3)),
+        describe(first));
+  }
+
+  @Test
+  public void testEmptyAndSparseRanges() {
+    assertEquals(0, OccurrenceStreamHelper.stream(model, BASE, BASE).count());
+    assertEquals(0, OccurrenceStreamHelper.stream(model, LocalDateTime.of(2100, 1, 1, 0, 0),
+        LocalDateTime.of(2300, 1, 1, 0, 0)).count());
+  }
+
+  @Test
+  public void testTokenPagesCoverTheRangeOnce() {
+    LocalDateTime end = BASE.plusYears(2);
+    List<Event> expected = model.getOccurrencesBetween(BASE, end);
+    List<Event> paged = new ArrayList<>();
+    String token = null;
+    do {
+      EventPage page = OccurrenceStreamHelper.page(model, BASE, end, token, 2);
+      assertTrue(page.getEvents().size() <= 2);
+      paged.addAll(page.getEvents());
+      token = page.getNextToken();
+    } while (token != null);
+    assertEquals(describe(expected), describe(paged));
+  }
+
+  @Test
+  public void testOffsetPages() {
+    LocalDateTime end = BASE.plusYears(2);
+    List<Event> expected = model.getOccurrencesBetween(BASE, end);
+    EventPage page = OccurrenceStreamHelper.page(model, BASE, end, 10, 25);
+    assertEquals(describe(expected.subList(10, 35)), describe(page.getEvents()));
+    assertTrue(page.hasMore());
+    EventPage next = OccurrenceStreamHelper.page(model, BASE, end, page.getNextToken(), 5);
+    assertEquals(describe(expected.subList(35, 40)), describe(next.getEvents()));
+
+    EventPage last = OccurrenceStreamHelper.page(model, BASE, end, expected.size() - 1, 5);
+    assertEquals(1, last.getEvents().size());
+    assertFalse(last.hasMore());
+    assertNull(last.getNextToken());
+  }
+
+  @Test
+  public void testTokenResumesAfterEarlierInsertions() throws Exception {
+    LocalDateTime end = BASE.plusDays(10);
+    EventPage first = OccurrenceStreamHelper.page(model, BASE, end, (String) null, 3);
+    Event lastSeen = first.getEvents().get(2);
+    model.addEvent(new SingleEvent("Early", BASE.plusMinutes(1), BASE.plusMinutes(2), "", "",
+        true), false);
+    EventPage second = OccurrenceStreamHelper.page(model, BASE, end, first.getNextToken(), 1);
+    List<Event> expected = model.getOccurrencesBetween(BASE, end);
+    assertSame(expected.get(expected.indexOf(lastSeen) + 1), second.getEvents().get(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedToken() {
+    OccurrenceStreamHelper.page(model, BASE, BASE.plusDays(1), "not-a-token", 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLimitMustBePositive() {
+    OccurrenceStreamHelper.page(model, BASE, BASE.plusDays(1), 0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOffsetCannotBeNegative() {
+    OccurrenceStreamHelper.page(model, BASE, BASE.plusDays(1), -1, 5);
+  }
+}
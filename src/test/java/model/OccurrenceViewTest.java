@@ -0,0 +1,82 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the OccurrenceView class.
+ */
+public class OccurrenceViewTest {
+
+  private RecurringEvent series;
+
+  @Before
+  public void setUp() throws InvalidDateException {
+    series = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 30), "Daily", "Room", false,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 4, null);
+  }
+
+  @Test
+  public void testViewsMatchMaterializedOccurrences() {
+    List<Event> views = series.getOccurrences();
+    List<SingleEvent> copies = series.generateOccurrences();
+    assertEquals(copies.size(), views.size());
+    for (int i = 0; i < copies.size(); i++) {
+      Event view = views.get(i);
+      SingleEvent copy = copies.get(i);
+      assertTrue(view instanceof OccurrenceView);
+      assertEquals(copy.getSubject(), view.getSubject());
+      assertEquals(copy.getStartDateTime(), view.getStartDateTime());
+      assertEquals(copy.getEffectiveEndDateTime(), view.getEffectiveEndDateTime());
+      assertEquals(copy.getDescription(), view.getDescription());
+      assertEquals(copy.getLocation(), view.getLocation());
+      assertEquals(copy.isPublic(), view.isPublic());
+    }
+  }
+
+  @Test
+  public void testConflictsWithSingleAndSeries() throws InvalidDateException {
+    OccurrenceView view = new OccurrenceView(series, LocalDate.of(2025, 3, 5));
+    SingleEvent overlapping = new SingleEvent("Call", LocalDateTime.of(2025, 3, 5, 9, 15),
+        LocalDateTime.of(2025, 3, 5, 10, 0), "", "", true);
+    SingleEvent adjacent = new SingleEvent("Call", LocalDateTime.of(2025, 3, 5, 9, 30),
+        LocalDateTime.of(2025, 3, 5, 10, 0), "", "", true);
+    assertTrue(view.conflictsWith(overlapping));
+    assertTrue(overlapping.conflictsWith(view));
+    assertFalse(view.conflictsWith(adjacent));
+    assertFalse(adjacent.conflictsWith(view));
+    assertTrue(view.conflictsWith(series));
+    assertTrue(series.conflictsWith(view));
+  }
+
+  @Test
+  public void testToSingleEventIsIndependentCopy() {
+    OccurrenceView view = new OccurrenceView(series, LocalDate.of(2025, 3, 5));
+    SingleEvent copy = view.toSingleEvent();
+    series.setLocation("Elsewhere");
+    assertEquals("Room", copy.getLocation());
+    assertEquals("Elsewhere", view.getLocation());
+    assertEquals(LocalDateTime.of(2025, 3, 5, 9, 0), copy.getStartDateTime());
+  }
+
+  @Test
+  public void testEqualityBySeriesAndDate() {
+    OccurrenceView a = new OccurrenceView(series, LocalDate.of(2025, 3, 5));
+    OccurrenceView b = new OccurrenceView(series, LocalDate.of(2025, 3, 5));
+    OccurrenceView c = new OccurrenceView(series, LocalDate.of(2025, 3, 10));
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertNotEquals(a, c);
+  }
+}
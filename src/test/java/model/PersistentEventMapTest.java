@@ -0,0 +1,97 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+
+/**
+ * Unit tests for the PersistentEventMap class.
+ */
+public class PersistentEventMapTest {
+
+  private static Event event(long id) throws Exception {
+    return new SingleEvent("E" + id, LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", "", true);
+  }
+
+  private static void assertMatches(TreeMap<Long, Event> expected, PersistentEventMap actual) {
+    assertEquals(expected.size(), actual.size());
+    Iterator<Event> iterator = actual.iterator();
+    for (Map.Entry<Long, Event> entry : expected.entrySet()) {
+      assertSame(entry.getValue(), iterator.next());
+      assertSame(entry.getValue(), actual.get(entry.getKey()));
+    }
+    assertTrue(!iterator.hasNext());
+  }
+
+  @Test
+  public void testEmpty() {
+    PersistentEventMap map = PersistentEventMap.empty();
+    assertTrue(map.isEmpty());
+    assertEquals(0, map.size());
+    assertNull(map.get(1));
+    assertTrue(!map.iterator().hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testIteratorPastEnd() {
+    PersistentEventMap.empty().iterator().next();
+  }
+
+  @Test
+  public void testOlderVersionsAreUnchanged() throws Exception {
+    Event first = event(1);
+    Event second = event(2);
+    PersistentEventMap one = PersistentEventMap.empty().with(1, first);
+    PersistentEventMap two = one.with(2, second);
+    PersistentEventMap replaced = two.with(1, second);
+    PersistentEventMap removed = two.without(1);
+
+    assertEquals(1, one.size());
+    assertSame(first, two.get(1));
+    assertSame(second, replaced.get(1));
+    assertEquals(2, replaced.size());
+    assertNull(removed.get(1));
+    assertSame(first, two.get(1));
+    assertSame(removed, removed.without(7));
+  }
+
+  @Test
+  public void testMatchesTreeMapUnderRandomWrites() throws Exception {
+    Random random = new Random(19);
+    TreeMap<Long, Event> expected = new TreeMap<>();
+    PersistentEventMap map = PersistentEventMap.empty();
+    List<TreeMap<Long, Event>> expectedVersions = new ArrayList<>();
+    List<PersistentEventMap> versions = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      long id = random.nextInt(300);
+      if (random.nextInt(3) == 0) {
+        expected.remove(id);
+        map = map.without(id);
+      } else {
+        Event event = event(id);
+        expected.put(id, event);
+        map = map.with(id, event);
+      }
+      if (i % 200 == 0) {
+        expectedVersions.add(new TreeMap<>(expected));
+        versions.add(map);
+      }
+    }
+    assertMatches(expected, map);
+    for (int i = 0; i < versions.size(); i++) {
+      assertMatches(expectedVersions.get(i), versions.get(i));
+    }
+  }
+}
@@ -192,4 +192,167 @@ public class RecurringEventTest {
         recurring.getRecurrenceEndDate());
   }
 
-}
\ No newline at end of file
+
+  @Test
+  public void testOverlappingSeriesConflict() throws InvalidDateException {
+    Set<DayOfWeek> mondays = new HashSet<>();
+    mondays.add(DayOfWeek.MONDAY);
+    Set<DayOfWeek> mondayAndFriday = new HashSet<>();
+    mondayAndFriday.add(DayOfWeek.MONDAY);
+    mondayAndFriday.add(DayOfWeek.FRIDAY);
+    RecurringEvent first = new RecurringEvent("First", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, mondays, 10, null);
+    RecurringEvent second = new RecurringEvent("Second", LocalDateTime.of(2025, 3, 7, 9, 30),
+        LocalDateTime.of(2025, 3, 7, 10, 30), "", "", true, mondayAndFriday, 4, null);
+    RecurringEvent later = new RecurringEvent("Later", LocalDateTime.of(2025, 3, 7, 10, 0),
+        LocalDateTime.of(2025, 3, 7, 11, 0), "", "", true, mondayAndFriday, 4, null);
+
+    assertTrue(first.conflictsWith(second));
+    assertTrue(second.conflictsWith(first));
+    assertFalse(first.conflictsWith(later));
+  }
+
+  @Test
+  public void testOverlapsRange() throws InvalidDateException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.WEDNESDAY);
+    RecurringEvent re = new RecurringEvent("Sync", LocalDateTime.of(2025, 3, 5, 14, 0),
+        LocalDateTime.of(2025, 3, 5, 15, 0), "", "", true, days, 3, null);
+
+    assertTrue(re.overlaps(LocalDateTime.of(2025, 3, 12, 14, 30),
+        LocalDateTime.of(2025, 3, 12, 14, 30)));
+    assertFalse(re.overlaps(LocalDateTime.of(2025, 3, 12, 15, 0),
+        LocalDateTime.of(2025, 3, 12, 16, 0)));
+    assertFalse(re.overlaps(LocalDateTime.of(2025, 3, 26, 14, 30),
+        LocalDateTime.of(2025, 3, 26, 14, 45)));
+  }
+
+  /**
+   * Cross-checks the closed-form recurrence methods against a full expansion for a range of rules,
+   * including an end date before the series start and a zero occurrence count.
+   */
+  @Test
+  public void testClosedFormMatchesExpansion() throws InvalidDateException {
+    LocalDate seriesStart = LocalDate.of(2025, 3, 5);
+    Set<DayOfWeek> tueThu = new HashSet<>();
+    tueThu.add(DayOfWeek.TUESDAY);
+    tueThu.add(DayOfWeek.THURSDAY);
+    Set<DayOfWeek> wednesday = new HashSet<>();
+    wednesday.add(DayOfWeek.WEDNESDAY);
+    Set<DayOfWeek> weekend = new HashSet<>();
+    weekend.add(DayOfWeek.SATURDAY);
+    weekend.add(DayOfWeek.SUNDAY);
+    RecurringEvent[] rules = {
+        new RecurringEvent("A", seriesStart.atTime(9, 0), seriesStart.atTime(10, 0), "", "",
+            true, tueThu, 7, null),
+        new RecurringEvent("B", seriesStart.atTime(9, 0), seriesStart.atTime(10, 0), "", "",
+            true, wednesday, -1, LocalDate.of(2025, 5, 14)),
+        new RecurringEvent("C", seriesStart.atTime(9, 0), seriesStart.atTime(10, 0), "", "",
+            true, weekend, 5, LocalDate.of(2025, 3, 20)),
+        new RecurringEvent("D", seriesStart.atTime(9, 0), seriesStart.atTime(10, 0), "", "",
+            true, wednesday, -1, LocalDate.of(2025, 3, 1)),
+        new RecurringEvent("E", seriesStart.atTime(9, 0), seriesStart.atTime(10, 0), "", "",
+            true, tueThu, 0, null)
+    };
+    for (RecurringEvent rule : rules) {
+      List<SingleEvent> occurrences = rule.generateOccurrences();
+      LocalDate expectedLast = occurrences.isEmpty() ? null
+          : occurrences.get(occurrences.size() - 1).getStartDateTime().toLocalDate();
+      assertEquals(rule.getSubject(), expectedLast, rule.lastOccurrenceDate());
+      int position = 0;
+      for (LocalDate date = seriesStart.minusDays(3); date.isBefore(seriesStart.plusDays(120));
+          date = date.plusDays(1)) {
+        boolean expected = position < occurrences.size()
+            && occurrences.get(position).getStartDateTime().toLocalDate().equals(date);
+        assertEquals(rule.getSubject() + " " + date, expected, rule.occursOn(date));
+        assertEquals(rule.getSubject() + " " + date, expected ? position : -1,
+            rule.occurrenceIndexOf(date));
+        LocalDate expectedNext = position < occurrences.size()
+            ? occurrences.get(position).getStartDateTime().toLocalDate() : null;
+        assertEquals(rule.getSubject() + " " + date, expectedNext,
+            rule.nextOccurrenceOnOrAfter(date));
+        if (expected) {
+          position++;
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCursorFromDateSkipsEarlierOccurrences() throws InvalidDateException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    RecurringEvent re = new RecurringEvent("Weekly", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true, days, 4, null);
+    OccurrenceCursor cursor = re.occurrenceCursor(LocalDate.of(2025, 3, 11));
+    assertTrue(cursor.next());
+    assertEquals(LocalDateTime.of(2025, 3, 17, 9, 0), cursor.getStart());
+    assertTrue(cursor.next());
+    assertEquals(LocalDateTime.of(2025, 3, 24, 9, 0), cursor.getStart());
+    assertFalse(cursor.next());
+  }
+
+  @Test
+  public void testExceptionsShapeExpansion() throws InvalidDateException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    RecurringEvent re = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "Room", true, days, 4, null);
+    re.cancelOccurrence(LocalDate.of(2025, 3, 10));
+    re.overrideOccurrence(LocalDate.of(2025, 3, 17), new SingleEvent("Standup",
+        LocalDateTime.of(2025, 3, 17, 11, 0), LocalDateTime.of(2025, 3, 17, 11, 30), "",
+        "Lab", true));
+
+    List<Event> occurrences = re.getOccurrences();
+    assertEquals(3, occurrences.size());
+    assertEquals(LocalDateTime.of(2025, 3, 17, 11, 0), occurrences.get(1).getStartDateTime());
+    assertEquals("Lab", occurrences.get(1).getLocation());
+    assertEquals("Room", occurrences.get(2).getLocation());
+
+    assertFalse(re.occursOn(LocalDate.of(2025, 3, 10)));
+    assertTrue(re.occursOn(LocalDate.of(2025, 3, 17)));
+    assertFalse(re.hasOccurrenceAt(LocalDateTime.of(2025, 3, 17, 9, 0)));
+    assertEquals(LocalDate.of(2025, 3, 17),
+        re.occurrenceDateAt(LocalDateTime.of(2025, 3, 17, 11, 0)));
+    assertFalse(re.overlaps(LocalDateTime.of(2025, 3, 10, 9, 5),
+        LocalDateTime.of(2025, 3, 10, 9, 10)));
+    assertFalse(re.overlaps(LocalDateTime.of(2025, 3, 17, 9, 5),
+        LocalDateTime.of(2025, 3, 17, 9, 10)));
+    assertTrue(re.overlaps(LocalDateTime.of(2025, 3, 17, 11, 10),
+        LocalDateTime.of(2025, 3, 17, 11, 20)));
+    assertEquals(3, re.generateOccurrences().size());
+
+    assertTrue(re.restoreOccurrence(LocalDate.of(2025, 3, 10)));
+    assertEquals(4, re.getOccurrences().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExceptionRequiresRuleOccurrence() throws InvalidDateException {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    RecurringEvent re = new RecurringEvent("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 15), "", "", true, days, 4, null);
+    re.cancelOccurrence(LocalDate.of(2025, 3, 4));
+  }
+
+  @Test
+  public void testOccurrencesOverlappingIncludeThoseInProgress() throws Exception {
+    Set<DayOfWeek> days = new HashSet<>();
+    days.add(DayOfWeek.MONDAY);
+    RecurringEvent series = new RecurringEvent("Class", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 11, 0), "", "", true, days, 3, null);
+    List<Event> overlapping = series.occurrencesOverlapping(LocalDateTime.of(2025, 3, 10, 10, 0),
+        LocalDateTime.of(2025, 3, 17, 9, 0));
+    assertEquals(1, overlapping.size());
+    assertEquals(LocalDateTime.of(2025, 3, 10, 9, 0), overlapping.get(0).getStartDateTime());
+    assertTrue(series.occurrencesOverlapping(LocalDateTime.of(2025, 3, 10, 11, 0),
+        LocalDateTime.of(2025, 3, 17, 9, 0)).isEmpty());
+
+    series.overrideOccurrence(LocalDate.of(2025, 3, 10), new SingleEvent("Moved",
+        LocalDateTime.of(2025, 3, 9, 20, 0), LocalDateTime.of(2025, 3, 10, 1, 0), "", "", true));
+    overlapping = series.occurrencesOverlapping(LocalDateTime.of(2025, 3, 10, 0, 0),
+        LocalDateTime.of(2025, 3, 10, 12, 0));
+    assertEquals(1, overlapping.size());
+    assertEquals("Moved", overlapping.get(0).getSubject());
+  }
+}
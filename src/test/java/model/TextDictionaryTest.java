@@ -0,0 +1,57 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDateTime;
+import org.junit.Test;
+
+/**
+ * Unit tests for the TextDictionary class.
+ */
+public class TextDictionaryTest {
+
+  @Test
+  public void testInternReturnsSharedInstance() {
+    TextDictionary dictionary = new TextDictionary();
+    String first = new String("Office");
+    String second = new String("Office");
+    assertNotSame(first, second);
+
+    assertSame(first, dictionary.intern(first));
+    assertSame(first, dictionary.intern(second));
+    assertEquals(1, dictionary.size());
+    assertEquals(2, dictionary.getLookupCount());
+    assertEquals(1, dictionary.getSharedCount());
+  }
+
+  @Test
+  public void testNullIsNotCounted() {
+    TextDictionary dictionary = new TextDictionary();
+    assertNull(dictionary.intern(null));
+    assertEquals(0, dictionary.getLookupCount());
+    assertEquals(0, dictionary.size());
+  }
+
+  @Test
+  public void testModelInternsAddedAndEditedEvents() throws Exception {
+    CalendarModel model = new CalendarModel();
+    SingleEvent a = new SingleEvent("Sync", LocalDateTime.of(2025, 3, 1, 9, 0),
+        LocalDateTime.of(2025, 3, 1, 10, 0), "", new String("Room 1"), true);
+    SingleEvent b = new SingleEvent("Sync", LocalDateTime.of(2025, 3, 2, 9, 0),
+        LocalDateTime.of(2025, 3, 2, 10, 0), "", new String("Room 1"), true);
+    model.addEvent(a, false);
+    model.addEvent(b, false);
+    assertSame(a.getLocation(), b.getLocation());
+
+    b.setSubject(new String("Review"));
+    SingleEvent c = new SingleEvent(new String("Review"), LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0), "", "", true);
+    model.addEvent(c, false);
+    assertSame(b.getSubject(), c.getSubject());
+    assertEquals("Text dictionary: 4 distinct strings, 2 duplicate copies shared over 12 lookups.",
+        model.getTextDictionary().toString());
+  }
+}
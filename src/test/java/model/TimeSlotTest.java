@@ -0,0 +1,33 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.Test;
+
+/**
+ * Unit tests for the TimeSlot class.
+ */
+public class TimeSlotTest {
+
+  @Test
+  public void testDurationAndText() {
+    TimeSlot slot = new TimeSlot(LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 30));
+    assertEquals(Duration.ofMinutes(90), slot.getDuration());
+    assertEquals("2025-03-03T09:00 to 2025-03-03T10:30", slot.toString());
+  }
+
+  @Test
+  public void testEquality() {
+    TimeSlot a = new TimeSlot(LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0));
+    TimeSlot b = new TimeSlot(LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 10, 0));
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertNotEquals(a, new TimeSlot(a.getStart(), a.getEnd().plusMinutes(1)));
+  }
+}
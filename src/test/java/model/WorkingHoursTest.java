@@ -0,0 +1,33 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import org.junit.Test;
+
+/**
+ * Unit tests for the WorkingHours class.
+ */
+public class WorkingHoursTest {
+
+  @Test
+  public void testWindowOnDate() {
+    WorkingHours hours = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 30));
+    LocalDate date = LocalDate.of(2025, 3, 3);
+    assertEquals(LocalDateTime.of(2025, 3, 3, 9, 0), hours.openingOn(date));
+    assertEquals(LocalDateTime.of(2025, 3, 3, 17, 30), hours.closingOn(date));
+  }
+
+  @Test
+  public void testMidnightEndClosesAtEndOfDay() {
+    WorkingHours hours = new WorkingHours(LocalTime.of(18, 0), LocalTime.MIDNIGHT);
+    assertEquals(LocalDateTime.of(2025, 3, 4, 0, 0), hours.closingOn(LocalDate.of(2025, 3, 3)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyWindowIsRejected() {
+    new WorkingHours(LocalTime.of(17, 0), LocalTime.of(9, 0));
+  }
+}